@@ -18,6 +18,9 @@
  */
 package org.apache.fineract.batch.api;
 
+import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
+import com.google.gson.stream.JsonWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -36,8 +39,15 @@ import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.StreamingOutput;
 import jakarta.ws.rs.core.UriInfo;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
@@ -46,6 +56,7 @@ import org.apache.fineract.batch.domain.BatchResponse;
 import org.apache.fineract.batch.serialization.BatchRequestJsonHelper;
 import org.apache.fineract.batch.service.BatchApiService;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.serialization.GoogleGsonSerializerHelper;
 import org.apache.fineract.infrastructure.core.serialization.ToApiJsonSerializer;
 import org.apache.fineract.infrastructure.security.exception.InvalidInstanceTypeMethodException;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
@@ -76,6 +87,8 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class BatchApiResource {
 
+    private static final Gson STREAMING_SERIALIZER = GoogleGsonSerializerHelper.createSimpleGson();
+
     private final PlatformSecurityContext context;
     private final ToApiJsonSerializer<BatchResponse> toApiJsonSerializer;
     private final BatchApiService service;
@@ -126,6 +139,54 @@ public class BatchApiResource {
 
     }
 
+    /**
+     * Streaming variant of {@link #handleBatchRequests(boolean, String, UriInfo)} for large batches. The requests are
+     * parsed one at a time and each {@link BatchResponse} is written to the output as soon as it completes, so neither
+     * the whole request nor the whole response is held in memory.
+     *
+     * @param jsonRequestStream
+     * @param uriInfo
+     * @return streamed JSON
+     */
+    @POST
+    @Path("stream")
+    @Consumes({ MediaType.APPLICATION_JSON })
+    @Produces({ MediaType.APPLICATION_JSON })
+    @Operation(summary = "Stream batch requests", description = "Executes the requests one by one as they are read, each of them in its own transaction, and streams back the responses in the same order. Intended for large batches, it does not support enclosing transactions or references between the requests: a request with a reference gets a '403' response.\n"
+            + "\n"
+            + "A body which is not a JSON array is rejected with a '400' status code. As the responses are streamed, a syntax error later in the body cannot change the status code any more: the requests before it are executed and the response is truncated after their responses, so it is not a valid JSON array.")
+    @RequestBody(required = true, content = @Content(array = @ArraySchema(schema = @Schema(implementation = BatchRequest.class, description = "request body"))))
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Success", content = @Content(array = @ArraySchema(schema = @Schema(implementation = BatchResponse.class)))) })
+    public StreamingOutput handleBatchRequestsStreaming(@Parameter(hidden = true) final InputStream jsonRequestStream,
+            @Context UriInfo uriInfo) {
+
+        // Handles user authentication
+        this.context.authenticatedUser();
+
+        // reads the start of the array before the response is committed, so a body which is not an array gets a '400'
+        final Iterator<BatchRequest> requests = this.batchRequestJsonHelper
+                .extractIterator(new InputStreamReader(jsonRequestStream, StandardCharsets.UTF_8));
+
+        return output -> {
+            final JsonWriter writer = new JsonWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            writer.beginArray();
+            service.handleBatchRequestsWithoutEnclosingTransaction(requests, uriInfo, response -> writeResponse(writer, response));
+            writer.endArray();
+            writer.flush();
+        };
+    }
+
+    private void writeResponse(final JsonWriter writer, final BatchResponse response) {
+        STREAMING_SERIALIZER.toJson(response, BatchResponse.class, writer);
+        try {
+            // lets the client consume the responses while the rest of the batch is running
+            writer.flush();
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
+    }
+
     /**
      * Validates to make sure the request methods are allowed on currently running instance mode (type).
      *
@@ -32,7 +32,8 @@ import org.springframework.stereotype.Component;
 
 /**
  * Provides an appropriate CommandStrategy using the 'method' and 'resourceUrl'. CommandStrategy bean is created using
- * Spring Application Context.
+ * Spring Application Context. The routes are compiled once into a {@link CommandStrategyRouteTable} and the resolved
+ * beans are cached, so a lookup neither scans all the routes nor goes through the Application Context.
  *
  * @author Rishabh Shukla
  *
@@ -42,7 +43,8 @@ import org.springframework.stereotype.Component;
 public class CommandStrategyProvider {
 
     private final ApplicationContext applicationContext;
-    private static final Map<CommandContext, String> commandStrategies = new ConcurrentHashMap<>();
+    private final CommandStrategyRouteTable commandStrategies = new CommandStrategyRouteTable();
+    private final Map<String, CommandStrategy> commandStrategyBeans = new ConcurrentHashMap<>();
 
     /**
      * Regex pattern for specifying any number of query params or not specific any query param
@@ -104,127 +106,120 @@ public class CommandStrategyProvider {
      */
     public CommandStrategy getCommandStrategy(final CommandContext commandContext) {
         if (isResourceVersioned(commandContext)) {
-            return internalGetCommandStrategy(commandContext);
+            return internalGetCommandStrategy(commandContext.getMethod(), commandContext.getResource());
         } else {
             // for backward compatibility, support non-versioned relative paths too
-            CommandContext alteredCommandContext = CommandContext.resource("v1/" + commandContext.getResource())
-                    .method(commandContext.getMethod()).build();
-            return internalGetCommandStrategy(alteredCommandContext);
+            return internalGetCommandStrategy(commandContext.getMethod(), "v1/" + commandContext.getResource());
         }
     }
 
-    private CommandStrategy internalGetCommandStrategy(CommandContext commandContext) {
-        if (commandStrategies.containsKey(commandContext)) {
-            return (CommandStrategy) this.applicationContext.getBean(commandStrategies.get(commandContext));
+    private CommandStrategy internalGetCommandStrategy(String method, String resource) {
+        String beanName = commandStrategies.find(method, resource);
+        if (beanName == null) {
+            return new UnknownCommandStrategy();
         }
-
-        for (Map.Entry<CommandContext, String> entry : commandStrategies.entrySet()) {
-            if (commandContext.matcher(entry.getKey())) {
-                return (CommandStrategy) applicationContext.getBean(commandStrategies.get(entry.getKey()));
-            }
-        }
-        return new UnknownCommandStrategy();
+        return commandStrategyBeans.computeIfAbsent(beanName, name -> (CommandStrategy) this.applicationContext.getBean(name));
     }
 
     /**
      * Contains various available command strategies in {@link org.apache.fineract.batch.command.internal}. Any new
      * command Strategy will have to be added within this function in order to initiate it within the constructor.
      */
-    private static void init() {
-        commandStrategies.put(CommandContext.resource("v1\\/clients").method(POST).build(), "createClientCommandStrategy");
-        commandStrategies.put(CommandContext.resource("v1\\/clients\\/" + NUMBER_REGEX).method(PUT).build(), "updateClientCommandStrategy");
-        commandStrategies.put(CommandContext.resource("v1\\/loans").method(POST).build(), "applyLoanCommandStrategy");
-        commandStrategies.put(CommandContext.resource("v1\\/loans\\/" + NUMBER_REGEX + OPTIONAL_QUERY_PARAM_REGEX).method(GET).build(),
+    private void init() {
+        commandStrategies.add(CommandContext.resource("v1\\/clients").method(POST).build(), "createClientCommandStrategy");
+        commandStrategies.add(CommandContext.resource("v1\\/clients\\/" + NUMBER_REGEX).method(PUT).build(), "updateClientCommandStrategy");
+        commandStrategies.add(CommandContext.resource("v1\\/loans").method(POST).build(), "applyLoanCommandStrategy");
+        commandStrategies.add(CommandContext.resource("v1\\/loans\\/" + NUMBER_REGEX + OPTIONAL_QUERY_PARAM_REGEX).method(GET).build(),
                 "getLoanByIdCommandStrategy");
-        commandStrategies.put(
+        commandStrategies.add(
                 CommandContext.resource("v1\\/loans\\/external-id\\/" + UUID_PARAM_REGEX + OPTIONAL_QUERY_PARAM_REGEX).method(GET).build(),
                 "getLoanByExternalIdCommandStrategy");
-        commandStrategies.put(
+        commandStrategies.add(
                 CommandContext.resource("v1\\/savingsaccounts\\/" + NUMBER_REGEX + OPTIONAL_QUERY_PARAM_REGEX).method(GET).build(),
                 "getSavingsAccountByIdCommandStrategy");
-        commandStrategies.put(CommandContext.resource("v1\\/savingsaccounts").method(POST).build(), "applySavingsCommandStrategy");
-        commandStrategies.put(CommandContext
+        commandStrategies.add(CommandContext.resource("v1\\/savingsaccounts").method(POST).build(), "applySavingsCommandStrategy");
+        commandStrategies.add(CommandContext
                 .resource("v1\\/savingsaccounts\\/" + NUMBER_REGEX + "\\/transactions" + OPTIONAL_COMMAND_PARAM_REGEX).method(POST).build(),
                 "savingsAccountTransactionCommandStrategy");
-        commandStrategies.put(CommandContext
+        commandStrategies.add(CommandContext
                 .resource("v1\\/savingsaccounts\\/" + NUMBER_REGEX + "\\/transactions\\/" + NUMBER_REGEX + OPTIONAL_COMMAND_PARAM_REGEX)
                 .method(POST).build(), "savingsAccountAdjustTransactionCommandStrategy");
-        commandStrategies.put(CommandContext.resource("v1\\/loans\\/" + NUMBER_REGEX + "\\/charges").method(POST).build(),
+        commandStrategies.add(CommandContext.resource("v1\\/loans\\/" + NUMBER_REGEX + "\\/charges").method(POST).build(),
                 "createChargeCommandStrategy");
-        commandStrategies.put(
+        commandStrategies.add(
                 CommandContext.resource("v1\\/loans\\/external-id\\/" + UUID_PARAM_REGEX + "\\/charges" + OPTIONAL_COMMAND_PARAM_REGEX + "")
                         .method(POST).build(),
                 "createChargeByLoanExternalIdCommandStrategy");
-        commandStrategies.put(CommandContext.resource("v1\\/loans\\/" + NUMBER_REGEX + "\\/charges").method(GET).build(),
+        commandStrategies.add(CommandContext.resource("v1\\/loans\\/" + NUMBER_REGEX + "\\/charges").method(GET).build(),
                 "collectChargesCommandStrategy");
-        commandStrategies.put(CommandContext.resource("v1\\/loans\\/external-id\\/" + UUID_PARAM_REGEX + "\\/charges").method(GET).build(),
+        commandStrategies.add(CommandContext.resource("v1\\/loans\\/external-id\\/" + UUID_PARAM_REGEX + "\\/charges").method(GET).build(),
                 "collectChargesByLoanExternalIdCommandStrategy");
-        commandStrategies.put(CommandContext.resource("v1\\/loans\\/" + NUMBER_REGEX + "\\/charges\\/" + NUMBER_REGEX).method(GET).build(),
+        commandStrategies.add(CommandContext.resource("v1\\/loans\\/" + NUMBER_REGEX + "\\/charges\\/" + NUMBER_REGEX).method(GET).build(),
                 "getChargeByIdCommandStrategy");
-        commandStrategies.put(CommandContext.resource("v1\\/loans\\/external-id\\/" + UUID_PARAM_REGEX + "\\/charges\\/external-id\\/"
+        commandStrategies.add(CommandContext.resource("v1\\/loans\\/external-id\\/" + UUID_PARAM_REGEX + "\\/charges\\/external-id\\/"
                 + UUID_PARAM_REGEX + OPTIONAL_QUERY_PARAM_REGEX).method(GET).build(), "getChargeByChargeExternalIdCommandStrategy");
-        commandStrategies.put(
+        commandStrategies.add(
                 CommandContext.resource("v1\\/loans\\/" + NUMBER_REGEX + "\\/charges\\/" + NUMBER_REGEX + MANDATORY_COMMAND_PARAM_REGEX)
                         .method(POST).build(),
                 "adjustChargeCommandStrategy");
-        commandStrategies.put(CommandContext.resource("v1\\/loans\\/external-id\\/" + UUID_PARAM_REGEX + "\\/charges\\/external-id\\/"
+        commandStrategies.add(CommandContext.resource("v1\\/loans\\/external-id\\/" + UUID_PARAM_REGEX + "\\/charges\\/external-id\\/"
                 + UUID_PARAM_REGEX + MANDATORY_COMMAND_PARAM_REGEX).method(POST).build(), "adjustChargeByChargeExternalIdCommandStrategy");
-        commandStrategies.put(CommandContext.resource("v1\\/loans\\/" + NUMBER_REGEX + "\\/transactions" + MANDATORY_COMMAND_PARAM_REGEX)
+        commandStrategies.add(CommandContext.resource("v1\\/loans\\/" + NUMBER_REGEX + "\\/transactions" + MANDATORY_COMMAND_PARAM_REGEX)
                 .method(POST).build(), "createTransactionLoanCommandStrategy");
-        commandStrategies.put(CommandContext
+        commandStrategies.add(CommandContext
                 .resource("v1\\/loans\\/external-id\\/" + UUID_PARAM_REGEX + "\\/transactions" + MANDATORY_COMMAND_PARAM_REGEX).method(POST)
                 .build(), "createTransactionByLoanExternalIdCommandStrategy");
-        commandStrategies.put(
+        commandStrategies.add(
                 CommandContext.resource("v1\\/loans\\/" + NUMBER_REGEX + "\\/transactions\\/" + NUMBER_REGEX + OPTIONAL_COMMAND_PARAM_REGEX)
                         .method(POST).build(),
                 "adjustLoanTransactionCommandStrategy");
-        commandStrategies.put(
+        commandStrategies.add(
                 CommandContext.resource("v1\\/loans\\/external-id\\/" + UUID_PARAM_REGEX + "\\/transactions\\/external-id\\/"
                         + UUID_PARAM_REGEX + OPTIONAL_COMMAND_PARAM_REGEX).method(POST).build(),
                 "adjustLoanTransactionByExternalIdCommandStrategy");
-        commandStrategies.put(CommandContext.resource("v1\\/clients\\/" + NUMBER_REGEX + "\\?command=activate").method(POST).build(),
+        commandStrategies.add(CommandContext.resource("v1\\/clients\\/" + NUMBER_REGEX + "\\?command=activate").method(POST).build(),
                 "activateClientCommandStrategy");
-        commandStrategies.put(CommandContext.resource("v1\\/loans\\/" + NUMBER_REGEX + "\\?command=approve").method(POST).build(),
+        commandStrategies.add(CommandContext.resource("v1\\/loans\\/" + NUMBER_REGEX + "\\?command=approve").method(POST).build(),
                 "approveLoanCommandStrategy");
-        commandStrategies.put(CommandContext.resource("v1\\/loans\\/" + NUMBER_REGEX + "\\?command=disburse").method(POST).build(),
+        commandStrategies.add(CommandContext.resource("v1\\/loans\\/" + NUMBER_REGEX + "\\?command=disburse").method(POST).build(),
                 "disburseLoanCommandStrategy");
-        commandStrategies.put(CommandContext.resource("v1\\/loans\\/external-id\\/" + UUID_PARAM_REGEX + MANDATORY_COMMAND_PARAM_REGEX)
+        commandStrategies.add(CommandContext.resource("v1\\/loans\\/external-id\\/" + UUID_PARAM_REGEX + MANDATORY_COMMAND_PARAM_REGEX)
                 .method(POST).build(), "loanStateTransistionsByExternalIdCommandStrategy");
-        commandStrategies.put(CommandContext.resource("v1\\/rescheduleloans").method(POST).build(),
+        commandStrategies.add(CommandContext.resource("v1\\/rescheduleloans").method(POST).build(),
                 "createLoanRescheduleRequestCommandStrategy");
-        commandStrategies.put(CommandContext.resource("v1\\/rescheduleloans\\/" + NUMBER_REGEX + "\\?command=approve").method(POST).build(),
+        commandStrategies.add(CommandContext.resource("v1\\/rescheduleloans\\/" + NUMBER_REGEX + "\\?command=approve").method(POST).build(),
                 "approveLoanRescheduleCommandStrategy");
-        commandStrategies.put(
+        commandStrategies.add(
                 CommandContext.resource("v1\\/loans\\/" + NUMBER_REGEX + "\\/transactions\\/" + NUMBER_REGEX).method(GET).build(),
                 "getLoanTransactionByIdCommandStrategy");
-        commandStrategies.put(
+        commandStrategies.add(
                 CommandContext.resource("v1\\/loans\\/external-id\\/" + UUID_PARAM_REGEX + "\\/transactions\\/external-id\\/"
                         + UUID_PARAM_REGEX + OPTIONAL_QUERY_PARAM_REGEX).method(GET).build(),
                 "getLoanTransactionByExternalIdCommandStrategy");
-        commandStrategies.put(CommandContext.resource("v1\\/datatables\\/" + ALPHANUMBERIC_WITH_UNDERSCORE_REGEX + "\\/" + NUMBER_REGEX)
+        commandStrategies.add(CommandContext.resource("v1\\/datatables\\/" + ALPHANUMBERIC_WITH_UNDERSCORE_REGEX + "\\/" + NUMBER_REGEX)
                 .method(POST).build(), "createDatatableEntryCommandStrategy");
-        commandStrategies.put(CommandContext
+        commandStrategies.add(CommandContext
                 .resource("v1\\/datatables\\/" + ALPHANUMBERIC_WITH_UNDERSCORE_REGEX + "\\/" + NUMBER_REGEX + "\\/" + NUMBER_REGEX)
                 .method(PUT).build(), "updateDatatableEntryOneToManyCommandStrategy");
-        commandStrategies.put(CommandContext.resource("v1\\/datatables\\/" + ALPHANUMBERIC_WITH_UNDERSCORE_REGEX + "\\/" + NUMBER_REGEX)
+        commandStrategies.add(CommandContext.resource("v1\\/datatables\\/" + ALPHANUMBERIC_WITH_UNDERSCORE_REGEX + "\\/" + NUMBER_REGEX)
                 .method(PUT).build(), "updateDatatableEntryOneToOneCommandStrategy");
-        commandStrategies.put(CommandContext
+        commandStrategies.add(CommandContext
                 .resource("v1\\/datatables\\/" + ALPHANUMBERIC_WITH_UNDERSCORE_REGEX + "\\/" + NUMBER_REGEX + "\\/" + NUMBER_REGEX)
                 .method(DELETE).build(), "deleteDatatableEntryOneToManyCommandStrategy");
-        commandStrategies.put(CommandContext.resource("v1\\/datatables\\/" + ALPHANUMBERIC_WITH_UNDERSCORE_REGEX + "\\/" + NUMBER_REGEX)
+        commandStrategies.add(CommandContext.resource("v1\\/datatables\\/" + ALPHANUMBERIC_WITH_UNDERSCORE_REGEX + "\\/" + NUMBER_REGEX)
                 .method(DELETE).build(), "deleteDatatableEntryOneToOneCommandStrategy");
-        commandStrategies.put(CommandContext
+        commandStrategies.add(CommandContext
                 .resource("v1\\/datatables\\/" + ALPHANUMBERIC_WITH_UNDERSCORE_REGEX + "\\/" + NUMBER_REGEX + OPTIONAL_QUERY_PARAM_REGEX)
                 .method(GET).build(), "getDatatableEntryByAppTableIdCommandStrategy");
-        commandStrategies.put(
+        commandStrategies.add(
                 CommandContext.resource("v1\\/datatables\\/" + ALPHANUMBERIC_WITH_UNDERSCORE_REGEX + "\\/" + NUMBER_REGEX + "\\/"
                         + NUMBER_REGEX + OPTIONAL_QUERY_PARAM_REGEX).method(GET).build(),
                 "getDatatableEntryByAppTableIdAndDataTableIdCommandStrategy");
-        commandStrategies.put(CommandContext.resource("v1\\/loans\\/" + NUMBER_REGEX + OPTIONAL_COMMAND_PARAM_REGEX).method(PUT).build(),
+        commandStrategies.add(CommandContext.resource("v1\\/loans\\/" + NUMBER_REGEX + OPTIONAL_COMMAND_PARAM_REGEX).method(PUT).build(),
                 "modifyLoanApplicationCommandStrategy");
-        commandStrategies.put(CommandContext.resource("v1\\/loans\\/external-id\\/" + UUID_PARAM_REGEX + OPTIONAL_COMMAND_PARAM_REGEX)
+        commandStrategies.add(CommandContext.resource("v1\\/loans\\/external-id\\/" + UUID_PARAM_REGEX + OPTIONAL_COMMAND_PARAM_REGEX)
                 .method(PUT).build(), "modifyLoanApplicationByExternalIdCommandStrategy");
-        commandStrategies.put(CommandContext
+        commandStrategies.add(CommandContext
                 .resource("v1\\/datatables\\/" + ALPHANUMBERIC_WITH_UNDERSCORE_REGEX + "\\/query" + MANDATORY_QUERY_PARAM_REGEX).method(GET)
                 .build(), "getDatatableEntryByQueryCommandStrategy");
     }
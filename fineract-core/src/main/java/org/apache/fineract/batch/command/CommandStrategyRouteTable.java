@@ -0,0 +1,186 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.batch.command;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Dispatch structure for the command strategy routes. The route keys of {@link CommandStrategyProvider} are split into
+ * path segments and stored in a trie per HTTP method. Literal segments are looked up by hash, parameter segments and the
+ * query part are matched with patterns compiled once when the route is added. Parameter segments made of a repeated
+ * character class, like {@code \d+}, are checked against a lookup table of the ASCII characters instead of running the
+ * regular expression.
+ *
+ * @see CommandStrategyProvider
+ */
+final class CommandStrategyRouteTable {
+
+    private static final String ESCAPED_SLASH = "\\/";
+    private static final String ESCAPED_QUESTION_MARK = "\\?";
+    private static final Pattern ESCAPED_SLASH_PATTERN = Pattern.compile(Pattern.quote(ESCAPED_SLASH));
+    private static final Pattern LITERAL_SEGMENT_PATTERN = Pattern.compile("[\\w-]+");
+    private static final Pattern CHARACTER_CLASS_REPETITION_PATTERN = Pattern.compile("(\\\\[dw]|\\[[^\\[\\]]+\\])([+*])");
+    private static final int ASCII_CHARACTERS = 128;
+
+    private final Map<String, Node> rootsByMethod = new HashMap<>();
+
+    /**
+     * Adds a route.
+     *
+     * @param routeKey
+     *            the route key, its resource is a regular expression with escaped slashes between the path segments
+     * @param beanName
+     *            the name of the command strategy bean serving the route
+     */
+    void add(CommandContext routeKey, String beanName) {
+        String resourceRegex = routeKey.getResource();
+        int queryStart = resourceRegex.indexOf(ESCAPED_QUESTION_MARK);
+        if (queryStart > 0 && resourceRegex.charAt(queryStart - 1) == '(') {
+            queryStart--;
+        }
+        String pathRegex = queryStart < 0 ? resourceRegex : resourceRegex.substring(0, queryStart);
+        Pattern queryPattern = queryStart < 0 ? null : Pattern.compile(resourceRegex.substring(queryStart));
+
+        Node node = rootsByMethod.computeIfAbsent(routeKey.getMethod(), method -> new Node());
+        for (String segmentRegex : ESCAPED_SLASH_PATTERN.split(pathRegex, -1)) {
+            node = LITERAL_SEGMENT_PATTERN.matcher(segmentRegex).matches() ? node.literalChild(segmentRegex)
+                    : node.patternChild(segmentRegex);
+        }
+        node.routes.add(new Route(queryPattern, beanName));
+    }
+
+    /**
+     * Finds the route of a request. Literal segments take precedence over parameter segments, routes sharing the same
+     * shape are tried in the order they were added.
+     *
+     * @param method
+     *            the HTTP method of the request
+     * @param resource
+     *            the relative URL of the request
+     * @return the name of the command strategy bean, or null if no route matches
+     */
+    String find(String method, String resource) {
+        Node root = rootsByMethod.get(method);
+        if (root == null) {
+            return null;
+        }
+        int queryStart = resource.indexOf('?');
+        String path = queryStart < 0 ? resource : resource.substring(0, queryStart);
+        String query = queryStart < 0 ? "" : resource.substring(queryStart);
+        return find(root, path.split("/", -1), 0, query);
+    }
+
+    private String find(Node node, String[] segments, int index, String query) {
+        if (index == segments.length) {
+            for (Route route : node.routes) {
+                if (route.matchesQuery(query)) {
+                    return route.beanName();
+                }
+            }
+            return null;
+        }
+        String segment = segments[index];
+        Node literalChild = node.literalChildren.get(segment);
+        if (literalChild != null) {
+            String beanName = find(literalChild, segments, index + 1, query);
+            if (beanName != null) {
+                return beanName;
+            }
+        }
+        for (PatternChild patternChild : node.patternChildren) {
+            if (patternChild.matches(segment)) {
+                String beanName = find(patternChild.node(), segments, index + 1, query);
+                if (beanName != null) {
+                    return beanName;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static final class Node {
+
+        private final Map<String, Node> literalChildren = new HashMap<>();
+        private final List<PatternChild> patternChildren = new ArrayList<>();
+        private final List<Route> routes = new ArrayList<>();
+
+        private Node literalChild(String segment) {
+            return literalChildren.computeIfAbsent(segment, key -> new Node());
+        }
+
+        private Node patternChild(String segmentRegex) {
+            for (PatternChild patternChild : patternChildren) {
+                if (patternChild.pattern().pattern().equals(segmentRegex)) {
+                    return patternChild.node();
+                }
+            }
+            PatternChild patternChild = new PatternChild(Pattern.compile(segmentRegex), asciiLookupTable(segmentRegex), new Node());
+            patternChildren.add(patternChild);
+            return patternChild.node();
+        }
+    }
+
+    /**
+     * @return the ASCII characters matching the character class of a segment regex like {@code [\w-]+}, or null if the
+     *         regex is not a single repeated character class
+     */
+    private static boolean[] asciiLookupTable(String segmentRegex) {
+        Matcher matcher = CHARACTER_CLASS_REPETITION_PATTERN.matcher(segmentRegex);
+        if (!matcher.matches()) {
+            return null;
+        }
+        Pattern characterClass = Pattern.compile(matcher.group(1));
+        boolean[] matchingCharacters = new boolean[ASCII_CHARACTERS];
+        for (char c = 0; c < ASCII_CHARACTERS; c++) {
+            matchingCharacters[c] = characterClass.matcher(String.valueOf(c)).matches();
+        }
+        return matchingCharacters;
+    }
+
+    private record PatternChild(Pattern pattern, boolean[] asciiLookupTable, Node node) {
+
+        private boolean matches(String segment) {
+            if (asciiLookupTable == null || segment.isEmpty()) {
+                return pattern.matcher(segment).matches();
+            }
+            for (int i = 0; i < segment.length(); i++) {
+                char c = segment.charAt(i);
+                if (c >= ASCII_CHARACTERS) {
+                    return pattern.matcher(segment).matches();
+                }
+                if (!asciiLookupTable[c]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private record Route(Pattern queryPattern, String beanName) {
+
+        private boolean matchesQuery(String query) {
+            return queryPattern == null ? query.isEmpty() : queryPattern.matcher(query).matches();
+        }
+    }
+}
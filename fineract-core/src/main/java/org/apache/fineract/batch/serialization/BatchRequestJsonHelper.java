@@ -18,9 +18,19 @@
  */
 package org.apache.fineract.batch.serialization;
 
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonSyntaxException;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.MalformedJsonException;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
 import java.lang.reflect.Type;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import org.apache.fineract.batch.domain.BatchRequest;
 import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
 import org.springframework.stereotype.Component;
@@ -48,4 +58,49 @@ public class BatchRequestJsonHelper extends FromJsonHelper {
         final List<BatchRequest> requests = super.getGsonConverter().fromJson(json, listType);
         return requests;
     }
+
+    /**
+     * Returns an iterator de-serializing the batchRequests of the input JSON array one at a time, so only the current
+     * request is held in memory. The start of the array is read right away, so an input which is not a JSON array fails
+     * here with a {@link JsonSyntaxException} instead of on the first {@link Iterator#hasNext()}. Later syntax errors are
+     * thrown as {@link JsonSyntaxException} and read errors as {@link JsonIOException} by the iterator.
+     *
+     * @param reader
+     * @return Iterator&lt;BatchRequest&gt;
+     */
+    public Iterator<BatchRequest> extractIterator(final Reader reader) {
+        final JsonReader jsonReader = new JsonReader(reader);
+        try {
+            jsonReader.beginArray();
+        } catch (IllegalStateException | IOException e) {
+            throw toJsonException(e);
+        }
+        return new Iterator<>() {
+
+            @Override
+            public boolean hasNext() {
+                try {
+                    return jsonReader.hasNext();
+                } catch (IOException e) {
+                    throw toJsonException(e);
+                }
+            }
+
+            @Override
+            public BatchRequest next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return getGsonConverter().fromJson(jsonReader, BatchRequest.class);
+            }
+        };
+    }
+
+    private static JsonParseException toJsonException(final Exception e) {
+        // same mapping as Gson#fromJson, an empty input is a syntax error too
+        if (e instanceof IllegalStateException || e instanceof MalformedJsonException || e instanceof EOFException) {
+            return new JsonSyntaxException(e);
+        }
+        return new JsonIOException(e);
+    }
 }
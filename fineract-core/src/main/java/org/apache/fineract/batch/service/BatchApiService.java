@@ -19,7 +19,9 @@
 package org.apache.fineract.batch.service;
 
 import jakarta.ws.rs.core.UriInfo;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 import org.apache.fineract.batch.domain.BatchRequest;
 import org.apache.fineract.batch.domain.BatchResponse;
 
@@ -45,6 +47,19 @@ public interface BatchApiService {
      */
     List<BatchResponse> handleBatchRequestsWithoutEnclosingTransaction(List<BatchRequest> requestList, UriInfo uriInfo);
 
+    /**
+     * Streaming variant of {@link #handleBatchRequestsWithoutEnclosingTransaction(List, UriInfo)}. The requests are
+     * executed one by one as they are read and each {@link org.apache.fineract.batch.domain.BatchResponse} is handed to
+     * the consumer as soon as it completes, so the memory used does not depend on the size of the batch. References
+     * between the requests are not supported, a request with a reference gets an error response.
+     *
+     * @param requests
+     * @param uriInfo
+     * @param responseConsumer
+     */
+    void handleBatchRequestsWithoutEnclosingTransaction(Iterator<BatchRequest> requests, UriInfo uriInfo,
+            Consumer<BatchResponse> responseConsumer);
+
     /**
      * returns a list of {@link org.apache.fineract.batch.domain.BatchResponse}s by getting the appropriate
      * CommandStrategy for every {@link org.apache.fineract.batch.domain.BatchRequest}. It will be used when the Query
@@ -18,9 +18,11 @@
  */
 package org.apache.fineract.batch.service;
 
+import static jakarta.ws.rs.HttpMethod.GET;
 import static org.apache.http.HttpStatus.SC_INTERNAL_SERVER_ERROR;
 import static org.apache.http.HttpStatus.SC_OK;
 
+import com.google.common.base.Splitter;
 import com.google.gson.Gson;
 import com.jayway.jsonpath.JsonPathException;
 import io.github.resilience4j.core.functions.Either;
@@ -32,15 +34,25 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.batch.command.CommandContext;
 import org.apache.fineract.batch.command.CommandStrategy;
 import org.apache.fineract.batch.command.CommandStrategyProvider;
@@ -51,14 +63,23 @@ import org.apache.fineract.batch.exception.BatchReferenceInvalidException;
 import org.apache.fineract.batch.exception.ErrorHandler;
 import org.apache.fineract.batch.exception.ErrorInfo;
 import org.apache.fineract.batch.service.ResolutionHelper.BatchRequestNode;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.domain.BatchRequestContextHolder;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
 import org.apache.fineract.infrastructure.core.exception.AbstractIdempotentCommandException;
 import org.apache.fineract.infrastructure.core.filters.BatchCallHandler;
 import org.apache.fineract.infrastructure.core.filters.BatchFilter;
 import org.apache.fineract.infrastructure.core.filters.BatchRequestPreprocessor;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.security.exception.InvalidInstanceTypeMethodException;
 import org.jetbrains.annotations.NotNull;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionDefinition;
@@ -80,7 +101,7 @@ import org.springframework.transaction.support.TransactionTemplate;
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class BatchApiServiceImpl implements BatchApiService {
+public class BatchApiServiceImpl implements BatchApiService, DisposableBean {
 
     private final CommandStrategyProvider strategyProvider;
     private final ResolutionHelper resolutionHelper;
@@ -94,6 +115,11 @@ public class BatchApiServiceImpl implements BatchApiService {
     @PersistenceContext
     private final EntityManager entityManager;
 
+    private final FineractProperties fineractProperties;
+
+    private final Map<String, Semaphore> parallelRootPermitsByTenant = new ConcurrentHashMap<>();
+    private volatile ExecutorService parallelExecutor;
+
     /**
      * Run each request root step in a separated transaction
      *
@@ -107,6 +133,35 @@ public class BatchApiServiceImpl implements BatchApiService {
         return handleBatchRequests(false, requestList, uriInfo);
     }
 
+    /**
+     * Run each request in a separated transaction as it is read, without keeping the requests or the responses
+     *
+     * @param requests
+     * @param uriInfo
+     * @param responseConsumer
+     */
+    @Override
+    public void handleBatchRequestsWithoutEnclosingTransaction(final Iterator<BatchRequest> requests, final UriInfo uriInfo,
+            final Consumer<BatchResponse> responseConsumer) {
+        BatchRequestContextHolder.setEnclosingTransaction(Optional.empty());
+        while (requests.hasNext()) {
+            responseConsumer.accept(callStreamedRequest(requests.next(), uriInfo));
+        }
+    }
+
+    private BatchResponse callStreamedRequest(BatchRequest request, UriInfo uriInfo) {
+        if (request.getReference() != null) {
+            // the referenced response may already be written out
+            return buildErrorResponse(new BatchReferenceInvalidException(request.getReference()), request);
+        }
+        if (fineractProperties.getMode().isReadOnlyMode() && !GET.equals(request.getMethod())) {
+            return buildErrorResponse(new InvalidInstanceTypeMethodException(request.getMethod()), request);
+        }
+        return callInTransaction(
+                transactionTemplate -> transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW),
+                () -> List.of(executeRequest(request, uriInfo))).get(0);
+    }
+
     /**
      * Run the batch request in transaction
      *
@@ -170,6 +225,15 @@ public class BatchApiServiceImpl implements BatchApiService {
         }
 
         final ArrayList<BatchResponse> responseList = new ArrayList<>(requestList.size());
+        if (!enclosingTransaction && rootNodes.size() > 1 && isParallelExecutionEnabled()
+                && rootNodes.stream().noneMatch(this::addressesExternalId)) {
+            List<List<BatchRequestNode>> rootGroups = groupRootRequestsByResource(rootNodes);
+            if (rootGroups.size() > 1) {
+                responseList.addAll(callRootRequestsInParallel(rootGroups, uriInfo));
+                responseList.sort(Comparator.comparing(BatchResponse::getRequestId));
+                return responseList;
+            }
+        }
         for (BatchRequestNode rootNode : rootNodes) {
             if (enclosingTransaction) {
                 this.callRequestRecursive(rootNode.getRequest(), rootNode, responseList, uriInfo, enclosingTransaction);
@@ -183,6 +247,213 @@ public class BatchApiServiceImpl implements BatchApiService {
         return responseList;
     }
 
+    /**
+     * Groups the root request trees which may modify the same resource, so that they are not executed concurrently. A
+     * tree of GET requests only forms a group on its own. The other trees are grouped by the resources addressed in the
+     * relative URLs of their requests, e.g. {@code loans/1} for {@code loans/1/transactions?command=repayment}, and the
+     * trees with requests on a collection, e.g. {@code POST loans}, are grouped together.
+     *
+     * @param rootNodes
+     *            the root request nodes
+     * @return the groups of root request nodes, each of them in the order of the root nodes
+     */
+    private List<List<BatchRequestNode>> groupRootRequestsByResource(List<BatchRequestNode> rootNodes) {
+        List<List<BatchRequestNode>> groups = new ArrayList<>();
+        Map<String, List<BatchRequestNode>> groupsByResource = new HashMap<>();
+        for (BatchRequestNode rootNode : rootNodes) {
+            Set<String> resources = new HashSet<>();
+            if (!isReadOnly(rootNode)) {
+                collectResources(rootNode, resources);
+            }
+            List<BatchRequestNode> group = null;
+            for (String resource : resources) {
+                List<BatchRequestNode> resourceGroup = groupsByResource.get(resource);
+                if (resourceGroup == null || resourceGroup == group) {
+                    continue;
+                }
+                if (group == null) {
+                    group = resourceGroup;
+                } else {
+                    // the tree joins two groups, which are executed one after the other from now on
+                    List<BatchRequestNode> mergedGroup = group;
+                    mergedGroup.addAll(resourceGroup);
+                    mergedGroup.sort(Comparator.comparing(node -> rootNodes.indexOf(node)));
+                    groups.remove(resourceGroup);
+                    groupsByResource.replaceAll((key, value) -> value == resourceGroup ? mergedGroup : value);
+                }
+            }
+            if (group == null) {
+                group = new ArrayList<>();
+                groups.add(group);
+            }
+            group.add(rootNode);
+            for (String resource : resources) {
+                groupsByResource.put(resource, group);
+            }
+        }
+        return groups;
+    }
+
+    private boolean isReadOnly(BatchRequestNode node) {
+        return GET.equals(node.getRequest().getMethod())
+                && node.getChildNodes().stream().allMatch(this::isReadOnly);
+    }
+
+    /**
+     * An external id cannot be told apart from the internal id of the same resource without looking it up, so the trees
+     * of a batch addressing a resource by external id are executed in order, on the calling thread.
+     */
+    private boolean addressesExternalId(BatchRequestNode node) {
+        List<String> segments = getPathSegments(node.getRequest().getRelativeUrl());
+        return (segments.size() > 1 && "external-id".equals(segments.get(1)))
+                || node.getChildNodes().stream().anyMatch(this::addressesExternalId);
+    }
+
+    private void collectResources(BatchRequestNode node, Set<String> resources) {
+        String resource = getResource(node.getRequest().getRelativeUrl());
+        if (resource != null) {
+            resources.add(resource);
+        }
+        node.getChildNodes().forEach(childNode -> collectResources(childNode, resources));
+    }
+
+    /**
+     * @return the resource addressed by the relative URL, e.g. {@code loans/1}, the collection itself for URLs without a
+     *         resource id, or null if the id references the response of a parent request, whose resource is grouped
+     *         already.
+     */
+    private String getResource(String relativeUrl) {
+        List<String> segments = getPathSegments(relativeUrl);
+        if (segments.size() < 2) {
+            return String.join("/", segments);
+        }
+        String id = segments.get(1);
+        if (id.contains("$.")) {
+            return null;
+        }
+        return segments.get(0) + "/" + id;
+    }
+
+    private List<String> getPathSegments(String relativeUrl) {
+        String path = StringUtils.substringBefore(StringUtils.removeStart(relativeUrl, "/"), "?");
+        return Splitter.on('/').omitEmptyStrings().splitToList(path);
+    }
+
+    /**
+     * Runs the groups of root request trees concurrently, the trees of a group one after the other, each of them in its
+     * own transactions. The number of groups running at the same time is limited per tenant, the remaining ones wait on
+     * the calling thread for a free slot.
+     *
+     * @param rootGroups
+     *            the groups of root request nodes
+     * @param uriInfo
+     * @return the responses of the request trees in the order of the groups
+     */
+    private List<BatchResponse> callRootRequestsInParallel(List<List<BatchRequestNode>> rootGroups, UriInfo uriInfo) {
+        FineractContext context = ThreadLocalContextUtil.getContext();
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        Map<String, String> loggingContext = MDC.getCopyOfContextMap();
+        Semaphore permits = getParallelRootPermits(context.getTenantContext().getTenantIdentifier());
+        ExecutorService executor = getParallelExecutor();
+
+        List<Future<List<BatchResponse>>> rootResponses = new ArrayList<>(rootGroups.size());
+        try {
+            for (List<BatchRequestNode> rootGroup : rootGroups) {
+                permits.acquire();
+                try {
+                    rootResponses.add(executor.submit(() -> {
+                        try {
+                            List<BatchResponse> groupResponses = new ArrayList<>();
+                            for (BatchRequestNode rootNode : rootGroup) {
+                                groupResponses.addAll(callRootRequest(rootNode, uriInfo, context, securityContext, loggingContext));
+                            }
+                            return groupResponses;
+                        } finally {
+                            permits.release();
+                        }
+                    }));
+                } catch (RejectedExecutionException e) {
+                    permits.release();
+                    throw e;
+                }
+            }
+            List<BatchResponse> responseList = new ArrayList<>();
+            for (Future<List<BatchResponse>> rootResponse : rootResponses) {
+                responseList.addAll(rootResponse.get());
+            }
+            return responseList;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the batch requests", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Error while executing the batch requests", e.getCause());
+        }
+    }
+
+    private List<BatchResponse> callRootRequest(BatchRequestNode rootNode, UriInfo uriInfo, FineractContext context,
+            SecurityContext securityContext, Map<String, String> loggingContext) {
+        ThreadLocalContextUtil.init(context);
+        SecurityContext workerSecurityContext = SecurityContextHolder.createEmptyContext();
+        workerSecurityContext.setAuthentication(securityContext.getAuthentication());
+        SecurityContextHolder.setContext(workerSecurityContext);
+        if (loggingContext != null) {
+            MDC.setContextMap(loggingContext);
+        }
+        BatchRequestContextHolder.setEnclosingTransaction(Optional.empty());
+        try {
+            List<BatchResponse> responseList = new ArrayList<>();
+            callRequestRecursive(rootNode.getRequest(), rootNode, responseList, uriInfo, false);
+            return responseList;
+        } finally {
+            BatchRequestContextHolder.resetRequestAttributes();
+            BatchRequestContextHolder.resetEnclosingTransaction();
+            SecurityContextHolder.clearContext();
+            ThreadLocalContextUtil.reset();
+            MDC.clear();
+        }
+    }
+
+    private boolean isParallelExecutionEnabled() {
+        FineractProperties.FineractBatchApiProperties batchProperties = getBatchApiProperties();
+        return batchProperties != null && batchProperties.isParallelEnabled();
+    }
+
+    private FineractProperties.FineractBatchApiProperties getBatchApiProperties() {
+        FineractProperties.FineractApiProperties apiProperties = fineractProperties.getApi();
+        return apiProperties == null ? null : apiProperties.getBatch();
+    }
+
+    private Semaphore getParallelRootPermits(String tenantIdentifier) {
+        int maxConcurrentRoots = Math.max(1, getBatchApiProperties().getParallelMaxConcurrentRootsPerTenant());
+        return parallelRootPermitsByTenant.computeIfAbsent(tenantIdentifier, tenant -> new Semaphore(maxConcurrentRoots, true));
+    }
+
+    private ExecutorService getParallelExecutor() {
+        ExecutorService executor = parallelExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = parallelExecutor;
+                if (executor == null) {
+                    int threadPoolSize = Math.max(1, getBatchApiProperties().getParallelThreadPoolSize());
+                    executor = Executors.newFixedThreadPool(threadPoolSize, new CustomizableThreadFactory("batch-api-"));
+                    parallelExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    @Override
+    public void destroy() {
+        ExecutorService executor = parallelExecutor;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
     /**
      * Executes the request and call child requests recursively.
      *
@@ -18,13 +18,51 @@
  */
 package org.apache.fineract.cob;
 
+import java.util.Collection;
 import org.apache.fineract.infrastructure.core.domain.AbstractPersistableCustom;
 
 public interface COBBusinessStep<T extends AbstractPersistableCustom> {
 
     T execute(T input);
 
+    /**
+     * Called once per chunk, on the thread processing the chunk and before any item of it is executed, so that the step
+     * can load its lookup data for the whole chunk at once. The ids never exceed the configured IN clause parameter
+     * limit. Prepared data must only be used for the items of the last prepared chunk, other items have to fall back to
+     * their own lookups.
+     *
+     * @param itemIds
+     *            ids of the items in the chunk, may be empty
+     */
+    default void prepare(Collection<Long> itemIds) {}
+
+    /**
+     * Called after every chunk, also failed ones, on the thread that processed it. Steps keeping prepared data in thread
+     * locals must remove it here, the threads are pooled and may serve another tenant next.
+     */
+    default void release() {}
+
     String getEnumStyledName();
 
     String getHumanReadableName();
+
+    /**
+     * Whether the step only reads the item (and raises events) without changing any persistent state. Read-only steps
+     * still run in their configured order, they see the item as the previous steps left it, but the item does not have
+     * to be reloaded after them.
+     */
+    default boolean isReadOnly() {
+        return false;
+    }
+
+    /**
+     * Whether the step may change persistent state of the item outside of the in-memory aggregate it received (e.g.
+     * with JDBC updates or by loading and saving the entity through other services). When COB dirty tracking is
+     * enabled, the item is only reloaded before the next step if this returns true. The reload resolves the item
+     * through the persistence context of the chunk, which is a first-level cache hit rather than a database round trip,
+     * and wires its transient helpers again.
+     */
+    default boolean isReloadRequiredAfterExecution() {
+        return !isReadOnly();
+    }
 }
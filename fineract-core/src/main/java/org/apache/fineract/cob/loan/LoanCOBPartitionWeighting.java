@@ -0,0 +1,40 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.loan;
+
+/**
+ * Cost measure used to balance the Loan COB partitions. With {@link #NONE} every loan weighs the same and partitions
+ * hold the same number of loans; the other options weigh each loan by the amount of work its business steps are
+ * expected to do, so that a partition of expensive loans holds fewer of them.
+ */
+public enum LoanCOBPartitionWeighting {
+
+    /**
+     * Every loan weighs the same.
+     */
+    NONE,
+    /**
+     * Loans are weighted by the number of rows in their repayment schedule.
+     */
+    INSTALLMENTS,
+    /**
+     * Loans are weighted by the number of their non reversed transactions.
+     */
+    TRANSACTIONS
+}
@@ -123,6 +123,9 @@ public class CommandSource extends AbstractPersistableCustom {
     @Column(name = "result_status_code")
     private Integer resultStatusCode;
 
+    @Column(name = "owner_node", length = 200)
+    private String ownerNode;
+
     private CommandSource(final String actionName, final String entityName, final String href, final Long resourceId,
             final Long subResourceId, final String commandSerializedAsJson, final AppUser maker, final String idempotencyKey,
             final Integer status) {
@@ -268,6 +271,10 @@ public class CommandSource extends AbstractPersistableCustom {
         this.transactionId = transactionId;
     }
 
+    public AppUser getMaker() {
+        return this.maker;
+    }
+
     public String getIdempotencyKey() {
         return idempotencyKey;
     }
@@ -304,6 +311,14 @@ public class CommandSource extends AbstractPersistableCustom {
         this.resultStatusCode = resultStatusCode;
     }
 
+    public String getOwnerNode() {
+        return ownerNode;
+    }
+
+    public void setOwnerNode(String ownerNode) {
+        this.ownerNode = ownerNode;
+    }
+
     public void markAsAwaitingApproval() {
         this.status = CommandProcessingResultType.AWAITING_APPROVAL.getValue();
     }
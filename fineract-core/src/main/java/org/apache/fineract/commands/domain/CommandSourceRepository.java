@@ -19,6 +19,7 @@
 package org.apache.fineract.commands.domain;
 
 import java.time.OffsetDateTime;
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
@@ -33,4 +34,17 @@ public interface CommandSourceRepository extends JpaRepository<CommandSource, Lo
     @Query("delete from CommandSource c where c.status = :status and c.madeOnDate is not null and c.madeOnDate <= :dateForPurgeCriteria")
     void deleteOlderEventsWithStatus(@Param("status") Integer status, @Param("dateForPurgeCriteria") OffsetDateTime dateForPurgeCriteria);
 
+    @Modifying(flushAutomatically = true)
+    @Query("update CommandSource c set c.status = :newStatus where c.id = :id and c.status = :status")
+    int updateStatus(@Param("id") Long id, @Param("status") Integer status, @Param("newStatus") Integer newStatus);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update CommandSource c set c.ownerNode = :newOwnerNode where c.id = :id and c.status = :status"
+            + " and (c.ownerNode = :ownerNode or c.ownerNode is null)")
+    int updateOwnerNode(@Param("id") Long id, @Param("status") Integer status, @Param("ownerNode") String ownerNode,
+            @Param("newOwnerNode") String newOwnerNode);
+
+    @Query("select c from CommandSource c where c.status = :status and c.madeOnDate <= :madeOnDate order by c.id")
+    List<CommandSource> findByStatusMadeBefore(@Param("status") Integer status, @Param("madeOnDate") OffsetDateTime madeOnDate);
+
 }
@@ -0,0 +1,84 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.jobs;
+
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.commands.domain.CommandProcessingResultType;
+import org.apache.fineract.commands.domain.CommandSource;
+import org.apache.fineract.commands.domain.CommandSourceRepository;
+import org.apache.fineract.commands.service.AsynchronousCommandProcessingService;
+import org.apache.fineract.commands.service.CommandSourceService;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * Takes over and dispatches again the commands that stayed queued longer than the recovery delay on a node which lost
+ * its lease, for example because it was restarted before executing them. The commands of a node which still holds its
+ * lease are only waiting in its workers and are left to it, so the commands of an aggregate never run on two nodes.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class ExecuteQueuedCommandsTasklet implements Tasklet {
+
+    private final CommandSourceRepository repository;
+    private final CommandSourceService commandSourceService;
+    private final AsynchronousCommandProcessingService asynchronousCommandProcessingService;
+    private final FineractProperties fineractProperties;
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+        if (!asynchronousCommandProcessingService.isEnabled()) {
+            return RepeatStatus.FINISHED;
+        }
+        int recoveryDelaySeconds = fineractProperties.getApi().getAsyncCommands().getRecoveryDelaySeconds();
+        OffsetDateTime queuedBefore = DateUtils.getAuditOffsetDateTime().minusSeconds(recoveryDelaySeconds);
+        List<CommandSource> queuedCommands = repository.findByStatusMadeBefore(CommandProcessingResultType.QUEUED.getValue(),
+                queuedBefore);
+        String ownerNode = asynchronousCommandProcessingService.getOwnerNode();
+        Map<String, Boolean> aliveByOwnerNode = new HashMap<>();
+        int dispatched = 0;
+        for (CommandSource queuedCommand : queuedCommands) {
+            String previousOwnerNode = queuedCommand.getOwnerNode();
+            if (ownerNode.equals(previousOwnerNode) || (previousOwnerNode != null
+                    && aliveByOwnerNode.computeIfAbsent(previousOwnerNode, asynchronousCommandProcessingService::isOwnerNodeAlive))) {
+                continue;
+            }
+            // in id order, so the commands of an aggregate keep their order in the worker of this node
+            if (commandSourceService.takeOverQueuedNewTransaction(queuedCommand.getId(), previousOwnerNode, ownerNode)) {
+                asynchronousCommandProcessingService.dispatch(queuedCommand);
+                dispatched++;
+            }
+        }
+        if (dispatched > 0) {
+            log.info("Dispatching {} queued commands of stopped nodes again", dispatched);
+        }
+        return RepeatStatus.FINISHED;
+    }
+}
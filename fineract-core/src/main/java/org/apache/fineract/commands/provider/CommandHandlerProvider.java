@@ -20,15 +20,21 @@ package org.apache.fineract.commands.provider;
 
 import com.google.common.base.Preconditions;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.commands.annotation.CommandType;
+import org.apache.fineract.commands.domain.CommandWrapper;
 import org.apache.fineract.commands.exception.UnsupportedCommandException;
 import org.apache.fineract.commands.handler.NewCommandSourceHandler;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.stereotype.Component;
@@ -48,10 +54,39 @@ import org.springframework.stereotype.Component;
 @Component
 @NoArgsConstructor
 @Slf4j
-public class CommandHandlerProvider implements ApplicationContextAware, InitializingBean {
+public class CommandHandlerProvider implements ApplicationContextAware, InitializingBean, SmartInitializingSingleton {
+
+    /**
+     * Handlers which are not registered with {@link CommandType}, but selected by the resource and the action of the
+     * command, in the order they are checked.
+     */
+    private static final List<ResourceHandlers> RESOURCE_HANDLERS = List.of(
+            new ResourceHandlers(CommandWrapper::isDatatableResource,
+                    List.of(new ActionHandler(CommandWrapper::isCreateDatatable, "createDatatableCommandHandler"),
+                            new ActionHandler(CommandWrapper::isDeleteDatatable, "deleteDatatableCommandHandler"),
+                            new ActionHandler(CommandWrapper::isUpdateDatatable, "updateDatatableCommandHandler"),
+                            new ActionHandler(CommandWrapper::isCreate, "createDatatableEntryCommandHandler"),
+                            new ActionHandler(CommandWrapper::isUpdateMultiple, "updateOneToManyDatatableEntryCommandHandler"),
+                            new ActionHandler(CommandWrapper::isUpdateOneToOne, "updateOneToOneDatatableEntryCommandHandler"),
+                            new ActionHandler(CommandWrapper::isDeleteMultiple, "deleteOneToManyDatatableEntryCommandHandler"),
+                            new ActionHandler(CommandWrapper::isDeleteOneToOne, "deleteOneToOneDatatableEntryCommandHandler"),
+                            new ActionHandler(CommandWrapper::isRegisterDatatable, "registerDatatableCommandHandler"))),
+            new ResourceHandlers(CommandWrapper::isNoteResource,
+                    List.of(new ActionHandler(CommandWrapper::isCreate, "createNoteCommandHandler"),
+                            new ActionHandler(CommandWrapper::isUpdate, "updateNoteCommandHandler"),
+                            new ActionHandler(CommandWrapper::isDelete, "deleteNoteCommandHandler"))),
+            new ResourceHandlers(CommandWrapper::isSurveyResource,
+                    List.of(new ActionHandler(CommandWrapper::isRegisterSurvey, "registerSurveyCommandHandler"),
+                            new ActionHandler(CommandWrapper::isFullFilSurvey, "fullFilSurveyCommandHandler"))),
+            new ResourceHandlers(CommandWrapper::isLoanDisburseDetailResource,
+                    List.of(new ActionHandler(CommandWrapper::isUpdateDisbursementDate, "updateLoanDisburseDateCommandHandler"),
+                            new ActionHandler(CommandWrapper::addAndDeleteDisbursementDetails,
+                                    "addAndDeleteLoanDisburseDetailsCommandHandler"))));
 
     private final HashMap<String, String> registeredHandlers = new HashMap<>();
     private ApplicationContext applicationContext;
+    private Map<String, Map<String, NewCommandSourceHandler>> handlers = Map.of();
+    private Map<String, NewCommandSourceHandler> resourceHandlers = Map.of();
 
     @Override
     public void afterPropertiesSet() throws Exception {
@@ -73,6 +108,32 @@ public class CommandHandlerProvider implements ApplicationContextAware, Initiali
         }
     }
 
+    /**
+     * Resolves the registered handlers once all singletons are created, so that commands are dispatched without
+     * looking up the handler beans.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        final Map<String, Map<String, NewCommandSourceHandler>> handlersByEntity = new HashMap<>();
+        for (final String commandHandlerName : registeredHandlers.values()) {
+            final CommandType commandType = applicationContext.findAnnotationOnBean(commandHandlerName, CommandType.class);
+            handlersByEntity.computeIfAbsent(commandType.entity(), entity -> new HashMap<>()).put(commandType.action(),
+                    (NewCommandSourceHandler) applicationContext.getBean(commandHandlerName));
+        }
+        final Map<String, NewCommandSourceHandler> handlersByBeanName = new HashMap<>();
+        for (final ResourceHandlers resourceHandler : RESOURCE_HANDLERS) {
+            for (final ActionHandler actionHandler : resourceHandler.actionHandlers()) {
+                final String handlerName = actionHandler.handlerName();
+                if (applicationContext.containsBean(handlerName)) {
+                    handlersByBeanName.put(handlerName, applicationContext.getBean(handlerName, NewCommandSourceHandler.class));
+                }
+            }
+        }
+        handlers = handlersByEntity.entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> Map.copyOf(entry.getValue())));
+        resourceHandlers = Map.copyOf(handlersByBeanName);
+    }
+
     /**
      * Returns a handler for the given entity and action.<br>
      * <br>
@@ -88,15 +149,60 @@ public class CommandHandlerProvider implements ApplicationContextAware, Initiali
         Preconditions.checkArgument(StringUtils.isNoneEmpty(entity), "An entity must be given!");
         Preconditions.checkArgument(StringUtils.isNoneEmpty(action), "An action must be given!");
 
+        final NewCommandSourceHandler handler = handlers.getOrDefault(entity, Map.of()).get(action);
+        if (handler != null) {
+            return handler;
+        }
         final String key = entity + "|" + action;
         if (!registeredHandlers.containsKey(key)) {
             throw new UnsupportedCommandException(key);
         }
+        // not resolved yet while the application context is starting up
         return (NewCommandSourceHandler) applicationContext.getBean(registeredHandlers.get(key));
     }
 
+    /**
+     * Returns a handler for the given command. Datatable, note, survey and loan disbursement detail commands are
+     * handled by the handler of their resource, all other commands by the handler of their entity and action.<br>
+     * <br>
+     * Throws an {@link UnsupportedCommandException} if no handler for the given command can be found.
+     *
+     * @param wrapper
+     *            the command to lookup the handler, must be given.
+     */
+    public NewCommandSourceHandler getHandler(final CommandWrapper wrapper) {
+        for (final ResourceHandlers resourceHandler : RESOURCE_HANDLERS) {
+            if (resourceHandler.resource().test(wrapper)) {
+                for (final ActionHandler actionHandler : resourceHandler.actionHandlers()) {
+                    if (actionHandler.action().test(wrapper)) {
+                        return getResourceHandler(wrapper, actionHandler.handlerName());
+                    }
+                }
+                throw new UnsupportedCommandException(wrapper.commandName());
+            }
+        }
+        return getHandler(wrapper.entityName(), wrapper.actionName());
+    }
+
+    private NewCommandSourceHandler getResourceHandler(final CommandWrapper wrapper, final String handlerName) {
+        final NewCommandSourceHandler handler = resourceHandlers.get(handlerName);
+        if (handler != null) {
+            return handler;
+        }
+        if (!applicationContext.containsBean(handlerName)) {
+            throw new UnsupportedCommandException(wrapper.commandName());
+        }
+        return applicationContext.getBean(handlerName, NewCommandSourceHandler.class);
+    }
+
     @Override
     public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
         this.applicationContext = applicationContext;
     }
+
+    private record ResourceHandlers(Predicate<CommandWrapper> resource, List<ActionHandler> actionHandlers) {
+    }
+
+    private record ActionHandler(Predicate<CommandWrapper> action, String handlerName) {
+    }
 }
@@ -0,0 +1,328 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.service;
+
+import com.google.gson.JsonElement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.commands.domain.CommandSource;
+import org.apache.fineract.commands.domain.CommandWrapper;
+import org.apache.fineract.infrastructure.core.api.JsonCommand;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
+import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
+import org.apache.fineract.infrastructure.core.domain.BatchRequestContextHolder;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
+import org.apache.fineract.infrastructure.core.domain.FineractRequestContextHolder;
+import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
+import org.apache.fineract.infrastructure.core.service.NodeLeaseService;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.database.ReadReplicaWriteRecorder;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+/**
+ * Queues the commands submitted with the {@code Prefer: respond-async} header instead of executing them on the HTTP
+ * thread. The command is stored in {@code m_portfolio_command_source} with the QUEUED status, the request is answered
+ * with 202 and the command id, and a pool of workers executes the command through {@link CommandProcessingService}.
+ * <p>
+ * Every tenant has its own workers, so a tenant submitting many commands does not delay the commands of the others. The
+ * commands of the same aggregate (loan, savings account, client, group or resource) always go to the same worker of the
+ * tenant, so they are executed in the order they were submitted to this node. The outcome is stored on the
+ * command source like for the synchronous commands: clients poll it through the audits API or subscribe to it with
+ * hooks.
+ * <p>
+ * A queued command is owned by the node which accepted it. The node holds a lease in {@code m_node_lease} and renews
+ * it as long as it has commands of the tenant in its workers. The Execute Queued Commands job of any node takes over
+ * and dispatches again only the commands whose owner lost its lease, for example because it was restarted, so the
+ * commands waiting in the workers of a live node are never executed on another node.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class AsynchronousCommandProcessingService implements DisposableBean {
+
+    public static final String ASYNC_REQUESTED_ATTRIBUTE = "asyncCommandRequested";
+    public static final String COMMAND_QUEUED_ATTRIBUTE = "commandQueued";
+    private static final String LEASE_NAME_PREFIX = "async-commands:";
+    private static final long IDLE_WORKER_KEEP_ALIVE_SECONDS = 60;
+
+    private final CommandSourceService commandSourceService;
+    private final CommandProcessingService commandProcessingService;
+    private final IdempotencyKeyResolver idempotencyKeyResolver;
+    private final FineractRequestContextHolder fineractRequestContextHolder;
+    private final FromJsonHelper fromApiJsonHelper;
+    private final FineractProperties fineractProperties;
+    private final NodeLeaseService nodeLeaseService;
+    private final ReadReplicaWriteRecorder readReplicaWriteRecorder;
+
+    private final Map<String, TenantWorkers> workersByTenant = new ConcurrentHashMap<>();
+    private volatile ScheduledExecutorService leaseRenewer;
+
+    public boolean isEnabled() {
+        FineractProperties.FineractApiProperties apiProperties = fineractProperties.getApi();
+        return apiProperties != null && apiProperties.getAsyncCommands() != null && apiProperties.getAsyncCommands().isEnabled();
+    }
+
+    /**
+     * @return true if the current request asked for asynchronous execution and it is allowed for it
+     */
+    public boolean isAsyncRequested() {
+        return isEnabled() && !FineractRequestContextHolder.isBatchRequest()
+                && Boolean.TRUE.equals(fineractRequestContextHolder.getAttribute(ASYNC_REQUESTED_ATTRIBUTE));
+    }
+
+    /**
+     * Stores the command as queued and hands it over to the workers. A command submitted again with the same
+     * idempotency key is not queued twice, the id of the existing command is returned instead.
+     *
+     * @return the result holding the id of the command
+     */
+    public CommandProcessingResult submit(final CommandWrapper wrapper, final JsonCommand command, final AppUser maker) {
+        String idempotencyKey = idempotencyKeyResolver.resolve(wrapper);
+        CommandSource commandSource = commandSourceService.findCommandSource(wrapper, idempotencyKey);
+        if (commandSource == null) {
+            commandSource = commandSourceService.saveQueuedNewTransaction(wrapper, command, maker, idempotencyKey,
+                    nodeLeaseService.getOwner());
+            dispatch(commandSource);
+        }
+        fineractRequestContextHolder.setAttribute(COMMAND_QUEUED_ATTRIBUTE, true);
+        return new CommandProcessingResultBuilder().withCommandId(commandSource.getId()).withEntityId(commandSource.getResourceId())
+                .build();
+    }
+
+    /**
+     * Hands a queued command owned by this node over to the worker of its aggregate. Must be called with the tenant
+     * context of the command.
+     */
+    public void dispatch(final CommandSource commandSource) {
+        FineractContext context = ThreadLocalContextUtil.getContext();
+        Long commandId = commandSource.getId();
+        String aggregateKey = getAggregateKey(commandSource);
+        TenantWorkers tenantWorkers = getWorkers(context);
+        ExecutorService[] lanes = tenantWorkers.lanes();
+        if (tenantWorkers.pendingCount().getAndIncrement() == 0) {
+            renewLease();
+        }
+        try {
+            lanes[Math.floorMod(aggregateKey.hashCode(), lanes.length)].execute(() -> {
+                try {
+                    executeQueuedCommand(commandId, context);
+                } finally {
+                    tenantWorkers.pendingCount().decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            tenantWorkers.pendingCount().decrementAndGet();
+            // stays queued, the Execute Queued Commands job of another node picks it up once the lease expired
+            log.warn("Queued command {} could not be dispatched: {}", commandId, e.getMessage());
+        }
+    }
+
+    /**
+     * @return the identifier of this node, stored as the owner of the commands it accepted
+     */
+    public String getOwnerNode() {
+        return nodeLeaseService.getOwner();
+    }
+
+    /**
+     * @return whether the given node still holds its lease on the current tenant, and so still executes its commands
+     */
+    public boolean isOwnerNodeAlive(String ownerNode) {
+        return nodeLeaseService.isHeld(LEASE_NAME_PREFIX + ownerNode);
+    }
+
+    private void renewLease() {
+        try {
+            nodeLeaseService.tryAcquire(LEASE_NAME_PREFIX + nodeLeaseService.getOwner(), getLeaseDuration());
+        } catch (RuntimeException e) {
+            log.warn("Lease of the queued commands could not be renewed: {}", e.getMessage());
+        }
+    }
+
+    private void releaseLease() {
+        try {
+            nodeLeaseService.release(LEASE_NAME_PREFIX + nodeLeaseService.getOwner());
+        } catch (RuntimeException e) {
+            log.warn("Lease of the queued commands could not be released: {}", e.getMessage());
+        }
+    }
+
+    private void renewLeases() {
+        // the lease of a tenant without pending commands is left to expire
+        workersByTenant.values().stream().filter(tenantWorkers -> tenantWorkers.pendingCount().get() > 0)
+                .forEach(tenantWorkers -> runInTenant(tenantWorkers.context(), this::renewLease));
+    }
+
+    private void releaseLeases() {
+        workersByTenant.values().forEach(tenantWorkers -> runInTenant(tenantWorkers.context(), this::releaseLease));
+    }
+
+    private void runInTenant(FineractContext context, Runnable task) {
+        ThreadLocalContextUtil.init(context);
+        try {
+            task.run();
+        } finally {
+            ThreadLocalContextUtil.reset();
+        }
+    }
+
+    private Duration getLeaseDuration() {
+        return Duration.ofSeconds(Math.max(1, fineractProperties.getApi().getAsyncCommands().getLeaseDurationSeconds()));
+    }
+
+    private void executeQueuedCommand(Long commandId, FineractContext context) {
+        ThreadLocalContextUtil.init(context);
+        // lets the command processing pick up the already stored command source, which is claimed below
+        BatchRequestContextHolder.setRequestAttributes(new HashMap<>(Map.of(SynchronousCommandProcessingService.COMMAND_SOURCE_ID,
+                commandId, SynchronousCommandProcessingService.CLAIMED_COMMAND_SOURCE_ID, commandId)));
+        String makerName = null;
+        try {
+            if (!commandSourceService.claimQueuedNewTransaction(commandId)) {
+                log.debug("Queued command {} is already processed", commandId);
+                return;
+            }
+            CommandSource commandSource = commandSourceService.getCommandSource(commandId);
+            AppUser maker = commandSource.getMaker();
+            makerName = maker.getUsername();
+            SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+            securityContext.setAuthentication(new UsernamePasswordAuthenticationToken(maker, maker.getPassword(), maker.getAuthorities()));
+            SecurityContextHolder.setContext(securityContext);
+            commandProcessingService.executeCommand(toCommandWrapper(commandSource), toJsonCommand(commandSource), false);
+        } catch (RuntimeException e) {
+            // the error is stored on the command source by the command processing
+            log.warn("Queued command {} failed: {}", commandId, e.getMessage());
+        } finally {
+            // the outcome is stored on the command source either way, the maker reads it from the primary for a while
+            if (makerName != null) {
+                recordWrite(makerName);
+            }
+            BatchRequestContextHolder.resetRequestAttributes();
+            SecurityContextHolder.clearContext();
+            ThreadLocalContextUtil.reset();
+        }
+    }
+
+    private void recordWrite(String makerName) {
+        try {
+            readReplicaWriteRecorder.recordWrite(makerName);
+        } catch (RuntimeException e) {
+            log.warn("Could not record the write of {} for the read replica routing: {}", makerName, e.getMessage());
+        }
+    }
+
+    private CommandWrapper toCommandWrapper(CommandSource commandSource) {
+        return CommandWrapper.fromExistingCommand(commandSource.getId(), commandSource.getActionName(), commandSource.getEntityName(),
+                commandSource.getResourceId(), commandSource.getSubResourceId(), commandSource.getResourceGetUrl(),
+                commandSource.getProductId(), commandSource.getOfficeId(), commandSource.getGroupId(), commandSource.getClientId(),
+                commandSource.getLoanId(), commandSource.getSavingsId(), commandSource.getTransactionId(),
+                commandSource.getCreditBureauId(), commandSource.getOrganisationCreditBureauId(), commandSource.getIdempotencyKey());
+    }
+
+    private JsonCommand toJsonCommand(CommandSource commandSource) {
+        final JsonElement parsedCommand = this.fromApiJsonHelper.parse(commandSource.getCommandJson());
+        return JsonCommand.from(commandSource.getCommandJson(), parsedCommand, this.fromApiJsonHelper, commandSource.getEntityName(),
+                commandSource.getResourceId(), commandSource.getSubResourceId(), commandSource.getGroupId(), commandSource.getClientId(),
+                commandSource.getLoanId(), commandSource.getSavingsId(), commandSource.getTransactionId(),
+                commandSource.getResourceGetUrl(), commandSource.getProductId(), commandSource.getCreditBureauId(),
+                commandSource.getOrganisationCreditBureauId(), commandSource.getJobName());
+    }
+
+    private static String getAggregateKey(CommandSource commandSource) {
+        if (commandSource.getLoanId() != null) {
+            return "loan:" + commandSource.getLoanId();
+        } else if (commandSource.getSavingsId() != null) {
+            return "savings:" + commandSource.getSavingsId();
+        } else if (commandSource.getClientId() != null) {
+            return "client:" + commandSource.getClientId();
+        } else if (commandSource.getGroupId() != null) {
+            return "group:" + commandSource.getGroupId();
+        } else if (commandSource.getResourceId() != null) {
+            return commandSource.getEntityName() + ":" + commandSource.getResourceId();
+        }
+        return "command:" + commandSource.getId();
+    }
+
+    private TenantWorkers getWorkers(FineractContext context) {
+        startLeaseRenewer();
+        return workersByTenant.computeIfAbsent(context.getTenantContext().getTenantIdentifier(), tenantIdentifier -> {
+            // one single threaded executor per lane keeps the commands of an aggregate in order, the thread of an idle lane
+            // is stopped so tenants without commands hold no threads
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("async-command-" + tenantIdentifier + "-");
+            ExecutorService[] lanes = new ExecutorService[Math.max(1, fineractProperties.getApi().getAsyncCommands().getWorkerCount())];
+            for (int i = 0; i < lanes.length; i++) {
+                ThreadPoolExecutor lane = new ThreadPoolExecutor(1, 1, IDLE_WORKER_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<>(), threadFactory);
+                lane.allowCoreThreadTimeOut(true);
+                lanes[i] = lane;
+            }
+            return new TenantWorkers(context, new AtomicInteger(), lanes);
+        });
+    }
+
+    private void startLeaseRenewer() {
+        if (leaseRenewer == null) {
+            synchronized (this) {
+                if (leaseRenewer == null) {
+                    long renewalMillis = getLeaseDuration().toMillis() / 3;
+                    ScheduledExecutorService renewer = Executors
+                            .newSingleThreadScheduledExecutor(new CustomizableThreadFactory("async-command-lease-"));
+                    renewer.scheduleWithFixedDelay(this::renewLeases, renewalMillis, renewalMillis, TimeUnit.MILLISECONDS);
+                    leaseRenewer = renewer;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        ScheduledExecutorService renewer = leaseRenewer;
+        if (renewer != null) {
+            renewer.shutdownNow();
+        }
+        workersByTenant.values().forEach(tenantWorkers -> {
+            for (ExecutorService lane : tenantWorkers.lanes()) {
+                lane.shutdownNow();
+            }
+        });
+        // lets the other nodes take over the commands left queued without waiting for the leases to expire
+        releaseLeases();
+    }
+
+    private record TenantWorkers(FineractContext context, AtomicInteger pendingCount, ExecutorService[] lanes) {
+    }
+}
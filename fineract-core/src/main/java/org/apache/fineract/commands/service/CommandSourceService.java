@@ -18,8 +18,10 @@
  */
 package org.apache.fineract.commands.service;
 
+import static org.apache.fineract.commands.domain.CommandProcessingResultType.QUEUED;
 import static org.apache.fineract.commands.domain.CommandProcessingResultType.UNDER_PROCESSING;
 
+import java.time.LocalDateTime;
 import lombok.RequiredArgsConstructor;
 import org.apache.fineract.batch.exception.ErrorHandler;
 import org.apache.fineract.batch.exception.ErrorInfo;
@@ -28,8 +30,12 @@ import org.apache.fineract.commands.domain.CommandSourceRepository;
 import org.apache.fineract.commands.domain.CommandWrapper;
 import org.apache.fineract.commands.exception.CommandNotFoundException;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.useradministration.domain.AppUser;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Propagation;
@@ -46,6 +52,8 @@ public class CommandSourceService {
 
     private final CommandSourceRepository commandSourceRepository;
     private final ErrorHandler errorHandler;
+    private final JdbcTemplate jdbcTemplate;
+    private final FineractProperties fineractProperties;
 
     @NotNull
     @Transactional(propagation = Propagation.REQUIRES_NEW, isolation = Isolation.REPEATABLE_READ)
@@ -59,6 +67,115 @@ public class CommandSourceService {
         return saveInitial(wrapper, jsonCommand, maker, idempotencyKey);
     }
 
+    @NotNull
+    @Transactional(propagation = Propagation.REQUIRES_NEW, isolation = Isolation.REPEATABLE_READ)
+    public CommandSource saveQueuedNewTransaction(CommandWrapper wrapper, JsonCommand jsonCommand, AppUser maker, String idempotencyKey,
+            String ownerNode) {
+        CommandSource queuedCommandSource = CommandSource.fullEntryFrom(wrapper, jsonCommand, maker, idempotencyKey, QUEUED.getValue());
+        if (queuedCommandSource.getCommandJson() == null) {
+            queuedCommandSource.setCommandJson("{}");
+        }
+        queuedCommandSource.setOwnerNode(ownerNode);
+        return commandSourceRepository.saveAndFlush(queuedCommandSource);
+    }
+
+    /**
+     * Moves a queued command to under processing. Only one of the concurrent callers succeeds, so a command is never
+     * executed twice even if it was dispatched more than once.
+     *
+     * @return true if the command was still queued and is now claimed by the caller
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean claimQueuedNewTransaction(Long commandSourceId) {
+        return commandSourceRepository.updateStatus(commandSourceId, QUEUED.getValue(), UNDER_PROCESSING.getValue()) == 1;
+    }
+
+    /**
+     * Moves a queued command from a node which no longer holds its lease, or from no node, to the given node. Only one
+     * of the concurrent callers succeeds.
+     *
+     * @return true if the command was still queued for the previous owner and is now owned by the given node
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean takeOverQueuedNewTransaction(Long commandSourceId, String previousOwnerNode, String ownerNode) {
+        return commandSourceRepository.updateOwnerNode(commandSourceId, QUEUED.getValue(), previousOwnerNode, ownerNode) == 1;
+    }
+
+    /**
+     * Claims the idempotency key of a command with a single narrow insert, instead of writing the full command source
+     * before the command is processed. The claim is committed immediately, so concurrent requests with the same key see
+     * it while the command is under processing. A claim left behind by a process which died before writing the result
+     * is taken over with {@link #claimExpiredIdempotencyKeyNewTransaction(CommandWrapper, String)}.
+     *
+     * @return true if the key was not claimed yet and is now claimed by the caller
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean claimIdempotencyKeyNewTransaction(CommandWrapper wrapper, String idempotencyKey) {
+        try {
+            jdbcTemplate.update(
+                    "INSERT INTO m_portfolio_command_claim (action_name, entity_name, idempotency_key, created_at) VALUES (?, ?, ?, ?)",
+                    wrapper.actionName(), wrapper.entityName(), idempotencyKey, DateUtils.getAuditLocalDateTime());
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Takes over the claim of an idempotency key which is older than the claim timeout, so a key is not reported under
+     * processing forever when the process which claimed it died before writing the result.
+     *
+     * @return true if the claim was expired and is now renewed for the caller
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean claimExpiredIdempotencyKeyNewTransaction(CommandWrapper wrapper, String idempotencyKey) {
+        LocalDateTime now = DateUtils.getAuditLocalDateTime();
+        LocalDateTime expiredBefore = now.minusSeconds(fineractProperties.getIdempotencyKeyClaimTimeoutSeconds());
+        return jdbcTemplate.update(
+                "UPDATE m_portfolio_command_claim SET created_at = ? WHERE action_name = ? AND entity_name = ? AND idempotency_key = ?"
+                        + " AND created_at < ?",
+                now, wrapper.actionName(), wrapper.entityName(), idempotencyKey, expiredBefore) == 1;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void releaseIdempotencyKeyNewTransaction(CommandWrapper wrapper, String idempotencyKey) {
+        releaseIdempotencyKey(wrapper, idempotencyKey);
+    }
+
+    /**
+     * Creates the command source of a claimed command without saving it, it is written only once with the result.
+     */
+    @NotNull
+    public CommandSource createClaimed(CommandWrapper wrapper, JsonCommand jsonCommand, AppUser maker, String idempotencyKey) {
+        CommandSource claimedCommandSource = CommandSource.fullEntryFrom(wrapper, jsonCommand, maker, idempotencyKey,
+                UNDER_PROCESSING.getValue());
+        if (claimedCommandSource.getCommandJson() == null) {
+            claimedCommandSource.setCommandJson("{}");
+        }
+        return claimedCommandSource;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRED)
+    public CommandSource saveClaimedResultSameTransaction(@NotNull CommandWrapper wrapper, @NotNull CommandSource commandSource) {
+        releaseIdempotencyKey(wrapper, commandSource.getIdempotencyKey());
+        return saveResult(commandSource);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW, isolation = Isolation.REPEATABLE_READ)
+    public CommandSource saveClaimedResultNewTransaction(@NotNull CommandWrapper wrapper, @NotNull CommandSource commandSource) {
+        releaseIdempotencyKey(wrapper, commandSource.getIdempotencyKey());
+        return saveResult(commandSource);
+    }
+
+    /**
+     * The claim is released in the same transaction which writes the command source, so the key is always either
+     * claimed or recorded with the command.
+     */
+    private void releaseIdempotencyKey(CommandWrapper wrapper, String idempotencyKey) {
+        jdbcTemplate.update("DELETE FROM m_portfolio_command_claim WHERE action_name = ? AND entity_name = ? AND idempotency_key = ?",
+                wrapper.actionName(), wrapper.entityName(), idempotencyKey);
+    }
+
     @NotNull
     private CommandSource saveInitial(CommandWrapper wrapper, JsonCommand jsonCommand, AppUser maker, String idempotencyKey) {
         CommandSource initialCommandSource = getInitialCommandSource(wrapper, jsonCommand, maker, idempotencyKey);
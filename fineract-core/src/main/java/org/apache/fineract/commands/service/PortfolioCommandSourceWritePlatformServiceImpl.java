@@ -45,6 +45,7 @@ public class PortfolioCommandSourceWritePlatformServiceImpl implements Portfolio
     private final FromJsonHelper fromApiJsonHelper;
     private final CommandProcessingService processAndLogCommandService;
     private final SchedulerJobRunnerReadService schedulerJobRunnerReadService;
+    private final AsynchronousCommandProcessingService asynchronousCommandProcessingService;
 
     @Override
     public CommandProcessingResult logCommandSource(final CommandWrapper wrapper) {
@@ -72,6 +73,9 @@ public class PortfolioCommandSourceWritePlatformServiceImpl implements Portfolio
                 wrapper.getTransactionId(), wrapper.getHref(), wrapper.getProductId(), wrapper.getCreditBureauId(),
                 wrapper.getOrganisationCreditBureauId(), wrapper.getJobName());
 
+        if (!isApprovedByChecker && this.asynchronousCommandProcessingService.isAsyncRequested()) {
+            return this.asynchronousCommandProcessingService.submit(wrapper, command, this.context.authenticatedUser(wrapper));
+        }
         return this.processAndLogCommandService.executeCommand(wrapper, command, isApprovedByChecker);
     }
 
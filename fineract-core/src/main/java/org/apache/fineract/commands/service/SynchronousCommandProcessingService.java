@@ -26,6 +26,8 @@ import static org.apache.http.HttpStatus.SC_OK;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 import io.github.resilience4j.retry.annotation.Retry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.lang.reflect.Type;
 import java.time.Instant;
 import java.util.HashMap;
@@ -38,7 +40,6 @@ import org.apache.fineract.commands.domain.CommandProcessingResultType;
 import org.apache.fineract.commands.domain.CommandSource;
 import org.apache.fineract.commands.domain.CommandWrapper;
 import org.apache.fineract.commands.exception.RollbackTransactionAsCommandIsNotApprovedByCheckerException;
-import org.apache.fineract.commands.exception.UnsupportedCommandException;
 import org.apache.fineract.commands.handler.NewCommandSourceHandler;
 import org.apache.fineract.commands.provider.CommandHandlerProvider;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
@@ -59,7 +60,9 @@ import org.apache.fineract.infrastructure.security.service.PlatformSecurityConte
 import org.apache.fineract.useradministration.domain.AppUser;
 import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @Slf4j
@@ -70,6 +73,8 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
 
     public static final String IDEMPOTENCY_KEY_ATTRIBUTE = "IdempotencyKeyAttribute";
     public static final String COMMAND_SOURCE_ID = "commandSourceId";
+    public static final String CLAIMED_COMMAND_SOURCE_ID = "claimedCommandSourceId";
+    public static final String HANDLER_RESOLUTION_TIMER = "fineract.command.handler-resolution";
     private final PlatformSecurityContext context;
     private final ApplicationContext applicationContext;
     private final ToApiJsonSerializer<Map<String, Object>> toApiJsonSerializer;
@@ -82,7 +87,10 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
     private final ErrorHandler errorHandler;
 
     private final FineractRequestContextHolder fineractRequestContextHolder;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
     private final Gson gson = GoogleGsonSerializerHelper.createSimpleGson();
+    private volatile Timer handlerResolutionTimer;
 
     @Override
     @Retry(name = "executeCommand", fallbackMethod = "fallbackExecuteCommand")
@@ -102,9 +110,13 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
         } else {
             idempotencyKey = idempotencyKeyResolver.resolve(wrapper);
         }
-        exceptionWhenTheRequestAlreadyProcessed(wrapper, idempotencyKey, isRetry);
 
         boolean sameTransaction = BatchRequestContextHolder.getEnclosingTransaction().isPresent();
+        if (!isRetry && !sameTransaction && command.commandId() == null) {
+            return executeClaimedCommand(wrapper, command, isApprovedByChecker, idempotencyKey);
+        }
+        exceptionWhenTheRequestAlreadyProcessed(wrapper, idempotencyKey, isRetry);
+
         if (commandSource == null) {
             AppUser user = context.authenticatedUser(wrapper);
             commandSource = sameTransaction ? commandSourceService.saveInitialSameTransaction(wrapper, command, user, idempotencyKey)
@@ -127,6 +139,62 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
             throw t;
         }
 
+        boolean isRollback = updateProcessed(wrapper, commandSource, result, isApprovedByChecker);
+        commandSource = commandSourceService.saveResultSameTransaction(commandSource);
+
+        return completeProcessed(wrapper, command, commandSource, result, isRollback);
+    }
+
+    /**
+     * Executes a new command without writing its command source up front: the idempotency key is claimed with a narrow
+     * insert, and the command source is written only once, with the result, in the transaction of the command handler.
+     * A failed command is written in a new transaction, and its id is stored in the context so that the retry continues
+     * with the same command source.
+     */
+    private CommandProcessingResult executeClaimedCommand(final CommandWrapper wrapper, final JsonCommand command,
+            final boolean isApprovedByChecker, final String idempotencyKey) {
+        if (!commandSourceService.claimIdempotencyKeyNewTransaction(wrapper, idempotencyKey)
+                && !commandSourceService.claimExpiredIdempotencyKeyNewTransaction(wrapper, idempotencyKey)) {
+            throw new IdempotentCommandProcessUnderProcessingException(wrapper, idempotencyKey);
+        }
+        try {
+            // checked after the claim, as the command may have been finished since the key was resolved
+            exceptionWhenTheRequestAlreadyProcessed(wrapper, idempotencyKey, false);
+        } catch (RuntimeException e) {
+            commandSourceService.releaseIdempotencyKeyNewTransaction(wrapper, idempotencyKey);
+            throw e;
+        }
+        AppUser user = context.authenticatedUser(wrapper);
+        setIdempotencyKeyStoreFlag(true);
+
+        final ProcessedCommand processed;
+        try {
+            processed = new TransactionTemplate(transactionManager).execute(status -> {
+                CommandSource commandSource = commandSourceService.createClaimed(wrapper, command, user, idempotencyKey);
+                CommandProcessingResult result = findCommandHandler(wrapper).processCommand(command);
+                boolean isRollback = updateProcessed(wrapper, commandSource, result, isApprovedByChecker);
+                return new ProcessedCommand(commandSourceService.saveClaimedResultSameTransaction(wrapper, commandSource), result,
+                        isRollback);
+            });
+        } catch (Throwable t) { // NOSONAR
+            ErrorInfo errorInfo = commandSourceService.generateErrorInfo(t);
+            // a fresh entity, as the one of the rolled back transaction may already have an id assigned
+            CommandSource commandSource = commandSourceService.createClaimed(wrapper, command, user, idempotencyKey);
+            commandSource.setResultStatusCode(errorInfo.getStatusCode());
+            commandSource.setResult(errorInfo.getMessage());
+            commandSource.setStatus(ERROR);
+            commandSource = commandSourceService.saveClaimedResultNewTransaction(wrapper, commandSource);
+            storeCommandIdInContext(commandSource);
+            publishHookErrorEvent(wrapper, command, errorInfo);
+            throw t;
+        }
+        storeCommandIdInContext(processed.commandSource());
+
+        return completeProcessed(wrapper, command, processed.commandSource(), processed.result(), processed.rollback());
+    }
+
+    private boolean updateProcessed(CommandWrapper wrapper, CommandSource commandSource, CommandProcessingResult result,
+            boolean isApprovedByChecker) {
         commandSource.updateForAudit(result);
         commandSource.setResult(toApiJsonSerializer.serializeResult(result));
         commandSource.setResultStatusCode(SC_OK);
@@ -138,9 +206,11 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
         if (!isRollback && result.hasChanges()) {
             commandSource.setCommandJson(toApiJsonSerializer.serializeResult(result.getChanges()));
         }
+        return isRollback;
+    }
 
-        commandSource = commandSourceService.saveResultSameTransaction(commandSource);
-
+    private CommandProcessingResult completeProcessed(CommandWrapper wrapper, JsonCommand command, CommandSource commandSource,
+            CommandProcessingResult result, boolean isRollback) {
         if (isRollback) {
             /*
              * JournalEntry will generate a new transactionId every time. Updating the transactionId with old
@@ -148,7 +218,7 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
              * when checker approves the transaction
              */
             commandSource.setTransactionId(command.getTransactionId());
-            // TODO: this should be removed together with lines 133-135
+            // TODO: this should be removed together with the command json override in updateProcessed
             commandSource.setCommandJson(command.json()); // Set back CommandSource json data
             throw new RollbackTransactionAsCommandIsNotApprovedByCheckerException(commandSource);
         }
@@ -178,7 +248,12 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
         }
         CommandProcessingResultType status = CommandProcessingResultType.fromInt(command.getStatus());
         switch (status) {
-            case UNDER_PROCESSING -> throw new IdempotentCommandProcessUnderProcessingException(wrapper, idempotencyKey);
+            case UNDER_PROCESSING -> {
+                // only a dequeued command finds itself under processing, as its worker has claimed it
+                if (!command.getId().equals(fineractRequestContextHolder.getAttribute(CLAIMED_COMMAND_SOURCE_ID, null))) {
+                    throw new IdempotentCommandProcessUnderProcessingException(wrapper, idempotencyKey);
+                }
+            }
             case PROCESSED -> throw new IdempotentCommandProcessSucceedException(wrapper, idempotencyKey, command);
             case ERROR -> {
                 if (!retry) {
@@ -216,61 +291,17 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
     }
 
     private NewCommandSourceHandler findCommandHandler(final CommandWrapper wrapper) {
-        NewCommandSourceHandler handler;
-
-        if (wrapper.isDatatableResource()) {
-            if (wrapper.isCreateDatatable()) {
-                handler = applicationContext.getBean("createDatatableCommandHandler", NewCommandSourceHandler.class);
-            } else if (wrapper.isDeleteDatatable()) {
-                handler = applicationContext.getBean("deleteDatatableCommandHandler", NewCommandSourceHandler.class);
-            } else if (wrapper.isUpdateDatatable()) {
-                handler = applicationContext.getBean("updateDatatableCommandHandler", NewCommandSourceHandler.class);
-            } else if (wrapper.isCreate()) {
-                handler = applicationContext.getBean("createDatatableEntryCommandHandler", NewCommandSourceHandler.class);
-            } else if (wrapper.isUpdateMultiple()) {
-                handler = applicationContext.getBean("updateOneToManyDatatableEntryCommandHandler", NewCommandSourceHandler.class);
-            } else if (wrapper.isUpdateOneToOne()) {
-                handler = applicationContext.getBean("updateOneToOneDatatableEntryCommandHandler", NewCommandSourceHandler.class);
-            } else if (wrapper.isDeleteMultiple()) {
-                handler = applicationContext.getBean("deleteOneToManyDatatableEntryCommandHandler", NewCommandSourceHandler.class);
-            } else if (wrapper.isDeleteOneToOne()) {
-                handler = applicationContext.getBean("deleteOneToOneDatatableEntryCommandHandler", NewCommandSourceHandler.class);
-            } else if (wrapper.isRegisterDatatable()) {
-                handler = applicationContext.getBean("registerDatatableCommandHandler", NewCommandSourceHandler.class);
-            } else {
-                throw new UnsupportedCommandException(wrapper.commandName());
-            }
-        } else if (wrapper.isNoteResource()) {
-            if (wrapper.isCreate()) {
-                handler = applicationContext.getBean("createNoteCommandHandler", NewCommandSourceHandler.class);
-            } else if (wrapper.isUpdate()) {
-                handler = applicationContext.getBean("updateNoteCommandHandler", NewCommandSourceHandler.class);
-            } else if (wrapper.isDelete()) {
-                handler = applicationContext.getBean("deleteNoteCommandHandler", NewCommandSourceHandler.class);
-            } else {
-                throw new UnsupportedCommandException(wrapper.commandName());
-            }
-        } else if (wrapper.isSurveyResource()) {
-            if (wrapper.isRegisterSurvey()) {
-                handler = applicationContext.getBean("registerSurveyCommandHandler", NewCommandSourceHandler.class);
-            } else if (wrapper.isFullFilSurvey()) {
-                handler = applicationContext.getBean("fullFilSurveyCommandHandler", NewCommandSourceHandler.class);
-            } else {
-                throw new UnsupportedCommandException(wrapper.commandName());
-            }
-        } else if (wrapper.isLoanDisburseDetailResource()) {
-            if (wrapper.isUpdateDisbursementDate()) {
-                handler = applicationContext.getBean("updateLoanDisburseDateCommandHandler", NewCommandSourceHandler.class);
-            } else if (wrapper.addAndDeleteDisbursementDetails()) {
-                handler = applicationContext.getBean("addAndDeleteLoanDisburseDetailsCommandHandler", NewCommandSourceHandler.class);
-            } else {
-                throw new UnsupportedCommandException(wrapper.commandName());
-            }
-        } else {
-            handler = commandHandlerProvider.getHandler(wrapper.entityName(), wrapper.actionName());
-        }
+        return getHandlerResolutionTimer().record(() -> commandHandlerProvider.getHandler(wrapper));
+    }
 
-        return handler;
+    private Timer getHandlerResolutionTimer() {
+        Timer timer = handlerResolutionTimer;
+        if (timer == null) {
+            // registering is idempotent, concurrent first calls get the same timer
+            timer = Timer.builder(HANDLER_RESOLUTION_TIMER).register(meterRegistry);
+            handlerResolutionTimer = timer;
+        }
+        return timer;
     }
 
     @Override
@@ -332,4 +363,7 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
             log.error("Error", e);
         }
     }
+
+    private record ProcessedCommand(CommandSource commandSource, CommandProcessingResult result, boolean rollback) {
+    }
 }
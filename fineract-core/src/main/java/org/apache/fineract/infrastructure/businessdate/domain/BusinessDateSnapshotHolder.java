@@ -0,0 +1,95 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.businessdate.domain;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Tenant scoped, immutable snapshot of the stored business dates.
+ * <p>
+ * The snapshot of a tenant is dropped by every business date modification on this node and re-read at most once per
+ * the configured refresh interval otherwise, so the other nodes pick up the dates moved by the COB and the business
+ * date jobs without reading them for every request. The business date table holds a row per type only, so re-reading
+ * it is as cheap as checking a version.
+ */
+@Component
+@RequiredArgsConstructor
+public class BusinessDateSnapshotHolder {
+
+    private final BusinessDateRepository repository;
+    private final FineractProperties fineractProperties;
+
+    private final Map<String, BusinessDateSnapshot> snapshotsByTenant = new ConcurrentHashMap<>();
+
+    public Map<BusinessDateType, LocalDate> getBusinessDates() {
+        String tenantIdentifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+        BusinessDateSnapshot snapshot = snapshotsByTenant.get(tenantIdentifier);
+        long now = System.nanoTime();
+        if (snapshot == null || now - snapshot.loadedAt() >= getRefreshIntervalNanos()) {
+            snapshot = loadSnapshot(now);
+            snapshotsByTenant.put(tenantIdentifier, snapshot);
+        }
+        return snapshot.dates();
+    }
+
+    /**
+     * Drops the snapshot of the current tenant. When called within a transaction, the snapshot is dropped again once
+     * the transaction completes so that the next lookup sees the committed dates.
+     */
+    public void evict() {
+        String tenantIdentifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+        snapshotsByTenant.remove(tenantIdentifier);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCompletion(int status) {
+                    snapshotsByTenant.remove(tenantIdentifier);
+                }
+            });
+        }
+    }
+
+    private BusinessDateSnapshot loadSnapshot(long now) {
+        List<BusinessDate> businessDates = repository.findAll();
+        Map<BusinessDateType, LocalDate> dates = new EnumMap<>(BusinessDateType.class);
+        for (BusinessDate businessDate : businessDates) {
+            dates.put(businessDate.getType(), businessDate.getDate());
+        }
+        return new BusinessDateSnapshot(Map.copyOf(dates), now);
+    }
+
+    private long getRefreshIntervalNanos() {
+        return TimeUnit.SECONDS.toNanos(fineractProperties.getRequestContext().getRefreshIntervalSeconds());
+    }
+
+    private record BusinessDateSnapshot(Map<BusinessDateType, LocalDate> dates, long loadedAt) {
+    }
+}
@@ -27,6 +27,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.infrastructure.businessdate.data.BusinessDateData;
 import org.apache.fineract.infrastructure.businessdate.domain.BusinessDate;
 import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateRepository;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateSnapshotHolder;
 import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
 import org.apache.fineract.infrastructure.businessdate.exception.BusinessDateNotFoundException;
 import org.apache.fineract.infrastructure.businessdate.mapper.BusinessDateMapper;
@@ -42,6 +43,7 @@ public class BusinessDateReadPlatformServiceImpl implements BusinessDateReadPlat
     private final BusinessDateRepository repository;
     private final BusinessDateMapper mapper;
     private final ConfigurationDomainService configurationDomainService;
+    private final BusinessDateSnapshotHolder businessDateSnapshotHolder;
 
     @Override
     public List<BusinessDateData> findAll() {
@@ -73,10 +75,7 @@ public class BusinessDateReadPlatformServiceImpl implements BusinessDateReadPlat
         businessDateMap.put(BusinessDateType.BUSINESS_DATE, tenantDate);
         businessDateMap.put(BusinessDateType.COB_DATE, tenantDate);
         if (configurationDomainService.isBusinessDateEnabled()) {
-            final List<BusinessDateData> businessDateDataList = this.findAll();
-            for (BusinessDateData businessDateData : businessDateDataList) {
-                businessDateMap.put(BusinessDateType.valueOf(businessDateData.getType()), businessDateData.getDate());
-            }
+            businessDateMap.putAll(businessDateSnapshotHolder.getBusinessDates());
         }
         return businessDateMap;
     }
@@ -31,6 +31,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.infrastructure.businessdate.data.BusinessDateData;
 import org.apache.fineract.infrastructure.businessdate.domain.BusinessDate;
 import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateRepository;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateSnapshotHolder;
 import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
 import org.apache.fineract.infrastructure.businessdate.exception.BusinessDateActionException;
 import org.apache.fineract.infrastructure.businessdate.validator.BusinessDateDataParserAndValidator;
@@ -53,6 +54,7 @@ public class BusinessDateWritePlatformServiceImpl implements BusinessDateWritePl
     private final BusinessDateDataParserAndValidator dataValidator;
     private final BusinessDateRepository repository;
     private final ConfigurationDomainService configurationDomainService;
+    private final BusinessDateSnapshotHolder businessDateSnapshotHolder;
 
     @Override
     public CommandProcessingResult updateBusinessDate(@NotNull final JsonCommand command) {
@@ -123,6 +125,7 @@ public class BusinessDateWritePlatformServiceImpl implements BusinessDateWritePl
         if (businessDate.isEmpty()) {
             BusinessDate newBusinessDate = BusinessDate.instance(businessDateType, newDate);
             repository.save(newBusinessDate);
+            businessDateSnapshotHolder.evict();
             changes.put(type, newBusinessDate.getDate());
         } else {
             updateBusinessDate(businessDate.get(), newDate, changes);
@@ -137,6 +140,7 @@ public class BusinessDateWritePlatformServiceImpl implements BusinessDateWritePl
         }
         businessDate.setDate(newDate);
         repository.save(businessDate);
+        businessDateSnapshotHolder.evict();
         changes.put(businessDate.getType().name(), newDate);
     }
 }
@@ -18,11 +18,13 @@
  */
 package org.apache.fineract.infrastructure.cache;
 
+import org.apache.fineract.infrastructure.cache.service.MethodCacheKeyGenerator;
 import org.apache.fineract.infrastructure.cache.service.RuntimeDelegatingCacheManager;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CachingConfigurer;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.KeyGenerator;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -33,9 +35,17 @@ public class PlatformCacheConfiguration implements CachingConfigurer {
     @Autowired
     private RuntimeDelegatingCacheManager delegatingCacheManager;
 
+    @Autowired
+    private MethodCacheKeyGenerator methodCacheKeyGenerator;
+
     @Bean
     @Override
     public CacheManager cacheManager() {
         return this.delegatingCacheManager;
     }
+
+    @Override
+    public KeyGenerator keyGenerator() {
+        return this.methodCacheKeyGenerator;
+    }
 }
@@ -0,0 +1,258 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.support.PeriodicTrigger;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Propagates cache evictions between the nodes of a cluster through the tenant store database.
+ * <p>
+ * Evictions are recorded in the cache_invalidations table once the evicting transaction has committed. Every node
+ * polls the table and applies the evictions of the other nodes to its local caches. If the table cannot be read for
+ * longer than the configured maximum staleness, the local caches are cleared instead, so stale reads stay bounded even
+ * while the broadcast is unavailable.
+ * <p>
+ * The ids of concurrent inserts are not visible in the order they were generated, so every poll reads again the
+ * evictions recorded within the configured reorder window and skips the ones already applied. An eviction which becomes
+ * visible later than the reorder window after it was recorded is missed.
+ * <p>
+ * The broadcast only carries evictions: switching the cache type through the API changes it on the serving node only,
+ * the other nodes pick up the persisted cache type when they are restarted.
+ */
+@Component
+@Slf4j
+public class CacheInvalidationBroadcaster implements InitializingBean {
+
+    static final int MAX_KEY_LENGTH = 500;
+
+    private static final String METRIC_PREFIX = "fineract.cache.invalidation";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheManager localCacheManager;
+    private final TaskScheduler taskScheduler;
+    private final FineractProperties.FineractMultiNodeCacheProperties properties;
+    private final String origin;
+
+    private final Counter publishedCounter;
+    private final Counter publishFailureCounter;
+    private final Counter receivedCounter;
+    private final Counter stalenessClearCounter;
+    private final Timer propagationTimer;
+
+    private final List<BiConsumer<String, Object>> evictionListeners = new CopyOnWriteArrayList<>();
+    // evictions applied within the reorder window, by id with their creation time
+    private final Map<Long, Long> recentlyAppliedIds = new ConcurrentHashMap<>();
+
+    private volatile boolean active;
+    private volatile long lastSeenId;
+    private volatile long lastConsistentNanos;
+    private volatile long lastPurgeNanos;
+
+    public CacheInvalidationBroadcaster(@Qualifier("hikariTenantDataSource") DataSource tenantDataSource,
+            @Qualifier("ehCacheManager") CacheManager localCacheManager, TaskScheduler taskScheduler, MeterRegistry meterRegistry,
+            FineractProperties fineractProperties) {
+        this.jdbcTemplate = new JdbcTemplate(tenantDataSource);
+        this.localCacheManager = localCacheManager;
+        this.taskScheduler = taskScheduler;
+        this.properties = fineractProperties.getCache().getMultiNode();
+        this.origin = fineractProperties.getNodeId() + "-" + UUID.randomUUID();
+
+        this.publishedCounter = meterRegistry.counter(METRIC_PREFIX + ".published");
+        this.publishFailureCounter = meterRegistry.counter(METRIC_PREFIX + ".publish.failures");
+        this.receivedCounter = meterRegistry.counter(METRIC_PREFIX + ".received");
+        this.stalenessClearCounter = meterRegistry.counter(METRIC_PREFIX + ".staleness.clears");
+        this.propagationTimer = Timer.builder(METRIC_PREFIX + ".propagation").register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".staleness.seconds", this, CacheInvalidationBroadcaster::getStalenessSeconds)
+                .register(meterRegistry);
+    }
+
+    @SuppressWarnings({ "FutureReturnValueIgnored" })
+    @Override
+    public void afterPropertiesSet() {
+        taskScheduler.schedule(this::poll, new PeriodicTrigger(Duration.ofMillis(properties.getPollIntervalMillis())));
+    }
+
+    /**
+     * Starts applying the evictions of the other nodes; evictions recorded before are irrelevant as the local caches are
+     * cleared when switching to the multi node cache.
+     */
+    public void activate() {
+        lastSeenId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM cache_invalidations", Long.class);
+        recentlyAppliedIds.clear();
+        lastConsistentNanos = System.nanoTime();
+        lastPurgeNanos = System.nanoTime();
+        active = true;
+    }
+
+    public void deactivate() {
+        active = false;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void addEvictionListener(BiConsumer<String, Object> listener) {
+        evictionListeners.add(listener);
+    }
+
+    /**
+     * Broadcasts the eviction of the given key, or of every entry of the cache when the key is null. Inside a
+     * transaction the local entry is evicted again and the eviction is broadcast once the transaction committed, so no
+     * node can cache the state from before the commit.
+     */
+    public void publish(String cacheName, Object key) {
+        if (!active) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            insert(cacheName, key);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void afterCompletion(int status) {
+                evictLocally(cacheName, key);
+                if (status == STATUS_COMMITTED) {
+                    insert(cacheName, key);
+                }
+            }
+        });
+    }
+
+    void poll() {
+        if (!active) {
+            return;
+        }
+        long reorderWindowStart = System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(properties.getReorderWindowSeconds());
+        try {
+            List<CacheInvalidation> invalidations = jdbcTemplate.query(
+                    "SELECT id, origin, cache_name, cache_key, created_epoch_millis FROM cache_invalidations"
+                            + " WHERE id > ? OR created_epoch_millis > ? ORDER BY id",
+                    (rs, rowNum) -> new CacheInvalidation(rs.getLong("id"), rs.getString("origin"), rs.getString("cache_name"),
+                            rs.getString("cache_key"), rs.getLong("created_epoch_millis")),
+                    lastSeenId, reorderWindowStart);
+            applyNew(invalidations, reorderWindowStart);
+            lastConsistentNanos = System.nanoTime();
+            purgeIfDue();
+        } catch (DataAccessException e) {
+            log.warn("Cache invalidations could not be polled: {}", e.getMessage());
+            clearIfTooStale();
+        }
+    }
+
+    void applyNew(List<CacheInvalidation> invalidations, long reorderWindowStart) {
+        for (CacheInvalidation invalidation : invalidations) {
+            if (recentlyAppliedIds.putIfAbsent(invalidation.id(), invalidation.createdEpochMillis()) == null) {
+                apply(invalidation);
+            }
+            lastSeenId = Math.max(lastSeenId, invalidation.id());
+        }
+        // older evictions are not read again, unless their id is above the last seen one
+        recentlyAppliedIds.values().removeIf(createdEpochMillis -> createdEpochMillis <= reorderWindowStart);
+    }
+
+    void apply(CacheInvalidation invalidation) {
+        if (origin.equals(invalidation.origin())) {
+            return;
+        }
+        evictLocally(invalidation.cacheName(), invalidation.cacheKey());
+        receivedCounter.increment();
+        propagationTimer.record(Math.max(0, System.currentTimeMillis() - invalidation.createdEpochMillis()), TimeUnit.MILLISECONDS);
+    }
+
+    double getStalenessSeconds() {
+        return active ? (System.nanoTime() - lastConsistentNanos) / 1_000_000_000d : 0;
+    }
+
+    private void insert(String cacheName, Object key) {
+        // Only string keys survive the round trip, any other key invalidates the whole cache on the other nodes
+        String cacheKey = key instanceof String stringKey && stringKey.length() <= MAX_KEY_LENGTH ? stringKey : null;
+        try {
+            jdbcTemplate.update("INSERT INTO cache_invalidations (origin, cache_name, cache_key, created_epoch_millis) VALUES (?, ?, ?, ?)",
+                    origin, cacheName, cacheKey, System.currentTimeMillis());
+            publishedCounter.increment();
+        } catch (DataAccessException e) {
+            publishFailureCounter.increment();
+            log.error("Eviction of cache {} could not be broadcast to the other nodes", cacheName, e);
+        }
+    }
+
+    private void evictLocally(String cacheName, Object key) {
+        Cache cache = localCacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        if (key == null) {
+            cache.clear();
+        } else {
+            cache.evict(key);
+        }
+        evictionListeners.forEach(listener -> listener.accept(cacheName, key));
+    }
+
+    private void clearIfTooStale() {
+        if (System.nanoTime() - lastConsistentNanos < TimeUnit.SECONDS.toNanos(properties.getMaxStalenessSeconds())) {
+            return;
+        }
+        log.warn("Cache invalidations were not received for {} seconds, clearing the local caches", properties.getMaxStalenessSeconds());
+        localCacheManager.getCacheNames().forEach(cacheName -> evictLocally(cacheName, null));
+        stalenessClearCounter.increment();
+        // entries loaded from now on are fresh, the next clear is due after another staleness period
+        lastConsistentNanos = System.nanoTime();
+    }
+
+    private void purgeIfDue() {
+        long retentionNanos = TimeUnit.MINUTES.toNanos(properties.getRetentionMinutes());
+        if (System.nanoTime() - lastPurgeNanos < retentionNanos) {
+            return;
+        }
+        lastPurgeNanos = System.nanoTime();
+        long threshold = System.currentTimeMillis() - TimeUnit.NANOSECONDS.toMillis(retentionNanos);
+        jdbcTemplate.update("DELETE FROM cache_invalidations WHERE created_epoch_millis < ?", threshold);
+    }
+
+    record CacheInvalidation(long id, String origin, String cacheName, String cacheKey, long createdEpochMillis) {}
+}
@@ -0,0 +1,44 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import java.lang.reflect.Method;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.stereotype.Component;
+
+/**
+ * Default {@link KeyGenerator} of the platform caches: the key is the name of the cached method and its parameters, so
+ * methods sharing a cache do not collide. The tenant is not part of the key, the caches of the
+ * {@link RuntimeDelegatingCacheManager} are partitioned by tenant, see {@link TenantPartitionedCache}.
+ */
+@Component
+public class MethodCacheKeyGenerator implements KeyGenerator {
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        return new MethodCacheKey(method.getName(), switch (params.length) {
+            case 0 -> null;
+            case 1 -> params[0];
+            default -> new SimpleKey(params);
+        });
+    }
+
+    record MethodCacheKey(String methodName, Object params) {}
+}
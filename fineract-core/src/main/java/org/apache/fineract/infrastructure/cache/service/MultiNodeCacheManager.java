@@ -0,0 +1,142 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link CacheManager} of the multi node cache: the caches of the local node act as a near cache and every eviction is
+ * broadcast to the other nodes by the {@link CacheInvalidationBroadcaster}.
+ */
+@Component(value = "multiNodeCacheManager")
+@RequiredArgsConstructor
+public class MultiNodeCacheManager implements CacheManager {
+
+    @Qualifier("ehCacheManager")
+    private final CacheManager localCacheManager;
+    private final CacheInvalidationBroadcaster broadcaster;
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+    @Override
+    public Cache getCache(final String name) {
+        Cache localCache = localCacheManager.getCache(name);
+        if (localCache == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, n -> new BroadcastingCache(localCache, broadcaster));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return localCacheManager.getCacheNames();
+    }
+
+    public void activate() {
+        broadcaster.activate();
+    }
+
+    public void deactivate() {
+        broadcaster.deactivate();
+    }
+
+    /**
+     * Registers a listener called with the cache name and key, or null for every entry, after an eviction applied to
+     * the local caches directly, including the evictions received from the other nodes.
+     */
+    public void addEvictionListener(BiConsumer<String, Object> listener) {
+        broadcaster.addEvictionListener(listener);
+    }
+
+    @RequiredArgsConstructor
+    private static final class BroadcastingCache implements Cache {
+
+        private final Cache delegate;
+        private final CacheInvalidationBroadcaster broadcaster;
+
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return delegate.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            return delegate.get(key);
+        }
+
+        @Override
+        public <T> T get(Object key, Class<T> type) {
+            return delegate.get(key, type);
+        }
+
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            return delegate.get(key, valueLoader);
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            delegate.put(key, value);
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(Object key, Object value) {
+            return delegate.putIfAbsent(key, value);
+        }
+
+        @Override
+        public void evict(Object key) {
+            delegate.evict(key);
+            broadcaster.publish(getName(), key);
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            boolean present = delegate.evictIfPresent(key);
+            broadcaster.publish(getName(), key);
+            return present;
+        }
+
+        @Override
+        public void clear() {
+            delegate.clear();
+            broadcaster.publish(getName(), null);
+        }
+
+        @Override
+        public boolean invalidate() {
+            boolean present = delegate.invalidate();
+            broadcaster.publish(getName(), null);
+            return present;
+        }
+    }
+}
@@ -18,10 +18,12 @@
  */
 package org.apache.fineract.infrastructure.cache.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.infrastructure.cache.CacheApiConstants;
@@ -33,6 +35,7 @@ import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCache;
 import org.springframework.cache.support.NoOpCacheManager;
 import org.springframework.stereotype.Component;
 
@@ -40,7 +43,10 @@ import org.springframework.stereotype.Component;
  * At present this implementation of {@link CacheManager} just delegates to the real {@link CacheManager} to use.
  *
  * By default it is {@link NoOpCacheManager} but we can change that by checking some persisted configuration in the
- * database on startup and allow user to switch implementation through UI/API
+ * database on startup and allow user to switch implementation through UI/API. A switch through the API applies to the
+ * serving node only, the other nodes of a cluster keep their cache type until they are restarted.
+ *
+ * The caches handed out are partitioned by tenant, see {@link TenantPartitionedCache}.
  */
 @Component(value = "runtimeDelegatingCacheManager")
 @RequiredArgsConstructor
@@ -51,16 +57,24 @@ public class RuntimeDelegatingCacheManager implements CacheManager, Initializing
     private final CacheManager ehCacheManager;
     @Qualifier("defaultCacheManager")
     private final CacheManager defaultCacheManager;
+    private final MultiNodeCacheManager multiNodeCacheManager;
+    private final MeterRegistry meterRegistry;
+    private final Map<Cache, TenantPartitionedCache> partitionedCaches = new ConcurrentHashMap<>();
     private CacheManager currentCacheManager;
 
     @Override
     public void afterPropertiesSet() throws Exception {
         currentCacheManager = defaultCacheManager;
+        multiNodeCacheManager.addEvictionListener(this::evictedLocally);
     }
 
     @Override
     public Cache getCache(final String name) {
-        return currentCacheManager.getCache(name);
+        final Cache cache = currentCacheManager.getCache(name);
+        if (cache == null || cache instanceof NoOpCache) {
+            return cache;
+        }
+        return partitionedCaches.computeIfAbsent(cache, c -> new TenantPartitionedCache(c, meterRegistry));
     }
 
     @Override
@@ -72,49 +86,68 @@ public class RuntimeDelegatingCacheManager implements CacheManager, Initializing
 
         final boolean noCacheEnabled = currentCacheManager == defaultCacheManager;
         final boolean ehCacheEnabled = currentCacheManager == ehCacheManager;
+        final boolean multiNodeCacheEnabled = currentCacheManager == multiNodeCacheManager;
 
         final EnumOptionData noCacheType = CacheEnumerations.cacheType(CacheType.NO_CACHE);
         final EnumOptionData singleNodeCacheType = CacheEnumerations.cacheType(CacheType.SINGLE_NODE);
+        final EnumOptionData multiNodeCacheType = CacheEnumerations.cacheType(CacheType.MULTI_NODE);
 
         final CacheData noCache = CacheData.instance(noCacheType, noCacheEnabled);
         final CacheData singleNodeCache = CacheData.instance(singleNodeCacheType, ehCacheEnabled);
+        final CacheData multiNodeCache = CacheData.instance(multiNodeCacheType, multiNodeCacheEnabled);
 
-        return Arrays.asList(noCache, singleNodeCache);
+        return Arrays.asList(noCache, singleNodeCache, multiNodeCache);
     }
 
-    public Map<String, Object> switchToCache(final boolean ehcacheEnabled, final CacheType toCacheType) {
+    public Map<String, Object> switchToCache(final CacheType fromCacheType, final CacheType toCacheType) {
 
         final Map<String, Object> changes = new HashMap<>();
 
-        final boolean noCacheEnabled = !ehcacheEnabled;
-
         switch (toCacheType) {
             case INVALID -> {
                 log.warn("Invalid cache type used");
             }
             case NO_CACHE -> {
-                if (!noCacheEnabled) {
+                if (!fromCacheType.isNoCache()) {
                     changes.put(CacheApiConstants.CACHE_TYPE_PARAMETER, toCacheType.getValue());
                 }
+                multiNodeCacheManager.deactivate();
                 currentCacheManager = defaultCacheManager;
             }
             case SINGLE_NODE -> {
-                if (!ehcacheEnabled) {
+                if (!fromCacheType.isEhcache()) {
                     changes.put(CacheApiConstants.CACHE_TYPE_PARAMETER, toCacheType.getValue());
                     clearEhCache();
                 }
+                multiNodeCacheManager.deactivate();
                 currentCacheManager = ehCacheManager;
 
                 if (currentCacheManager.getCacheNames().size() == 0) {
                     log.error("No caches configured for activated CacheManager {}", currentCacheManager);
                 }
             }
-            case MULTI_NODE -> throw new UnsupportedOperationException("Multi node cache is not supported");
+            case MULTI_NODE -> {
+                if (!fromCacheType.isDistributedCache()) {
+                    changes.put(CacheApiConstants.CACHE_TYPE_PARAMETER, toCacheType.getValue());
+                    clearEhCache();
+                }
+                multiNodeCacheManager.activate();
+                currentCacheManager = multiNodeCacheManager;
+            }
         }
 
         return changes;
     }
 
+    // evictions received from the other nodes bypass the partitioned caches, which hold the generations of the tenants
+    private void evictedLocally(String cacheName, Object key) {
+        for (TenantPartitionedCache cache : partitionedCaches.values()) {
+            if (cache.getName().equals(cacheName)) {
+                cache.evictedFromDelegate(key);
+            }
+        }
+    }
+
     private void clearEhCache() {
         Iterable<String> cacheNames = ehCacheManager.getCacheNames();
         for (String cacheName : cacheNames) {
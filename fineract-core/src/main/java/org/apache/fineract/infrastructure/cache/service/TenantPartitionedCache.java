@@ -0,0 +1,174 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.springframework.cache.Cache;
+
+/**
+ * {@link Cache} that keeps the entries of each tenant in a partition of its own, so clearing the cache only drops the
+ * entries of the current tenant.
+ * <p>
+ * Entries are stored under the current generation of the tenant, held by this cache. Clearing starts a new generation,
+ * which orphans the entries of the tenant in constant time; they are dropped by the size limit of the underlying cache.
+ * Clearing also evicts a string key naming the generation from the underlying cache, so the {@link MultiNodeCacheManager}
+ * broadcasts it; the other nodes report it back through {@link #evictedFromDelegate(Object)}.
+ * <p>
+ * Only string keys survive the broadcast, so the entry of a single key cannot be evicted on the other nodes: evicting a
+ * key clears every entry of the tenant instead.
+ */
+final class TenantPartitionedCache implements Cache {
+
+    private static final String GENERATION_KEY_PREFIX = "tenant-generation|";
+    private static final AtomicLong GENERATIONS = new AtomicLong();
+
+    private final Cache delegate;
+    private final Map<String, Long> generations = new ConcurrentHashMap<>();
+    private final Map<String, String> generationKeys = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    TenantPartitionedCache(Cache delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.hits = meterRegistry.counter("cache.gets", "cache", delegate.getName(), "result", "hit");
+        this.misses = meterRegistry.counter("cache.gets", "cache", delegate.getName(), "result", "miss");
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper value = delegate.get(partitionKey(key));
+        (value == null ? misses : hits).increment();
+        return value;
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        T value = delegate.get(partitionKey(key), type);
+        (value == null ? misses : hits).increment();
+        return value;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return delegate.get(partitionKey(key), valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(partitionKey(key), value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return delegate.putIfAbsent(partitionKey(key), value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        if (currentTenantIdentifier() == null) {
+            delegate.evict(key);
+        } else {
+            clear();
+        }
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        if (currentTenantIdentifier() == null) {
+            return delegate.evictIfPresent(key);
+        }
+        boolean present = delegate.get(partitionKey(key)) != null;
+        clear();
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        String tenantIdentifier = currentTenantIdentifier();
+        if (tenantIdentifier == null) {
+            delegate.clear();
+            generations.clear();
+        } else {
+            generations.remove(tenantIdentifier);
+            delegate.evict(generationKey(tenantIdentifier));
+        }
+    }
+
+    @Override
+    public boolean invalidate() {
+        String tenantIdentifier = currentTenantIdentifier();
+        if (tenantIdentifier == null) {
+            boolean present = delegate.invalidate();
+            generations.clear();
+            return present;
+        }
+        boolean present = generations.remove(tenantIdentifier) != null;
+        delegate.evict(generationKey(tenantIdentifier));
+        return present;
+    }
+
+    /**
+     * Called after the given key, or every entry when null, was evicted from the underlying cache without going through
+     * this cache, so the generation of the tenant is dropped when its key was evicted.
+     */
+    void evictedFromDelegate(Object key) {
+        if (key == null) {
+            generations.clear();
+        } else if (key instanceof String stringKey && stringKey.startsWith(GENERATION_KEY_PREFIX)) {
+            generations.remove(stringKey.substring(GENERATION_KEY_PREFIX.length()));
+        }
+    }
+
+    private Object partitionKey(Object key) {
+        String tenantIdentifier = currentTenantIdentifier();
+        if (tenantIdentifier == null) {
+            return key;
+        }
+        return new TenantCacheKey(tenantIdentifier, generations.computeIfAbsent(tenantIdentifier, t -> GENERATIONS.incrementAndGet()),
+                key);
+    }
+
+    private String generationKey(String tenantIdentifier) {
+        return generationKeys.computeIfAbsent(tenantIdentifier, t -> GENERATION_KEY_PREFIX + t);
+    }
+
+    private static String currentTenantIdentifier() {
+        FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        return tenant == null ? null : tenant.getTenantIdentifier();
+    }
+
+    record TenantCacheKey(String tenantIdentifier, long generation, Object key) {}
+}
@@ -27,6 +27,7 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.cob.loan.LoanCOBPartitionWeighting;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 @Getter
@@ -38,6 +39,8 @@ public class FineractProperties {
 
     private String idempotencyKeyHeaderName;
 
+    private int idempotencyKeyClaimTimeoutSeconds;
+
     private FineractTenantProperties tenant;
 
     private FineractModeProperties mode;
@@ -63,6 +66,9 @@ public class FineractProperties {
 
     private FineractDatabaseProperties database;
     private FineractQueryProperties query;
+    private FineractGlobalConfigurationProperties globalConfiguration;
+    private FineractRequestContextProperties requestContext;
+    private FineractCacheProperties cache;
     private FineractApiProperties api;
     private FineractSecurityProperties security;
 
@@ -282,6 +288,30 @@ public class FineractProperties {
 
         private boolean enabled;
         private FineractExternalEventsProducerProperties producer;
+        private FineractExternalEventsRelayProperties relay;
+        private FineractExternalEventsOutboxProperties outbox;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractExternalEventsOutboxProperties {
+
+        private long rescanIntervalInSeconds;
+        private long retryInitialBackoffInMilliseconds;
+        private long retryMaxBackoffInMilliseconds;
+        private int serializationThreadPoolSize;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractExternalEventsRelayProperties {
+
+        private boolean enabled;
+        private long pollIntervalInMilliseconds;
+        private long maxIdleIntervalInMilliseconds;
+        private int maxInFlightBatches;
+        private long tenantRefreshIntervalInSeconds;
+        private long leaseDurationInSeconds;
     }
 
     @Getter
@@ -382,6 +412,9 @@ public class FineractProperties {
 
         private int stuckRetryThreshold;
         private boolean loanCobEnabled;
+        private boolean loanCobPrefetchEnabled;
+        private boolean cobDirtyTrackingEnabled;
+        private LoanCOBPartitionWeighting loanCobPartitionWeighting = LoanCOBPartitionWeighting.NONE;
     }
 
     @Getter
@@ -397,6 +430,7 @@ public class FineractProperties {
     public static class FineractJpaProperties {
 
         private boolean statementLoggingEnabled;
+        private boolean statementCountingEnabled;
     }
 
     @Getter
@@ -404,6 +438,26 @@ public class FineractProperties {
     public static class FineractDatabaseProperties {
 
         private String defaultMasterPassword;
+        private FineractReadReplicaProperties readReplica;
+        private FineractSharedPoolProperties sharedPool;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractReadReplicaProperties {
+
+        private boolean enabled;
+        private int readYourWritesWindowSeconds;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractSharedPoolProperties {
+
+        private boolean enabled;
+        private int maxPoolSize;
+        private int maxConnectionsPerTenant;
+        private int idleTimeoutSeconds;
     }
 
     @Getter
@@ -413,11 +467,63 @@ public class FineractProperties {
         private int inClauseParameterSizeLimit;
     }
 
+    @Getter
+    @Setter
+    public static class FineractGlobalConfigurationProperties {
+
+        private int versionCheckIntervalSeconds;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractRequestContextProperties {
+
+        private int refreshIntervalSeconds;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractCacheProperties {
+
+        private FineractMultiNodeCacheProperties multiNode;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractMultiNodeCacheProperties {
+
+        private long pollIntervalMillis;
+        private int maxStalenessSeconds;
+        private int retentionMinutes;
+        private int reorderWindowSeconds;
+    }
+
     @Getter
     @Setter
     public static class FineractApiProperties {
 
         private FineractBodyItemSizeLimitProperties bodyItemSizeLimit;
+        private FineractBatchApiProperties batch;
+        private FineractAsyncCommandsProperties asyncCommands;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractAsyncCommandsProperties {
+
+        private boolean enabled;
+        private int workerCount;
+        private int recoveryDelaySeconds;
+        private int leaseDurationSeconds;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractBatchApiProperties {
+
+        private boolean parallelEnabled;
+        private int parallelThreadPoolSize;
+        private int parallelMaxConcurrentRootsPerTenant;
     }
 
     @Getter
@@ -483,6 +589,16 @@ public class FineractProperties {
     public static class FineractSecurityBasicAuth {
 
         private boolean enabled;
+        private FineractSecurityCredentialCache credentialCache;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractSecurityCredentialCache {
+
+        private boolean enabled;
+        private int ttlSeconds;
+        private int maxEntriesPerTenant;
     }
 
     @Getter
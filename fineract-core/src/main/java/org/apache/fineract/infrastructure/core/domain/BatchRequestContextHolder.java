@@ -89,4 +89,11 @@ public final class BatchRequestContextHolder {
     public static void setEnclosingTransaction(Optional<TransactionStatus> enclosingTransaction) {
         BatchRequestContextHolder.enclosingTransaction.set(enclosingTransaction);
     }
+
+    /**
+     * Reset the enclosing transaction for the current thread.
+     */
+    public static void resetEnclosingTransaction() {
+        enclosingTransaction.remove();
+    }
 }
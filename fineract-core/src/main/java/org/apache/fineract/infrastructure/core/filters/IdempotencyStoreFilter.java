@@ -29,6 +29,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.mutable.Mutable;
 import org.apache.commons.lang3.mutable.MutableObject;
+import org.apache.fineract.commands.service.AsynchronousCommandProcessingService;
 import org.apache.fineract.commands.service.SynchronousCommandProcessingService;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.domain.FineractRequestContextHolder;
@@ -40,6 +41,10 @@ import org.springframework.web.util.ContentCachingResponseWrapper;
 @Slf4j
 public class IdempotencyStoreFilter extends OncePerRequestFilter {
 
+    private static final String PREFER_HEADER = "Prefer";
+    private static final String PREFERENCE_APPLIED_HEADER = "Preference-Applied";
+    private static final String RESPOND_ASYNC_PREFERENCE = "respond-async";
+
     private final FineractRequestContextHolder fineractRequestContextHolder;
     private final IdempotencyStoreHelper helper;
     private final FineractProperties fineractProperties;
@@ -53,6 +58,10 @@ public class IdempotencyStoreFilter extends OncePerRequestFilter {
         }
         extractIdempotentKeyFromHttpServletRequest(request).ifPresent(idempotentKey -> fineractRequestContextHolder
                 .setAttribute(SynchronousCommandProcessingService.IDEMPOTENCY_KEY_ATTRIBUTE, idempotentKey, request));
+        // the status of a cached response can still be changed to 202 once the command is queued
+        if (wrapper.getValue() != null && isRespondAsyncPreferred(request)) {
+            fineractRequestContextHolder.setAttribute(AsynchronousCommandProcessingService.ASYNC_REQUESTED_ATTRIBUTE, true, request);
+        }
 
         filterChain.doFilter(request, wrapper.getValue() != null ? wrapper.getValue() : response);
         Optional<Long> commandId = helper.getCommandId(request);
@@ -63,11 +72,20 @@ public class IdempotencyStoreFilter extends OncePerRequestFilter {
                     .map(ContentCachingResponseWrapper::getContentAsByteArray).map(s -> new String(s, StandardCharsets.UTF_8)).orElse(null),
                     commandId.get());
         }
+        if (wrapper.getValue() != null && helper.isCommandQueued(request)) {
+            response.setStatus(HttpServletResponse.SC_ACCEPTED);
+            response.setHeader(PREFERENCE_APPLIED_HEADER, RESPOND_ASYNC_PREFERENCE);
+        }
         if (wrapper.getValue() != null) {
             wrapper.getValue().copyBodyToResponse();
         }
     }
 
+    private boolean isRespondAsyncPreferred(HttpServletRequest request) {
+        return Optional.ofNullable(request.getHeader(PREFER_HEADER)).map(String::toLowerCase)
+                .filter(preferences -> preferences.contains(RESPOND_ASYNC_PREFERENCE)).isPresent();
+    }
+
     private Optional<String> extractIdempotentKeyFromHttpServletRequest(HttpServletRequest request) {
         return Optional.ofNullable(request.getHeader(fineractProperties.getIdempotencyKeyHeaderName()));
     }
@@ -23,6 +23,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import org.apache.fineract.commands.domain.CommandSourceRepository;
+import org.apache.fineract.commands.service.AsynchronousCommandProcessingService;
 import org.apache.fineract.commands.service.CommandSourceService;
 import org.apache.fineract.commands.service.SynchronousCommandProcessingService;
 import org.apache.fineract.infrastructure.core.domain.BatchRequestContextHolder;
@@ -64,6 +65,11 @@ public class IdempotencyStoreHelper {
                 .filter(Boolean.class::isInstance).map(Boolean.class::cast).orElse(false);
     }
 
+    public boolean isCommandQueued(HttpServletRequest request) {
+        return Boolean.TRUE
+                .equals(fineractRequestContextHolder.getAttribute(AsynchronousCommandProcessingService.COMMAND_QUEUED_ATTRIBUTE, request));
+    }
+
     public Optional<Long> getCommandId(HttpServletRequest request) {
         return Optional
                 .ofNullable(fineractRequestContextHolder.getAttribute(SynchronousCommandProcessingService.COMMAND_SOURCE_ID, request))
@@ -19,8 +19,11 @@
 package org.apache.fineract.infrastructure.core.serialization;
 
 import com.google.gson.Gson;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.IOException;
 import java.util.Collection;
 import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -30,6 +33,7 @@ import org.springframework.stereotype.Component;
  * into JSON.
  */
 @Component
+@Slf4j
 public class DefaultToApiJsonSerializer<T> implements ToApiJsonSerializer<T> {
 
     private final ExcludeNothingWithPrettyPrintingOffJsonSerializerGoogleGson excludeNothingWithPrettyPrintingOff;
@@ -108,6 +112,53 @@ public class DefaultToApiJsonSerializer<T> implements ToApiJsonSerializer<T> {
         return serializeWithSettings(delegatedSerializer, settings, singleObject);
     }
 
+    @Override
+    public StreamingOutput serializeStreaming(final ApiRequestJsonSerializationSettings settings, final Collection<T> collection) {
+        final Gson delegatedSerializer = findAppropriateSerializer(settings);
+        return streamWithSettings(delegatedSerializer, settings, collection.toArray());
+    }
+
+    @Override
+    public StreamingOutput serializeStreaming(final ApiRequestJsonSerializationSettings settings, final Page<T> singleObject) {
+        final Gson delegatedSerializer = findAppropriateSerializer(settings);
+        return streamWithSettings(delegatedSerializer, settings, singleObject);
+    }
+
+    @Override
+    public StreamingOutput serializeStreaming(final ApiRequestJsonSerializationSettings settings, final Page<T> singleObject,
+            final Set<String> supportedResponseParameters) {
+        final Gson delegatedSerializer = findAppropriateSerializer(settings, supportedResponseParameters);
+        return streamWithSettings(delegatedSerializer, settings, singleObject);
+    }
+
+    @Override
+    public StreamingOutput serializeStreaming(final ApiRequestJsonSerializationSettings settings, final T singleObject,
+            final Set<String> supportedResponseParameters) {
+        final Gson delegatedSerializer = findAppropriateSerializer(settings, supportedResponseParameters);
+        return streamWithSettings(delegatedSerializer, settings, singleObject);
+    }
+
+    private StreamingOutput streamWithSettings(final Gson gson, final ApiRequestJsonSerializationSettings settings,
+            final Object dataObject) {
+        final Gson serializer;
+        if (gson != null) {
+            serializer = gson;
+        } else if (settings.isPrettyPrint()) {
+            serializer = this.excludeNothingWithPrettyPrintingOn.getGson();
+        } else {
+            serializer = this.excludeNothingWithPrettyPrintingOff.getGson();
+        }
+        return output -> {
+            try {
+                this.helper.serializeJsonTo(serializer, dataObject, output);
+            } catch (IOException | RuntimeException e) {
+                // once the response is committed, rethrowing aborts it instead of completing a truncated body
+                log.error("Streaming of {} response failed, the client gets a truncated body", dataObject.getClass().getSimpleName(), e);
+                throw e;
+            }
+        };
+    }
+
     private String serializeWithSettings(final Gson gson, final ApiRequestJsonSerializationSettings settings, final Object[] dataObject) {
         String json = null;
         if (gson != null) {
@@ -47,4 +47,8 @@ public final class ExcludeNothingWithPrettyPrintingOffJsonSerializerGoogleGson {
         }
         return returnedResult;
     }
+
+    Gson getGson() {
+        return this.gson;
+    }
 }
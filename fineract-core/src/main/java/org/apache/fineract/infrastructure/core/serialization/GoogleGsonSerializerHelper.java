@@ -21,6 +21,11 @@ package org.apache.fineract.infrastructure.core.serialization;
 import com.google.gson.ExclusionStrategy;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -28,7 +33,10 @@ import java.time.MonthDay;
 import java.time.OffsetDateTime;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 import org.apache.fineract.infrastructure.core.api.DateAdapter;
 import org.apache.fineract.infrastructure.core.api.ExternalIdAdapter;
@@ -46,19 +54,27 @@ import org.springframework.stereotype.Service;
 
 /**
  * Helper class for serialization of Java objects into JSON using Google's GSON.
+ *
+ * The field filtering serializers are cached per (pretty print, included fields, excluded fields) combination, so the
+ * reflective type adapters GSON builds on first use are reused across requests asking for the same fields.
  */
 @Service
 public final class GoogleGsonSerializerHelper {
 
-    public Gson createGsonBuilderForPartialResponseFiltering(final boolean prettyPrint, final Set<String> responseParameters) {
-        final ExclusionStrategy strategy = new ParameterListInclusionStrategy(responseParameters);
+    private static final int MAX_CACHED_SERIALIZERS = 256;
 
-        final GsonBuilder builder = new GsonBuilder().addSerializationExclusionStrategy(strategy);
-        registerTypeAdapters(builder);
-        if (prettyPrint) {
-            builder.setPrettyPrinting();
+    private final Map<SerializerKey, Gson> serializers = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<SerializerKey, Gson> eldest) {
+            return size() > MAX_CACHED_SERIALIZERS;
         }
-        return builder.create();
+    });
+
+    public Gson createGsonBuilderForPartialResponseFiltering(final boolean prettyPrint, final Set<String> responseParameters) {
+        final SerializerKey key = new SerializerKey(prettyPrint, Set.copyOf(responseParameters), Set.of());
+        return this.serializers.computeIfAbsent(key,
+                k -> createFilteringGson(k.prettyPrint(), new ParameterListInclusionStrategy(k.includedParameters())));
     }
 
     public Gson createGsonBuilderWithParameterExclusionSerializationStrategy(final Set<String> supportedParameters,
@@ -80,14 +96,9 @@ public final class GoogleGsonSerializerHelper {
             parameterNamesToSkip.removeAll(responseParameters);
         }
 
-        final ExclusionStrategy strategy = new ParameterListExclusionStrategy(parameterNamesToSkip);
-
-        final GsonBuilder builder = new GsonBuilder().addSerializationExclusionStrategy(strategy);
-        registerTypeAdapters(builder);
-        if (prettyPrint) {
-            builder.setPrettyPrinting();
-        }
-        return builder.create();
+        final SerializerKey key = new SerializerKey(prettyPrint, Set.of(), Set.copyOf(parameterNamesToSkip));
+        return this.serializers.computeIfAbsent(key,
+                k -> createFilteringGson(k.prettyPrint(), new ParameterListExclusionStrategy(k.excludedParameters())));
     }
 
     public String serializedJsonFrom(final Gson serializer, final Object[] dataObjects) {
@@ -98,6 +109,29 @@ public final class GoogleGsonSerializerHelper {
         return serializer.toJson(singleDataObject);
     }
 
+    /**
+     * Writes the JSON of the data object straight to the stream instead of building it as a {@link String} first. The
+     * stream is flushed but left open for the caller.
+     */
+    public void serializeJsonTo(final Gson serializer, final Object dataObject, final OutputStream outputStream) throws IOException {
+        final Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+        serializer.toJson(dataObject, writer);
+        writer.flush();
+    }
+
+    int getCachedSerializerCount() {
+        return this.serializers.size();
+    }
+
+    private static Gson createFilteringGson(final boolean prettyPrint, final ExclusionStrategy strategy) {
+        final GsonBuilder builder = new GsonBuilder().addSerializationExclusionStrategy(strategy);
+        registerTypeAdapters(builder);
+        if (prettyPrint) {
+            builder.setPrettyPrinting();
+        }
+        return builder.create();
+    }
+
     public static Gson createSimpleGson() {
         return createGsonBuilder().create();
     }
@@ -126,4 +160,7 @@ public final class GoogleGsonSerializerHelper {
         builder.registerTypeAdapter(OffsetDateTime.class, new OffsetDateTimeAdapter());
         builder.registerTypeAdapter(ExternalId.class, new ExternalIdAdapter());
     }
+
+    private record SerializerKey(boolean prettyPrint, Set<String> includedParameters, Set<String> excludedParameters) {
+    }
 }
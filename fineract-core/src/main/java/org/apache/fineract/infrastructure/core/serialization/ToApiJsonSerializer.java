@@ -18,6 +18,7 @@
  */
 package org.apache.fineract.infrastructure.core.serialization;
 
+import jakarta.ws.rs.core.StreamingOutput;
 import java.util.Collection;
 import java.util.Set;
 import org.apache.fineract.infrastructure.core.service.Page;
@@ -46,4 +47,18 @@ public interface ToApiJsonSerializer<T> {
     String serialize(ApiRequestJsonSerializationSettings settings, T single, Set<String> supportedResponseParameters);
 
     String serialize(ApiRequestJsonSerializationSettings settings, Page<T> singleObject, Set<String> supportedResponseParameters);
+
+    // Streaming variants write the JSON directly to the response stream, which avoids holding the complete response as a
+    // String for large collections. Serializer lookup (and unsupported parameter validation) happens eagerly so errors
+    // are still reported before the response is committed. A failure while writing, once the response is committed, is
+    // logged and aborts the response: the client gets a 200 status with a truncated body and has to treat a body which
+    // is not valid JSON as a failed request.
+    StreamingOutput serializeStreaming(ApiRequestJsonSerializationSettings settings, Collection<T> collection);
+
+    StreamingOutput serializeStreaming(ApiRequestJsonSerializationSettings settings, Page<T> singleObject);
+
+    StreamingOutput serializeStreaming(ApiRequestJsonSerializationSettings settings, Page<T> singleObject,
+            Set<String> supportedResponseParameters);
+
+    StreamingOutput serializeStreaming(ApiRequestJsonSerializationSettings settings, T single, Set<String> supportedResponseParameters);
 }
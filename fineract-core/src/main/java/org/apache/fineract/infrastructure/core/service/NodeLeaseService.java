@@ -0,0 +1,88 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import java.time.Duration;
+import java.util.UUID;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Time limited, tenant scoped leases stored in {@code m_node_lease}, used to run a continuous task on a single node of
+ * a cluster.
+ * <p>
+ * A lease is held until it expires unless its owner renews it, so a node which stops renewing hands the task over to
+ * the other nodes after at most one lease duration. The expiry is based on the clocks of the nodes, which therefore
+ * have to be kept in sync.
+ */
+@Component
+public class NodeLeaseService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String owner;
+
+    public NodeLeaseService(JdbcTemplate jdbcTemplate, FineractProperties fineractProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.owner = fineractProperties.getNodeId() + "-" + UUID.randomUUID();
+    }
+
+    /**
+     * Acquires the lease of the current tenant, or renews it when this node already holds it.
+     *
+     * @return whether this node holds the lease for the given duration
+     */
+    public boolean tryAcquire(String name, Duration duration) {
+        long now = System.currentTimeMillis();
+        long expiresAt = now + duration.toMillis();
+        int updated = jdbcTemplate.update(
+                "UPDATE m_node_lease SET owner = ?, expires_at = ? WHERE name = ? AND (owner = ? OR expires_at < ?)", owner, expiresAt,
+                name, owner, now);
+        if (updated > 0) {
+            return true;
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO m_node_lease (name, owner, expires_at) VALUES (?, ?, ?)", name, owner, expiresAt);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return whether the lease of the current tenant is held by any node and has not expired yet
+     */
+    public boolean isHeld(String name) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM m_node_lease WHERE name = ? AND expires_at >= ?",
+                Integer.class, name, System.currentTimeMillis());
+        return count != null && count > 0;
+    }
+
+    /**
+     * @return the identifier of this node as the owner of its leases, unique to the running instance
+     */
+    public String getOwner() {
+        return owner;
+    }
+
+    public void release(String name) {
+        jdbcTemplate.update("DELETE FROM m_node_lease WHERE name = ? AND owner = ?", name, owner);
+    }
+}
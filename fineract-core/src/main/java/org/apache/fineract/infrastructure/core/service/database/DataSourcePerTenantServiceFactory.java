@@ -22,6 +22,9 @@ import static org.apache.fineract.infrastructure.core.domain.FineractPlatformTen
 import static org.apache.fineract.infrastructure.core.domain.FineractPlatformTenantConnection.toProtocol;
 
 import com.zaxxer.hikari.HikariConfig;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.sql.DataSource;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -49,6 +52,9 @@ public class DataSourcePerTenantServiceFactory {
 
     private final DatabasePasswordEncryptor databasePasswordEncryptor;
 
+    private final Map<SharedPoolKey, DataSource> sharedDataSources = new ConcurrentHashMap<>();
+    private final AtomicInteger sharedPoolSequence = new AtomicInteger();
+
     public DataSourcePerTenantServiceFactory(@Qualifier("hikariTenantDataSource") DataSource tenantDataSource, HikariConfig hikariConfig,
             FineractProperties fineractProperties, ApplicationContext context, HikariDataSourceFactory hikariDataSourceFactory,
             DatabasePasswordEncryptor databasePasswordEncryptor) {
@@ -61,39 +67,90 @@ public class DataSourcePerTenantServiceFactory {
     }
 
     public DataSource createNewDataSourceFor(final FineractPlatformTenantConnection tenantConnection) {
-        if (!databasePasswordEncryptor.isMasterPasswordHashValid(tenantConnection.getMasterPasswordHash())) {
-            throw new IllegalArgumentException(
-                    "Invalid master password on tenant connection %d.".formatted(tenantConnection.getConnectionId()));
+        boolean readOnly = fineractProperties.getMode().isReadOnlyMode();
+        if (isSharedPoolEnabled()) {
+            return createSharedPoolDataSourceFor(tenantConnection, readOnly);
         }
+        return createNewDataSourceFor(tenantConnection, readOnly);
+    }
+
+    /**
+     * Creates a read only connection pool for the read replica of the tenant, see {@link #hasReadReplica}.
+     */
+    public DataSource createNewReadReplicaDataSourceFor(final FineractPlatformTenantConnection tenantConnection) {
+        return createNewDataSourceFor(tenantConnection, true);
+    }
+
+    public boolean hasReadReplica(final FineractPlatformTenantConnection tenantConnection) {
+        return StringUtils.isNotBlank(tenantConnection.getReadOnlySchemaServer())
+                || StringUtils.isNotBlank(tenantConnection.getReadOnlySchemaName());
+    }
+
+    /**
+     * When enabled, tenants on the same database server with the same credentials share one connection pool instead of
+     * getting a pool of their own, see {@link TenantSchemaDataSource}.
+     */
+    public boolean isSharedPoolEnabled() {
+        return fineractProperties.getDatabase().getSharedPool().isEnabled();
+    }
+
+    private DataSource createNewDataSourceFor(final FineractPlatformTenantConnection tenantConnection, final boolean readOnly) {
+        validateMasterPassword(tenantConnection);
+        String protocol = toProtocol(tenantDataSource);
+        ConnectionSettings settings = ConnectionSettings.of(tenantConnection, readOnly);
+
+        HikariConfig config = createHikariConfig(protocol, settings, tenantConnection, readOnly);
+        boolean replica = readOnly && !fineractProperties.getMode().isReadOnlyMode();
+        config.setPoolName(settings.schemaName() + (replica ? "_replica_pool" : "_pool"));
+        config.setMinimumIdle(getMinPoolSize(tenantConnection));
+        config.setMaximumPoolSize(getMaxPoolSize(tenantConnection));
+
+        return hikariDataSourceFactory.create(config);
+    }
+
+    private DataSource createSharedPoolDataSourceFor(final FineractPlatformTenantConnection tenantConnection, final boolean readOnly) {
+        validateMasterPassword(tenantConnection);
         String protocol = toProtocol(tenantDataSource);
-        // Default properties for Writing
-        String schemaServer = tenantConnection.getSchemaServer();
-        String schemaPort = tenantConnection.getSchemaServerPort();
-        String schemaName = tenantConnection.getSchemaName();
-        String schemaUsername = tenantConnection.getSchemaUsername();
-        String schemaPassword = tenantConnection.getSchemaPassword();
-        String schemaConnectionParameters = tenantConnection.getSchemaConnectionParameters();
-        // Properties to ReadOnly case
-        if (fineractProperties.getMode().isReadOnlyMode()) {
-            schemaServer = StringUtils.defaultIfBlank(tenantConnection.getReadOnlySchemaServer(), schemaServer);
-            schemaPort = StringUtils.defaultIfBlank(tenantConnection.getReadOnlySchemaServerPort(), schemaPort);
-            schemaName = StringUtils.defaultIfBlank(tenantConnection.getReadOnlySchemaName(), schemaName);
-            schemaUsername = StringUtils.defaultIfBlank(tenantConnection.getReadOnlySchemaUsername(), schemaUsername);
-            schemaPassword = StringUtils.defaultIfBlank(tenantConnection.getReadOnlySchemaPassword(), schemaPassword);
-            schemaConnectionParameters = StringUtils.defaultIfBlank(tenantConnection.getReadOnlySchemaConnectionParameters(),
-                    schemaConnectionParameters);
+        // Switching the schema of a pooled connection is only possible where schemas are catalogs of the same server
+        if (!StringUtils.containsAny(protocol, "mysql", "mariadb")) {
+            log.info("Shared connection pools are not supported for {}, using a dedicated pool for tenant connection {}", protocol,
+                    tenantConnection.getConnectionId());
+            return createNewDataSourceFor(tenantConnection, readOnly);
         }
-        String jdbcUrl = toJdbcUrl(protocol, schemaServer, schemaPort, schemaName, schemaConnectionParameters);
+        ConnectionSettings settings = ConnectionSettings.of(tenantConnection, readOnly);
+        SharedPoolKey key = new SharedPoolKey(protocol, settings.server(), settings.port(), settings.username(),
+                databasePasswordEncryptor.decrypt(settings.password()), settings.parameters(), readOnly);
+        DataSource sharedDataSource = sharedDataSources.computeIfAbsent(key,
+                k -> createSharedDataSource(protocol, settings, tenantConnection, readOnly));
+
+        FineractProperties.FineractSharedPoolProperties sharedPool = fineractProperties.getDatabase().getSharedPool();
+        return new TenantSchemaDataSource(sharedDataSource, settings.schemaName(), sharedPool.getMaxConnectionsPerTenant(),
+                hikariConfig.getConnectionTimeout());
+    }
+
+    private DataSource createSharedDataSource(String protocol, ConnectionSettings settings,
+            FineractPlatformTenantConnection tenantConnection, boolean readOnly) {
+        FineractProperties.FineractSharedPoolProperties sharedPool = fineractProperties.getDatabase().getSharedPool();
+        HikariConfig config = createHikariConfig(protocol, settings, tenantConnection, readOnly);
+        config.setPoolName("shared_" + sharedPoolSequence.incrementAndGet() + (readOnly ? "_readonly_pool" : "_pool"));
+        // Connections are only opened on demand and closed again once idle, so quiet servers do not hold any
+        config.setMinimumIdle(0);
+        config.setMaximumPoolSize(sharedPool.getMaxPoolSize());
+        config.setIdleTimeout(sharedPool.getIdleTimeoutSeconds() * 1000L);
+        log.info("Creating shared connection pool {} for {}:{}", config.getPoolName(), settings.server(), settings.port());
+        return hikariDataSourceFactory.create(config);
+    }
+
+    private HikariConfig createHikariConfig(String protocol, ConnectionSettings settings, FineractPlatformTenantConnection tenantConnection,
+            boolean readOnly) {
+        String jdbcUrl = toJdbcUrl(protocol, settings.server(), settings.port(), settings.schemaName(), settings.parameters());
         log.debug("{}", jdbcUrl);
 
         HikariConfig config = new HikariConfig();
-        config.setReadOnly(fineractProperties.getMode().isReadOnlyMode());
+        config.setReadOnly(readOnly);
         config.setJdbcUrl(jdbcUrl);
-        config.setPoolName(schemaName + "_pool");
-        config.setUsername(schemaUsername);
-        config.setPassword(databasePasswordEncryptor.decrypt(schemaPassword));
-        config.setMinimumIdle(getMinPoolSize(tenantConnection));
-        config.setMaximumPoolSize(getMaxPoolSize(tenantConnection));
+        config.setUsername(settings.username());
+        config.setPassword(databasePasswordEncryptor.decrypt(settings.password()));
         config.setValidationTimeout(tenantConnection.getValidationInterval());
         config.setDriverClassName(hikariConfig.getDriverClassName());
         config.setConnectionTestQuery(hikariConfig.getConnectionTestQuery());
@@ -107,8 +164,14 @@ public class DataSourcePerTenantServiceFactory {
         // is also in src/main/resources/META-INF/spring/hikariDataSource.xml
         // for the all Tenants DB -->
         config.setDataSourceProperties(hikariConfig.getDataSourceProperties());
+        return config;
+    }
 
-        return hikariDataSourceFactory.create(config);
+    private void validateMasterPassword(FineractPlatformTenantConnection tenantConnection) {
+        if (!databasePasswordEncryptor.isMasterPasswordHashValid(tenantConnection.getMasterPasswordHash())) {
+            throw new IllegalArgumentException(
+                    "Invalid master password on tenant connection %d.".formatted(tenantConnection.getConnectionId()));
+        }
     }
 
     private int getMaxPoolSize(FineractPlatformTenantConnection tenantConnection) {
@@ -133,4 +196,28 @@ public class DataSourcePerTenantServiceFactory {
         }
     }
 
+    private record ConnectionSettings(String server, String port, String schemaName, String username, String password,
+            String parameters) {
+
+        static ConnectionSettings of(FineractPlatformTenantConnection tenantConnection, boolean readOnly) {
+            // Default properties for Writing
+            if (!readOnly) {
+                return new ConnectionSettings(tenantConnection.getSchemaServer(), tenantConnection.getSchemaServerPort(),
+                        tenantConnection.getSchemaName(), tenantConnection.getSchemaUsername(), tenantConnection.getSchemaPassword(),
+                        tenantConnection.getSchemaConnectionParameters());
+            }
+            // Properties to ReadOnly case
+            return new ConnectionSettings(
+                    StringUtils.defaultIfBlank(tenantConnection.getReadOnlySchemaServer(), tenantConnection.getSchemaServer()),
+                    StringUtils.defaultIfBlank(tenantConnection.getReadOnlySchemaServerPort(), tenantConnection.getSchemaServerPort()),
+                    StringUtils.defaultIfBlank(tenantConnection.getReadOnlySchemaName(), tenantConnection.getSchemaName()),
+                    StringUtils.defaultIfBlank(tenantConnection.getReadOnlySchemaUsername(), tenantConnection.getSchemaUsername()),
+                    StringUtils.defaultIfBlank(tenantConnection.getReadOnlySchemaPassword(), tenantConnection.getSchemaPassword()),
+                    StringUtils.defaultIfBlank(tenantConnection.getReadOnlySchemaConnectionParameters(),
+                            tenantConnection.getSchemaConnectionParameters()));
+        }
+    }
+
+    private record SharedPoolKey(String protocol, String server, String port, String username, String password, String parameters,
+            boolean readOnly) {}
 }
@@ -0,0 +1,192 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service.database;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractReadReplicaProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Decides whether the connection requested by the current thread can be served by the read replica of the tenant.
+ * <p>
+ * A connection goes to the replica when read replica routing is enabled and
+ * <ul>
+ * <li>the current thread serves a GET request, so jobs, commands and batch requests always use the primary,</li>
+ * <li>it is requested within a read only transaction or a {@link ReadReplicaEligible} method, outside of any read-write
+ * transaction, and</li>
+ * <li>the client did not send a modifying request within the configured window, so users read their own writes even
+ * if the replica lags behind, and</li>
+ * <li>neither the authenticated user, through a modifying request or an asynchronous command, nor a job started
+ * through the API wrote within the window.</li>
+ * </ul>
+ * The writes are recorded per user in the tenant database by {@link ReadReplicaWriteRecorder}, after every modifying
+ * request by {@link ReadReplicaWriteMarkerFilter}, so the decision does not depend on the node serving the request nor
+ * on the client. The filter also sets the time of the write in the {@value #LAST_WRITE_HEADER} header and cookie, a
+ * client sending it back is served by the primary without the lookup of the recorded writes. The marker times are
+ * compared across nodes, whose clocks therefore have to be kept in sync.
+ */
+@Component
+public class ReadReplicaRouting {
+
+    public static final String LAST_WRITE_HEADER = "Fineract-Last-Write";
+
+    private static final String WRITE_RECORDED_ATTRIBUTE = ReadReplicaRouting.class.getName() + ".WRITE_RECORDED";
+    private static final String RECORDED_WRITE_ATTRIBUTE = ReadReplicaRouting.class.getName() + ".RECORDED_WRITE";
+
+    private final boolean enabled;
+    private final long readYourWritesWindowMillis;
+
+    private final ThreadLocal<Integer> eligibleDepth = ThreadLocal.withInitial(() -> 0);
+
+    public ReadReplicaRouting(FineractProperties fineractProperties) {
+        FineractReadReplicaProperties properties = fineractProperties.getDatabase().getReadReplica();
+        this.enabled = properties != null && properties.isEnabled();
+        this.readYourWritesWindowMillis = properties == null ? 0 : TimeUnit.SECONDS.toMillis(properties.getReadYourWritesWindowSeconds());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getReadYourWritesWindowMillis() {
+        return readYourWritesWindowMillis;
+    }
+
+    /**
+     * Marks the start of a {@link ReadReplicaEligible} method call on the current thread. Calls may be nested.
+     */
+    public void enterEligible() {
+        eligibleDepth.set(eligibleDepth.get() + 1);
+    }
+
+    public void exitEligible() {
+        int depth = eligibleDepth.get() - 1;
+        if (depth <= 0) {
+            eligibleDepth.remove();
+        } else {
+            eligibleDepth.set(depth);
+        }
+    }
+
+    public boolean useReadReplica() {
+        if (!enabled) {
+            return false;
+        }
+        HttpServletRequest request = getCurrentRequest();
+        if (request == null) {
+            return false;
+        }
+        if (!"GET".equals(request.getMethod())) {
+            recordWrite();
+            return false;
+        }
+        boolean transactionActive = TransactionSynchronizationManager.isActualTransactionActive();
+        boolean readOnlyTransaction = transactionActive && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (transactionActive && !readOnlyTransaction) {
+            return false;
+        }
+        if (!readOnlyTransaction && eligibleDepth.get() == 0) {
+            return false;
+        }
+        return !hasRecentWrite(request);
+    }
+
+    /**
+     * @return whether the current request is a modifying request which used the database, so its response has to carry
+     *         the write marker
+     */
+    public boolean isWriteRecorded() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        return requestAttributes != null
+                && requestAttributes.getAttribute(WRITE_RECORDED_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+
+    /**
+     * Checks in the primary database of the tenant whether the authenticated user, or a job started through the API,
+     * wrote within the window. Checked once per request.
+     */
+    public boolean hasRecentRecordedWrite(DataSource primaryDataSource) {
+        String userName = getUserName();
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (userName == null || requestAttributes == null) {
+            return false;
+        }
+        Boolean recentWrite = (Boolean) requestAttributes.getAttribute(RECORDED_WRITE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (recentWrite == null) {
+            Long lastWrite = new JdbcTemplate(primaryDataSource).queryForObject(
+                    "SELECT MAX(written_at) FROM m_read_replica_write WHERE user_name IN (?, ?)", Long.class, userName,
+                    ReadReplicaWriteRecorder.ALL_USERS);
+            recentWrite = lastWrite != null && isRecent(lastWrite);
+            requestAttributes.setAttribute(RECORDED_WRITE_ATTRIBUTE, recentWrite, RequestAttributes.SCOPE_REQUEST);
+        }
+        return recentWrite;
+    }
+
+    private void recordWrite() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null) {
+            requestAttributes.setAttribute(WRITE_RECORDED_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private boolean hasRecentWrite(HttpServletRequest request) {
+        String lastWrite = request.getHeader(LAST_WRITE_HEADER);
+        if (lastWrite == null && request.getCookies() != null) {
+            lastWrite = Arrays.stream(request.getCookies()).filter(cookie -> LAST_WRITE_HEADER.equals(cookie.getName()))
+                    .map(Cookie::getValue).findFirst().orElse(null);
+        }
+        if (lastWrite == null) {
+            return false;
+        }
+        try {
+            return isRecent(Long.parseLong(lastWrite.trim()));
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    // a marker from the future, written by a node with a clock ahead, counts as recent
+    private boolean isRecent(long lastWriteMillis) {
+        return System.currentTimeMillis() - lastWriteMillis < readYourWritesWindowMillis;
+    }
+
+    static String getUserName() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? null : authentication.getName();
+    }
+
+    private static HttpServletRequest getCurrentRequest() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes servletRequestAttributes) {
+            return servletRequestAttributes.getRequest();
+        }
+        return null;
+    }
+}
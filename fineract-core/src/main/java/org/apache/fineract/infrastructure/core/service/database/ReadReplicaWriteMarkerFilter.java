@@ -0,0 +1,68 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service.database;
+
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.NewCookie;
+import jakarta.ws.rs.ext.Provider;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records the write of a modifying request for the authenticated user and sets the
+ * {@value ReadReplicaRouting#LAST_WRITE_HEADER} header and cookie on its response, so the following reads of the user
+ * are served by the primary within the read-your-writes window whichever node serves them. The response filter runs
+ * after the resource method has committed its transaction.
+ */
+@Slf4j
+@Provider
+@Component
+@Scope("singleton")
+@RequiredArgsConstructor
+public class ReadReplicaWriteMarkerFilter implements ContainerResponseFilter {
+
+    private final ReadReplicaRouting readReplicaRouting;
+    private final ReadReplicaWriteRecorder readReplicaWriteRecorder;
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        if (!readReplicaRouting.isEnabled() || !readReplicaRouting.isWriteRecorded()) {
+            return;
+        }
+        String userName = ReadReplicaRouting.getUserName();
+        try {
+            readReplicaWriteRecorder.recordWrite(userName);
+        } catch (RuntimeException e) {
+            // the request is committed already, the client still gets the marker
+            log.warn("Recording the write of user {} for read replica routing failed", userName, e);
+        }
+        String lastWrite = String.valueOf(System.currentTimeMillis());
+        NewCookie cookie = new NewCookie.Builder(ReadReplicaRouting.LAST_WRITE_HEADER).value(lastWrite).path("/")
+                .maxAge((int) TimeUnit.MILLISECONDS.toSeconds(readReplicaRouting.getReadYourWritesWindowMillis())).httpOnly(true)
+                .secure(requestContext.getSecurityContext().isSecure()).build();
+        responseContext.getHeaders().putSingle(ReadReplicaRouting.LAST_WRITE_HEADER, lastWrite);
+        responseContext.getHeaders().add(HttpHeaders.SET_COOKIE, cookie);
+    }
+}
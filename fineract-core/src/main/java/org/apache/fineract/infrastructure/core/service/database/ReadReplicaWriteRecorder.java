@@ -0,0 +1,61 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service.database;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records in {@code m_read_replica_write} of the current tenant the writes of the modifying requests of a user, of the
+ * asynchronous commands and of the jobs, so {@link ReadReplicaRouting} serves the following reads of the user from the
+ * primary within the read-your-writes window.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReadReplicaWriteRecorder {
+
+    /**
+     * The user name under which writes affecting every user are recorded.
+     */
+    public static final String ALL_USERS = "*";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReadReplicaRouting readReplicaRouting;
+
+    public void recordWrite(String userName) {
+        if (!readReplicaRouting.isEnabled() || userName == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (jdbcTemplate.update("UPDATE m_read_replica_write SET written_at = ? WHERE user_name = ?", now, userName) > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO m_read_replica_write (user_name, written_at) VALUES (?, ?)", userName, now);
+        } catch (DuplicateKeyException e) {
+            jdbcTemplate.update("UPDATE m_read_replica_write SET written_at = ? WHERE user_name = ?", now, userName);
+        }
+    }
+
+    public void recordWriteForAllUsers() {
+        recordWrite(ALL_USERS);
+    }
+}
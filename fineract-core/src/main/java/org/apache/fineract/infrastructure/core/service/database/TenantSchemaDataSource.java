@@ -0,0 +1,120 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service.database;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+/**
+ * The view of a single tenant on a connection pool shared by the tenants of the same database server.
+ * <p>
+ * Connections are switched to the schema of the tenant on checkout; the pool resets the schema when they are returned.
+ * The number of connections a tenant holds at the same time is limited, so a single busy tenant cannot exhaust the
+ * shared pool.
+ */
+public class TenantSchemaDataSource extends AbstractDataSource {
+
+    private final DataSource sharedDataSource;
+    private final String schemaName;
+    private final int maxConnections;
+    private final long checkoutTimeoutMillis;
+    private final Semaphore permits;
+
+    public TenantSchemaDataSource(DataSource sharedDataSource, String schemaName, int maxConnections, long checkoutTimeoutMillis) {
+        this.sharedDataSource = sharedDataSource;
+        this.schemaName = schemaName;
+        this.maxConnections = maxConnections;
+        this.checkoutTimeoutMillis = checkoutTimeoutMillis;
+        this.permits = new Semaphore(maxConnections, true);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquirePermit();
+        Connection connection = null;
+        try {
+            connection = sharedDataSource.getConnection();
+            connection.setCatalog(schemaName);
+            return releasingPermitOnClose(connection);
+        } catch (SQLException | RuntimeException e) {
+            if (connection != null) {
+                connection.close();
+            }
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Connections of a shared pool cannot be requested with other credentials");
+    }
+
+    public String getSchemaName() {
+        return schemaName;
+    }
+
+    private void acquirePermit() throws SQLException {
+        try {
+            if (!permits.tryAcquire(checkoutTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "Schema " + schemaName + " has reached its limit of " + maxConnections + " concurrent connections");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a connection to schema " + schemaName, e);
+        }
+    }
+
+    private Connection releasingPermitOnClose(Connection connection) {
+        AtomicBoolean closed = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { Connection.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "close" -> {
+                        if (closed.compareAndSet(false, true)) {
+                            try {
+                                connection.close();
+                            } finally {
+                                permits.release();
+                            }
+                        }
+                        yield null;
+                    }
+                    case "isClosed" -> closed.get() || connection.isClosed();
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> {
+                        try {
+                            yield method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        }
+                    }
+                });
+    }
+}
@@ -46,17 +46,21 @@ import org.springframework.stereotype.Service;
 public class TomcatJdbcDataSourcePerTenantService implements RoutingDataSourceService, ApplicationListener<ContextRefreshedEvent> {
 
     private static final Map<Long, DataSource> TENANT_TO_DATA_SOURCE_MAP = new ConcurrentHashMap<>();
+    private static final Map<Long, DataSource> TENANT_TO_READ_REPLICA_DATA_SOURCE_MAP = new ConcurrentHashMap<>();
     private final DataSource tenantDataSource;
     private final TenantDetailsService tenantDetailsService;
 
     private final DataSourcePerTenantServiceFactory dataSourcePerTenantServiceFactory;
+    private final ReadReplicaRouting readReplicaRouting;
 
     @Autowired
     public TomcatJdbcDataSourcePerTenantService(final @Qualifier("hikariTenantDataSource") DataSource tenantDataSource,
-            final DataSourcePerTenantServiceFactory dataSourcePerTenantServiceFactory, final TenantDetailsService tenantDetailsService) {
+            final DataSourcePerTenantServiceFactory dataSourcePerTenantServiceFactory, final TenantDetailsService tenantDetailsService,
+            final ReadReplicaRouting readReplicaRouting) {
         this.tenantDataSource = tenantDataSource;
         this.dataSourcePerTenantServiceFactory = dataSourcePerTenantServiceFactory;
         this.tenantDetailsService = tenantDetailsService;
+        this.readReplicaRouting = readReplicaRouting;
     }
 
     @Override
@@ -74,6 +78,12 @@ public class TomcatJdbcDataSourcePerTenantService implements RoutingDataSourceSe
                 DataSource tenantSpecificDataSource = dataSourcePerTenantServiceFactory.createNewDataSourceFor(tenantConnection);
                 return tenantSpecificDataSource;
             });
+            // recorded writes are looked up in the primary, only when the replica would be used otherwise
+            if (readReplicaRouting.useReadReplica() && dataSourcePerTenantServiceFactory.hasReadReplica(tenantConnection)
+                    && !readReplicaRouting.hasRecentRecordedWrite(actualDataSource)) {
+                actualDataSource = TENANT_TO_READ_REPLICA_DATA_SOURCE_MAP.computeIfAbsent(tenantConnectionKey,
+                        (key) -> dataSourcePerTenantServiceFactory.createNewReadReplicaDataSourceFor(tenantConnection));
+            }
 
         }
 
@@ -82,6 +92,10 @@ public class TomcatJdbcDataSourcePerTenantService implements RoutingDataSourceSe
 
     @Override
     public void onApplicationEvent(ContextRefreshedEvent event) {
+        if (dataSourcePerTenantServiceFactory.isSharedPoolEnabled()) {
+            // shared pools are created on the first request of a tenant on the given database server
+            return;
+        }
         final List<FineractPlatformTenant> allTenants = tenantDetailsService.findAllTenants();
         for (final FineractPlatformTenant tenant : allTenants) {
             initializeDataSourceConnection(tenant);
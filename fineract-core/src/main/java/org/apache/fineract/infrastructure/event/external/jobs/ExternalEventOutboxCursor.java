@@ -0,0 +1,87 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.external.jobs;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+
+/**
+ * Keyset position of a tenant in the external event outbox.
+ *
+ * Events are polled with {@code id > lastId}, so the status index is not scanned on every poll. Failed events rewind
+ * the position to the oldest of them and postpone the next poll with an exponential backoff. Since event ids are
+ * assigned before their transactions commit, an event can become visible behind the position; the position is
+ * therefore reset once per rescan interval.
+ *
+ * The position is kept in memory of the node only. Unsent events stay in the outbox with their later events of the same
+ * aggregate root, so a position which is behind, e.g. on another node, only rereads events, and never sends an event
+ * ahead of an older unsent one of its aggregate root.
+ */
+class ExternalEventOutboxCursor {
+
+    private final Clock clock;
+    private final Duration rescanInterval;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    private long lastId;
+    private int failures;
+    private Instant retryAt = Instant.MIN;
+    private Instant rescannedAt;
+
+    ExternalEventOutboxCursor(FineractProperties.FineractExternalEventsOutboxProperties properties, Clock clock) {
+        this.clock = clock;
+        this.rescanInterval = Duration.ofSeconds(properties.getRescanIntervalInSeconds());
+        this.initialBackoff = Duration.ofMillis(properties.getRetryInitialBackoffInMilliseconds());
+        this.maxBackoff = Duration.ofMillis(properties.getRetryMaxBackoffInMilliseconds());
+        this.rescannedAt = clock.instant();
+    }
+
+    boolean isBackingOff() {
+        return clock.instant().isBefore(retryAt);
+    }
+
+    long getLastId() {
+        Instant now = clock.instant();
+        if (!now.isBefore(rescannedAt.plus(rescanInterval))) {
+            lastId = 0L;
+            rescannedAt = now;
+        }
+        return lastId;
+    }
+
+    void advance(long id) {
+        lastId = Math.max(lastId, id);
+    }
+
+    void acknowledged() {
+        failures = 0;
+    }
+
+    void failed(Collection<Long> failedIds) {
+        long oldestFailedId = failedIds.stream().mapToLong(Long::longValue).min().orElse(1L);
+        lastId = Math.min(lastId, oldestFailedId - 1);
+        failures++;
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(failures - 1, 20));
+        retryAt = clock.instant().plus(backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff);
+    }
+}
@@ -0,0 +1,288 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.external.jobs;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.NodeLeaseService;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.tenant.TenantDetailsService;
+import org.apache.fineract.infrastructure.event.external.producer.ExternalEventMessage;
+import org.apache.fineract.infrastructure.event.external.producer.ExternalEventProducer;
+import org.apache.fineract.infrastructure.event.external.repository.ExternalEventRepository;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventStatus;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventView;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Continuously running alternative of the {@link SendAsynchronousEventsTasklet}.
+ *
+ * Every tenant gets a relay thread which reads and serializes the next batch of the external event outbox while a
+ * dedicated sender thread sends and acknowledges the previous ones. At most
+ * {@code fineract.events.external.relay.max-in-flight-batches} batches are waiting for acknowledgement, and batches are
+ * sent one after the other, so the ordering of the events of an aggregate root is kept.
+ *
+ * Only the acknowledged events of a batch are marked as sent, per aggregate root up to its first unacknowledged event.
+ * When some are not, the batches queued after it are skipped, and the relay continues from the oldest unsent event
+ * after the retry backoff of its {@link ExternalEventOutboxCursor}.
+ *
+ * The outbox of a tenant is relayed by the node holding its {@value #LEASE_NAME} lease only, the other nodes retry to
+ * acquire it once per idle interval. Tenants are looked up again once per
+ * {@code fineract.events.external.relay.tenant-refresh-interval-in-seconds}, and an idle outbox is polled with an
+ * interval doubling up to {@code fineract.events.external.relay.max-idle-interval-in-milliseconds}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "fineract.events.external.relay.enabled", havingValue = "true")
+public class ExternalEventRelay implements ApplicationListener<ContextRefreshedEvent>, DisposableBean {
+
+    private final FineractProperties fineractProperties;
+    private final TenantDetailsService tenantDetailsService;
+    private final ExternalEventRepository repository;
+    private final ExternalEventProducer eventProducer;
+    private final SendAsynchronousEventsTasklet sendAsynchronousEventsTasklet;
+    private final TransactionTemplate transactionTemplate;
+    private final NodeLeaseService nodeLeaseService;
+
+    static final String LEASE_NAME = "external-event-relay";
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Set<Long> relayedTenantIds = ConcurrentHashMap.newKeySet();
+    private ExecutorService relayExecutor;
+    private ScheduledExecutorService tenantWatcher;
+
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        if (!sendAsynchronousEventsTasklet.isDownstreamChannelEnabled() || !running.compareAndSet(false, true)) {
+            return;
+        }
+        relayExecutor = Executors.newCachedThreadPool(new CustomizableThreadFactory("external-event-relay-"));
+        tenantWatcher = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("external-event-relay-tenants-"));
+        tenantWatcher.scheduleWithFixedDelay(this::startNewTenants, 0,
+                Math.max(1, fineractProperties.getEvents().getExternal().getRelay().getTenantRefreshIntervalInSeconds()), TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        if (running.compareAndSet(true, false) && relayExecutor != null) {
+            tenantWatcher.shutdownNow();
+            relayExecutor.shutdown();
+            if (!relayExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+                relayExecutor.shutdownNow();
+            }
+        }
+    }
+
+    private void startNewTenants() {
+        try {
+            for (FineractPlatformTenant tenant : tenantDetailsService.findAllTenants()) {
+                if (running.get() && relayedTenantIds.add(tenant.getId())) {
+                    relayExecutor.execute(() -> relay(tenant));
+                    log.info("External event relay started for tenant {}", tenant.getTenantIdentifier());
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Error occurred while looking up the tenants to relay events for", e);
+        }
+    }
+
+    private void relay(FineractPlatformTenant tenant) {
+        ExecutorService sender = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("external-event-sender-"));
+        Deque<CompletableFuture<List<Long>>> inFlight = new ArrayDeque<>();
+        AtomicBoolean failed = new AtomicBoolean();
+        ExternalEventOutboxCursor cursor = sendAsynchronousEventsTasklet.createCursor();
+        long idleInterval = getPollInterval();
+        long leaseRenewalDue = 0L;
+        try {
+            ThreadLocalContextUtil.setTenant(tenant);
+            while (running.get()) {
+                try {
+                    if (System.currentTimeMillis() >= leaseRenewalDue) {
+                        if (!nodeLeaseService.tryAcquire(LEASE_NAME, getLeaseDuration())) {
+                            if (leaseRenewalDue > 0L) {
+                                log.warn("External event relay lease of tenant {} was taken over by another node",
+                                        tenant.getTenantIdentifier());
+                                awaitAll(inFlight);
+                                failed.set(false);
+                                leaseRenewalDue = 0L;
+                            }
+                            sleep(getMaxIdleInterval());
+                            continue;
+                        }
+                        if (leaseRenewalDue == 0L) {
+                            // the other node may have sent or failed any events since this node held the lease
+                            cursor = sendAsynchronousEventsTasklet.createCursor();
+                        }
+                        leaseRenewalDue = System.currentTimeMillis() + getLeaseDuration().toMillis() / 3;
+                    }
+                    List<Long> failedEventIds = acknowledge(inFlight, getMaxInFlightBatches() - 1, cursor);
+                    if (!failedEventIds.isEmpty()) {
+                        log.warn("{} events were not sent, the relay restarts from the oldest of them", failedEventIds.size());
+                        failedEventIds.addAll(awaitAll(inFlight));
+                        failed.set(false);
+                        cursor.failed(failedEventIds);
+                    }
+                    if (cursor.isBackingOff()) {
+                        sleep(getPollInterval());
+                        continue;
+                    }
+                    int batchSize = sendAsynchronousEventsTasklet.getBatchSize();
+                    List<ExternalEventView> events = repository.findByStatusAndIdGreaterThanOrderById(ExternalEventStatus.TO_BE_SENT,
+                            cursor.getLastId(), PageRequest.ofSize(batchSize));
+                    if (!events.isEmpty()) {
+                        // serializing here overlaps with the sending of the previous batches
+                        Map<Long, List<ExternalEventMessage>> partitions = sendAsynchronousEventsTasklet.generatePartitions(events);
+                        List<Long> eventIds = events.stream().map(ExternalEventView::getId).toList();
+                        cursor.advance(eventIds.get(eventIds.size() - 1));
+                        inFlight.add(CompletableFuture.supplyAsync(() -> send(tenant, partitions, eventIds, failed), sender));
+                    }
+                    if (events.isEmpty()) {
+                        sleep(idleInterval);
+                        idleInterval = Math.min(idleInterval * 2, Math.max(getPollInterval(), getMaxIdleInterval()));
+                    } else {
+                        idleInterval = getPollInterval();
+                        if (events.size() < batchSize) {
+                            sleep(getPollInterval());
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    log.error("Error occurred while relaying events of tenant {}", tenant.getTenantIdentifier(), e);
+                    List<Long> failedEventIds = awaitAll(inFlight);
+                    failed.set(false);
+                    cursor.failed(failedEventIds);
+                    sleep(getPollInterval());
+                }
+            }
+            awaitAll(inFlight);
+            if (leaseRenewalDue > 0L) {
+                nodeLeaseService.release(LEASE_NAME);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("Error occurred while releasing the external event relay lease of tenant {}", tenant.getTenantIdentifier(), e);
+        } finally {
+            relayedTenantIds.remove(tenant.getId());
+            sender.shutdown();
+            ThreadLocalContextUtil.reset();
+        }
+    }
+
+    /**
+     * Sends a batch and marks its acknowledged events as sent. Once a batch has failed, the batches queued after it are
+     * not sent, so that the events of an aggregate root are not sent ahead of the failed ones.
+     *
+     * @return the ids of the events which were not sent
+     */
+    private List<Long> send(FineractPlatformTenant tenant, Map<Long, List<ExternalEventMessage>> partitions, List<Long> eventIds,
+            AtomicBoolean failed) {
+        if (failed.get()) {
+            return eventIds;
+        }
+        try {
+            ThreadLocalContextUtil.setTenant(tenant);
+            Set<Long> acknowledgedEventIds = eventProducer.sendEventsAndCollectAcknowledged(partitions);
+            Set<Long> sentEventIdSet = sendAsynchronousEventsTasklet.getSentEventIds(partitions, acknowledgedEventIds);
+            List<Long> sentEventIds = eventIds.stream().filter(sentEventIdSet::contains).toList();
+            if (!sentEventIds.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> sendAsynchronousEventsTasklet.markEventsAsSent(sentEventIds));
+            }
+            List<Long> failedEventIds = eventIds.stream().filter(eventId -> !sentEventIdSet.contains(eventId)).toList();
+            if (!failedEventIds.isEmpty()) {
+                failed.set(true);
+            }
+            return failedEventIds;
+        } catch (RuntimeException e) {
+            log.error("Error occurred while sending events", e);
+            failed.set(true);
+            return eventIds;
+        } finally {
+            ThreadLocalContextUtil.reset();
+        }
+    }
+
+    /**
+     * Completes the finished batches and waits for the oldest ones while there are more than {@code maxPending}.
+     *
+     * @return the ids of the events of the completed batches which were not sent
+     */
+    private List<Long> acknowledge(Deque<CompletableFuture<List<Long>>> inFlight, int maxPending, ExternalEventOutboxCursor cursor) {
+        List<Long> failedEventIds = new ArrayList<>();
+        while (!inFlight.isEmpty() && (inFlight.size() > maxPending || inFlight.peek().isDone())) {
+            List<Long> batchFailedEventIds = inFlight.poll().join();
+            if (batchFailedEventIds.isEmpty()) {
+                cursor.acknowledged();
+            }
+            failedEventIds.addAll(batchFailedEventIds);
+        }
+        return failedEventIds;
+    }
+
+    private List<Long> awaitAll(Deque<CompletableFuture<List<Long>>> inFlight) {
+        List<Long> failedEventIds = new ArrayList<>();
+        while (!inFlight.isEmpty()) {
+            failedEventIds.addAll(inFlight.poll().join());
+        }
+        return failedEventIds;
+    }
+
+    private void sleep(long millis) throws InterruptedException {
+        TimeUnit.MILLISECONDS.sleep(millis);
+    }
+
+    private long getPollInterval() {
+        return Math.max(1, fineractProperties.getEvents().getExternal().getRelay().getPollIntervalInMilliseconds());
+    }
+
+    private long getMaxIdleInterval() {
+        return fineractProperties.getEvents().getExternal().getRelay().getMaxIdleIntervalInMilliseconds();
+    }
+
+    private Duration getLeaseDuration() {
+        return Duration.ofSeconds(Math.max(1, fineractProperties.getEvents().getExternal().getRelay().getLeaseDurationInSeconds()));
+    }
+
+    private int getMaxInFlightBatches() {
+        return Math.max(1, fineractProperties.getEvents().getExternal().getRelay().getMaxInFlightBatches());
+    }
+}
@@ -23,51 +23,77 @@ import static java.util.stream.Collectors.toMap;
 import static org.apache.fineract.infrastructure.core.diagnostics.performance.MeasuringUtil.measure;
 
 import com.google.common.collect.Lists;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.nio.ByteBuffer;
+import java.time.Clock;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.avro.MessageV1;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.event.external.producer.ExternalEventMessage;
 import org.apache.fineract.infrastructure.event.external.producer.ExternalEventProducer;
 import org.apache.fineract.infrastructure.event.external.repository.ExternalEventRepository;
 import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventStatus;
 import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventView;
 import org.apache.fineract.infrastructure.event.external.service.message.MessageFactory;
-import org.apache.fineract.infrastructure.event.external.service.support.ByteBufferConverter;
 import org.springframework.batch.core.StepContribution;
 import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.core.step.tasklet.Tasklet;
 import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
 
 @Slf4j
 @RequiredArgsConstructor
 @Component
-public class SendAsynchronousEventsTasklet implements Tasklet {
+public class SendAsynchronousEventsTasklet implements Tasklet, DisposableBean {
+
+    private static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
+    private static final ThreadLocal<ByteArrayOutputStream> SERIALIZATION_BUFFER = ThreadLocal
+            .withInitial(() -> new ByteArrayOutputStream(1024));
 
     private final FineractProperties fineractProperties;
     private final ExternalEventRepository repository;
     private final ExternalEventProducer eventProducer;
     private final MessageFactory messageFactory;
-    private final ByteBufferConverter byteBufferConverter;
     private final ConfigurationDomainService configurationDomainService;
 
+    private final Map<String, ExternalEventOutboxCursor> cursors = new ConcurrentHashMap<>();
+    private final Clock clock = Clock.systemUTC();
+    private volatile ExecutorService serializationExecutor;
+
     @Override
     public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
         try {
-            if (isDownstreamChannelEnabled()) {
-                List<ExternalEventView> events = getQueuedEventsBatch();
-                log.debug("Queued events size: {}", events.size());
-                sendEvents(events);
+            if (isRelayEnabled()) {
+                log.debug("External events are sent by the continuous relay, skipping");
+            } else if (isDownstreamChannelEnabled()) {
+                ExternalEventOutboxCursor cursor = getCursor();
+                if (cursor.isBackingOff()) {
+                    log.debug("Sending events is postponed after a failed send");
+                } else {
+                    List<ExternalEventView> events = getQueuedEventsBatch(cursor);
+                    log.debug("Queued events size: {}", events.size());
+                    sendEvents(events, cursor);
+                }
             }
         } catch (Exception e) {
             log.error("Error occurred while processing events: ", e);
@@ -75,30 +101,88 @@ public class SendAsynchronousEventsTasklet implements Tasklet {
         return RepeatStatus.FINISHED;
     }
 
-    private boolean isDownstreamChannelEnabled() {
+    boolean isDownstreamChannelEnabled() {
         return fineractProperties.getEvents().getExternal().getProducer().getJms().isEnabled()
                 || fineractProperties.getEvents().getExternal().getProducer().getKafka().isEnabled();
     }
 
-    private List<ExternalEventView> getQueuedEventsBatch() {
+    private boolean isRelayEnabled() {
+        FineractProperties.FineractExternalEventsRelayProperties relay = fineractProperties.getEvents().getExternal().getRelay();
+        return relay != null && relay.isEnabled();
+    }
+
+    ExternalEventOutboxCursor createCursor() {
+        return new ExternalEventOutboxCursor(fineractProperties.getEvents().getExternal().getOutbox(), clock);
+    }
+
+    private ExternalEventOutboxCursor getCursor() {
+        return cursors.computeIfAbsent(ThreadLocalContextUtil.getTenant().getTenantIdentifier(), tenant -> createCursor());
+    }
+
+    private List<ExternalEventView> getQueuedEventsBatch(ExternalEventOutboxCursor cursor) {
         int readBatchSize = getBatchSize();
         Pageable batchSize = PageRequest.ofSize(readBatchSize);
-        return measure(() -> repository.findByStatusOrderById(ExternalEventStatus.TO_BE_SENT, batchSize),
+        long lastId = cursor.getLastId();
+        return measure(() -> repository.findByStatusAndIdGreaterThanOrderById(ExternalEventStatus.TO_BE_SENT, lastId, batchSize),
                 (events, timeTaken) -> log.debug("Loaded {} events in {}ms", events.size(), timeTaken.toMillis()));
     }
 
-    private void sendEvents(List<ExternalEventView> queuedEvents) {
-        Map<Long, List<byte[]>> partitions = generatePartitions(queuedEvents);
+    private void sendEvents(List<ExternalEventView> queuedEvents, ExternalEventOutboxCursor cursor) {
+        if (queuedEvents.isEmpty()) {
+            return;
+        }
+        Map<Long, List<ExternalEventMessage>> partitions = generatePartitions(queuedEvents);
         List<Long> eventIds = queuedEvents.stream().map(ExternalEventView::getId).toList();
-        sendEventsToProducer(partitions);
-        markEventsAsSent(eventIds);
+        cursor.advance(eventIds.get(eventIds.size() - 1));
+        List<Long> failedEventIds;
+        try {
+            failedEventIds = sendEventsToProducer(partitions, eventIds);
+        } catch (RuntimeException e) {
+            cursor.failed(eventIds);
+            throw e;
+        }
+        if (failedEventIds.isEmpty()) {
+            cursor.acknowledged();
+        } else {
+            log.warn("{} of {} events were not acknowledged, they are sent again later", failedEventIds.size(), eventIds.size());
+            cursor.failed(failedEventIds);
+        }
+    }
+
+    /**
+     * Sends the events and marks the acknowledged ones as sent.
+     *
+     * @return the ids of the events which were not marked as sent
+     */
+    private List<Long> sendEventsToProducer(Map<Long, List<ExternalEventMessage>> partitions, List<Long> eventIds) {
+        Set<Long> acknowledgedEventIds = eventProducer.sendEventsAndCollectAcknowledged(partitions);
+        Set<Long> sentEventIds = getSentEventIds(partitions, acknowledgedEventIds);
+        if (!sentEventIds.isEmpty()) {
+            markEventsAsSent(eventIds.stream().filter(sentEventIds::contains).toList());
+        }
+        return eventIds.stream().filter(eventId -> !sentEventIds.contains(eventId)).toList();
     }
 
-    private void sendEventsToProducer(Map<Long, List<byte[]>> partitions) {
-        eventProducer.sendEvents(partitions);
+    /**
+     * Selects the acknowledged events which can be marked as sent. The events of an aggregate root are taken up to its
+     * first unacknowledged event only; the later ones are sent again after it, so the last delivery of the events of an
+     * aggregate root is always in their original order.
+     */
+    Set<Long> getSentEventIds(Map<Long, List<ExternalEventMessage>> partitions, Set<Long> acknowledgedEventIds) {
+        Set<Long> sentEventIds = new HashSet<>();
+        partitions.forEach((aggregateRootId, messages) -> {
+            for (ExternalEventMessage message : messages) {
+                if (acknowledgedEventIds.contains(message.eventId())) {
+                    sentEventIds.add(message.eventId());
+                } else if (aggregateRootId != -1L) {
+                    break;
+                }
+            }
+        });
+        return sentEventIds;
     }
 
-    private void markEventsAsSent(List<Long> eventIds) {
+    void markEventsAsSent(List<Long> eventIds) {
         OffsetDateTime sentAt = DateUtils.getAuditOffsetDateTime();
 
         // Partitioning dataset to avoid exception: PreparedStatement can have at most 65,535 parameters
@@ -112,7 +196,12 @@ public class SendAsynchronousEventsTasklet implements Tasklet {
         });
     }
 
-    private Map<Long, List<byte[]>> generatePartitions(List<ExternalEventView> queuedEvents) {
+    /**
+     * Groups the events by aggregate root and serializes the groups in parallel on a dedicated, bounded thread pool. The
+     * events of an aggregate root are serialized on the same thread in their original order, so the ordering per message
+     * key is kept.
+     */
+    Map<Long, List<ExternalEventMessage>> generatePartitions(List<ExternalEventView> queuedEvents) {
         Map<Long, List<ExternalEventView>> initialPartitions = queuedEvents.stream().collect(groupingBy(externalEvent -> {
             Long aggregateRootId = externalEvent.getAggregateRootId();
             if (aggregateRootId == null) {
@@ -120,22 +209,34 @@ public class SendAsynchronousEventsTasklet implements Tasklet {
             }
             return aggregateRootId;
         }));
-        Map<Long, List<byte[]>> partitions = measure(
-                () -> initialPartitions.entrySet().stream().collect(toMap(Map.Entry::getKey, e -> createMessages(e.getValue()))),
-                timeTaken -> {
+        String tenantId = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+        Map<Long, List<ExternalEventMessage>> partitions = measure(() -> {
+            if (initialPartitions.size() == 1) {
+                return initialPartitions.entrySet().stream().collect(toMap(Map.Entry::getKey, e -> createMessages(e.getValue(), tenantId)));
+            }
+            ExecutorService executor = getSerializationExecutor();
+            Map<Long, CompletableFuture<List<ExternalEventMessage>>> futures = new HashMap<>();
+            initialPartitions.forEach((aggregateRootId, events) -> futures.put(aggregateRootId,
+                    CompletableFuture.supplyAsync(() -> createMessages(events, tenantId), executor)));
+            Map<Long, List<ExternalEventMessage>> result = new HashMap<>();
+            try {
+                futures.forEach((aggregateRootId, future) -> result.put(aggregateRootId, future.join()));
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+            return result;
+        }, timeTaken -> {
                     log.debug("Took {}ms to create message partitions", timeTaken.toMillis());
                 });
         return partitions;
     }
 
-    private List<byte[]> createMessages(List<ExternalEventView> events) {
+    private List<ExternalEventMessage> createMessages(List<ExternalEventView> events, String tenantId) {
         try {
-            List<byte[]> messages = new ArrayList<>();
+            List<ExternalEventMessage> messages = new ArrayList<>(events.size());
             for (ExternalEventView event : events) {
-                MessageV1 message = messageFactory.createMessage(event);
-                ByteBuffer toByteBuffer = message.toByteBuffer();
-                byte[] convert = byteBufferConverter.convert(toByteBuffer);
-                messages.add(convert);
+                MessageV1 message = messageFactory.createMessage(event, tenantId);
+                messages.add(new ExternalEventMessage(event.getId(), serialize(message)));
                 log.trace("Created message to send with id: [{}], type: [{}], idempotency key: [{}]", message.getId(), message.getType(),
                         message.getIdempotencyKey());
             }
@@ -145,7 +246,47 @@ public class SendAsynchronousEventsTasklet implements Tasklet {
         }
     }
 
-    private int getBatchSize() {
+    /**
+     * Encodes the message once into the buffer of the current thread, which is reused for the following messages, and
+     * copies the payload out of it.
+     */
+    private byte[] serialize(MessageV1 message) throws IOException {
+        ByteArrayOutputStream out = SERIALIZATION_BUFFER.get();
+        out.reset();
+        MessageV1.getEncoder().encode(message, out);
+        byte[] payload = out.toByteArray();
+        if (payload.length > MAX_RETAINED_BUFFER_SIZE) {
+            // an exceptionally large message does not keep its buffer alive on the thread
+            SERIALIZATION_BUFFER.remove();
+        }
+        return payload;
+    }
+
+    private ExecutorService getSerializationExecutor() {
+        ExecutorService executor = serializationExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = serializationExecutor;
+                if (executor == null) {
+                    FineractProperties.FineractExternalEventsOutboxProperties outbox = fineractProperties.getEvents().getExternal().getOutbox();
+                    int threadPoolSize = Math.max(1, outbox.getSerializationThreadPoolSize());
+                    executor = Executors.newFixedThreadPool(threadPoolSize, new CustomizableThreadFactory("external-event-serializer-"));
+                    serializationExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    @Override
+    public void destroy() {
+        ExecutorService executor = serializationExecutor;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    int getBatchSize() {
         Long externalEventBatchSize = configurationDomainService.retrieveExternalEventBatchSize();
         return externalEventBatchSize.intValue();
     }
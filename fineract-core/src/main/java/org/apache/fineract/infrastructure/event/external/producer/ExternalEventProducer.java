@@ -18,8 +18,11 @@
  */
 package org.apache.fineract.infrastructure.event.external.producer;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.apache.fineract.infrastructure.event.external.exception.AcknowledgementTimeoutException;
 
 public interface ExternalEventProducer {
@@ -33,4 +36,22 @@ public interface ExternalEventProducer {
      * @throws AcknowledgementTimeoutException
      */
     void sendEvents(Map<Long, List<byte[]>> partitions) throws AcknowledgementTimeoutException;
+
+    /**
+     * Sends the created ExternalEvents and reports which of them were acknowledged, so that only the failed ones have
+     * to be sent again. The default implementation is all or nothing.
+     *
+     * @param partitions
+     *            is a Map<Long, List<ExternalEventMessage>> partitions, the key here the id of the aggregated root. The
+     *            value is list of external events belong to the same key
+     * @return the ids of the acknowledged events
+     * @throws AcknowledgementTimeoutException
+     */
+    default Set<Long> sendEventsAndCollectAcknowledged(Map<Long, List<ExternalEventMessage>> partitions)
+            throws AcknowledgementTimeoutException {
+        Map<Long, List<byte[]>> payloads = new LinkedHashMap<>();
+        partitions.forEach((key, messages) -> payloads.put(key, messages.stream().map(ExternalEventMessage::payload).toList()));
+        sendEvents(payloads);
+        return partitions.values().stream().flatMap(List::stream).map(ExternalEventMessage::eventId).collect(Collectors.toSet());
+    }
 }
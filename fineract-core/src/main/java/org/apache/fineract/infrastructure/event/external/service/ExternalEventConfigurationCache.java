@@ -0,0 +1,136 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.external.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.event.external.exception.ExternalEventConfigurationNotFoundException;
+import org.apache.fineract.infrastructure.event.external.repository.ExternalEventConfigurationRepository;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventConfiguration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Tenant scoped, in-memory snapshot of the external event configurations.
+ * <p>
+ * The snapshot of a tenant is loaded on first use and dropped whenever the configurations are modified, so checking
+ * whether an event type is enabled does not hit the database for every raised business event. Modifications increase
+ * the external event configuration version in {@code c_configuration_version}, which is checked at most once per the
+ * global configuration version check interval, so the other nodes pick up the change as well.
+ */
+@Component
+@RequiredArgsConstructor
+public class ExternalEventConfigurationCache {
+
+    static final long CONFIGURATION_VERSION_ID = 2L;
+
+    private final ExternalEventConfigurationRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+    private final FineractProperties fineractProperties;
+
+    private final Map<String, ConfigurationSnapshot> snapshotsByTenant = new ConcurrentHashMap<>();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public boolean isEnabled(String externalEventType) {
+        Boolean enabled = getSnapshot().configurations().get(externalEventType);
+        if (enabled == null) {
+            throw new ExternalEventConfigurationNotFoundException(externalEventType);
+        }
+        return enabled;
+    }
+
+    /**
+     * Increases the configuration version in the current transaction and drops the snapshot of the current tenant. When
+     * called within a transaction, the snapshot is dropped again once the transaction completes so that the next lookup
+     * sees the committed configurations.
+     */
+    public void evict() {
+        jdbcTemplate.update("UPDATE c_configuration_version SET version = version + 1 WHERE id = ?", CONFIGURATION_VERSION_ID);
+        String tenantIdentifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+        remove(tenantIdentifier);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCompletion(int status) {
+                    remove(tenantIdentifier);
+                }
+            });
+        }
+    }
+
+    private void remove(String tenantIdentifier) {
+        snapshotsByTenant.compute(tenantIdentifier, (tenant, snapshot) -> {
+            evictions.incrementAndGet();
+            return null;
+        });
+    }
+
+    private ConfigurationSnapshot getSnapshot() {
+        String tenantIdentifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+        ConfigurationSnapshot snapshot = snapshotsByTenant.get(tenantIdentifier);
+        long now = System.nanoTime();
+        if (snapshot != null && now - snapshot.checkedAt() < getVersionCheckIntervalNanos()) {
+            return snapshot;
+        }
+        long evictionsBeforeLoad = evictions.get();
+        long version = readVersion();
+        ConfigurationSnapshot loaded = snapshot != null && snapshot.version() == version ? snapshot.checkedAt(now)
+                : loadSnapshot(version, now);
+        // a snapshot loaded while the configurations were evicted may be stale, so it is only used for this lookup
+        snapshotsByTenant.compute(tenantIdentifier, (tenant, current) -> evictions.get() == evictionsBeforeLoad ? loaded : current);
+        return loaded;
+    }
+
+    // the version is read before the configurations, so a modification committed in between is reloaded on the next check
+    private ConfigurationSnapshot loadSnapshot(long version, long now) {
+        List<ExternalEventConfiguration> eventConfigurations = repository.findAll();
+        Map<String, Boolean> configurations = new HashMap<>(eventConfigurations.size());
+        for (ExternalEventConfiguration configuration : eventConfigurations) {
+            configurations.put(configuration.getType(), configuration.isEnabled());
+        }
+        return new ConfigurationSnapshot(version, Map.copyOf(configurations), now);
+    }
+
+    private long readVersion() {
+        Long version = jdbcTemplate.queryForObject("SELECT version FROM c_configuration_version WHERE id = ?", Long.class,
+                CONFIGURATION_VERSION_ID);
+        return version == null ? 0L : version;
+    }
+
+    private long getVersionCheckIntervalNanos() {
+        return TimeUnit.SECONDS.toNanos(fineractProperties.getGlobalConfiguration().getVersionCheckIntervalSeconds());
+    }
+
+    private record ConfigurationSnapshot(long version, Map<String, Boolean> configurations, long checkedAt) {
+
+        ConfigurationSnapshot checkedAt(long now) {
+            return new ConfigurationSnapshot(version, configurations, now);
+        }
+    }
+}
@@ -22,6 +22,9 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
@@ -30,17 +33,20 @@ import org.apache.fineract.avro.BulkMessageItemV1;
 import org.apache.fineract.avro.BulkMessagePayloadV1;
 import org.apache.fineract.avro.generator.ByteBufferSerializable;
 import org.apache.fineract.infrastructure.core.service.DataEnricherProcessor;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
 import org.apache.fineract.infrastructure.event.business.domain.BulkBusinessEvent;
 import org.apache.fineract.infrastructure.event.business.domain.BusinessEvent;
-import org.apache.fineract.infrastructure.event.external.repository.ExternalEventRepository;
 import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEvent;
 import org.apache.fineract.infrastructure.event.external.service.idempotency.ExternalEventIdempotencyKeyGenerator;
 import org.apache.fineract.infrastructure.event.external.service.message.BulkMessageItemFactory;
 import org.apache.fineract.infrastructure.event.external.service.serialization.serializer.BusinessEventSerializer;
 import org.apache.fineract.infrastructure.event.external.service.serialization.serializer.BusinessEventSerializerFactory;
 import org.apache.fineract.infrastructure.event.external.service.support.ByteBufferConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 @RequiredArgsConstructor
@@ -48,12 +54,13 @@ import org.springframework.transaction.annotation.Transactional;
 @Slf4j
 public class ExternalEventService {
 
-    private final ExternalEventRepository repository;
     private final ExternalEventIdempotencyKeyGenerator idempotencyKeyGenerator;
     private final BusinessEventSerializerFactory serializerFactory;
     private final ByteBufferConverter byteBufferConverter;
     private final BulkMessageItemFactory bulkMessageItemFactory;
     private final DataEnricherProcessor dataEnricherProcessor;
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseSpecificSQLGenerator sqlGenerator;
 
     private EntityManager entityManager;
 
@@ -70,8 +77,8 @@ public class ExternalEventService {
             } else {
                 externalEvent = handleRegularBusinessEvent(event);
             }
-            repository.save(externalEvent);
-            log.debug("Saved message with idempotency key: [{}] of type [{}] and category [{}]", externalEvent.getIdempotencyKey(),
+            getPendingEvents().add(externalEvent);
+            log.debug("Buffered message with idempotency key: [{}] of type [{}] and category [{}]", externalEvent.getIdempotencyKey(),
                     externalEvent.getType(), externalEvent.getCategory());
         } catch (IOException e) {
             throw new RuntimeException("Error while serializing event " + event.getClass().getSimpleName(), e);
@@ -110,6 +117,35 @@ public class ExternalEventService {
         return new ExternalEvent(eventType, eventCategory, schema, data, idempotencyKey, aggregateRootId);
     }
 
+    private List<ExternalEvent> getPendingEvents() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingExternalEvents pendingEvents) {
+                return pendingEvents.events;
+            }
+        }
+        PendingExternalEvents pendingEvents = new PendingExternalEvents();
+        TransactionSynchronizationManager.registerSynchronization(pendingEvents);
+        return pendingEvents.events;
+    }
+
+    private void insertEvents(List<ExternalEvent> events) {
+        String sql = "INSERT INTO m_external_event (type, category, " + sqlGenerator.escape("schema")
+                + ", data, created_at, status, idempotency_key, business_date, aggregate_root_id) VALUES (?,?,?,?,?,?,?,?,?)";
+        jdbcTemplate.batchUpdate(sql, events, events.size(), (PreparedStatement ps, ExternalEvent event) -> {
+            ps.setString(1, event.getType());
+            ps.setString(2, event.getCategory());
+            ps.setString(3, event.getSchema());
+            ps.setBytes(4, event.getData());
+            // bound as an instant, the same way the persistence provider binds the OffsetDateTime attribute
+            ps.setTimestamp(5, Timestamp.from(event.getCreatedAt().toInstant()));
+            ps.setString(6, event.getStatus().name());
+            ps.setString(7, event.getIdempotencyKey());
+            ps.setDate(8, Date.valueOf(event.getBusinessDate()));
+            ps.setObject(9, event.getAggregateRootId());
+        });
+        log.debug("Saved {} buffered external events", events.size());
+    }
+
     private void flushChangesBeforeSerialization() {
         entityManager.flush();
     }
@@ -118,4 +154,20 @@ public class ExternalEventService {
     public void setEntityManager(EntityManager entityManager) {
         this.entityManager = entityManager;
     }
+
+    /**
+     * Collects the external events raised within a transaction and writes them with a single batch insert right before
+     * the transaction commits, instead of inserting them one by one as they are raised.
+     */
+    private final class PendingExternalEvents implements TransactionSynchronization {
+
+        private final List<ExternalEvent> events = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (!events.isEmpty()) {
+                insertEvents(events);
+            }
+        }
+    }
 }
@@ -20,6 +20,7 @@ package org.apache.fineract.infrastructure.event.external.service.message;
 
 import static java.time.format.DateTimeFormatter.ISO_LOCAL_DATE;
 
+import java.nio.ByteBuffer;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
@@ -41,7 +42,6 @@ import org.apache.fineract.infrastructure.event.external.service.message.domain.
 import org.apache.fineract.infrastructure.event.external.service.message.domain.MessageIdempotencyKey;
 import org.apache.fineract.infrastructure.event.external.service.message.domain.MessageSource;
 import org.apache.fineract.infrastructure.event.external.service.message.domain.MessageType;
-import org.apache.fineract.infrastructure.event.external.service.support.ByteBufferConverter;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.stereotype.Component;
 
@@ -63,11 +63,15 @@ public class MessageFactory implements InitializingBean {
                 .appendLiteral('T').append(CUSTOM_ISO_LOCAL_TIME_FORMATTER).toFormatter();
     }
 
-    private final ByteBufferConverter byteBufferConverter;
-
     public MessageV1 createMessage(MessageId id, MessageSource source, MessageType type, MessageCategory category,
             MessageCreatedAt createdAt, MessageBusinessDate businessDate, MessageIdempotencyKey idempotencyKey,
             MessageDataSchema dataSchema, MessageData data) {
+        return createMessage(id, source, type, category, createdAt, businessDate, idempotencyKey, dataSchema, data, getTenantId());
+    }
+
+    private MessageV1 createMessage(MessageId id, MessageSource source, MessageType type, MessageCategory category,
+            MessageCreatedAt createdAt, MessageBusinessDate businessDate, MessageIdempotencyKey idempotencyKey,
+            MessageDataSchema dataSchema, MessageData data, String tenantId) {
         MessageV1 result = new MessageV1();
         result.setId(id.getId());
         result.setSource(source.getSource());
@@ -75,7 +79,7 @@ public class MessageFactory implements InitializingBean {
         result.setCategory(category.getCategory());
         result.setCreatedAt(getMessageCreatedAt(createdAt.getCreatedAt()));
         result.setBusinessDate(getMessageBusinessDate(businessDate.getBusinessDate()));
-        result.setTenantId(getTenantId());
+        result.setTenantId(tenantId);
         result.setIdempotencyKey(idempotencyKey.getIdempotencyKey());
         result.setDataschema(dataSchema.getDataSchema());
         result.setData(data.getData());
@@ -83,6 +87,13 @@ public class MessageFactory implements InitializingBean {
     }
 
     public MessageV1 createMessage(ExternalEventView event) {
+        return createMessage(event, getTenantId());
+    }
+
+    /**
+     * Creates the message of the event for the given tenant, which makes it usable on threads without a tenant context.
+     */
+    public MessageV1 createMessage(ExternalEventView event, String tenantId) {
         MessageId id = new MessageId(event.getId().intValue());
         MessageSource source = new MessageSource(SOURCE_UUID);
         MessageType type = new MessageType(event.getType());
@@ -91,8 +102,9 @@ public class MessageFactory implements InitializingBean {
         MessageBusinessDate businessDate = new MessageBusinessDate(event.getBusinessDate());
         MessageIdempotencyKey idempotencyKey = new MessageIdempotencyKey(event.getIdempotencyKey());
         MessageDataSchema dataSchema = new MessageDataSchema(event.getSchema());
-        MessageData data = new MessageData(byteBufferConverter.convert(event.getData()));
-        return createMessage(id, source, type, category, createdAt, businessDate, idempotencyKey, dataSchema, data);
+        // the stored payload is wrapped, not copied; it is copied once, when the message is encoded
+        MessageData data = new MessageData(ByteBuffer.wrap(event.getData()));
+        return createMessage(id, source, type, category, createdAt, businessDate, idempotencyKey, dataSchema, data, tenantId);
     }
 
     private String getTenantId() {
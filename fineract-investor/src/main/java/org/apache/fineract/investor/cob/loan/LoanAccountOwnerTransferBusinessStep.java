@@ -20,13 +20,18 @@ package org.apache.fineract.investor.cob.loan;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.cob.loan.LoanCOBBusinessStep;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.core.service.MathUtil;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.event.business.domain.loan.LoanAccountSnapshotBusinessEvent;
 import org.apache.fineract.infrastructure.event.business.service.BusinessEventNotifierService;
 import org.apache.fineract.investor.config.InvestorModuleIsEnabledCondition;
@@ -42,6 +47,7 @@ import org.apache.fineract.investor.service.AccountingService;
 import org.apache.fineract.portfolio.loanaccount.domain.Loan;
 import org.springframework.context.annotation.Conditional;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -56,18 +62,37 @@ public class LoanAccountOwnerTransferBusinessStep implements LoanCOBBusinessStep
     private final AccountingService accountingService;
     private final BusinessEventNotifierService businessEventNotifierService;
 
+    private final ThreadLocal<PreparedTransfers> preparedTransfers = new ThreadLocal<>();
+
+    @Override
+    public void prepare(Collection<Long> loanIds) {
+        LocalDate settlementDate = DateUtils.getBusinessLocalDate();
+        Map<Long, List<ExternalAssetOwnerTransfer>> transfersByLoanId = new HashMap<>();
+        loanIds.forEach(loanId -> transfersByLoanId.put(loanId, new ArrayList<>()));
+        if (!loanIds.isEmpty()) {
+            externalAssetOwnerTransferRepository.findAll(settledTransfers(loanIds, settlementDate), Sort.by(Sort.Direction.ASC, "id"))
+                    .forEach(transfer -> transfersByLoanId.get(transfer.getLoanId()).add(transfer));
+        }
+        preparedTransfers.set(
+                new PreparedTransfers(ThreadLocalContextUtil.getTenant().getTenantIdentifier(), settlementDate, transfersByLoanId));
+    }
+
+    @Override
+    public void release() {
+        preparedTransfers.remove();
+    }
+
     @Override
     public Loan execute(Loan loan) {
         Long loanId = loan.getId();
         log.debug("start processing loan ownership transfer business step for loan with Id [{}]", loanId);
 
         LocalDate settlementDate = DateUtils.getBusinessLocalDate();
-        List<ExternalAssetOwnerTransfer> transferDataList = externalAssetOwnerTransferRepository.findAll(
-                (root, query, criteriaBuilder) -> criteriaBuilder.and(criteriaBuilder.equal(root.get("loanId"), loanId),
-                        criteriaBuilder.equal(root.get("settlementDate"), settlementDate),
-                        root.get("status").in(List.of(ExternalTransferStatus.PENDING, ExternalTransferStatus.BUYBACK)),
-                        criteriaBuilder.greaterThanOrEqualTo(root.get("effectiveDateTo"), FUTURE_DATE_9999_12_31)),
-                Sort.by(Sort.Direction.ASC, "id"));
+        List<ExternalAssetOwnerTransfer> transferDataList = getPreparedTransfers(loanId, settlementDate);
+        if (transferDataList == null) {
+            transferDataList = externalAssetOwnerTransferRepository.findAll(settledTransfers(List.of(loanId), settlementDate),
+                    Sort.by(Sort.Direction.ASC, "id"));
+        }
         int size = transferDataList.size();
 
         if (size == 2) {
@@ -217,6 +242,27 @@ public class LoanAccountOwnerTransferBusinessStep implements LoanCOBBusinessStep
                 FUTURE_DATE_9999_12_31);
     }
 
+    private List<ExternalAssetOwnerTransfer> getPreparedTransfers(Long loanId, LocalDate settlementDate) {
+        PreparedTransfers prepared = preparedTransfers.get();
+        if (prepared == null || !prepared.settlementDate().equals(settlementDate)
+                || !prepared.tenantIdentifier().equals(ThreadLocalContextUtil.getTenant().getTenantIdentifier())) {
+            return null;
+        }
+        // prepared transfers are used only once, a reprocessed loan has to see its current transfers
+        return prepared.transfersByLoanId().remove(loanId);
+    }
+
+    private static Specification<ExternalAssetOwnerTransfer> settledTransfers(Collection<Long> loanIds, LocalDate settlementDate) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.and(root.get("loanId").in(loanIds),
+                criteriaBuilder.equal(root.get("settlementDate"), settlementDate),
+                root.get("status").in(List.of(ExternalTransferStatus.PENDING, ExternalTransferStatus.BUYBACK)),
+                criteriaBuilder.greaterThanOrEqualTo(root.get("effectiveDateTo"), FUTURE_DATE_9999_12_31));
+    }
+
+    private record PreparedTransfers(String tenantIdentifier, LocalDate settlementDate,
+            Map<Long, List<ExternalAssetOwnerTransfer>> transfersByLoanId) {
+    }
+
     @Override
     public String getEnumStyledName() {
         return "EXTERNAL_ASSET_OWNER_TRANSFER";
@@ -226,4 +272,9 @@ public class LoanAccountOwnerTransferBusinessStep implements LoanCOBBusinessStep
     public String getHumanReadableName() {
         return "Execute external asset owner transfer";
     }
+
+    @Override
+    public boolean isReloadRequiredAfterExecution() {
+        return false;
+    }
 }
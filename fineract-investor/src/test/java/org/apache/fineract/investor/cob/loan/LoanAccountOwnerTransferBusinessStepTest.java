@@ -104,6 +104,51 @@ public class LoanAccountOwnerTransferBusinessStepTest {
         assertEquals(processedLoan, loanForProcessing);
     }
 
+    @Test
+    public void givenPreparedChunkNoTransferQueryPerLoan() {
+        // given
+        final Loan firstLoan = Mockito.mock(Loan.class);
+        final Loan secondLoan = Mockito.mock(Loan.class);
+        when(firstLoan.getId()).thenReturn(1L);
+        when(secondLoan.getId()).thenReturn(2L);
+        // when
+        underTest.prepare(List.of(1L, 2L));
+        underTest.execute(firstLoan);
+        underTest.execute(secondLoan);
+        // then
+        verify(externalAssetOwnerTransferRepository, times(1)).findAll(any(Specification.class), eq(Sort.by(Sort.Direction.ASC, "id")));
+        verifyNoInteractions(businessEventNotifierService);
+        // a loan processed again falls back to the per loan query
+        underTest.execute(firstLoan);
+        verify(externalAssetOwnerTransferRepository, times(2)).findAll(any(Specification.class), eq(Sort.by(Sort.Direction.ASC, "id")));
+    }
+
+    @Test
+    public void givenReleasedChunkNextChunkOnSameThreadQueriesPerLoan() {
+        // given
+        final Loan loan = Mockito.mock(Loan.class);
+        when(loan.getId()).thenReturn(1L);
+        underTest.prepare(List.of(1L, 2L));
+        // when
+        underTest.release();
+        underTest.execute(loan);
+        // then the loan of the released chunk is not served from the prepared transfers
+        verify(externalAssetOwnerTransferRepository, times(2)).findAll(any(Specification.class), eq(Sort.by(Sort.Direction.ASC, "id")));
+    }
+
+    @Test
+    public void givenPreparedChunkOfOtherTenantQueryPerLoan() {
+        // given
+        final Loan loan = Mockito.mock(Loan.class);
+        when(loan.getId()).thenReturn(1L);
+        underTest.prepare(List.of(1L, 2L));
+        // when
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(2L, "other", "Other", "Asia/Kolkata", null));
+        underTest.execute(loan);
+        // then
+        verify(externalAssetOwnerTransferRepository, times(2)).findAll(any(Specification.class), eq(Sort.by(Sort.Direction.ASC, "id")));
+    }
+
     @Test
     public void givenLoanTwoTransferButInvalidTransfers() {
         // given
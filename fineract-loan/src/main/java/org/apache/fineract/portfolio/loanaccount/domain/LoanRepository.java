@@ -18,6 +18,7 @@
  */
 package org.apache.fineract.portfolio.loanaccount.domain;
 
+import jakarta.persistence.QueryHint;
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.List;
@@ -29,6 +30,7 @@ import org.apache.fineract.infrastructure.core.domain.ExternalId;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 public interface LoanRepository extends JpaRepository<Loan, Long>, JpaSpecificationExecutor<Loan> {
@@ -101,6 +103,8 @@ public interface LoanRepository extends JpaRepository<Loan, Long>, JpaSpecificat
 
     String FIND_ALL_LOAN_IDS_BY_STATUS_ID = "SELECT loan.id FROM Loan loan WHERE loan.loanStatus = :statusId";
 
+    String FIND_ALL_BY_IDS_FOR_COB = "select loan from Loan loan where loan.id IN :loanIds";
+
     @Query(FIND_GROUP_LOANS_DISBURSED_AFTER)
     List<Loan> getGroupLoansDisbursedAfter(@Param("disbursementDate") LocalDate disbursementDate, @Param("groupId") Long groupId,
             @Param("loanType") Integer loanType);
@@ -227,4 +231,20 @@ public interface LoanRepository extends JpaRepository<Loan, Long>, JpaSpecificat
 
     @Query(FIND_ALL_LOAN_IDS_BY_STATUS_ID)
     List<Long> findLoanIdByStatusId(@Param("statusId") Integer statusId);
+
+    @Query(FIND_ALL_BY_IDS_FOR_COB)
+    @QueryHints({ @QueryHint(name = "eclipselink.batch.type", value = "IN"),
+            @QueryHint(name = "eclipselink.batch", value = "loan.charges"),
+            @QueryHint(name = "eclipselink.batch", value = "loan.trancheCharges"),
+            @QueryHint(name = "eclipselink.batch", value = "loan.repaymentScheduleInstallments"),
+            @QueryHint(name = "eclipselink.batch", value = "loan.repaymentScheduleInstallments.installmentCharges"),
+            @QueryHint(name = "eclipselink.batch", value = "loan.loanTransactions"),
+            @QueryHint(name = "eclipselink.batch", value = "loan.loanTransactions.loanChargesPaid"),
+            @QueryHint(name = "eclipselink.batch", value = "loan.loanTransactions.loanTransactionToRepaymentScheduleMappings"),
+            @QueryHint(name = "eclipselink.batch", value = "loan.disbursementDetails"),
+            @QueryHint(name = "eclipselink.batch", value = "loan.loanTermVariations"),
+            @QueryHint(name = "eclipselink.batch", value = "loan.collateral"),
+            @QueryHint(name = "eclipselink.batch", value = "loan.loanOfficerHistory"),
+            @QueryHint(name = "eclipselink.batch", value = "loan.loanCollateralManagements") })
+    List<Loan> findAllByIdsForCOB(@Param("loanIds") Collection<Long> loanIds);
 }
@@ -75,7 +75,7 @@ public class GetLoanByExternalIdCommandStrategy implements CommandStrategy {
         // - Parse and fetch the query parameters sent in the relative url
         // (loans/external-id/ff62fc65-1bba-4bb0-b090-5f9ecf0a66f1?fields=id,principal,annualInterestRate)
         // - Add them to the UriInfo query parameters list
-        // - Call loansApiResource.retrieveLoan(loanExternalId, false, uriInfo)
+        // - Call loansApiResource.retrieveLoanAsJson(loanExternalId, false, uriInfo)
         // - Remove the relative url query parameters from UriInfo in the finally (after loan details are retrieved)
         Map<String, String> queryParameters = null;
         if (loanExternalIdPathParameter.indexOf('?') > 0) {
@@ -109,7 +109,7 @@ public class GetLoanByExternalIdCommandStrategy implements CommandStrategy {
             }
         }
 
-        responseBody = loansApiResource.retrieveLoan(loanExternalId, staffInSelectedOfficeOnly, associations, exclude, fields,
+        responseBody = loansApiResource.retrieveLoanAsJson(loanExternalId, staffInSelectedOfficeOnly, associations, exclude, fields,
                 parameterizedUriInfo);
 
         response.setStatusCode(HttpStatus.SC_OK);
@@ -68,7 +68,7 @@ public class GetLoanByIdCommandStrategy implements CommandStrategy {
         // - Parse and fetch the query parameters sent in the relative url
         // (loans/66?fields=id,principal,annualInterestRate)
         // - Add them to the UriInfo query parameters list
-        // - Call loansApiResource.retrieveLoan(loanId, false, uriInfo)
+        // - Call loansApiResource.retrieveLoanAsJson(loanId, false, uriInfo)
         // - Remove the relative url query parameters from UriInfo in the finally (after loan details are retrieved)
         Map<String, String> queryParameters = null;
         if (relativeUrl.indexOf('?') > 0) {
@@ -99,7 +99,7 @@ public class GetLoanByIdCommandStrategy implements CommandStrategy {
             }
         }
 
-        responseBody = loansApiResource.retrieveLoan(loanId, staffInSelectedOfficeOnly, associations, exclude, fields,
+        responseBody = loansApiResource.retrieveLoanAsJson(loanId, staffInSelectedOfficeOnly, associations, exclude, fields,
                 parameterizedUriInfo);
 
         response.setStatusCode(HttpStatus.SC_OK);
@@ -18,6 +18,7 @@
  */
 package org.apache.fineract.cob;
 
+import java.util.Collection;
 import java.util.Set;
 import java.util.TreeMap;
 import org.apache.fineract.cob.data.BusinessStepNameAndOrder;
@@ -28,6 +29,11 @@ public interface COBBusinessStepService {
 
     <T extends COBBusinessStep<S>, S extends AbstractPersistableCustom> S run(TreeMap<Long, String> executionMap, S item);
 
+    <T extends COBBusinessStep<S>, S extends AbstractPersistableCustom> void prepare(TreeMap<Long, String> executionMap,
+            Collection<Long> itemIds);
+
+    <T extends COBBusinessStep<S>, S extends AbstractPersistableCustom> void release(TreeMap<Long, String> executionMap);
+
     @NotNull
     <T extends COBBusinessStep<S>, S extends AbstractPersistableCustom> Set<BusinessStepNameAndOrder> getCOBBusinessSteps(
             Class<T> businessStepClass, String cobJobName);
@@ -18,12 +18,18 @@
  */
 package org.apache.fineract.cob;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.cob.data.BusinessStepNameAndOrder;
@@ -32,6 +38,7 @@ import org.apache.fineract.cob.domain.BatchBusinessStepRepository;
 import org.apache.fineract.cob.exceptions.BusinessStepException;
 import org.apache.fineract.cob.service.ReloaderService;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.domain.AbstractPersistableCustom;
 import org.apache.fineract.infrastructure.core.domain.ActionContext;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
@@ -46,6 +53,9 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class COBBusinessStepServiceImpl implements COBBusinessStepService {
 
+    public static final String BUSINESS_STEP_TIMER = "fineract.cob.business-step";
+    public static final String RELOAD_TIMER = "fineract.cob.business-step.reload";
+
     private final BatchBusinessStepRepository batchBusinessStepRepository;
     private final ApplicationContext applicationContext;
     private final ListableBeanFactory beanFactory;
@@ -53,6 +63,10 @@ public class COBBusinessStepServiceImpl implements COBBusinessStepService {
     private final ConfigurationDomainService configurationDomainService;
 
     private final ReloaderService reloaderService;
+    private final FineractProperties fineractProperties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Timer> stepTimers = new ConcurrentHashMap<>();
 
     @SuppressWarnings({ "unchecked" })
     @Override
@@ -61,6 +75,13 @@ public class COBBusinessStepServiceImpl implements COBBusinessStepService {
             throw new BusinessStepException("Execution map is empty! COB Business step execution skipped!");
         }
         boolean bulkEventEnabled = configurationDomainService.isCOBBulkEventEnabled();
+        boolean dirtyTrackingEnabled = fineractProperties.getJob().isCobDirtyTrackingEnabled();
+        // with dirty tracking the item coming from the reader is not reloaded before the first step, only its helpers are wired,
+        // later it is only reloaded after steps declaring outside changes
+        boolean reloadRequired = !dirtyTrackingEnabled;
+        if (dirtyTrackingEnabled) {
+            item = reloaderService.attach(item);
+        }
         // Extra safety net to avoid event leaking
         try {
             if (bulkEventEnabled) {
@@ -68,17 +89,9 @@ public class COBBusinessStepServiceImpl implements COBBusinessStepService {
             }
 
             for (String businessStep : executionMap.values()) {
-                try {
-                    ThreadLocalContextUtil.setActionContext(ActionContext.COB);
-                    COBBusinessStep<S> businessStepBean = (COBBusinessStep<S>) applicationContext.getBean(businessStep);
-                    item = reloaderService.reload(item);
-                    item = businessStepBean.execute(item);
-                } catch (Exception e) {
-                    throw new BusinessStepException("Error happened during business step execution", e);
-                } finally {
-                    // Fallback to COB action context after each business step
-                    ThreadLocalContextUtil.setActionContext(ActionContext.COB);
-                }
+                COBBusinessStep<S> businessStepBean = getBusinessStepBean(businessStep);
+                item = executeBusinessStep(businessStep, businessStepBean, item, reloadRequired);
+                reloadRequired = !dirtyTrackingEnabled || businessStepBean.isReloadRequiredAfterExecution();
             }
             if (bulkEventEnabled) {
                 businessEventNotifierService.stopExternalEventRecording();
@@ -92,6 +105,78 @@ public class COBBusinessStepServiceImpl implements COBBusinessStepService {
         return item;
     }
 
+    @Override
+    public <T extends COBBusinessStep<S>, S extends AbstractPersistableCustom> void prepare(TreeMap<Long, String> executionMap,
+            Collection<Long> itemIds) {
+        if (executionMap == null || executionMap.isEmpty()) {
+            return;
+        }
+        // the steps query their lookup data with a single IN clause, bigger chunks fall back to the per item lookups
+        int inClauseParameterSizeLimit = fineractProperties.getQuery().getInClauseParameterSizeLimit();
+        Collection<Long> preparedItemIds = itemIds.size() > inClauseParameterSizeLimit ? List.of() : itemIds;
+        try {
+            for (String businessStep : executionMap.values()) {
+                COBBusinessStep<S> businessStepBean = getBusinessStepBean(businessStep);
+                businessStepBean.prepare(preparedItemIds);
+            }
+        } finally {
+            ThreadLocalContextUtil.setActionContext(ActionContext.COB);
+        }
+    }
+
+    @Override
+    public <T extends COBBusinessStep<S>, S extends AbstractPersistableCustom> void release(TreeMap<Long, String> executionMap) {
+        if (executionMap == null || executionMap.isEmpty()) {
+            return;
+        }
+        try {
+            for (String businessStep : executionMap.values()) {
+                COBBusinessStep<S> businessStepBean = getBusinessStepBean(businessStep);
+                try {
+                    businessStepBean.release();
+                } catch (RuntimeException e) {
+                    log.warn("Releasing prepared data of business step {} failed", businessStep, e);
+                }
+            }
+        } finally {
+            ThreadLocalContextUtil.setActionContext(ActionContext.COB);
+        }
+    }
+
+    @SuppressWarnings({ "unchecked" })
+    private <S extends AbstractPersistableCustom> COBBusinessStep<S> getBusinessStepBean(String businessStep) {
+        try {
+            ThreadLocalContextUtil.setActionContext(ActionContext.COB);
+            return Objects.requireNonNull((COBBusinessStep<S>) applicationContext.getBean(businessStep));
+        } catch (Exception e) {
+            throw new BusinessStepException("Error happened during business step execution", e);
+        }
+    }
+
+    private <S extends AbstractPersistableCustom> S executeBusinessStep(String businessStep, COBBusinessStep<S> businessStepBean, S item,
+            boolean reloadRequired) {
+        try {
+            ThreadLocalContextUtil.setActionContext(ActionContext.COB);
+            S itemToProcess = reloadRequired ? getTimer(RELOAD_TIMER, null).record(() -> reloaderService.reload(item)) : item;
+            return getTimer(BUSINESS_STEP_TIMER, businessStep).record(() -> businessStepBean.execute(itemToProcess));
+        } catch (Exception e) {
+            throw new BusinessStepException("Error happened during business step execution", e);
+        } finally {
+            // Fallback to COB action context after each business step
+            ThreadLocalContextUtil.setActionContext(ActionContext.COB);
+        }
+    }
+
+    private Timer getTimer(String name, String step) {
+        return stepTimers.computeIfAbsent(step == null ? name : step, key -> {
+            Timer.Builder builder = Timer.builder(name);
+            if (step != null) {
+                builder.tag("step", step);
+            }
+            return builder.register(meterRegistry);
+        });
+    }
+
     @NotNull
     @Override
     public <T extends COBBusinessStep<S>, S extends AbstractPersistableCustom> Set<BusinessStepNameAndOrder> getCOBBusinessSteps(
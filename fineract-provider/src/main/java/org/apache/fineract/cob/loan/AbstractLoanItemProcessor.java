@@ -20,6 +20,8 @@ package org.apache.fineract.cob.loan;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -35,7 +37,12 @@ import org.apache.fineract.portfolio.loanaccount.domain.Loan;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.batch.core.ExitStatus;
 import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.annotation.AfterChunk;
+import org.springframework.batch.core.annotation.AfterChunkError;
+import org.springframework.batch.core.annotation.AfterRead;
 import org.springframework.batch.core.annotation.AfterStep;
+import org.springframework.batch.core.annotation.BeforeChunk;
+import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.item.ExecutionContext;
 import org.springframework.batch.item.ItemProcessor;
 
@@ -49,6 +56,9 @@ public abstract class AbstractLoanItemProcessor implements ItemProcessor<Loan, L
     private ExecutionContext executionContext;
     private LocalDate businessDate;
 
+    // ids read in the current chunk of the thread, null once the business steps were prepared for them
+    private final ThreadLocal<List<Long>> chunkLoanIds = new ThreadLocal<>();
+
     @SuppressWarnings({ "unchecked" })
     @Override
     public Loan process(@NotNull Loan item) throws Exception {
@@ -57,6 +67,11 @@ public abstract class AbstractLoanItemProcessor implements ItemProcessor<Loan, L
             throw new IllegalStateException("No business steps found in the execution context");
         }
         TreeMap<Long, String> businessStepMap = getBusinessStepMap(businessSteps);
+        List<Long> loanIds = chunkLoanIds.get();
+        if (loanIds != null) {
+            chunkLoanIds.remove();
+            cobBusinessStepService.prepare(businessStepMap, loanIds);
+        }
 
         Loan alreadyProcessedLoan = cobBusinessStepService.run(businessStepMap, item);
         alreadyProcessedLoan.setLastClosedBusinessDate(businessDate);
@@ -69,11 +84,44 @@ public abstract class AbstractLoanItemProcessor implements ItemProcessor<Loan, L
         return new TreeMap<>(businessStepMap);
     }
 
+    @BeforeChunk
+    public void beforeChunk(ChunkContext chunkContext) {
+        chunkLoanIds.set(new ArrayList<>());
+    }
+
+    @AfterRead
+    public void afterRead(Loan item) {
+        List<Long> loanIds = chunkLoanIds.get();
+        if (loanIds != null) {
+            loanIds.add(item.getId());
+        }
+    }
+
+    @AfterChunk
+    public void afterChunk(ChunkContext chunkContext) {
+        releaseChunk();
+    }
+
+    @AfterChunkError
+    public void afterChunkError(ChunkContext chunkContext) {
+        releaseChunk();
+    }
+
     @AfterStep
     public ExitStatus afterStep(@NotNull StepExecution stepExecution) {
         return ExitStatus.COMPLETED;
     }
 
+    @SuppressWarnings({ "unchecked" })
+    private void releaseChunk() {
+        chunkLoanIds.remove();
+        Set<BusinessStepNameAndOrder> businessSteps = executionContext == null ? null
+                : (Set<BusinessStepNameAndOrder>) executionContext.get(LoanCOBConstant.BUSINESS_STEPS);
+        if (businessSteps != null) {
+            cobBusinessStepService.release(getBusinessStepMap(businessSteps));
+        }
+    }
+
     protected void setBusinessDate(StepExecution stepExecution) {
         this.businessDate = LocalDate.parse(
                 Objects.requireNonNull(
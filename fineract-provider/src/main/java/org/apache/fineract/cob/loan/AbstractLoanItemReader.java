@@ -18,36 +18,98 @@
  */
 package org.apache.fineract.cob.loan;
 
+import com.google.common.collect.Lists;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.cob.exceptions.LoanReadException;
+import org.apache.fineract.infrastructure.core.diagnostics.jpa.StatementCountingSessionListener;
 import org.apache.fineract.portfolio.loanaccount.domain.Loan;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanRepository;
 import org.apache.fineract.portfolio.loanaccount.exception.LoanNotFoundException;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.batch.core.ExitStatus;
 import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.annotation.AfterChunk;
+import org.springframework.batch.core.annotation.AfterChunkError;
 import org.springframework.batch.core.annotation.AfterStep;
+import org.springframework.batch.core.annotation.BeforeChunk;
+import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.item.ItemReader;
 
 @Slf4j
 @RequiredArgsConstructor
 public abstract class AbstractLoanItemReader implements ItemReader<Loan> {
 
+    public static final String PROCESSING_QUERIES_METRIC = "fineract.cob.loan.queries";
+    public static final String PROCESSED_LOANS_METRIC = "fineract.cob.loan.loans";
+
     protected final LoanRepository loanRepository;
 
     @Setter(AccessLevel.PROTECTED)
     private LinkedBlockingQueue<Long> remainingData;
 
+    private int prefetchSize;
+    private int inClauseParameterSizeLimit;
+    private Counter queryCounter;
+    private Counter loanCounter;
+
+    private final AtomicLong queryCount = new AtomicLong();
+    private final AtomicLong loanCount = new AtomicLong();
+
+    // chunks of a multi-threaded step are read on separate threads, each thread prefetches its own chunk
+    private final ThreadLocal<Deque<Long>> prefetchedLoanIds = ThreadLocal.withInitial(ArrayDeque::new);
+    private final ThreadLocal<Map<Long, Loan>> prefetchedLoans = ThreadLocal.withInitial(HashMap::new);
+    // statement count when the chunk started and number of loans it read, a chunk is read, processed and written on one thread
+    private final ThreadLocal<long[]> chunkStatistics = ThreadLocal.withInitial(() -> new long[2]);
+
+    /**
+     * Loads the loans of a whole chunk with set based queries instead of one by one. The lazy collections of the loans
+     * are batch fetched with a single query per collection.
+     *
+     * @param chunkSize
+     *            number of loans fetched at once, should be the commit interval of the step
+     * @param inClauseParameterSizeLimit
+     *            maximum number of loan ids in a single query
+     */
+    public void enablePrefetch(int chunkSize, int inClauseParameterSizeLimit) {
+        this.prefetchSize = chunkSize;
+        this.inClauseParameterSizeLimit = inClauseParameterSizeLimit;
+    }
+
+    /**
+     * Counts the statements issued for every chunk, from reading the loans through the business steps to writing them,
+     * so the queries per loan are comparable with and without prefetching. Requires the statement counting session
+     * listener to be registered on the persistence unit.
+     */
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.queryCounter = Counter.builder(PROCESSING_QUERIES_METRIC)
+                .description("Queries issued to read, process and write loans in COB").register(meterRegistry);
+        this.loanCounter = Counter.builder(PROCESSED_LOANS_METRIC).description("Loans processed in COB").register(meterRegistry);
+    }
+
     @Override
     public Loan read() throws Exception {
-        final Long loanId = remainingData.poll();
+        final Long loanId = nextLoanId();
         if (loanId != null) {
             try {
-                return loanRepository.findById(loanId).orElseThrow(() -> new LoanNotFoundException(loanId));
+                Loan loan = prefetchedLoans.get().remove(loanId);
+                if (loan == null) {
+                    loan = loanRepository.findById(loanId).orElseThrow(() -> new LoanNotFoundException(loanId));
+                }
+                chunkStatistics.get()[1]++;
+                return loan;
             } catch (Exception e) {
                 throw new LoanReadException(loanId, e);
             }
@@ -55,9 +117,100 @@ public abstract class AbstractLoanItemReader implements ItemReader<Loan> {
         return null;
     }
 
+    @BeforeChunk
+    public void beforeChunk(ChunkContext chunkContext) {
+        releasePrefetchedChunk();
+        long[] statistics = chunkStatistics.get();
+        statistics[0] = StatementCountingSessionListener.getStatementCount();
+        statistics[1] = 0;
+    }
+
+    @AfterChunk
+    public void afterChunk(ChunkContext chunkContext) {
+        releasePrefetchedChunk();
+        countChunk();
+    }
+
+    @AfterChunkError
+    public void afterChunkError(ChunkContext chunkContext) {
+        releasePrefetchedChunk();
+        countChunk();
+    }
+
     @AfterStep
     public ExitStatus afterStep(@NotNull StepExecution stepExecution) {
+        releasePrefetchedChunk();
+        long loans = loanCount.get();
+        if (loans > 0) {
+            log.debug("Step {} processed {} loans with {} queries ({} queries per loan)", stepExecution.getStepName(), loans,
+                    queryCount.get(), String.format("%.2f", (double) queryCount.get() / loans));
+        }
         return ExitStatus.COMPLETED;
     }
 
+    /**
+     * Prefetched loans are attached to the persistence context of the chunk that read them, so the ids that were not
+     * read are given back and the per thread state is dropped. Chunks run on pooled threads, nothing must be left
+     * behind for the next chunk or job using the same thread.
+     */
+    private void releasePrefetchedChunk() {
+        Deque<Long> loanIds = prefetchedLoanIds.get();
+        if (!loanIds.isEmpty() && remainingData != null) {
+            remainingData.addAll(loanIds);
+        }
+        prefetchedLoanIds.remove();
+        prefetchedLoans.remove();
+    }
+
+    private Long nextLoanId() {
+        if (prefetchSize <= 1) {
+            return remainingData.poll();
+        }
+        Deque<Long> loanIds = prefetchedLoanIds.get();
+        if (loanIds.isEmpty()) {
+            List<Long> chunkLoanIds = new ArrayList<>(prefetchSize);
+            remainingData.drainTo(chunkLoanIds, prefetchSize);
+            if (!chunkLoanIds.isEmpty()) {
+                prefetch(chunkLoanIds);
+                loanIds.addAll(chunkLoanIds);
+            }
+        }
+        return loanIds.poll();
+    }
+
+    private void prefetch(List<Long> loanIds) {
+        Map<Long, Loan> loans = prefetchedLoans.get();
+        loans.clear();
+        try {
+            for (List<Long> partition : Lists.partition(loanIds, inClauseParameterSizeLimit)) {
+                List<Loan> partitionLoans = loanRepository.findAllByIdsForCOB(partition);
+                partitionLoans.forEach(loan -> {
+                    loan.initializeLazyCollections();
+                    loans.put(loan.getId(), loan);
+                });
+            }
+        } catch (RuntimeException e) {
+            // not fatal, the loans are read one by one and failures are reported per loan
+            log.warn("Prefetching loans {} failed, falling back to reading them one by one", loanIds, e);
+            loans.clear();
+        }
+    }
+
+    /**
+     * Chunk listeners run after the commit (or the rollback) on the thread that processed the chunk, the statements of
+     * the business steps and of the flush are included.
+     */
+    private void countChunk() {
+        long[] statistics = chunkStatistics.get();
+        chunkStatistics.remove();
+        if (queryCounter == null || statistics[1] == 0) {
+            return;
+        }
+        long queries = StatementCountingSessionListener.getStatementCount() - statistics[0];
+        long loans = statistics[1];
+        queryCount.addAndGet(queries);
+        loanCount.addAndGet(loans);
+        queryCounter.increment(queries);
+        loanCounter.increment(loans);
+    }
 }
@@ -19,7 +19,10 @@
 package org.apache.fineract.cob.loan;
 
 import java.util.Collection;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.portfolio.loanaccount.domain.Loan;
 import org.apache.fineract.portfolio.loanaccount.loanschedule.data.OverdueLoanScheduleData;
 import org.apache.fineract.portfolio.loanaccount.service.LoanChargeWritePlatformService;
@@ -32,11 +35,32 @@ public class ApplyChargeToOverdueLoansBusinessStep implements LoanCOBBusinessSte
 
     private final LoanReadPlatformService loanReadPlatformService;
     private final LoanChargeWritePlatformService loanChargeWritePlatformService;
+    private final ConfigurationDomainService configurationDomainService;
+
+    private final ThreadLocal<OverdueChargeSettings> preparedSettings = new ThreadLocal<>();
+
+    @Override
+    public void prepare(Collection<Long> loanIds) {
+        preparedSettings.set(new OverdueChargeSettings(ThreadLocalContextUtil.getTenant().getTenantIdentifier(), Set.copyOf(loanIds),
+                configurationDomainService.retrievePenaltyWaitPeriod(), configurationDomainService.isBackdatePenaltiesEnabled()));
+    }
+
+    @Override
+    public void release() {
+        preparedSettings.remove();
+    }
 
     @Override
     public Loan execute(Loan loan) {
-        final Collection<OverdueLoanScheduleData> overdueLoanScheduleDataList = loanReadPlatformService
-                .retrieveAllOverdueInstallmentsForLoan(loan);
+        final OverdueChargeSettings settings = preparedSettings.get();
+        final Collection<OverdueLoanScheduleData> overdueLoanScheduleDataList;
+        if (settings != null && settings.tenantIdentifier().equals(ThreadLocalContextUtil.getTenant().getTenantIdentifier())
+                && settings.loanIds().contains(loan.getId())) {
+            overdueLoanScheduleDataList = loanReadPlatformService.retrieveAllOverdueInstallmentsForLoan(loan, settings.penaltyWaitPeriod(),
+                    settings.backdatePenalties());
+        } else {
+            overdueLoanScheduleDataList = loanReadPlatformService.retrieveAllOverdueInstallmentsForLoan(loan);
+        }
 
         loanChargeWritePlatformService.applyOverdueChargesForLoan(loan.getId(), overdueLoanScheduleDataList);
         return loan;
@@ -51,4 +75,7 @@ public class ApplyChargeToOverdueLoansBusinessStep implements LoanCOBBusinessSte
     public String getHumanReadableName() {
         return "Apply charge to overdue loans";
     }
+
+    private record OverdueChargeSettings(String tenantIdentifier, Set<Long> loanIds, Long penaltyWaitPeriod, boolean backdatePenalties) {
+    }
 }
@@ -76,6 +76,11 @@ public class CheckLoanRepaymentDueBusinessStep implements LoanCOBBusinessStep {
         return "Check loan repayment due";
     }
 
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
     private static boolean isDueEventNeededToBeSent(Loan loan, Long numberOfDaysBeforeDueDateToRaiseEvent, LocalDate currentDate,
             LoanRepaymentScheduleInstallment repaymentScheduleInstallment, LocalDate repaymentDate, List<LoanStatus> nonDisbursedStatuses) {
         return repaymentDate.minusDays(numberOfDaysBeforeDueDateToRaiseEvent).equals(currentDate)
@@ -71,4 +71,9 @@ public class CheckLoanRepaymentOverdueBusinessStep implements LoanCOBBusinessSte
     public String getHumanReadableName() {
         return "Check loan repayment overdue";
     }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
 }
@@ -18,6 +18,7 @@
  */
 package org.apache.fineract.cob.loan;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.fineract.cob.COBBusinessStepService;
 import org.apache.fineract.cob.common.CustomJobParameterResolver;
 import org.apache.fineract.cob.common.InitialisationTasklet;
@@ -84,6 +85,9 @@ public class LoanCOBWorkerConfiguration {
     @Autowired
     private CustomJobParameterResolver customJobParameterResolver;
 
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
     @Bean(name = LoanCOBConstant.LOAN_COB_WORKER_STEP)
     public Step loanCOBWorkerStep() {
         return stepBuilderFactory.get("Loan COB worker - Step").inputChannel(inboundRequests).flow(flow()).build();
@@ -177,7 +181,16 @@ public class LoanCOBWorkerConfiguration {
     @Bean
     @StepScope
     public LoanItemReader cobWorkerItemReader() {
-        return new LoanItemReader(loanRepository, retrieveLoanIdService, customJobParameterResolver, loanLockingService);
+        LoanItemReader loanItemReader = new LoanItemReader(loanRepository, retrieveLoanIdService, customJobParameterResolver,
+                loanLockingService);
+        if (fineractProperties.getJob().isLoanCobPrefetchEnabled()) {
+            loanItemReader.enablePrefetch(propertyService.getChunkSize(LoanCOBConstant.JOB_NAME),
+                    fineractProperties.getQuery().getInClauseParameterSizeLimit());
+        }
+        if (meterRegistry != null && fineractProperties.getJpa().isStatementCountingEnabled()) {
+            loanItemReader.setMeterRegistry(meterRegistry);
+        }
+        return loanItemReader;
     }
 
     @Bean
@@ -18,11 +18,13 @@
  */
 package org.apache.fineract.cob.loan;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.fineract.cob.COBBusinessStepService;
 import org.apache.fineract.cob.common.CustomJobParameterResolver;
 import org.apache.fineract.cob.common.ResetContextTasklet;
 import org.apache.fineract.cob.conditions.LoanCOBEnabledCondition;
 import org.apache.fineract.cob.listener.InlineCOBLoanItemListener;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.jobs.domain.CustomJobParameterRepository;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
 import org.apache.fineract.infrastructure.springbatch.PropertyService;
@@ -68,6 +70,10 @@ public class LoanInlineCOBConfig {
 
     @Autowired
     private LoanLockingService loanLockingService;
+    @Autowired
+    private FineractProperties fineractProperties;
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
 
     @Bean
     public InlineLoanCOBBuildExecutionContextTasklet inlineLoanCOBBuildExecutionContextTasklet() {
@@ -100,7 +106,15 @@ public class LoanInlineCOBConfig {
     @JobScope
     @Bean
     public InlineCOBLoanItemReader inlineCobWorkerItemReader() {
-        return new InlineCOBLoanItemReader(loanRepository);
+        InlineCOBLoanItemReader inlineCOBLoanItemReader = new InlineCOBLoanItemReader(loanRepository);
+        if (fineractProperties.getJob().isLoanCobPrefetchEnabled()) {
+            inlineCOBLoanItemReader.enablePrefetch(propertyService.getChunkSize(JobName.LOAN_COB.name()),
+                    fineractProperties.getQuery().getInClauseParameterSizeLimit());
+        }
+        if (meterRegistry != null && fineractProperties.getJpa().isStatementCountingEnabled()) {
+            inlineCOBLoanItemReader.setMeterRegistry(meterRegistry);
+        }
+        return inlineCOBLoanItemReader;
     }
 
     @JobScope
@@ -28,6 +28,7 @@ import org.apache.fineract.cob.data.LoanCOBPartition;
 import org.apache.fineract.cob.data.LoanIdAndExternalIdAndAccountNo;
 import org.apache.fineract.cob.data.LoanIdAndLastClosedBusinessDate;
 import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanRepository;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
@@ -40,9 +41,23 @@ public class RetrieveAllNonClosedLoanIdServiceImpl implements RetrieveLoanIdServ
 
     private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
 
+    private final FineractProperties fineractProperties;
+
     @Override
     public List<LoanCOBPartition> retrieveLoanCOBPartitions(Long numberOfDays, LocalDate businessDate, boolean isCatchUp,
             int partitionSize) {
+        LoanCOBPartitionWeighting weighting = fineractProperties.getJob().getLoanCobPartitionWeighting();
+        String sql = weighting == null || weighting == LoanCOBPartitionWeighting.NONE ? getPartitionsSql(isCatchUp)
+                : getWeightedPartitionsSql(isCatchUp, weighting);
+
+        MapSqlParameterSource parameters = new MapSqlParameterSource();
+        parameters.addValue("pageSize", partitionSize);
+        parameters.addValue("statusIds", List.of(100, 200, 300, 303, 304));
+        parameters.addValue("businessDate", businessDate.minusDays(numberOfDays));
+        return namedParameterJdbcTemplate.query(sql, parameters, RetrieveAllNonClosedLoanIdServiceImpl::mapRow);
+    }
+
+    private static String getPartitionsSql(boolean isCatchUp) {
         StringBuilder sql = new StringBuilder();
         sql.append("select min(id) as min, max(id) as max, page, count(id) as count from ");
         sql.append("  (select floor(((row_number() over(order by id))-1) / :pageSize) as page, t.* from ");
@@ -55,12 +70,37 @@ public class RetrieveAllNonClosedLoanIdServiceImpl implements RetrieveLoanIdServ
         sql.append("order by id) t) t2 ");
         sql.append("group by page ");
         sql.append("order by page");
+        return sql.toString();
+    }
 
-        MapSqlParameterSource parameters = new MapSqlParameterSource();
-        parameters.addValue("pageSize", partitionSize);
-        parameters.addValue("statusIds", List.of(100, 200, 300, 303, 304));
-        parameters.addValue("businessDate", businessDate.minusDays(numberOfDays));
-        return namedParameterJdbcTemplate.query(sql.toString(), parameters, RetrieveAllNonClosedLoanIdServiceImpl::mapRow);
+    /**
+     * Pages are cut on the running sum of the loan costs instead of the row number. The page size is scaled by the
+     * average cost, so the number of partitions stays the same as without weighting, but each partition gets roughly
+     * the same amount of work. A loan more expensive than a whole page always closes its page. The costs are counted
+     * with correlated sub queries, so only the loans eligible for the run are looked at.
+     */
+    private static String getWeightedPartitionsSql(boolean isCatchUp, LoanCOBPartitionWeighting weighting) {
+        StringBuilder sql = new StringBuilder();
+        sql.append("select min(id) as min, max(id) as max, page, count(id) as count from ");
+        sql.append("  (select floor(((sum(cost) over(order by id)) - cost) * (count(*) over()) ");
+        sql.append("      / ((sum(cost) over()) * :pageSize)) as page, t.* from ");
+        if (weighting == LoanCOBPartitionWeighting.TRANSACTIONS) {
+            sql.append("      (select l.id as id, 1 + (select count(*) from m_loan_transaction lt ");
+            sql.append("        where lt.loan_id = l.id and lt.is_reversed = false) as cost from m_loan l ");
+        } else {
+            sql.append("      (select l.id as id, 1 + (select count(*) from m_loan_repayment_schedule rs ");
+            sql.append("        where rs.loan_id = l.id) as cost from m_loan l ");
+        }
+        sql.append("        where l.loan_status_id in (:statusIds) and ");
+        if (isCatchUp) {
+            sql.append("l.last_closed_business_date = :businessDate ");
+        } else {
+            sql.append("(l.last_closed_business_date = :businessDate or l.last_closed_business_date is null) ");
+        }
+        sql.append(") t) t2 ");
+        sql.append("group by page ");
+        sql.append("order by page");
+        return sql.toString();
     }
 
     private static LoanCOBPartition mapRow(ResultSet rs, int rowNum) throws SQLException {
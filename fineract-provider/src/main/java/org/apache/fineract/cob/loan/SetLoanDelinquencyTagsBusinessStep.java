@@ -20,6 +20,7 @@ package org.apache.fineract.cob.loan;
 
 import static org.apache.fineract.infrastructure.core.diagnostics.performance.MeasuringUtil.measure;
 
+import java.util.Collection;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,6 +28,7 @@ import org.apache.fineract.infrastructure.core.domain.ActionContext;
 import org.apache.fineract.infrastructure.core.domain.ExternalId;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.portfolio.delinquency.service.DelinquencyWritePlatformService;
 import org.apache.fineract.portfolio.loanaccount.domain.Loan;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanAccountDomainService;
 import org.springframework.stereotype.Component;
@@ -37,6 +39,17 @@ import org.springframework.stereotype.Component;
 public class SetLoanDelinquencyTagsBusinessStep implements LoanCOBBusinessStep {
 
     private final LoanAccountDomainService loanAccountDomainService;
+    private final DelinquencyWritePlatformService delinquencyWritePlatformService;
+
+    @Override
+    public void prepare(Collection<Long> loanIds) {
+        delinquencyWritePlatformService.prefetchActiveDelinquencyTags(loanIds);
+    }
+
+    @Override
+    public void release() {
+        delinquencyWritePlatformService.clearPrefetchedDelinquencyTags();
+    }
 
     @Override
     public Loan execute(Loan loan) {
@@ -84,4 +97,9 @@ public class SetLoanDelinquencyTagsBusinessStep implements LoanCOBBusinessStep {
         return "Loan Delinquency Classification";
     }
 
+    @Override
+    public boolean isReloadRequiredAfterExecution() {
+        return false;
+    }
+
 }
@@ -46,4 +46,9 @@ public class UpdateLoanArrearsAgingBusinessStep implements LoanCOBBusinessStep {
     public String getHumanReadableName() {
         return "Update loan arrears aging";
     }
+
+    @Override
+    public boolean isReloadRequiredAfterExecution() {
+        return false;
+    }
 }
@@ -40,4 +40,10 @@ public class LoanReloadService implements ReloadService<Loan> {
         return loanAssembler.assembleFrom(input.getId());
     }
 
+    @Override
+    public Loan attach(Loan input) {
+        loanAssembler.setHelpers(input);
+        return input;
+    }
+
 }
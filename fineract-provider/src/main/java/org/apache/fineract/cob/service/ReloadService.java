@@ -25,4 +25,12 @@ public interface ReloadService<S extends AbstractPersistableCustom> {
     <X extends AbstractPersistableCustom> boolean canReload(X input);
 
     S reload(S input);
+
+    /**
+     * Prepares an item coming straight from the reader for the business steps without reloading it, e.g. wires the
+     * transient helpers the reload would have set.
+     */
+    default S attach(S input) {
+        return input;
+    }
 }
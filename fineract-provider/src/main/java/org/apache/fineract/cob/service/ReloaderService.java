@@ -38,4 +38,13 @@ public class ReloaderService {
         }
         return input;
     }
+
+    public <S extends AbstractPersistableCustom> S attach(S input) {
+        for (ReloadService reloadService : reloadServices) {
+            if (reloadService.canReload(input)) {
+                return (S) reloadService.attach(input);
+            }
+        }
+        return input;
+    }
 }
@@ -26,9 +26,8 @@ import org.apache.fineract.infrastructure.cache.domain.CacheType;
 import org.apache.fineract.infrastructure.cache.domain.PlatformCache;
 import org.apache.fineract.infrastructure.cache.domain.PlatformCacheRepository;
 import org.apache.fineract.infrastructure.configuration.data.GlobalConfigurationPropertyData;
-import org.apache.fineract.useradministration.domain.Permission;
-import org.apache.fineract.useradministration.domain.PermissionRepository;
 import org.apache.fineract.useradministration.exception.PermissionNotFoundException;
+import org.apache.fineract.useradministration.service.MakerCheckerPermissionCache;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -52,26 +51,17 @@ public class ConfigurationDomainServiceJpa implements ConfigurationDomainService
     private static final String REPORT_EXPORT_S3_FOLDER_NAME = "report-export-s3-folder-name";
 
     public static final String CHARGE_ACCRUAL_DATE_CRITERIA = "charge-accrual-date";
-    private final PermissionRepository permissionRepository;
     private final GlobalConfigurationRepositoryWrapper globalConfigurationRepository;
+    private final GlobalConfigurationSnapshotHolder globalConfigurationSnapshotHolder;
     private final PlatformCacheRepository cacheTypeRepository;
+    private final MakerCheckerPermissionCache makerCheckerPermissionCache;
 
     @Override
     public boolean isMakerCheckerEnabledForTask(final String taskPermissionCode) {
         if (StringUtils.isBlank(taskPermissionCode)) {
             throw new PermissionNotFoundException(taskPermissionCode);
         }
-        final String makerCheckerConfigurationProperty = "maker-checker";
-        final GlobalConfigurationPropertyData property = getGlobalConfigurationPropertyData(makerCheckerConfigurationProperty);
-        if (property.isEnabled()) {
-            final Permission thisTask = this.permissionRepository.findOneByCode(taskPermissionCode);
-            if (thisTask == null) {
-                throw new PermissionNotFoundException(taskPermissionCode);
-            }
-
-            return thisTask.hasMakerCheckerEnabled();
-        }
-        return false;
+        return makerCheckerPermissionCache.isMakerCheckerEnabledForTask(taskPermissionCode);
     }
 
     @Override
@@ -124,6 +114,11 @@ public class ConfigurationDomainServiceJpa implements ConfigurationDomainService
         return this.cacheTypeRepository.findById(1L).map(PlatformCache::isEhcacheEnabled).orElseThrow();
     }
 
+    @Override
+    public CacheType getCacheType() {
+        return this.cacheTypeRepository.findById(1L).map(cache -> CacheType.fromInt(cache.getCacheType())).orElseThrow();
+    }
+
     @Transactional
     @Override
     public void updateCache(final CacheType cacheType) {
@@ -314,6 +309,10 @@ public class ConfigurationDomainServiceJpa implements ConfigurationDomainService
     @Override
     public void removeGlobalConfigurationPropertyDataFromCache(final String propertyName) {
         globalConfigurationRepository.removeFromCache(propertyName);
+        globalConfigurationSnapshotHolder.invalidate();
+        if (MakerCheckerPermissionCache.MAKER_CHECKER_CONFIGURATION.equals(propertyName)) {
+            makerCheckerPermissionCache.evict();
+        }
     }
 
     @Override
@@ -380,7 +379,7 @@ public class ConfigurationDomainServiceJpa implements ConfigurationDomainService
     }
 
     private GlobalConfigurationPropertyData getGlobalConfigurationPropertyData(final String propertyName) {
-        return globalConfigurationRepository.findOneByNameWithNotFoundDetection(propertyName).toData();
+        return globalConfigurationSnapshotHolder.get(propertyName);
     }
 
     @Override
@@ -41,7 +41,7 @@ public class GlobalConfigurationRepositoryWrapper {
         this.repository = repository;
     }
 
-    @Cacheable(value = "configByName", key = "T(org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil).getTenant().getTenantIdentifier().concat(#propertyName)")
+    @Cacheable(value = "configByName")
     public GlobalConfigurationProperty findOneByNameWithNotFoundDetection(final String propertyName) {
         final GlobalConfigurationProperty property = this.repository.findOneByName(propertyName);
         if (property == null) {
@@ -66,7 +66,7 @@ public class GlobalConfigurationRepositoryWrapper {
         this.repository.delete(globalConfigurationProperty);
     }
 
-    @CacheEvict(value = "configByName", key = "T(org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil).getTenant().getTenantIdentifier().concat(#propertyName)")
+    @CacheEvict(value = "configByName", allEntries = true)
     public void removeFromCache(String propertyName) {
         log.debug("Cache entry evicted {}", propertyName);
     }
@@ -0,0 +1,145 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.configuration.domain;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.infrastructure.configuration.data.GlobalConfigurationPropertyData;
+import org.apache.fineract.infrastructure.configuration.exception.GlobalConfigurationPropertyNotFoundException;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Tenant scoped, immutable snapshot of the global configuration properties.
+ * <p>
+ * The snapshot of a tenant is loaded once and replaced as a whole when a property is modified. Modifications increase
+ * the version stored in {@code c_configuration_version}, which is checked at most once per the configured interval, so
+ * the other nodes pick up the change as well without reading the properties on every access. The properties of the
+ * snapshot are handed out as copies, callers cannot change the snapshot.
+ */
+@Component
+@RequiredArgsConstructor
+public class GlobalConfigurationSnapshotHolder {
+
+    static final long CONFIGURATION_VERSION_ID = 1L;
+
+    private final GlobalConfigurationRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+    private final FineractProperties fineractProperties;
+
+    private final Map<String, GlobalConfigurationSnapshot> snapshotsByTenant = new ConcurrentHashMap<>();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public GlobalConfigurationPropertyData get(String propertyName) {
+        GlobalConfigurationPropertyData property = getSnapshot().properties().get(propertyName);
+        if (property != null) {
+            return copy(property);
+        }
+        // a property created since the snapshot was taken (e.g. for a registered survey)
+        GlobalConfigurationProperty globalConfigurationProperty = repository.findOneByName(propertyName);
+        if (globalConfigurationProperty == null) {
+            throw new GlobalConfigurationPropertyNotFoundException(propertyName);
+        }
+        return globalConfigurationProperty.toData();
+    }
+
+    /**
+     * Increases the configuration version in the current transaction and drops the snapshot of the current tenant once
+     * the transaction completes, so that the next lookup on any node sees the committed properties.
+     */
+    public void invalidate() {
+        jdbcTemplate.update("UPDATE c_configuration_version SET version = version + 1 WHERE id = ?", CONFIGURATION_VERSION_ID);
+        String tenantIdentifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+        remove(tenantIdentifier);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCompletion(int status) {
+                    remove(tenantIdentifier);
+                }
+            });
+        }
+    }
+
+    private void remove(String tenantIdentifier) {
+        snapshotsByTenant.compute(tenantIdentifier, (tenant, snapshot) -> {
+            evictions.incrementAndGet();
+            return null;
+        });
+    }
+
+    private GlobalConfigurationSnapshot getSnapshot() {
+        String tenantIdentifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+        GlobalConfigurationSnapshot snapshot = snapshotsByTenant.get(tenantIdentifier);
+        long now = System.nanoTime();
+        if (snapshot != null && now - snapshot.checkedAt() < getVersionCheckIntervalNanos()) {
+            return snapshot;
+        }
+        long evictionsBeforeLoad = evictions.get();
+        long version = readVersion();
+        GlobalConfigurationSnapshot loaded = snapshot != null && snapshot.version() == version ? snapshot.checkedAt(now)
+                : loadSnapshot(version, now);
+        // a snapshot loaded while the properties were invalidated may be stale, so it is only used for this lookup
+        snapshotsByTenant.compute(tenantIdentifier, (tenant, current) -> evictions.get() == evictionsBeforeLoad ? loaded : current);
+        return loaded;
+    }
+
+    // the version is read before the properties, so a modification committed in between is reloaded on the next check
+    private GlobalConfigurationSnapshot loadSnapshot(long version, long now) {
+        List<GlobalConfigurationProperty> allProperties = repository.findAll();
+        Map<String, GlobalConfigurationPropertyData> properties = new HashMap<>(allProperties.size());
+        for (GlobalConfigurationProperty property : allProperties) {
+            properties.put(property.getName(), property.toData());
+        }
+        return new GlobalConfigurationSnapshot(version, Map.copyOf(properties), now);
+    }
+
+    private long readVersion() {
+        Long version = jdbcTemplate.queryForObject("SELECT version FROM c_configuration_version WHERE id = ?", Long.class,
+                CONFIGURATION_VERSION_ID);
+        return version == null ? 0L : version;
+    }
+
+    private static GlobalConfigurationPropertyData copy(GlobalConfigurationPropertyData property) {
+        return new GlobalConfigurationPropertyData().setName(property.getName()).setEnabled(property.isEnabled())
+                .setValue(property.getValue()).setDateValue(property.getDateValue()).setStringValue(property.getStringValue())
+                .setId(property.getId()).setDescription(property.getDescription()).setTrapDoor(property.isTrapDoor());
+    }
+
+    private long getVersionCheckIntervalNanos() {
+        return TimeUnit.SECONDS.toNanos(fineractProperties.getGlobalConfiguration().getVersionCheckIntervalSeconds());
+    }
+
+    private record GlobalConfigurationSnapshot(long version, Map<String, GlobalConfigurationPropertyData> properties, long checkedAt) {
+
+        GlobalConfigurationSnapshot checkedAt(long now) {
+            return new GlobalConfigurationSnapshot(version, properties, now);
+        }
+    }
+}
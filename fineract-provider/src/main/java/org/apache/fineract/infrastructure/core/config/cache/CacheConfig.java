@@ -19,6 +19,8 @@
 
 package org.apache.fineract.infrastructure.core.config.cache;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Duration;
 import javax.cache.CacheManager;
 import javax.cache.Caching;
@@ -26,6 +28,8 @@ import javax.cache.spi.CachingProvider;
 import org.ehcache.config.builders.CacheConfigurationBuilder;
 import org.ehcache.config.builders.ExpiryPolicyBuilder;
 import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.core.internal.statistics.DefaultTierStatistics;
+import org.ehcache.core.statistics.TierStatistics;
 import org.ehcache.jsr107.Eh107Configuration;
 import org.springframework.cache.jcache.JCacheCacheManager;
 import org.springframework.cache.support.NoOpCacheManager;
@@ -47,12 +51,27 @@ public class CacheConfig {
     }
 
     @Bean
-    public JCacheCacheManager ehCacheManager() {
+    public JCacheCacheManager ehCacheManager(MeterRegistry meterRegistry) {
         JCacheCacheManager jCacheCacheManager = new JCacheCacheManager();
-        jCacheCacheManager.setCacheManager(getInternalEhCacheManager());
+        CacheManager cacheManager = getInternalEhCacheManager();
+        registerSizeGauges(cacheManager, meterRegistry);
+        jCacheCacheManager.setCacheManager(cacheManager);
         return jCacheCacheManager;
     }
 
+    /**
+     * The sizes are read from the mapping count Ehcache maintains for its heap tier, so a scrape does not walk the
+     * entries.
+     */
+    private static void registerSizeGauges(CacheManager cacheManager, MeterRegistry meterRegistry) {
+        for (String cacheName : cacheManager.getCacheNames()) {
+            TierStatistics heapStatistics = new DefaultTierStatistics(cacheManager.getCache(cacheName).unwrap(org.ehcache.Cache.class),
+                    "OnHeap");
+            Gauge.builder("cache.size", heapStatistics, TierStatistics::getMappings).tag("cache", cacheName).strongReference(true)
+                    .register(meterRegistry);
+        }
+    }
+
     private CacheManager getInternalEhCacheManager() {
         CachingProvider provider = Caching.getCachingProvider();
         CacheManager cacheManager = provider.getCacheManager();
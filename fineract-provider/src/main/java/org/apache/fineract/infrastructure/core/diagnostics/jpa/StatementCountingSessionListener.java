@@ -0,0 +1,43 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.diagnostics.jpa;
+
+import org.eclipse.persistence.sessions.SessionEvent;
+import org.eclipse.persistence.sessions.SessionEventAdapter;
+
+/**
+ * EclipseLink session listener counting the SQL statements executed by the current thread. Callers take the difference
+ * of {@link #getStatementCount()} before and after a unit of work to measure how many statements it actually issued.
+ * <br>
+ * <br>
+ * Registered on the persistence unit by {@link StatementCountingCustomizer}.
+ */
+public class StatementCountingSessionListener extends SessionEventAdapter {
+
+    private static final ThreadLocal<long[]> STATEMENT_COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    public static long getStatementCount() {
+        return STATEMENT_COUNT.get()[0];
+    }
+
+    @Override
+    public void postExecuteCall(SessionEvent event) {
+        STATEMENT_COUNT.get()[0]++;
+    }
+}
@@ -40,6 +40,7 @@ import org.apache.fineract.infrastructure.dataqueries.exception.ReportNotFoundEx
 import org.apache.fineract.infrastructure.dataqueries.exception.ReportParameterNotFoundException;
 import org.apache.fineract.infrastructure.dataqueries.serialization.ReportCommandFromApiJsonDeserializer;
 import org.apache.fineract.infrastructure.report.provider.ReportingProcessServiceProvider;
+import org.apache.fineract.infrastructure.security.service.AuthenticatedCredentialCache;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.useradministration.domain.Permission;
 import org.apache.fineract.useradministration.domain.PermissionRepository;
@@ -64,12 +65,14 @@ public class ReportWritePlatformServiceImpl implements ReportWritePlatformServic
     private final ReportParameterRepository reportParameterRepository;
     private final PermissionRepository permissionRepository;
     private final ReportingProcessServiceProvider reportingProcessServiceProvider;
+    private final AuthenticatedCredentialCache authenticatedCredentialCache;
 
     @Autowired
     public ReportWritePlatformServiceImpl(final PlatformSecurityContext context,
             final ReportCommandFromApiJsonDeserializer fromApiJsonDeserializer, final ReportRepository reportRepository,
             final ReportParameterRepository reportParameterRepository, final ReportParameterUsageRepository reportParameterUsageRepository,
-            final PermissionRepository permissionRepository, final ReportingProcessServiceProvider reportingProcessServiceProvider) {
+            final PermissionRepository permissionRepository, final ReportingProcessServiceProvider reportingProcessServiceProvider,
+            final AuthenticatedCredentialCache authenticatedCredentialCache) {
         this.context = context;
         this.fromApiJsonDeserializer = fromApiJsonDeserializer;
         this.reportRepository = reportRepository;
@@ -77,6 +80,7 @@ public class ReportWritePlatformServiceImpl implements ReportWritePlatformServic
         this.reportParameterUsageRepository = reportParameterUsageRepository;
         this.permissionRepository = permissionRepository;
         this.reportingProcessServiceProvider = reportingProcessServiceProvider;
+        this.authenticatedCredentialCache = authenticatedCredentialCache;
     }
 
     @Transactional
@@ -169,6 +173,8 @@ public class ReportWritePlatformServiceImpl implements ReportWritePlatformServic
 
         this.reportRepository.delete(report);
         this.permissionRepository.delete(permission);
+        // the permission is removed from the roles holding it
+        this.authenticatedCredentialCache.evict();
 
         return new CommandProcessingResultBuilder() //
                 .withEntityId(reportId) //
@@ -22,15 +22,20 @@ import static org.apache.fineract.infrastructure.core.diagnostics.performance.Me
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.event.external.exception.AcknowledgementTimeoutException;
+import org.apache.fineract.infrastructure.event.external.producer.ExternalEventMessage;
 import org.apache.fineract.infrastructure.event.external.producer.ExternalEventProducer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -79,4 +84,25 @@ public class KafkaExternalEventProducer implements ExternalEventProducer {
             }
         });
     }
+
+    @Override
+    public Set<Long> sendEventsAndCollectAcknowledged(Map<Long, List<ExternalEventMessage>> partitions)
+            throws AcknowledgementTimeoutException {
+        FineractProperties.FineractExternalEventsProducerKafkaProperties kafkaProperties = fineractProperties.getEvents().getExternal()
+                .getProducer().getKafka();
+        String topicName = kafkaProperties.getTopic().getName();
+        Map<Long, CompletableFuture<SendResult<Long, byte[]>>> sendResults = new LinkedHashMap<>();
+        partitions.forEach((key, messages) -> messages
+                .forEach(message -> sendResults.put(message.eventId(), externalEventsKafkaTemplate.send(topicName, key, message.payload()))));
+        try {
+            CompletableFuture.allOf(sendResults.values().toArray(new CompletableFuture[0])).get(kafkaProperties.getTimeoutInSeconds(),
+                    TimeUnit.SECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("Not every message was acknowledged, only the acknowledged ones are reported as sent", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return sendResults.entrySet().stream().filter(e -> e.getValue().isDone() && !e.getValue().isCompletedExceptionally())
+                .map(Map.Entry::getKey).collect(Collectors.toSet());
+    }
 }
@@ -26,6 +26,7 @@ import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
 import org.apache.fineract.infrastructure.businessdate.service.BusinessDateReadPlatformService;
 import org.apache.fineract.infrastructure.core.domain.ActionContext;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.database.ReadReplicaWriteRecorder;
 import org.apache.fineract.infrastructure.jobs.domain.ScheduledJobDetail;
 import org.apache.fineract.infrastructure.jobs.domain.ScheduledJobRunHistory;
 import org.apache.fineract.useradministration.domain.AppUser;
@@ -54,6 +55,7 @@ public class SchedulerJobListener implements JobListener {
     private final AppUserRepositoryWrapper userRepository;
     private final GrantedAuthoritiesMapper authoritiesMapper = new NullAuthoritiesMapper();
     private final BusinessDateReadPlatformService businessDateReadPlatformService;
+    private final ReadReplicaWriteRecorder readReplicaWriteRecorder;
     private int stackTraceLevel = 0;
 
     @Override
@@ -122,6 +124,10 @@ public class SchedulerJobListener implements JobListener {
 
         this.schedularService.saveOrUpdate(scheduledJobDetails, runHistory);
 
+        // a job run through the API is followed by reads of its outcome, the scheduled runs are not tracked
+        if (SchedulerServiceConstants.TRIGGER_TYPE_APPLICATION.equals(triggerType)) {
+            this.readReplicaWriteRecorder.recordWriteForAllUsers();
+        }
     }
 
     private Throwable getCauseFromException(final Throwable exception) {
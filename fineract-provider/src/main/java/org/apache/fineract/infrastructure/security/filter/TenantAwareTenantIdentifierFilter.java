@@ -127,8 +127,10 @@ public class TenantAwareTenantIdentifierFilter extends GenericFilterBean {
                             request.getContextPath() + apiUri);
                     System.setProperty("baseUrl", baseUrl);
 
-                    final boolean ehcacheEnabled = this.configurationDomainService.isEhcacheEnabled();
-                    if (ehcacheEnabled) {
+                    final CacheType cacheType = this.configurationDomainService.getCacheType();
+                    if (cacheType.isDistributedCache()) {
+                        this.cacheWritePlatformService.switchToCache(CacheType.MULTI_NODE);
+                    } else if (cacheType.isEhcache()) {
                         this.cacheWritePlatformService.switchToCache(CacheType.SINGLE_NODE);
                     } else {
                         this.cacheWritePlatformService.switchToCache(CacheType.NO_CACHE);
@@ -0,0 +1,141 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.security.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractSecurityCredentialCache;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Tenant scoped, short-lived cache of successful basic authentication results.
+ * <p>
+ * Entries are keyed by an HMAC of the username and the password, computed with a secret generated at startup, so
+ * neither the credentials nor a reusable hash of them are kept in memory. The entries of a tenant are dropped whenever
+ * users, roles or permissions of the tenant are modified, and expire after the configured time to live in any case.
+ */
+@Component
+public class AuthenticatedCredentialCache {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final int maxEntriesPerTenant;
+    private final SecretKeySpec secretKey;
+
+    private final Map<String, Map<String, CachedAuthentication>> entriesByTenant = new ConcurrentHashMap<>();
+
+    public AuthenticatedCredentialCache(FineractProperties fineractProperties) {
+        FineractSecurityCredentialCache properties = fineractProperties.getSecurity().getBasicauth().getCredentialCache();
+        this.enabled = properties != null && properties.isEnabled() && properties.getTtlSeconds() > 0;
+        this.ttlNanos = properties == null ? 0 : TimeUnit.SECONDS.toNanos(properties.getTtlSeconds());
+        this.maxEntriesPerTenant = properties == null ? 0 : properties.getMaxEntriesPerTenant();
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.secretKey = new SecretKeySpec(secret, HMAC_ALGORITHM);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the authentication cached for the given credentials of the current tenant, or null when there is none or
+     * it has expired.
+     */
+    public Authentication get(String username, String password) {
+        Map<String, CachedAuthentication> entries = entriesByTenant.get(getTenantIdentifier());
+        if (entries == null) {
+            return null;
+        }
+        String key = key(username, password);
+        CachedAuthentication cached = entries.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (System.nanoTime() - cached.expiresAt() >= 0) {
+            entries.remove(key, cached);
+            return null;
+        }
+        return cached.authentication();
+    }
+
+    public void put(String username, String password, Authentication authentication) {
+        Map<String, CachedAuthentication> entries = entriesByTenant.computeIfAbsent(getTenantIdentifier(),
+                tenant -> new ConcurrentHashMap<>());
+        if (maxEntriesPerTenant > 0 && entries.size() >= maxEntriesPerTenant) {
+            // simply start over instead of tracking the usage of the entries
+            entries.clear();
+        }
+        entries.put(key(username, password), new CachedAuthentication(authentication, System.nanoTime() + ttlNanos));
+    }
+
+    /**
+     * Drops the cached authentications of the current tenant. When called within a transaction, they are dropped again
+     * once the transaction completes so that a concurrent login cannot cache the state being replaced.
+     */
+    public void evict() {
+        if (!enabled) {
+            return;
+        }
+        String tenantIdentifier = getTenantIdentifier();
+        entriesByTenant.remove(tenantIdentifier);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCompletion(int status) {
+                    entriesByTenant.remove(tenantIdentifier);
+                }
+            });
+        }
+    }
+
+    private String key(String username, String password) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(secretKey);
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return Base64.getEncoder().encodeToString(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to compute the credential cache key", e);
+        }
+    }
+
+    private static String getTenantIdentifier() {
+        return ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+    }
+
+    private record CachedAuthentication(Authentication authentication, long expiresAt) {
+    }
+}
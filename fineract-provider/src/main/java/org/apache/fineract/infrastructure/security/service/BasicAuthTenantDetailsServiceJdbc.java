@@ -18,13 +18,16 @@
  */
 package org.apache.fineract.infrastructure.security.service;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import javax.sql.DataSource;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 import org.apache.fineract.infrastructure.core.service.tenant.TenantMapper;
 import org.apache.fineract.infrastructure.security.exception.InvalidTenantIdentifierException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
@@ -32,28 +35,64 @@ import org.springframework.stereotype.Service;
 /**
  * A JDBC implementation of {@link BasicAuthTenantDetailsService} for loading a tenants details by a
  * <code>tenantIdentifier</code>.
+ * <p>
+ * The tenant details are looked up for every request, so they are kept in memory independently of the configured
+ * cache type and re-read from the tenant store at most once per the configured refresh interval, which is how changes
+ * made to the tenant store reach every node.
  */
 @Service
 public class BasicAuthTenantDetailsServiceJdbc implements BasicAuthTenantDetailsService {
 
     private final JdbcTemplate jdbcTemplate;
+    private final FineractProperties fineractProperties;
+
+    private final Map<TenantKey, LoadedTenant> tenants = new ConcurrentHashMap<>();
 
     @Autowired
-    public BasicAuthTenantDetailsServiceJdbc(@Qualifier("hikariTenantDataSource") final DataSource dataSource) {
+    public BasicAuthTenantDetailsServiceJdbc(@Qualifier("hikariTenantDataSource") final DataSource dataSource,
+            final FineractProperties fineractProperties) {
         this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.fineractProperties = fineractProperties;
     }
 
     @Override
-    @Cacheable(value = "tenantsById")
     public FineractPlatformTenant loadTenantById(final String tenantIdentifier, final boolean isReport) {
+        final TenantKey key = new TenantKey(tenantIdentifier, isReport);
+        LoadedTenant loaded = this.tenants.get(key);
+        final long now = System.nanoTime();
+        if (loaded == null || now - loaded.loadedAt() >= getRefreshIntervalNanos()) {
+            loaded = new LoadedTenant(queryTenant(tenantIdentifier, isReport), now);
+            this.tenants.put(key, loaded);
+        }
+        return loaded.tenant();
+    }
 
+    /**
+     * Drops the tenant details kept in memory, so the next lookup re-reads them from the tenant store.
+     */
+    public void evict(final String tenantIdentifier) {
+        this.tenants.keySet().removeIf(key -> key.tenantIdentifier().equals(tenantIdentifier));
+    }
+
+    private FineractPlatformTenant queryTenant(final String tenantIdentifier, final boolean isReport) {
         try {
             final TenantMapper rm = new TenantMapper(isReport);
             final String sql = "select  " + rm.schema() + " where t.identifier = ?";
 
             return this.jdbcTemplate.queryForObject(sql, rm, new Object[] { tenantIdentifier }); // NOSONAR
         } catch (final EmptyResultDataAccessException e) {
+            this.evict(tenantIdentifier);
             throw new InvalidTenantIdentifierException("The tenant identifier: " + tenantIdentifier + " is not valid.", e);
         }
     }
+
+    private long getRefreshIntervalNanos() {
+        return TimeUnit.SECONDS.toNanos(this.fineractProperties.getRequestContext().getRefreshIntervalSeconds());
+    }
+
+    private record TenantKey(String tenantIdentifier, boolean isReport) {
+    }
+
+    private record LoadedTenant(FineractPlatformTenant tenant, long loadedAt) {
+    }
 }
@@ -123,8 +123,7 @@ public class TwoFactorServiceImpl implements TwoFactorService {
     }
 
     @Override
-    @CachePut(value = "userTFAccessToken", key = "T(org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil)"
-            + ".getTenant().getTenantIdentifier().concat(#user.username).concat(#result.token + 'tok')")
+    @CachePut(value = "userTFAccessToken", key = "#user.username.concat(#result.token + 'tok')")
     public TFAccessToken createAccessTokenFromOTP(final AppUser user, final String otpToken) {
 
         OTPRequest otpRequest = otpRequestRepository.getOTPRequestForUser(user);
@@ -156,8 +155,7 @@ public class TwoFactorServiceImpl implements TwoFactorService {
     }
 
     @Override
-    @CacheEvict(value = "userTFAccessToken", key = "T(org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil)"
-            + ".getTenant().getTenantIdentifier().concat(#user.username).concat(#result.token + 'tok')")
+    @CacheEvict(value = "userTFAccessToken", key = "#user.username.concat(#result.token + 'tok')")
     public TFAccessToken invalidateAccessToken(final AppUser user, final JsonCommand command) {
 
         final String token = command.stringValueOfParameterNamed("token");
@@ -174,8 +172,7 @@ public class TwoFactorServiceImpl implements TwoFactorService {
     }
 
     @Override
-    @Cacheable(value = "userTFAccessToken", key = "T(org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil)"
-            + ".getTenant().getTenantIdentifier().concat(#user.username).concat(#token + 'tok')")
+    @Cacheable(value = "userTFAccessToken", key = "#user.username.concat(#token + 'tok')")
     public TFAccessToken fetchAccessTokenForUser(final AppUser user, final String token) {
         return tfAccessTokenRepository.findByUserAndToken(user, token);
     }
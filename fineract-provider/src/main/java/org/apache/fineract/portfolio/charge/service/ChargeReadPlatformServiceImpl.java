@@ -70,7 +70,7 @@ public class ChargeReadPlatformServiceImpl implements ChargeReadPlatformService
     private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
 
     @Override
-    @Cacheable(value = "charges", key = "T(org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil).getTenant().getTenantIdentifier().concat('ch')")
+    @Cacheable(value = "charges")
     public Collection<ChargeData> retrieveAllCharges() {
         final ChargeMapper rm = new ChargeMapper();
 
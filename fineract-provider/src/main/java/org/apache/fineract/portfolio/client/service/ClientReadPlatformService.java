@@ -23,8 +23,10 @@ import java.util.Collection;
 import org.apache.fineract.infrastructure.core.domain.ExternalId;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.infrastructure.core.service.SearchParameters;
+import org.apache.fineract.infrastructure.core.service.database.ReadReplicaEligible;
 import org.apache.fineract.portfolio.client.data.ClientData;
 
+@ReadReplicaEligible
 public interface ClientReadPlatformService {
 
     ClientData retrieveTemplate(Long officeId, boolean staffInSelectedOfficeOnly);
@@ -19,6 +19,7 @@
 package org.apache.fineract.portfolio.delinquency.domain;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.apache.fineract.portfolio.loanaccount.domain.Loan;
@@ -34,6 +35,8 @@ public interface LoanDelinquencyTagHistoryRepository
 
     Optional<LoanDelinquencyTagHistory> findByLoanAndLiftedOnDate(Loan loan, LocalDate liftedOnDate);
 
+    List<LoanDelinquencyTagHistory> findByLoanIdInAndLiftedOnDateIsNull(Collection<Long> loanIds);
+
     Long countByDelinquencyRangeAndLiftedOnDate(DelinquencyRange delinquencyRange, LocalDate liftedOnDate);
 
     Long countByDelinquencyRange(DelinquencyRange delinquencyRange);
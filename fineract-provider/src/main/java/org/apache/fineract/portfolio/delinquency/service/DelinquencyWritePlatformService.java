@@ -18,6 +18,7 @@
  */
 package org.apache.fineract.portfolio.delinquency.service;
 
+import java.util.Collection;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.portfolio.loanaccount.data.LoanScheduleDelinquencyData;
@@ -47,4 +48,15 @@ public interface DelinquencyWritePlatformService {
 
     void applyDelinquencyTagToLoan(LoanScheduleDelinquencyData loanDelinquencyData);
 
+    /**
+     * Loads the active delinquency tags of the given loans with one query. The next delinquency tag update of each of
+     * these loans on the current thread uses the loaded tag instead of querying it.
+     */
+    void prefetchActiveDelinquencyTags(Collection<Long> loanIds);
+
+    /**
+     * Drops the tags prefetched on the current thread.
+     */
+    void clearPrefetchedDelinquencyTags();
+
 }
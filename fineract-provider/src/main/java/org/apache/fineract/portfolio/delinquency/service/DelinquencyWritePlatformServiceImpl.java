@@ -20,6 +20,7 @@ package org.apache.fineract.portfolio.delinquency.service;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -33,6 +34,7 @@ import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
 import org.apache.fineract.infrastructure.core.exception.PlatformDataIntegrityException;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.event.business.domain.loan.LoanDelinquencyRangeChangeBusinessEvent;
 import org.apache.fineract.infrastructure.event.business.service.BusinessEventNotifierService;
 import org.apache.fineract.portfolio.delinquency.api.DelinquencyApiConstants;
@@ -77,6 +79,8 @@ public class DelinquencyWritePlatformServiceImpl implements DelinquencyWritePlat
     private final LoanDelinquencyDomainService loanDelinquencyDomainService;
     private final LoanInstallmentDelinquencyTagRepository loanInstallmentDelinquencyTagRepository;
 
+    private final ThreadLocal<PrefetchedDelinquencyTags> prefetchedDelinquencyTags = new ThreadLocal<>();
+
     @Override
     public CommandProcessingResult createDelinquencyRange(JsonCommand command) {
         DelinquencyRangeData data = dataValidatorRange.validateAndParseUpdate(command);
@@ -357,7 +361,7 @@ public class DelinquencyWritePlatformServiceImpl implements DelinquencyWritePlat
         Map<String, Object> changes = new HashMap<>();
         List<LoanDelinquencyTagHistory> loanDelinquencyTagHistory = new ArrayList<>();
         final LocalDate transactionDate = DateUtils.getBusinessLocalDate();
-        Optional<LoanDelinquencyTagHistory> optLoanDelinquencyTag = this.loanDelinquencyTagRepository.findByLoanAndLiftedOnDate(loan, null);
+        Optional<LoanDelinquencyTagHistory> optLoanDelinquencyTag = getActiveDelinquencyTag(loan);
         // The delinquencyRangeId in null means just goes out from Delinquency
         LoanDelinquencyTagHistory loanDelinquencyTagPrev = null;
         if (delinquencyRangeId == null) {
@@ -396,6 +400,35 @@ public class DelinquencyWritePlatformServiceImpl implements DelinquencyWritePlat
         return changes;
     }
 
+    @Override
+    public void prefetchActiveDelinquencyTags(Collection<Long> loanIds) {
+        Map<Long, Optional<LoanDelinquencyTagHistory>> activeTags = new HashMap<>();
+        loanIds.forEach(loanId -> activeTags.put(loanId, Optional.empty()));
+        if (!loanIds.isEmpty()) {
+            this.loanDelinquencyTagRepository.findByLoanIdInAndLiftedOnDateIsNull(loanIds)
+                    .forEach(tag -> activeTags.put(tag.getLoan().getId(), Optional.of(tag)));
+        }
+        prefetchedDelinquencyTags.set(new PrefetchedDelinquencyTags(ThreadLocalContextUtil.getTenant().getTenantIdentifier(), activeTags));
+    }
+
+    @Override
+    public void clearPrefetchedDelinquencyTags() {
+        prefetchedDelinquencyTags.remove();
+    }
+
+    private Optional<LoanDelinquencyTagHistory> getActiveDelinquencyTag(Loan loan) {
+        PrefetchedDelinquencyTags prefetched = prefetchedDelinquencyTags.get();
+        // prefetched tags are used only once, any later update of the same loan has to see the current tag
+        if (prefetched != null && prefetched.tenantIdentifier().equals(ThreadLocalContextUtil.getTenant().getTenantIdentifier())
+                && prefetched.activeTags().containsKey(loan.getId())) {
+            return prefetched.activeTags().remove(loan.getId());
+        }
+        return this.loanDelinquencyTagRepository.findByLoanAndLiftedOnDate(loan, null);
+    }
+
+    private record PrefetchedDelinquencyTags(String tenantIdentifier, Map<Long, Optional<LoanDelinquencyTagHistory>> activeTags) {
+    }
+
     private List<DelinquencyRange> sortDelinquencyRangesByMinAge(List<DelinquencyRange> ranges) {
         final Comparator<DelinquencyRange> orderByMinAge = new Comparator<DelinquencyRange>() {
 
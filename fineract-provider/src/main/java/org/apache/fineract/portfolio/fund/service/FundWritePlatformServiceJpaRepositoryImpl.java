@@ -47,7 +47,7 @@ public class FundWritePlatformServiceJpaRepositoryImpl implements FundWritePlatf
 
     @Transactional
     @Override
-    @CacheEvict(value = "funds", key = "T(org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil).getTenant().getTenantIdentifier().concat('fn')")
+    @CacheEvict(value = "funds", allEntries = true)
     public CommandProcessingResult createFund(final JsonCommand command) {
 
         try {
@@ -72,7 +72,7 @@ public class FundWritePlatformServiceJpaRepositoryImpl implements FundWritePlatf
 
     @Transactional
     @Override
-    @CacheEvict(value = "funds", key = "T(org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil).getTenant().getTenantIdentifier().concat('fn')")
+    @CacheEvict(value = "funds", allEntries = true)
     public CommandProcessingResult updateFund(final Long fundId, final JsonCommand command) {
 
         try {
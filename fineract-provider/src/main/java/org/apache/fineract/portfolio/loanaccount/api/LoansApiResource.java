@@ -45,6 +45,7 @@ import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 import jakarta.ws.rs.core.UriInfo;
 import java.io.InputStream;
 import java.math.BigDecimal;
@@ -441,13 +442,22 @@ public class LoansApiResource {
             + "loans/1?fields=id,principal,annualInterestRate&associations=repaymentSchedule,transactions")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "OK", content = @Content(schema = @Schema(implementation = LoansApiResourceSwagger.GetLoansLoanIdResponse.class))) })
-    public String retrieveLoan(@PathParam("loanId") @Parameter(description = "loanId", required = true) final Long loanId,
+    public StreamingOutput retrieveLoan(@PathParam("loanId") @Parameter(description = "loanId", required = true) final Long loanId,
             @DefaultValue("false") @QueryParam("staffInSelectedOfficeOnly") @Parameter(description = "staffInSelectedOfficeOnly") final boolean staffInSelectedOfficeOnly,
             @DefaultValue("all") @QueryParam("associations") @Parameter(in = ParameterIn.QUERY, name = "associations", description = "Loan object relations to be included in the response", required = false, examples = {
                     @ExampleObject(value = "all"), @ExampleObject(value = "repaymentSchedule,transactions") }) final String associations,
             @QueryParam("exclude") @Parameter(in = ParameterIn.QUERY, name = "exclude", description = "Optional Loan object relation list to be filtered in the response", required = false, example = "guarantors,futureSchedule") final String exclude,
             @QueryParam("fields") @Parameter(in = ParameterIn.QUERY, name = "fields", description = "Optional Loan attribute list to be in the response", required = false, example = "id,principal,annualInterestRate") final String fields,
             @Context final UriInfo uriInfo) {
+        return streamLoan(loanId, null, staffInSelectedOfficeOnly, exclude, uriInfo);
+    }
+
+    /**
+     * Same as {@link #retrieveLoan(Long, boolean, String, String, String, UriInfo)}, but returns the response as a String
+     * for the internal callers, like the batch API.
+     */
+    public String retrieveLoanAsJson(final Long loanId, final boolean staffInSelectedOfficeOnly, final String associations,
+            final String exclude, final String fields, final UriInfo uriInfo) {
         return retrieveLoan(loanId, null, staffInSelectedOfficeOnly, exclude, uriInfo);
     }
 
@@ -459,7 +469,7 @@ public class LoansApiResource {
             + "loans?orderBy=accountNo&sortOrder=DESC")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "OK", content = @Content(schema = @Schema(implementation = LoansApiResourceSwagger.GetLoansResponse.class))) })
-    public String retrieveAll(@Context final UriInfo uriInfo,
+    public StreamingOutput retrieveAll(@Context final UriInfo uriInfo,
             @QueryParam("sqlSearch") @Parameter(description = "sqlSearch") final String sqlSearch,
             @QueryParam("externalId") @Parameter(description = "externalId") final String externalId,
             // @QueryParam("underHierarchy") final String hierarchy,
@@ -477,7 +487,7 @@ public class LoansApiResource {
         final Page<LoanAccountData> loanBasicDetails = this.loanReadPlatformService.retrieveAll(searchParameters);
 
         final ApiRequestJsonSerializationSettings settings = this.apiRequestParameterHelper.process(uriInfo.getQueryParameters());
-        return this.toApiJsonSerializer.serialize(settings, loanBasicDetails, LOAN_DATA_PARAMETERS);
+        return this.toApiJsonSerializer.serializeStreaming(settings, loanBasicDetails, LOAN_DATA_PARAMETERS);
     }
 
     @POST
@@ -699,7 +709,7 @@ public class LoansApiResource {
             + "loans/external-id/7dd80a7c-ycba-a446-t378-91eb6f53e854?fields=id,principal,annualInterestRate&associations=repaymentSchedule,transactions")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "OK", content = @Content(schema = @Schema(implementation = LoansApiResourceSwagger.GetLoansLoanIdResponse.class))) })
-    public String retrieveLoan(
+    public StreamingOutput retrieveLoan(
             @PathParam("loanExternalId") @Parameter(description = "loanExternalId", required = true) final String loanExternalId,
             @DefaultValue("false") @QueryParam("staffInSelectedOfficeOnly") @Parameter(description = "staffInSelectedOfficeOnly") final boolean staffInSelectedOfficeOnly,
             @DefaultValue("all") @QueryParam("associations") @Parameter(in = ParameterIn.QUERY, name = "associations", description = "Loan object relations to be included in the response", required = false, examples = {
@@ -707,6 +717,15 @@ public class LoansApiResource {
             @QueryParam("exclude") @Parameter(in = ParameterIn.QUERY, name = "exclude", description = "Optional Loan object relation list to be filtered in the response", required = false, example = "guarantors,futureSchedule") final String exclude,
             @QueryParam("fields") @Parameter(in = ParameterIn.QUERY, name = "fields", description = "Optional Loan attribute list to be in the response", required = false, example = "id,principal,annualInterestRate") final String fields,
             @Context final UriInfo uriInfo) {
+        return streamLoan(null, loanExternalId, staffInSelectedOfficeOnly, exclude, uriInfo);
+    }
+
+    /**
+     * Same as {@link #retrieveLoan(String, boolean, String, String, String, UriInfo)}, but returns the response as a
+     * String for the internal callers, like the batch API.
+     */
+    public String retrieveLoanAsJson(final String loanExternalId, final boolean staffInSelectedOfficeOnly, final String associations,
+            final String exclude, final String fields, final UriInfo uriInfo) {
         return retrieveLoan(null, loanExternalId, staffInSelectedOfficeOnly, exclude, uriInfo);
     }
 
@@ -795,6 +814,27 @@ public class LoansApiResource {
 
     private String retrieveLoan(final Long loanId, final String loanExternalIdStr, boolean staffInSelectedOfficeOnly, final String exclude,
             final UriInfo uriInfo) {
+        final Set<String> mandatoryResponseParameters = new HashSet<>();
+        final LoanAccountData loanAccount = retrieveLoanAccount(loanId, loanExternalIdStr, staffInSelectedOfficeOnly, exclude, uriInfo,
+                mandatoryResponseParameters);
+        final ApiRequestJsonSerializationSettings settings = this.apiRequestParameterHelper.process(uriInfo.getQueryParameters(),
+                mandatoryResponseParameters);
+        return this.toApiJsonSerializer.serialize(settings, loanAccount, LOAN_DATA_PARAMETERS);
+    }
+
+    // a loan with all its associations is large, it is written to the response without building the JSON String
+    private StreamingOutput streamLoan(final Long loanId, final String loanExternalIdStr, boolean staffInSelectedOfficeOnly,
+            final String exclude, final UriInfo uriInfo) {
+        final Set<String> mandatoryResponseParameters = new HashSet<>();
+        final LoanAccountData loanAccount = retrieveLoanAccount(loanId, loanExternalIdStr, staffInSelectedOfficeOnly, exclude, uriInfo,
+                mandatoryResponseParameters);
+        final ApiRequestJsonSerializationSettings settings = this.apiRequestParameterHelper.process(uriInfo.getQueryParameters(),
+                mandatoryResponseParameters);
+        return this.toApiJsonSerializer.serializeStreaming(settings, loanAccount, LOAN_DATA_PARAMETERS);
+    }
+
+    private LoanAccountData retrieveLoanAccount(final Long loanId, final String loanExternalIdStr, boolean staffInSelectedOfficeOnly,
+            final String exclude, final UriInfo uriInfo, final Set<String> mandatoryResponseParameters) {
         this.context.authenticatedUser().validateHasReadPermission(RESOURCE_NAME_FOR_PERMISSIONS);
         ExternalId loanExternalId = ExternalIdFactory.produce(loanExternalIdStr);
         Long resolvedLoanId = getResolvedLoanId(loanId, loanExternalId);
@@ -845,7 +885,6 @@ public class LoansApiResource {
         Collection<LoanCollateralManagementData> loanCollateralManagementData = new ArrayList<>();
         CollectionData collectionData = this.delinquencyReadPlatformService.calculateLoanCollectionData(resolvedLoanId);
 
-        final Set<String> mandatoryResponseParameters = new HashSet<>();
         final Set<String> associationParameters = ApiParameterHelper.extractAssociationsForResponseIfProvided(uriInfo.getQueryParameters());
         final Collection<LoanTransactionData> currentLoanRepayments = this.loanReadPlatformService.retrieveLoanTransactions(resolvedLoanId);
         if (!associationParameters.isEmpty()) {
@@ -1054,18 +1093,14 @@ public class LoansApiResource {
                     .setSummary(LoanSummaryData.withTransactionAmountsSummary(loanBasicDetails.getSummary(), currentLoanRepayments));
         }
 
-        final LoanAccountData loanAccount = LoanAccountData.associationsAndTemplate(loanBasicDetails, repaymentSchedule, loanRepayments,
-                charges, loanCollateralManagementData, guarantors, meeting, productOptions, loanTermFrequencyTypeOptions,
+        return LoanAccountData.associationsAndTemplate(loanBasicDetails, repaymentSchedule, loanRepayments, charges,
+                loanCollateralManagementData, guarantors, meeting, productOptions, loanTermFrequencyTypeOptions,
                 repaymentFrequencyTypeOptions, repaymentFrequencyNthDayTypeOptions, repaymentFrequencyDayOfWeekTypeOptions,
                 repaymentStrategyOptions, interestRateFrequencyTypeOptions, amortizationTypeOptions, interestTypeOptions,
                 interestCalculationPeriodTypeOptions, fundOptions, chargeOptions, chargeTemplate, allowedLoanOfficers, loanPurposeOptions,
                 loanCollateralOptions, calendarOptions, notes, accountLinkingOptions, linkedAccount, disbursementData, emiAmountVariations,
                 overdueCharges, paidInAdvanceTemplate, interestRatesPeriods, clientActiveLoanOptions, rates, isRatesEnabled,
                 collectionData);
-
-        final ApiRequestJsonSerializationSettings settings = this.apiRequestParameterHelper.process(uriInfo.getQueryParameters(),
-                mandatoryResponseParameters);
-        return this.toApiJsonSerializer.serialize(settings, loanAccount, LOAN_DATA_PARAMETERS);
     }
 
     private String modifyLoanApplication(final Long loanId, final String loanExternalIdStr, final String commandParam,
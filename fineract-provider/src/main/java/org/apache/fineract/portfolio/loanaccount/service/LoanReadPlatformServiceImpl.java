@@ -1652,13 +1652,21 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService, Loa
 
     @Override
     public Collection<OverdueLoanScheduleData> retrieveAllOverdueInstallmentsForLoan(final Loan loan) {
+        if (!loan.isOpen()) {
+            return new ArrayList<>();
+        }
+        return retrieveAllOverdueInstallmentsForLoan(loan, configurationDomainService.retrievePenaltyWaitPeriod(),
+                configurationDomainService.isBackdatePenaltiesEnabled());
+    }
+
+    @Override
+    public Collection<OverdueLoanScheduleData> retrieveAllOverdueInstallmentsForLoan(final Loan loan, final Long penaltyWaitPeriod,
+            final boolean backdatePenalties) {
         Collection<OverdueLoanScheduleData> list = new ArrayList<>();
 
         if (!loan.isOpen()) {
             return list;
         }
-        final Long penaltyWaitPeriod = configurationDomainService.retrievePenaltyWaitPeriod();
-        final boolean backdatePenalties = configurationDomainService.isBackdatePenaltiesEnabled();
 
         for (LoanRepaymentScheduleInstallment installment : loan.getRepaymentScheduleInstallments()) {
             if (installment.isObligationsMet() || installment.isRecalculatedInterestComponent()) {
@@ -93,7 +93,7 @@ public class SelfLoansApiResource {
         final String associations = LoanApiConstants.LOAN_ASSOCIATIONS_ALL;
         final String exclude = null;
         final String fields = null;
-        return this.loansApiResource.retrieveLoan(loanId, staffInSelectedOfficeOnly, associations, exclude, fields, uriInfo);
+        return this.loansApiResource.retrieveLoanAsJson(loanId, staffInSelectedOfficeOnly, associations, exclude, fields, uriInfo);
     }
 
     @GET
@@ -0,0 +1,160 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.useradministration.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.infrastructure.configuration.domain.GlobalConfigurationRepositoryWrapper;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.useradministration.domain.Permission;
+import org.apache.fineract.useradministration.domain.PermissionRepository;
+import org.apache.fineract.useradministration.exception.PermissionNotFoundException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Tenant scoped, in-memory snapshot of the maker-checker global configuration and the maker-checker flags of the
+ * permissions.
+ * <p>
+ * The snapshot of a tenant is loaded on first use and dropped whenever the permissions or the maker-checker
+ * configuration are modified, so deciding whether a command needs a checker does not hit the database for every
+ * command. Modifications increase the maker-checker version in {@code c_configuration_version}, which is checked at
+ * most once per the global configuration version check interval, so the other nodes pick up the change as well.
+ */
+@Component
+@RequiredArgsConstructor
+public class MakerCheckerPermissionCache {
+
+    public static final String MAKER_CHECKER_CONFIGURATION = "maker-checker";
+    static final long CONFIGURATION_VERSION_ID = 3L;
+
+    private final PermissionRepository permissionRepository;
+    private final GlobalConfigurationRepositoryWrapper globalConfigurationRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final FineractProperties fineractProperties;
+
+    private final Map<String, MakerCheckerSnapshot> snapshotsByTenant = new ConcurrentHashMap<>();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public boolean isMakerCheckerEnabledForTask(String taskPermissionCode) {
+        MakerCheckerSnapshot snapshot = getSnapshot();
+        if (!snapshot.enabled()) {
+            return false;
+        }
+        Boolean makerChecker = snapshot.permissions().get(normalize(taskPermissionCode));
+        if (makerChecker != null) {
+            return makerChecker;
+        }
+        // a permission created since the snapshot was taken (e.g. for a new report)
+        Permission permission = permissionRepository.findOneByCode(taskPermissionCode);
+        if (permission == null) {
+            throw new PermissionNotFoundException(taskPermissionCode);
+        }
+        return permission.hasMakerCheckerEnabled();
+    }
+
+    /**
+     * Increases the maker-checker version in the current transaction and drops the snapshot of the current tenant. When
+     * called within a transaction, the snapshot is dropped again once the transaction completes so that the next lookup
+     * sees the committed permissions.
+     */
+    public void evict() {
+        jdbcTemplate.update("UPDATE c_configuration_version SET version = version + 1 WHERE id = ?", CONFIGURATION_VERSION_ID);
+        String tenantIdentifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+        remove(tenantIdentifier);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCompletion(int status) {
+                    remove(tenantIdentifier);
+                }
+            });
+        }
+    }
+
+    private void remove(String tenantIdentifier) {
+        snapshotsByTenant.compute(tenantIdentifier, (tenant, snapshot) -> {
+            evictions.incrementAndGet();
+            return null;
+        });
+    }
+
+    private MakerCheckerSnapshot getSnapshot() {
+        String tenantIdentifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+        MakerCheckerSnapshot snapshot = snapshotsByTenant.get(tenantIdentifier);
+        long now = System.nanoTime();
+        if (snapshot != null && now - snapshot.checkedAt() < getVersionCheckIntervalNanos()) {
+            return snapshot;
+        }
+        long evictionsBeforeLoad = evictions.get();
+        long version = readVersion();
+        MakerCheckerSnapshot loaded = snapshot != null && snapshot.version() == version ? snapshot.checkedAt(now)
+                : loadSnapshot(version, now);
+        // a snapshot loaded while the permissions were evicted may be stale, so it is only used for this lookup
+        snapshotsByTenant.compute(tenantIdentifier, (tenant, current) -> evictions.get() == evictionsBeforeLoad ? loaded : current);
+        return loaded;
+    }
+
+    // the version is read before the permissions, so a modification committed in between is reloaded on the next check
+    private MakerCheckerSnapshot loadSnapshot(long version, long now) {
+        boolean enabled = globalConfigurationRepository.findOneByNameWithNotFoundDetection(MAKER_CHECKER_CONFIGURATION).toData()
+                .isEnabled();
+        List<Permission> allPermissions = permissionRepository.findAll();
+        Map<String, Boolean> permissions = new HashMap<>(allPermissions.size());
+        for (Permission permission : allPermissions) {
+            if (permission.getCode() == null) {
+                continue;
+            }
+            permissions.merge(normalize(permission.getCode()), permission.hasMakerCheckerEnabled(), Boolean::logicalOr);
+        }
+        return new MakerCheckerSnapshot(version, enabled, Map.copyOf(permissions), now);
+    }
+
+    private long readVersion() {
+        Long version = jdbcTemplate.queryForObject("SELECT version FROM c_configuration_version WHERE id = ?", Long.class,
+                CONFIGURATION_VERSION_ID);
+        return version == null ? 0L : version;
+    }
+
+    private long getVersionCheckIntervalNanos() {
+        return TimeUnit.SECONDS.toNanos(fineractProperties.getGlobalConfiguration().getVersionCheckIntervalSeconds());
+    }
+
+    // the same matching as PermissionRepository.findOneByCode
+    private static String normalize(String code) {
+        return code.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record MakerCheckerSnapshot(long version, boolean enabled, Map<String, Boolean> permissions, long checkedAt) {
+
+        MakerCheckerSnapshot checkedAt(long now) {
+            return new MakerCheckerSnapshot(version, enabled, permissions, now);
+        }
+    }
+}
@@ -29,6 +29,7 @@ import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
 import org.apache.fineract.infrastructure.core.exception.PlatformDataIntegrityException;
+import org.apache.fineract.infrastructure.security.service.AuthenticatedCredentialCache;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.useradministration.command.PermissionsCommand;
 import org.apache.fineract.useradministration.domain.Permission;
@@ -54,6 +55,7 @@ public class RoleWritePlatformServiceJpaRepositoryImpl implements RoleWritePlatf
     private final PermissionRepository permissionRepository;
     private final RoleDataValidator roleCommandFromApiJsonDeserializer;
     private final PermissionsCommandFromApiJsonDeserializer permissionsFromApiJsonDeserializer;
+    private final AuthenticatedCredentialCache authenticatedCredentialCache;
 
     @Transactional
     @Override
@@ -118,6 +120,7 @@ public class RoleWritePlatformServiceJpaRepositoryImpl implements RoleWritePlatf
             final Map<String, Object> changes = role.update(command);
             if (!changes.isEmpty()) {
                 this.roleRepository.saveAndFlush(role);
+                this.authenticatedCredentialCache.evict();
             }
 
             return new CommandProcessingResultBuilder() //
@@ -167,6 +170,7 @@ public class RoleWritePlatformServiceJpaRepositoryImpl implements RoleWritePlatf
         if (!changedPermissions.isEmpty()) {
             changes.put("permissions", changedPermissions);
             this.roleRepository.saveAndFlush(role);
+            this.authenticatedCredentialCache.evict();
         }
 
         return new CommandProcessingResultBuilder() //
@@ -210,6 +214,7 @@ public class RoleWritePlatformServiceJpaRepositoryImpl implements RoleWritePlatf
             }
 
             this.roleRepository.delete(role);
+            this.authenticatedCredentialCache.evict();
             return new CommandProcessingResultBuilder().withEntityId(roleId).build();
         } catch (final JpaSystemException | DataIntegrityViolationException e) {
             throw new PlatformDataIntegrityException("error.msg.unknown.data.integrity.issue",
@@ -243,6 +248,7 @@ public class RoleWritePlatformServiceJpaRepositoryImpl implements RoleWritePlatf
              */
             role.disableRole();
             this.roleRepository.saveAndFlush(role);
+            this.authenticatedCredentialCache.evict();
             return new CommandProcessingResultBuilder().withEntityId(roleId).build();
 
         } catch (final JpaSystemException | DataIntegrityViolationException e) {
@@ -266,6 +272,7 @@ public class RoleWritePlatformServiceJpaRepositoryImpl implements RoleWritePlatf
 
             role.enableRole();
             this.roleRepository.saveAndFlush(role);
+            this.authenticatedCredentialCache.evict();
             return new CommandProcessingResultBuilder().withEntityId(roleId).build();
 
         } catch (final JpaSystemException | DataIntegrityViolationException e) {
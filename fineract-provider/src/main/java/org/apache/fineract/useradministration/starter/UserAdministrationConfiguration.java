@@ -19,6 +19,7 @@
 package org.apache.fineract.useradministration.starter;
 
 import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.security.service.AuthenticatedCredentialCache;
 import org.apache.fineract.infrastructure.security.service.PlatformPasswordEncoder;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.organisation.office.domain.OfficeRepositoryWrapper;
@@ -38,6 +39,7 @@ import org.apache.fineract.useradministration.service.AppUserReadPlatformService
 import org.apache.fineract.useradministration.service.AppUserReadPlatformServiceImpl;
 import org.apache.fineract.useradministration.service.AppUserWritePlatformService;
 import org.apache.fineract.useradministration.service.AppUserWritePlatformServiceJpaRepositoryImpl;
+import org.apache.fineract.useradministration.service.MakerCheckerPermissionCache;
 import org.apache.fineract.useradministration.service.PasswordPreferencesWritePlatformService;
 import org.apache.fineract.useradministration.service.PasswordPreferencesWritePlatformServiceJpaRepositoryImpl;
 import org.apache.fineract.useradministration.service.PasswordValidationPolicyReadPlatformService;
@@ -75,10 +77,10 @@ public class UserAdministrationConfiguration {
             PlatformPasswordEncoder platformPasswordEncoder, AppUserRepository appUserRepository,
             OfficeRepositoryWrapper officeRepositoryWrapper, RoleRepository roleRepository, UserDataValidator fromApiJsonDeserializer,
             AppUserPreviousPasswordRepository appUserPreviewPasswordRepository, StaffRepositoryWrapper staffRepositoryWrapper,
-            ClientRepositoryWrapper clientRepositoryWrapper) {
+            ClientRepositoryWrapper clientRepositoryWrapper, AuthenticatedCredentialCache authenticatedCredentialCache) {
         return new AppUserWritePlatformServiceJpaRepositoryImpl(context, userDomainService, platformPasswordEncoder, appUserRepository,
                 officeRepositoryWrapper, roleRepository, fromApiJsonDeserializer, appUserPreviewPasswordRepository, staffRepositoryWrapper,
-                clientRepositoryWrapper);
+                clientRepositoryWrapper, authenticatedCredentialCache);
     }
 
     @Bean
@@ -105,8 +107,10 @@ public class UserAdministrationConfiguration {
     @Bean
     @ConditionalOnMissingBean(PermissionWritePlatformService.class)
     public PermissionWritePlatformService permissionWritePlatformService(PlatformSecurityContext context,
-            PermissionRepository permissionRepository, PermissionsCommandFromApiJsonDeserializer fromApiJsonDeserializer) {
-        return new PermissionWritePlatformServiceJpaRepositoryImpl(context, permissionRepository, fromApiJsonDeserializer);
+            PermissionRepository permissionRepository, PermissionsCommandFromApiJsonDeserializer fromApiJsonDeserializer,
+            MakerCheckerPermissionCache makerCheckerPermissionCache) {
+        return new PermissionWritePlatformServiceJpaRepositoryImpl(context, permissionRepository, fromApiJsonDeserializer,
+                makerCheckerPermissionCache);
     }
 
     @Bean
@@ -119,8 +123,9 @@ public class UserAdministrationConfiguration {
     @ConditionalOnMissingBean(RoleWritePlatformService.class)
     public RoleWritePlatformService roleWritePlatformService(PlatformSecurityContext context, RoleRepository roleRepository,
             PermissionRepository permissionRepository, RoleDataValidator roleCommandFromApiJsonDeserializer,
-            PermissionsCommandFromApiJsonDeserializer permissionsFromApiJsonDeserializer) {
+            PermissionsCommandFromApiJsonDeserializer permissionsFromApiJsonDeserializer,
+            AuthenticatedCredentialCache authenticatedCredentialCache) {
         return new RoleWritePlatformServiceJpaRepositoryImpl(context, roleRepository, permissionRepository,
-                roleCommandFromApiJsonDeserializer, permissionsFromApiJsonDeserializer);
+                roleCommandFromApiJsonDeserializer, permissionsFromApiJsonDeserializer, authenticatedCredentialCache);
     }
 }
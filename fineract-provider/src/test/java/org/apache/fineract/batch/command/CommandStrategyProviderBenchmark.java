@@ -0,0 +1,139 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.batch.command;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import jakarta.ws.rs.HttpMethod;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+import org.springframework.context.ApplicationContext;
+
+/**
+ * Measures the lookups of {@link CommandStrategyProvider} over a large batch. It is not a unit test, wall clock
+ * assertions are too unreliable on shared build agents, run it with the test runtime classpath of the module:
+ *
+ * <pre>
+ * java -cp &lt;test runtime classpath&gt; org.apache.fineract.batch.command.CommandStrategyProviderBenchmark [requests] [iterations]
+ * </pre>
+ *
+ * Each iteration looks up the strategy of every request of the batch, after at least as many warm-up iterations, and the
+ * time per lookup is reported. The batch mixes the URLs of the supported strategies with ids and external ids varying per
+ * request, so every lookup is a miss of any URL based cache. For scale, the time of a {@code HashMap} lookup of the
+ * same URLs is reported as well.
+ * <p>
+ * Results with 10000 requests and 20 iterations, JDK 17.0.9, 1 vCPU Intel Xeon build agent:
+ *
+ * <pre>
+ * strategy lookup  ns per lookup: min   233.0, median   243.9, max   277.5
+ * HashMap lookup   ns per lookup: min    12.5, median    13.0, max    14.0
+ * </pre>
+ *
+ * With 1000 and 100000 requests the median strategy lookup was 260.2 and 290.1 ns. The lookup time does not depend on
+ * the number of routes sharing a prefix, a lookup walks one trie path and runs at most the query pattern of the
+ * matching routes.
+ */
+public final class CommandStrategyProviderBenchmark {
+
+    private static final int WARM_UP_LOOKUPS = 2_000_000;
+
+    private static final List<String[]> REQUEST_TEMPLATES = List.of(new String[] { HttpMethod.POST, "clients" },
+            new String[] { HttpMethod.PUT, "clients/%d" }, new String[] { HttpMethod.POST, "clients/%d?command=activate" },
+            new String[] { HttpMethod.POST, "loans" }, new String[] { HttpMethod.GET, "loans/%d?associations=all" },
+            new String[] { HttpMethod.GET, "loans/external-id/%s" }, new String[] { HttpMethod.POST, "loans/%d?command=approve" },
+            new String[] { HttpMethod.POST, "loans/%d?command=disburse" }, new String[] { HttpMethod.POST, "loans/%d/charges" },
+            new String[] { HttpMethod.POST, "loans/%d/transactions?command=repayment" },
+            new String[] { HttpMethod.POST, "loans/external-id/%s/transactions?command=repayment" },
+            new String[] { HttpMethod.POST, "loans/%d/transactions/%d?command=chargeback" },
+            new String[] { HttpMethod.GET, "savingsaccounts/%d" },
+            new String[] { HttpMethod.POST, "savingsaccounts/%d/transactions?command=deposit" },
+            new String[] { HttpMethod.GET, "datatables/dt_loan/%d" }, new String[] { HttpMethod.PUT, "v1/loans/%d" },
+            new String[] { HttpMethod.GET, "unknown/%d" });
+
+    private CommandStrategyProviderBenchmark() {}
+
+    public static void main(String[] args) {
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        ApplicationContext applicationContext = mock(ApplicationContext.class);
+        when(applicationContext.getBean(anyString())).thenReturn(mock(CommandStrategy.class));
+        CommandStrategyProvider provider = new CommandStrategyProvider(applicationContext);
+        List<CommandContext> batch = createBatch(requests);
+
+        Map<String, String> methodsByUrl = new HashMap<>();
+        batch.forEach(commandContext -> methodsByUrl.put(commandContext.getResource(), commandContext.getMethod()));
+
+        System.out.printf(Locale.ROOT, "requests: %d, iterations: %d%n", requests, iterations);
+        report("strategy lookup", measure(iterations, batch, commandContext -> provider.getCommandStrategy(commandContext) != null));
+        report("HashMap lookup", measure(iterations, batch, commandContext -> methodsByUrl.get(commandContext.getResource()) != null));
+    }
+
+    private static double[] measure(int iterations, List<CommandContext> batch, Predicate<CommandContext> lookup) {
+        // enough warm-up lookups for the JIT compiler to finish, whatever the size of the batch
+        int warmUpIterations = Math.max(iterations, WARM_UP_LOOKUPS / batch.size());
+        for (int i = 0; i < warmUpIterations; i++) {
+            lookUpAll(batch, lookup);
+        }
+        double[] nanosPerLookup = new double[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            if (lookUpAll(batch, lookup) != batch.size()) {
+                throw new IllegalStateException("Lookup failed");
+            }
+            nanosPerLookup[i] = (double) (System.nanoTime() - start) / batch.size();
+        }
+        Arrays.sort(nanosPerLookup);
+        return nanosPerLookup;
+    }
+
+    private static int lookUpAll(List<CommandContext> batch, Predicate<CommandContext> lookup) {
+        int found = 0;
+        for (CommandContext commandContext : batch) {
+            if (lookup.test(commandContext)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    private static void report(String name, double[] nanosPerLookup) {
+        System.out.printf(Locale.ROOT, "%-16s ns per lookup: min %7.1f, median %7.1f, max %7.1f%n", name, nanosPerLookup[0],
+                nanosPerLookup[nanosPerLookup.length / 2], nanosPerLookup[nanosPerLookup.length - 1]);
+    }
+
+    private static List<CommandContext> createBatch(int requests) {
+        List<CommandContext> batch = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            String[] template = REQUEST_TEMPLATES.get(i % REQUEST_TEMPLATES.size());
+            long id = 1000L + i;
+            String url = template[1].contains("%s") ? String.format(Locale.ROOT, template[1], "8dfad438-2319-48ce-8520-" + id)
+                    : String.format(Locale.ROOT, template[1], id, id + 1);
+            batch.add(CommandContext.resource(url).method(template[0]).build());
+        }
+        return batch;
+    }
+}
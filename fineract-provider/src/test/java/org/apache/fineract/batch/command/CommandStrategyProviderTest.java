@@ -19,10 +19,16 @@
 package org.apache.fineract.batch.command;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import jakarta.ws.rs.HttpMethod;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 import org.apache.fineract.batch.command.internal.ActivateClientCommandStrategy;
 import org.apache.fineract.batch.command.internal.AdjustChargeByChargeExternalIdCommandStrategy;
@@ -58,6 +64,7 @@ import org.apache.fineract.batch.command.internal.UnknownCommandStrategy;
 import org.apache.fineract.batch.command.internal.UpdateClientCommandStrategy;
 import org.apache.fineract.batch.command.internal.UpdateDatatableEntryOneToManyCommandStrategy;
 import org.apache.fineract.batch.command.internal.UpdateDatatableEntryOneToOneCommandStrategy;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -280,4 +287,30 @@ public class CommandStrategyProviderTest {
         final CommandStrategy result = commandStrategyProvider.getCommandStrategy(CommandContext.resource(url).method(httpMethod).build());
         assertEquals(UnknownCommandStrategy.class, result.getClass());
     }
+
+    /**
+     * Tests {@link CommandStrategyProvider#getCommandStrategy} resolves each strategy bean only once for a batch with
+     * thousands of requests.
+     */
+    @Test
+    public void testGetCommandStrategyResolvesBeanOnceForLargeBatches() {
+        final ApplicationContext applicationContext = mock(ApplicationContext.class);
+        final CommandStrategyProvider commandStrategyProvider = new CommandStrategyProvider(applicationContext);
+        final List<Arguments> arguments = provideCommandStrategies().toList();
+        final Map<String, Object> beans = new HashMap<>();
+        arguments.forEach(argument -> beans.putIfAbsent((String) argument.get()[2], argument.get()[3]));
+        beans.forEach((beanName, bean) -> when(applicationContext.getBean(beanName)).thenReturn(bean));
+        final List<CommandContext> requests = arguments.stream()
+                .map(argument -> CommandContext.resource("v1/" + argument.get()[0]).method((String) argument.get()[1]).build()).toList();
+
+        for (int i = 0; i < 10_000; i++) {
+            commandStrategyProvider.getCommandStrategy(requests.get(i % requests.size()));
+        }
+
+        for (int i = 0; i < requests.size(); i++) {
+            assertSame(beans.get((String) arguments.get(i).get()[2]), commandStrategyProvider.getCommandStrategy(requests.get(i)));
+        }
+
+        beans.keySet().forEach(beanName -> verify(applicationContext, times(1)).getBean(beanName));
+    }
 }
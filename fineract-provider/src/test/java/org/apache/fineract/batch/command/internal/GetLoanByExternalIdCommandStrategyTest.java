@@ -78,8 +78,8 @@ public class GetLoanByExternalIdCommandStrategyTest {
         final Boolean staffInSelectedOfficeOnlyBooleanFlag = BooleanUtils.toBoolean(staffInSelectedOfficeOnlyFlag);
         final String responseBody = "{\\\"id\\\":2,\\\"accountNo\\\":\\\"000000002\\\"}";
 
-        given(testContext.loansApiResource.retrieveLoan(eq(loanExternalId), eq(staffInSelectedOfficeOnlyBooleanFlag), eq(associations),
-                eq(exclude), eq(fields), any(UriInfo.class))).willReturn(responseBody);
+        given(testContext.loansApiResource.retrieveLoanAsJson(eq(loanExternalId), eq(staffInSelectedOfficeOnlyBooleanFlag),
+                eq(associations), eq(exclude), eq(fields), any(UriInfo.class))).willReturn(responseBody);
 
         // when
         final BatchResponse response = testContext.underTest.execute(request, testContext.uriInfo);
@@ -90,8 +90,8 @@ public class GetLoanByExternalIdCommandStrategyTest {
         assertEquals(request.getHeaders(), response.getHeaders());
         assertEquals(responseBody, response.getBody());
 
-        verify(testContext.loansApiResource).retrieveLoan(eq(loanExternalId), eq(staffInSelectedOfficeOnlyBooleanFlag), eq(associations),
-                eq(exclude), eq(fields), testContext.uriInfoCaptor.capture());
+        verify(testContext.loansApiResource).retrieveLoanAsJson(eq(loanExternalId), eq(staffInSelectedOfficeOnlyBooleanFlag),
+                eq(associations), eq(exclude), eq(fields), testContext.uriInfoCaptor.capture());
         final MutableUriInfo mutableUriInfo = testContext.uriInfoCaptor.getValue();
         assertEquals(noOfQueryParams, mutableUriInfo.getAdditionalQueryParameters().size());
     }
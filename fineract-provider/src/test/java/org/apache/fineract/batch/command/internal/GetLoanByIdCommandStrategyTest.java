@@ -70,7 +70,7 @@ public class GetLoanByIdCommandStrategyTest {
         final BatchRequest request = getBatchRequest(loanId, associations, exclude, fields);
         final String responseBody = "{\\\"id\\\":2,\\\"accountNo\\\":\\\"000000002\\\"}";
 
-        given(testContext.loansApiResource.retrieveLoan(eq(loanId), eq(false), eq(associations), eq(exclude), eq(fields),
+        given(testContext.loansApiResource.retrieveLoanAsJson(eq(loanId), eq(false), eq(associations), eq(exclude), eq(fields),
                 any(UriInfo.class))).willReturn(responseBody);
 
         // when
@@ -82,7 +82,7 @@ public class GetLoanByIdCommandStrategyTest {
         assertThat(response.getHeaders()).isEqualTo(request.getHeaders());
         assertThat(response.getBody()).isEqualTo(responseBody);
 
-        verify(testContext.loansApiResource).retrieveLoan(eq(loanId), eq(false), eq(associations), eq(exclude), eq(fields),
+        verify(testContext.loansApiResource).retrieveLoanAsJson(eq(loanId), eq(false), eq(associations), eq(exclude), eq(fields),
                 testContext.uriInfoCaptor.capture());
         MutableUriInfo mutableUriInfo = testContext.uriInfoCaptor.getValue();
         assertThat(mutableUriInfo.getAdditionalQueryParameters()).hasSize(noOfQueryParams);
@@ -0,0 +1,72 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.batch.serialization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.gson.JsonSyntaxException;
+import java.io.StringReader;
+import java.util.Iterator;
+import org.apache.fineract.batch.domain.BatchRequest;
+import org.junit.jupiter.api.Test;
+
+class BatchRequestJsonHelperTest {
+
+    private final BatchRequestJsonHelper helper = new BatchRequestJsonHelper();
+
+    @Test
+    public void testExtractIteratorReadsRequestsOneByOne() {
+        // given
+        String json = "[{\"requestId\":1,\"relativeUrl\":\"clients/1\",\"method\":\"GET\"},"
+                + "{\"requestId\":2,\"relativeUrl\":\"clients/2\",\"method\":\"GET\"}]";
+        // when
+        Iterator<BatchRequest> requests = helper.extractIterator(new StringReader(json));
+        // then
+        assertThat(requests.next().getRelativeUrl()).isEqualTo("clients/1");
+        assertThat(requests.next().getRelativeUrl()).isEqualTo("clients/2");
+        assertThat(requests.hasNext()).isFalse();
+    }
+
+    @Test
+    public void testExtractIteratorRejectsBodyWhichIsNotAnArray() {
+        // given
+        String json = "{\"requestId\":1,\"relativeUrl\":\"clients/1\",\"method\":\"GET\"}";
+        // when + then
+        assertThrows(JsonSyntaxException.class, () -> helper.extractIterator(new StringReader(json)));
+    }
+
+    @Test
+    public void testExtractIteratorRejectsEmptyBody() {
+        // when + then
+        assertThrows(JsonSyntaxException.class, () -> helper.extractIterator(new StringReader("")));
+    }
+
+    @Test
+    public void testExtractIteratorThrowsSyntaxErrorOfLaterRequestOnRead() {
+        // given
+        Iterator<BatchRequest> requests = helper
+                .extractIterator(new StringReader("[{\"requestId\":1,\"relativeUrl\":\"clients/1\",\"method\":\"GET\"}, oops"));
+        // when
+        BatchRequest first = requests.next();
+        // then
+        assertThat(first.getRequestId()).isEqualTo(1L);
+        assertThrows(JsonSyntaxException.class, requests::next);
+    }
+}
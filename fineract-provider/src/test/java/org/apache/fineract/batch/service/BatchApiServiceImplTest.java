@@ -0,0 +1,272 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.batch.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import jakarta.persistence.EntityManager;
+import jakarta.ws.rs.core.UriInfo;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+import org.apache.fineract.batch.command.CommandStrategy;
+import org.apache.fineract.batch.command.CommandStrategyProvider;
+import org.apache.fineract.batch.domain.BatchRequest;
+import org.apache.fineract.batch.domain.BatchResponse;
+import org.apache.fineract.batch.exception.ErrorHandler;
+import org.apache.fineract.batch.exception.ErrorInfo;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class BatchApiServiceImplTest {
+
+    private static final int MAX_CONCURRENT_ROOTS_PER_TENANT = 2;
+
+    @Mock
+    private CommandStrategyProvider strategyProvider;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private ErrorHandler errorHandler;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private UriInfo uriInfo;
+
+    private final FineractProperties fineractProperties = new FineractProperties();
+    private final Authentication authentication = new TestingAuthenticationToken("mifos", "password");
+
+    private BatchApiServiceImpl underTest;
+
+    @BeforeEach
+    public void setUp() {
+        FineractProperties.FineractBatchApiProperties batchProperties = new FineractProperties.FineractBatchApiProperties();
+        batchProperties.setParallelEnabled(true);
+        batchProperties.setParallelThreadPoolSize(4);
+        batchProperties.setParallelMaxConcurrentRootsPerTenant(MAX_CONCURRENT_ROOTS_PER_TENANT);
+        FineractProperties.FineractApiProperties apiProperties = new FineractProperties.FineractApiProperties();
+        apiProperties.setBatch(batchProperties);
+        fineractProperties.setApi(apiProperties);
+
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil
+                .setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.now(ZoneId.systemDefault()))));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+
+        underTest = new BatchApiServiceImpl(strategyProvider, new ResolutionHelper(new FromJsonHelper()), transactionManager,
+                errorHandler, List.of(), List.of(), entityManager, fineractProperties);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        underTest.destroy();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void givenParallelModeWhenIndependentRootsThenRootsRunConcurrentlyWithPropagatedContext() {
+        // given
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        Set<String> threadNames = ConcurrentHashMap.newKeySet();
+        CommandStrategy commandStrategy = (request, info) -> {
+            int current = running.incrementAndGet();
+            maxRunning.accumulateAndGet(current, Math::max);
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            threadNames.add(Thread.currentThread().getName());
+            String body = ThreadLocalContextUtil.getTenant().getTenantIdentifier() + "/"
+                    + SecurityContextHolder.getContext().getAuthentication().getName();
+            running.decrementAndGet();
+            return new BatchResponse().setRequestId(request.getRequestId()).setStatusCode(200).setBody(body);
+        };
+        when(strategyProvider.getCommandStrategy(any())).thenReturn(commandStrategy);
+        List<BatchRequest> requests = LongStream.rangeClosed(1, 6)
+                .mapToObj(id -> new BatchRequest().setRequestId(id).setRelativeUrl("loans/" + id + "/transactions?command=repayment")
+                        .setMethod("POST").setBody("{}"))
+                .toList();
+
+        // when
+        List<BatchResponse> responses = underTest.handleBatchRequestsWithoutEnclosingTransaction(requests, uriInfo);
+
+        // then
+        assertThat(responses).extracting(BatchResponse::getRequestId).containsExactly(1L, 2L, 3L, 4L, 5L, 6L);
+        assertThat(responses).extracting(BatchResponse::getBody).containsOnly("default/mifos");
+        assertThat(threadNames).allMatch(name -> name.startsWith("batch-api-"));
+        assertThat(maxRunning.get()).isLessThanOrEqualTo(MAX_CONCURRENT_ROOTS_PER_TENANT);
+        assertThat(ThreadLocalContextUtil.getTenant().getTenantIdentifier()).isEqualTo("default");
+    }
+
+    @Test
+    public void givenParallelModeWhenRootsWriteTheSameLoanThenTheyRunOneAfterTheOtherInOrder() {
+        // given
+        AtomicInteger runningOnSameLoan = new AtomicInteger();
+        AtomicInteger maxRunningOnSameLoan = new AtomicInteger();
+        Set<String> threadNames = ConcurrentHashMap.newKeySet();
+        List<Long> executedRequestIds = new CopyOnWriteArrayList<>();
+        CommandStrategy commandStrategy = (request, info) -> {
+            boolean sameLoan = request.getRelativeUrl().contains("loans/1/");
+            if (sameLoan) {
+                maxRunningOnSameLoan.accumulateAndGet(runningOnSameLoan.incrementAndGet(), Math::max);
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            threadNames.add(Thread.currentThread().getName());
+            executedRequestIds.add(request.getRequestId());
+            if (sameLoan) {
+                runningOnSameLoan.decrementAndGet();
+            }
+            return new BatchResponse().setRequestId(request.getRequestId()).setStatusCode(200).setBody("{}");
+        };
+        when(strategyProvider.getCommandStrategy(any())).thenReturn(commandStrategy);
+        List<BatchRequest> requests = List.of(
+                new BatchRequest().setRequestId(1L).setRelativeUrl("loans/1/transactions?command=repayment").setMethod("POST")
+                        .setBody("{}"),
+                new BatchRequest().setRequestId(2L).setRelativeUrl("loans/2/transactions?command=repayment").setMethod("POST")
+                        .setBody("{}"),
+                new BatchRequest().setRequestId(3L).setRelativeUrl("/loans/1/transactions?command=repayment").setMethod("POST")
+                        .setBody("{}"));
+
+        // when
+        List<BatchResponse> responses = underTest.handleBatchRequestsWithoutEnclosingTransaction(requests, uriInfo);
+
+        // then
+        assertThat(responses).extracting(BatchResponse::getRequestId).containsExactly(1L, 2L, 3L);
+        assertThat(threadNames).allMatch(name -> name.startsWith("batch-api-"));
+        assertThat(maxRunningOnSameLoan.get()).isEqualTo(1);
+        assertThat(executedRequestIds.indexOf(1L)).isLessThan(executedRequestIds.indexOf(3L));
+    }
+
+    @Test
+    public void givenParallelModeDisabledWhenIndependentRootsThenRootsRunOnCallingThread() {
+        // given
+        fineractProperties.getApi().getBatch().setParallelEnabled(false);
+        Set<String> threadNames = ConcurrentHashMap.newKeySet();
+        CommandStrategy commandStrategy = (request, info) -> {
+            threadNames.add(Thread.currentThread().getName());
+            return new BatchResponse().setRequestId(request.getRequestId()).setStatusCode(200).setBody("{}");
+        };
+        when(strategyProvider.getCommandStrategy(any())).thenReturn(commandStrategy);
+        List<BatchRequest> requests = LongStream.rangeClosed(1, 3)
+                .mapToObj(id -> new BatchRequest().setRequestId(id).setRelativeUrl("clients/" + id).setMethod("GET")).toList();
+
+        // when
+        List<BatchResponse> responses = underTest.handleBatchRequestsWithoutEnclosingTransaction(requests, uriInfo);
+
+        // then
+        assertThat(responses).extracting(BatchResponse::getRequestId).containsExactly(1L, 2L, 3L);
+        assertThat(threadNames).containsExactly(Thread.currentThread().getName());
+    }
+
+    @Test
+    public void givenParallelModeWhenRootAddressesLoanByExternalIdThenRootsRunOnCallingThread() {
+        // given
+        Set<String> threadNames = ConcurrentHashMap.newKeySet();
+        List<Long> executedRequestIds = new CopyOnWriteArrayList<>();
+        CommandStrategy commandStrategy = (request, info) -> {
+            threadNames.add(Thread.currentThread().getName());
+            executedRequestIds.add(request.getRequestId());
+            return new BatchResponse().setRequestId(request.getRequestId()).setStatusCode(200).setBody("{}");
+        };
+        when(strategyProvider.getCommandStrategy(any())).thenReturn(commandStrategy);
+        List<BatchRequest> requests = List.of(
+                new BatchRequest().setRequestId(1L).setRelativeUrl("loans/1/transactions?command=repayment").setMethod("POST")
+                        .setBody("{}"),
+                new BatchRequest().setRequestId(2L).setRelativeUrl("loans/2/transactions?command=repayment").setMethod("POST")
+                        .setBody("{}"),
+                new BatchRequest().setRequestId(3L).setRelativeUrl("loans/external-id/abc/transactions?command=repayment")
+                        .setMethod("POST").setBody("{}"));
+
+        // when
+        List<BatchResponse> responses = underTest.handleBatchRequestsWithoutEnclosingTransaction(requests, uriInfo);
+
+        // then the external id may be the one of loan 1, the requests are not executed concurrently
+        assertThat(responses).extracting(BatchResponse::getRequestId).containsExactly(1L, 2L, 3L);
+        assertThat(executedRequestIds).containsExactly(1L, 2L, 3L);
+        assertThat(threadNames).containsExactly(Thread.currentThread().getName());
+    }
+
+    @Test
+    public void givenStreamedRequestsThenEachResponseIsHandedOverBeforeTheNextRequestIsRead() {
+        // given
+        FineractProperties.FineractModeProperties modeProperties = new FineractProperties.FineractModeProperties();
+        modeProperties.setReadEnabled(true);
+        modeProperties.setWriteEnabled(true);
+        fineractProperties.setMode(modeProperties);
+        List<String> events = new ArrayList<>();
+        CommandStrategy commandStrategy = (request, info) -> {
+            events.add("execute " + request.getRequestId());
+            return new BatchResponse().setRequestId(request.getRequestId()).setStatusCode(200).setBody("{}");
+        };
+        when(strategyProvider.getCommandStrategy(any())).thenReturn(commandStrategy);
+        when(errorHandler.getMappable(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(errorHandler.handle(any())).thenReturn(new ErrorInfo(403, 4002, "Referenced request not found", Set.of()));
+        List<BatchRequest> requests = List.of(new BatchRequest().setRequestId(1L).setRelativeUrl("clients/1").setMethod("GET"),
+                new BatchRequest().setRequestId(2L).setRelativeUrl("clients/$.clientId").setMethod("GET").setReference(1L),
+                new BatchRequest().setRequestId(3L).setRelativeUrl("clients/3").setMethod("GET"));
+        Iterator<BatchRequest> requestIterator = requests.stream().peek(request -> events.add("read " + request.getRequestId())).iterator();
+        List<BatchResponse> responses = new ArrayList<>();
+
+        // when
+        underTest.handleBatchRequestsWithoutEnclosingTransaction(requestIterator, uriInfo, response -> {
+            events.add("write " + response.getRequestId());
+            responses.add(response);
+        });
+
+        // then
+        assertThat(events).containsExactly("read 1", "execute 1", "write 1", "read 2", "write 2", "read 3", "execute 3", "write 3");
+        assertThat(responses).extracting(BatchResponse::getStatusCode).containsExactly(200, 403, 200);
+    }
+}
@@ -23,10 +23,12 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import com.google.common.base.Splitter;
 import io.cucumber.java8.En;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.HashMap;
@@ -40,11 +42,13 @@ import org.apache.fineract.cob.exceptions.BusinessStepException;
 import org.apache.fineract.cob.loan.LoanCOBBusinessStep;
 import org.apache.fineract.cob.service.ReloaderService;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.domain.AbstractAuditableCustom;
 import org.apache.fineract.infrastructure.core.domain.ActionContext;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.event.business.service.BusinessEventNotifierService;
 import org.apache.fineract.mix.data.MixTaxonomyData;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.beans.factory.ListableBeanFactory;
@@ -59,10 +63,12 @@ public class COBBusinessStepServiceStepDefinitions implements En {
     private ConfigurationDomainService configurationDomainService = mock(ConfigurationDomainService.class);
 
     private ReloaderService reloaderService = mock(ReloaderService.class);
+    private FineractProperties fineractProperties = new FineractProperties();
     private final COBBusinessStepServiceImpl businessStepService;
 
     private COBBusinessStep cobBusinessStep = mock(COBBusinessStep.class);
     private COBBusinessStep notRegistereCobBusinessStep = mock(COBBusinessStep.class);
+    private COBBusinessStep readOnlyCobBusinessStep = mock(COBBusinessStep.class);
     private TreeMap<Long, String> executionMap;
     private AbstractAuditableCustom item;
     private AbstractAuditableCustom outputItem = mock(AbstractAuditableCustom.class);
@@ -79,7 +85,8 @@ public class COBBusinessStepServiceStepDefinitions implements En {
 
     public COBBusinessStepServiceStepDefinitions() throws Exception {
         businessStepService = new COBBusinessStepServiceImpl(batchBusinessStepRepository, applicationContext, beanFactory,
-                businessEventNotifierService, configurationDomainService, reloaderService);
+                businessEventNotifierService, configurationDomainService, reloaderService, fineractProperties, new SimpleMeterRegistry());
+        fineractProperties.setJob(new FineractProperties.FineractJobProperties());
 
         Given("/^The COBBusinessStepService.run method with executeMap (.*)$/", (String executionMap) -> {
             if ("null".equals(executionMap)) {
@@ -141,6 +148,29 @@ public class COBBusinessStepServiceStepDefinitions implements En {
 
                 });
 
+        Given("COB dirty tracking is enabled", () -> {
+            fineractProperties.getJob().setCobDirtyTrackingEnabled(true);
+            lenient().when(this.reloaderService.attach(any())).thenAnswer(invocation -> invocation.getArgument(0));
+            lenient().when(this.cobBusinessStep.execute(this.outputItem)).thenReturn(outputItem);
+        });
+
+        Given("/^The COBBusinessStepService.run method with read-only step (.*) ordered before mutating step (.*) and bulk events (.*)$/",
+                (String readOnlyStep, String mutatingStep, String bulkEvents) -> {
+                    this.executionMap = new TreeMap<>();
+                    this.executionMap.put(1L, readOnlyStep);
+                    this.executionMap.put(2L, mutatingStep);
+                    this.item = mock(AbstractAuditableCustom.class);
+
+                    lenient().when(this.configurationDomainService.isCOBBulkEventEnabled()).thenReturn(Boolean.parseBoolean(bulkEvents));
+                    lenient().when(this.applicationContext.getBean(readOnlyStep)).thenReturn(readOnlyCobBusinessStep);
+                    lenient().when(this.applicationContext.getBean(mutatingStep)).thenReturn(cobBusinessStep);
+                    lenient().when(this.readOnlyCobBusinessStep.isReadOnly()).thenReturn(true);
+                    lenient().when(this.cobBusinessStep.execute(this.item)).thenReturn(outputItem);
+                    lenient().when(this.readOnlyCobBusinessStep.execute(any())).thenAnswer(invocation -> invocation.getArgument(0));
+                    lenient().when(this.reloaderService.reload(any())).thenAnswer(invocation -> invocation.getArgument(0));
+                    ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
+                });
+
         When("COBBusinessStepService.run method executed", () -> {
             resultItem = this.businessStepService.run(this.executionMap, this.item);
         });
@@ -155,6 +185,34 @@ public class COBBusinessStepServiceStepDefinitions implements En {
             ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
         });
 
+        Then("/^The item is reloaded (.*) times$/", (String times) -> {
+            verify(reloaderService, times(Integer.parseInt(times))).reload(any());
+            ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
+        });
+
+        Then("/^The item is attached (.*) times$/", (String times) -> {
+            verify(reloaderService, times(Integer.parseInt(times))).attach(any());
+            ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
+        });
+
+        Then("The steps are executed in the configured order and the events are sent after both", () -> {
+            // the read-only step sees the item before the mutating step changed it
+            InOrder inOrder = Mockito.inOrder(businessEventNotifierService, cobBusinessStep, readOnlyCobBusinessStep);
+            inOrder.verify(businessEventNotifierService).startExternalEventRecording();
+            inOrder.verify(readOnlyCobBusinessStep).execute(this.item);
+            inOrder.verify(cobBusinessStep).execute(this.item);
+            inOrder.verify(businessEventNotifierService).stopExternalEventRecording();
+            assertEquals(outputItem, resultItem);
+            ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
+        });
+
+        Then("The steps are executed in the configured order", () -> {
+            InOrder inOrder = Mockito.inOrder(cobBusinessStep, readOnlyCobBusinessStep);
+            inOrder.verify(readOnlyCobBusinessStep).execute(any());
+            inOrder.verify(cobBusinessStep).execute(any());
+            ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
+        });
+
         Then("throw exception COBBusinessStepService.run method", () -> {
             assertThrows(BusinessStepException.class, () -> {
                 resultItem = this.businessStepService.run(this.executionMap, this.item);
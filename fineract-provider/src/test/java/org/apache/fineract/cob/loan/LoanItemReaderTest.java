@@ -23,6 +23,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -36,6 +37,7 @@ import org.apache.fineract.cob.common.CustomJobParameterResolver;
 import org.apache.fineract.cob.data.LoanCOBParameter;
 import org.apache.fineract.cob.domain.LoanAccountLock;
 import org.apache.fineract.cob.domain.LockOwner;
+import org.apache.fineract.cob.exceptions.LoanReadException;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.portfolio.loanaccount.domain.Loan;
@@ -164,4 +166,120 @@ class LoanItemReaderTest {
         Mockito.verifyNoMoreInteractions(loanRepository);
     }
 
+    @Test
+    public void testLoanItemReaderPrefetchesChunk() throws Exception {
+        // given
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "test", "test", "UTC", null));
+        LoanItemReader loanItemReader = new LoanItemReader(loanRepository, retrieveLoanIdService, customJobParameterResolver,
+                loanLockingService);
+        loanItemReader.enablePrefetch(3, 2);
+        when(stepExecution.getExecutionContext()).thenReturn(executionContext);
+        LoanCOBParameter loanCOBParameter = new LoanCOBParameter(1L, 4L);
+        when(executionContext.get(LoanCOBConstant.LOAN_COB_PARAMETER)).thenReturn(loanCOBParameter);
+        when(retrieveLoanIdService.retrieveAllNonClosedLoansByLastClosedBusinessDateAndMinAndMaxLoanId(loanCOBParameter, false))
+                .thenReturn(new ArrayList<>(List.of(1L, 2L, 3L, 4L)));
+        List<LoanAccountLock> accountLocks = List.of(1L, 2L, 3L, 4L).stream()
+                .map(l -> new LoanAccountLock(l, LockOwner.LOAN_COB_CHUNK_PROCESSING, LocalDate.of(2023, 7, 25))).toList();
+        when(loanLockingService.findAllByLoanIdInAndLockOwner(List.of(1L, 2L, 3L, 4L), LockOwner.LOAN_COB_CHUNK_PROCESSING))
+                .thenReturn(accountLocks);
+        Loan loan1 = Mockito.mock(Loan.class);
+        Loan loan2 = Mockito.mock(Loan.class);
+        Loan loan4 = Mockito.mock(Loan.class);
+        when(loan1.getId()).thenReturn(1L);
+        when(loan2.getId()).thenReturn(2L);
+        when(loan4.getId()).thenReturn(4L);
+        when(loanRepository.findAllByIdsForCOB(List.of(1L, 2L))).thenReturn(List.of(loan1, loan2));
+        when(loanRepository.findAllByIdsForCOB(List.of(3L))).thenReturn(List.of());
+        when(loanRepository.findAllByIdsForCOB(List.of(4L))).thenReturn(List.of(loan4));
+        when(loanRepository.findById(3L)).thenReturn(Optional.empty());
+
+        // when + then
+        loanItemReader.beforeStep(stepExecution);
+        Assertions.assertEquals(loan1, loanItemReader.read());
+        Assertions.assertEquals(loan2, loanItemReader.read());
+        Assertions.assertThrows(LoanReadException.class, loanItemReader::read);
+        Assertions.assertEquals(loan4, loanItemReader.read());
+        Assertions.assertNull(loanItemReader.read());
+
+        verify(loan1, times(1)).initializeLazyCollections();
+        verify(loan4, times(1)).initializeLazyCollections();
+        verify(loanRepository, times(1)).findById(3L);
+        Mockito.verifyNoMoreInteractions(loanRepository);
+    }
+
+    @Test
+    public void testAfterChunkGivesBackUnreadPrefetchedLoans() throws Exception {
+        // given
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "test", "test", "UTC", null));
+        LoanItemReader loanItemReader = new LoanItemReader(loanRepository, retrieveLoanIdService, customJobParameterResolver,
+                loanLockingService);
+        loanItemReader.enablePrefetch(3, 3);
+        when(stepExecution.getExecutionContext()).thenReturn(executionContext);
+        LoanCOBParameter loanCOBParameter = new LoanCOBParameter(1L, 3L);
+        when(executionContext.get(LoanCOBConstant.LOAN_COB_PARAMETER)).thenReturn(loanCOBParameter);
+        when(retrieveLoanIdService.retrieveAllNonClosedLoansByLastClosedBusinessDateAndMinAndMaxLoanId(loanCOBParameter, false))
+                .thenReturn(new ArrayList<>(List.of(1L, 2L, 3L)));
+        List<LoanAccountLock> accountLocks = List.of(1L, 2L, 3L).stream()
+                .map(l -> new LoanAccountLock(l, LockOwner.LOAN_COB_CHUNK_PROCESSING, LocalDate.of(2023, 7, 25))).toList();
+        when(loanLockingService.findAllByLoanIdInAndLockOwner(List.of(1L, 2L, 3L), LockOwner.LOAN_COB_CHUNK_PROCESSING))
+                .thenReturn(accountLocks);
+        Loan loan1 = Mockito.mock(Loan.class);
+        Loan loan2 = Mockito.mock(Loan.class);
+        Loan loan3 = Mockito.mock(Loan.class);
+        when(loan1.getId()).thenReturn(1L);
+        when(loan2.getId()).thenReturn(2L);
+        when(loan3.getId()).thenReturn(3L);
+        when(loanRepository.findAllByIdsForCOB(List.of(1L, 2L, 3L))).thenReturn(List.of(loan1, loan2, loan3));
+        Loan reloadedLoan2 = Mockito.mock(Loan.class);
+        Loan reloadedLoan3 = Mockito.mock(Loan.class);
+        when(reloadedLoan2.getId()).thenReturn(2L);
+        when(reloadedLoan3.getId()).thenReturn(3L);
+        when(loanRepository.findAllByIdsForCOB(List.of(2L, 3L))).thenReturn(List.of(reloadedLoan2, reloadedLoan3));
+
+        // when
+        loanItemReader.beforeStep(stepExecution);
+        Assertions.assertEquals(loan1, loanItemReader.read());
+        loanItemReader.afterChunkError(null);
+
+        // then the next chunk on the same thread does not see the loans prefetched by the failed one
+        Assertions.assertEquals(reloadedLoan2, loanItemReader.read());
+        Assertions.assertEquals(reloadedLoan3, loanItemReader.read());
+        loanItemReader.afterChunk(null);
+        Assertions.assertNull(loanItemReader.read());
+    }
+
+    @Test
+    public void testChunkCountsEveryLoanItProcessed() throws Exception {
+        // given
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "test", "test", "UTC", null));
+        LoanItemReader loanItemReader = new LoanItemReader(loanRepository, retrieveLoanIdService, customJobParameterResolver,
+                loanLockingService);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        loanItemReader.setMeterRegistry(meterRegistry);
+        when(stepExecution.getExecutionContext()).thenReturn(executionContext);
+        LoanCOBParameter loanCOBParameter = new LoanCOBParameter(1L, 3L);
+        when(executionContext.get(LoanCOBConstant.LOAN_COB_PARAMETER)).thenReturn(loanCOBParameter);
+        when(retrieveLoanIdService.retrieveAllNonClosedLoansByLastClosedBusinessDateAndMinAndMaxLoanId(loanCOBParameter, false))
+                .thenReturn(new ArrayList<>(List.of(1L, 2L, 3L)));
+        List<LoanAccountLock> accountLocks = List.of(1L, 2L, 3L).stream()
+                .map(l -> new LoanAccountLock(l, LockOwner.LOAN_COB_CHUNK_PROCESSING, LocalDate.of(2023, 7, 25))).toList();
+        when(loanLockingService.findAllByLoanIdInAndLockOwner(List.of(1L, 2L, 3L), LockOwner.LOAN_COB_CHUNK_PROCESSING))
+                .thenReturn(accountLocks);
+        when(loanRepository.findById(anyLong())).thenReturn(Optional.of(loan));
+
+        // when
+        loanItemReader.beforeStep(stepExecution);
+        loanItemReader.beforeChunk(null);
+        loanItemReader.read();
+        loanItemReader.read();
+        loanItemReader.afterChunk(null);
+        loanItemReader.beforeChunk(null);
+        loanItemReader.read();
+        loanItemReader.afterChunkError(null);
+
+        // then the loans of the committed and of the failed chunk are counted, no statements were issued without a database
+        Assertions.assertEquals(3.0, meterRegistry.get(AbstractLoanItemReader.PROCESSED_LOANS_METRIC).counter().count());
+        Assertions.assertEquals(0.0, meterRegistry.get(AbstractLoanItemReader.PROCESSING_QUERIES_METRIC).counter().count());
+    }
+
 }
@@ -23,8 +23,10 @@ import static org.mockito.Mockito.times;
 import java.time.LocalDate;
 import java.util.List;
 import org.apache.fineract.cob.data.LoanCOBPartition;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanRepository;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -50,6 +52,13 @@ public class RetrieveAllNonClosedLoanIdServiceImplTest {
     @Captor
     private ArgumentCaptor<RowMapper<LoanCOBPartition>> rowMapper;
 
+    private final FineractProperties fineractProperties = new FineractProperties();
+
+    @BeforeEach
+    public void setUp() {
+        fineractProperties.setJob(new FineractProperties.FineractJobProperties());
+    }
+
     @Test
     public void testRetrieveLoanCOBPartitionsNoCatchup() {
         String expectedSQL = """
@@ -74,9 +83,39 @@ public class RetrieveAllNonClosedLoanIdServiceImplTest {
         testRetrieveLoanCOBPartitions(expectedSQL, true);
     }
 
+    @Test
+    public void testRetrieveLoanCOBPartitionsWeightedByTransactions() {
+        fineractProperties.getJob().setLoanCobPartitionWeighting(LoanCOBPartitionWeighting.TRANSACTIONS);
+        String expectedSQL = """
+                select min(id) as min, max(id) as max, page, count(id) as count from
+                  (select floor(((sum(cost) over(order by id)) - cost) * (count(*) over()) / ((sum(cost) over()) * :pageSize)) as page, t.* from
+                        (select l.id as id, 1 + (select count(*) from m_loan_transaction lt
+                         where lt.loan_id = l.id and lt.is_reversed = false) as cost from m_loan l
+                         where l.loan_status_id in (:statusIds) and (l.last_closed_business_date = :businessDate or l.last_closed_business_date is null) ) t) t2
+                 group by page
+                 order by page
+                """;
+        testRetrieveLoanCOBPartitions(expectedSQL, false);
+    }
+
+    @Test
+    public void testRetrieveLoanCOBPartitionsWeightedByInstallmentsCatchup() {
+        fineractProperties.getJob().setLoanCobPartitionWeighting(LoanCOBPartitionWeighting.INSTALLMENTS);
+        String expectedSQL = """
+                select min(id) as min, max(id) as max, page, count(id) as count from
+                  (select floor(((sum(cost) over(order by id)) - cost) * (count(*) over()) / ((sum(cost) over()) * :pageSize)) as page, t.* from
+                        (select l.id as id, 1 + (select count(*) from m_loan_repayment_schedule rs
+                         where rs.loan_id = l.id) as cost from m_loan l
+                         where l.loan_status_id in (:statusIds) and l.last_closed_business_date = :businessDate ) t) t2
+                 group by page
+                 order by page
+                """;
+        testRetrieveLoanCOBPartitions(expectedSQL, true);
+    }
+
     private void testRetrieveLoanCOBPartitions(String expectedSQL, boolean isCatchup) {
         RetrieveAllNonClosedLoanIdServiceImpl service = new RetrieveAllNonClosedLoanIdServiceImpl(loanRepository,
-                namedParameterJdbcTemplate);
+                namedParameterJdbcTemplate, fineractProperties);
         LocalDate businessDate = LocalDate.parse("2023-06-28");
         service.retrieveLoanCOBPartitions(1L, businessDate, isCatchup, 5);
         Mockito.verify(namedParameterJdbcTemplate, times(1)).query(sqlCaptor.capture(), paramsCaptor.capture(), rowMapper.capture());
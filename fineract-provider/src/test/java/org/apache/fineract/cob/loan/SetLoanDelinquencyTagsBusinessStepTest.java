@@ -33,6 +33,7 @@ import java.lang.reflect.Constructor;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.commons.lang3.RandomUtils;
@@ -41,6 +42,7 @@ import org.apache.fineract.infrastructure.core.domain.ActionContext;
 import org.apache.fineract.infrastructure.core.domain.ExternalId;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.portfolio.delinquency.service.DelinquencyWritePlatformService;
 import org.apache.fineract.portfolio.loanaccount.domain.Loan;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanAccountDomainService;
 import org.junit.jupiter.api.BeforeEach;
@@ -62,6 +64,12 @@ public class SetLoanDelinquencyTagsBusinessStepTest {
     @Mock
     private LoanAccountDomainService loanAccountDomainService;
 
+    /**
+     * The mock {@link DelinquencyWritePlatformService} class.
+     */
+    @Mock
+    private DelinquencyWritePlatformService delinquencyWritePlatformService;
+
     /**
      * The class under test.
      */
@@ -86,7 +94,7 @@ public class SetLoanDelinquencyTagsBusinessStepTest {
         ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
         ThreadLocalContextUtil
                 .setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.now(ZoneId.systemDefault()))));
-        underTest = new SetLoanDelinquencyTagsBusinessStep(loanAccountDomainService);
+        underTest = new SetLoanDelinquencyTagsBusinessStep(loanAccountDomainService, delinquencyWritePlatformService);
     }
 
     /**
@@ -170,6 +178,31 @@ public class SetLoanDelinquencyTagsBusinessStepTest {
         assertEquals(BUSINESS_STEP_READABLE_NAME, actualEnumName);
     }
 
+    /**
+     * Tests {@link SetLoanDelinquencyTagsBusinessStep#prepare(java.util.Collection)} prefetches the active delinquency
+     * tags of the chunk.
+     */
+    @Test
+    public void testPreparePrefetchesActiveDelinquencyTags() {
+        final List<Long> loanIds = List.of(1L, 2L, 3L);
+
+        underTest.prepare(loanIds);
+
+        verify(delinquencyWritePlatformService).prefetchActiveDelinquencyTags(loanIds);
+        verifyNoInteractions(loanAccountDomainService);
+    }
+
+    /**
+     * Tests {@link SetLoanDelinquencyTagsBusinessStep#release()} drops the prefetched delinquency tags of the chunk.
+     */
+    @Test
+    public void testReleaseClearsPrefetchedDelinquencyTags() {
+        underTest.release();
+
+        verify(delinquencyWritePlatformService).clearPrefetchedDelinquencyTags();
+        verifyNoInteractions(loanAccountDomainService);
+    }
+
     /**
      * creates a new {@link Loan} with random values.
      *
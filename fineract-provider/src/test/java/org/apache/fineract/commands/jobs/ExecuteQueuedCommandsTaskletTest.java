@@ -0,0 +1,133 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.jobs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.commands.domain.CommandProcessingResultType;
+import org.apache.fineract.commands.domain.CommandSource;
+import org.apache.fineract.commands.domain.CommandSourceRepository;
+import org.apache.fineract.commands.service.AsynchronousCommandProcessingService;
+import org.apache.fineract.commands.service.CommandSourceService;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.ActionContext;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.repeat.RepeatStatus;
+
+@ExtendWith(MockitoExtension.class)
+public class ExecuteQueuedCommandsTaskletTest {
+
+    @Mock
+    private CommandSourceRepository repository;
+    @Mock
+    private CommandSourceService commandSourceService;
+    @Mock
+    private AsynchronousCommandProcessingService asynchronousCommandProcessingService;
+    @Mock
+    private StepContribution stepContribution;
+    @Mock
+    private ChunkContext chunkContext;
+    private ExecuteQueuedCommandsTasklet underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
+        ThreadLocalContextUtil
+                .setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.now(ZoneId.systemDefault()))));
+        FineractProperties.FineractAsyncCommandsProperties asyncCommands = new FineractProperties.FineractAsyncCommandsProperties();
+        asyncCommands.setRecoveryDelaySeconds(60);
+        FineractProperties.FineractApiProperties apiProperties = new FineractProperties.FineractApiProperties();
+        apiProperties.setAsyncCommands(asyncCommands);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setApi(apiProperties);
+        when(asynchronousCommandProcessingService.isEnabled()).thenReturn(true);
+        when(asynchronousCommandProcessingService.getOwnerNode()).thenReturn("node-a");
+        underTest = new ExecuteQueuedCommandsTasklet(repository, commandSourceService, asynchronousCommandProcessingService,
+                fineractProperties);
+    }
+
+    @Test
+    public void givenCommandsQueuedOnLiveNodesWhenTaskExecutionThenTheyAreNotDispatchedAgain() {
+        // given
+        CommandSource ownCommand = queuedCommand(1L, "node-a");
+        CommandSource firstCommandOfLiveNode = queuedCommand(2L, "node-b");
+        CommandSource secondCommandOfLiveNode = queuedCommand(3L, "node-b");
+        when(repository.findByStatusMadeBefore(eq(CommandProcessingResultType.QUEUED.getValue()), any()))
+                .thenReturn(List.of(ownCommand, firstCommandOfLiveNode, secondCommandOfLiveNode));
+        when(asynchronousCommandProcessingService.isOwnerNodeAlive("node-b")).thenReturn(true);
+        // when
+        RepeatStatus resultStatus = underTest.execute(stepContribution, chunkContext);
+        // then
+        assertEquals(RepeatStatus.FINISHED, resultStatus);
+        verify(asynchronousCommandProcessingService, times(1)).isOwnerNodeAlive("node-b");
+        verify(commandSourceService, never()).takeOverQueuedNewTransaction(anyLong(), any(), any());
+        verify(asynchronousCommandProcessingService, never()).dispatch(any());
+    }
+
+    @Test
+    public void givenCommandsQueuedOnStoppedNodeWhenTaskExecutionThenTheyAreTakenOverAndDispatched() {
+        // given
+        CommandSource commandOfStoppedNode = queuedCommand(1L, "node-b");
+        CommandSource commandWithoutOwner = queuedCommand(2L, null);
+        CommandSource commandTakenOverElsewhere = queuedCommand(3L, "node-b");
+        when(repository.findByStatusMadeBefore(eq(CommandProcessingResultType.QUEUED.getValue()), any()))
+                .thenReturn(List.of(commandOfStoppedNode, commandWithoutOwner, commandTakenOverElsewhere));
+        when(asynchronousCommandProcessingService.isOwnerNodeAlive("node-b")).thenReturn(false);
+        when(commandSourceService.takeOverQueuedNewTransaction(1L, "node-b", "node-a")).thenReturn(true);
+        when(commandSourceService.takeOverQueuedNewTransaction(2L, null, "node-a")).thenReturn(true);
+        when(commandSourceService.takeOverQueuedNewTransaction(3L, "node-b", "node-a")).thenReturn(false);
+        // when
+        underTest.execute(stepContribution, chunkContext);
+        // then
+        verify(asynchronousCommandProcessingService).dispatch(commandOfStoppedNode);
+        verify(asynchronousCommandProcessingService).dispatch(commandWithoutOwner);
+        verify(asynchronousCommandProcessingService, never()).dispatch(commandTakenOverElsewhere);
+    }
+
+    private CommandSource queuedCommand(Long id, String ownerNode) {
+        CommandSource commandSource = mock(CommandSource.class);
+        lenient().when(commandSource.getId()).thenReturn(id);
+        when(commandSource.getOwnerNode()).thenReturn(ownerNode);
+        return commandSource;
+    }
+}
@@ -0,0 +1,94 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.provider;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.fineract.commands.annotation.CommandType;
+import org.apache.fineract.commands.domain.CommandWrapper;
+import org.apache.fineract.commands.exception.UnsupportedCommandException;
+import org.apache.fineract.commands.handler.NewCommandSourceHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationContext;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class CommandHandlerProviderTest {
+
+    @Mock
+    private ApplicationContext applicationContext;
+
+    private final NewCommandSourceHandler humanHandler = mock(NewCommandSourceHandler.class);
+    private final NewCommandSourceHandler createNoteHandler = mock(NewCommandSourceHandler.class);
+
+    private CommandHandlerProvider underTest;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        when(applicationContext.getBeanNamesForAnnotation(CommandType.class)).thenReturn(new String[] { "validCommandHandler" });
+        when(applicationContext.findAnnotationOnBean("validCommandHandler", CommandType.class))
+                .thenReturn(ValidCommandHandler.class.getAnnotation(CommandType.class));
+        when(applicationContext.getBean("validCommandHandler")).thenReturn(humanHandler);
+        when(applicationContext.containsBean("createNoteCommandHandler")).thenReturn(true);
+        when(applicationContext.getBean("createNoteCommandHandler", NewCommandSourceHandler.class)).thenReturn(createNoteHandler);
+
+        underTest = new CommandHandlerProvider();
+        underTest.setApplicationContext(applicationContext);
+        underTest.afterPropertiesSet();
+        underTest.afterSingletonsInstantiated();
+    }
+
+    @Test
+    public void testGetHandlerResolvesBeansOnlyAtStartup() {
+        CommandWrapper updateHuman = mock(CommandWrapper.class);
+        when(updateHuman.entityName()).thenReturn("HUMAN");
+        when(updateHuman.actionName()).thenReturn("UPDATE");
+        CommandWrapper createNote = mock(CommandWrapper.class);
+        when(createNote.isNoteResource()).thenReturn(true);
+        when(createNote.isCreate()).thenReturn(true);
+
+        for (int i = 0; i < 10; i++) {
+            assertSame(humanHandler, underTest.getHandler(updateHuman));
+            assertSame(createNoteHandler, underTest.getHandler(createNote));
+        }
+
+        verify(applicationContext, times(1)).getBean("validCommandHandler");
+        verify(applicationContext, times(1)).getBean("createNoteCommandHandler", NewCommandSourceHandler.class);
+    }
+
+    @Test
+    public void testGetHandlerFailsForMissingResourceHandler() {
+        CommandWrapper deleteNote = mock(CommandWrapper.class);
+        when(deleteNote.isNoteResource()).thenReturn(true);
+        when(deleteNote.isDelete()).thenReturn(true);
+
+        assertThrows(UnsupportedCommandException.class, () -> underTest.getHandler(deleteNote));
+    }
+}
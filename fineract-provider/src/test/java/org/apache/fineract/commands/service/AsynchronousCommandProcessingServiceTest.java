@@ -0,0 +1,251 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import org.apache.fineract.commands.domain.CommandSource;
+import org.apache.fineract.commands.domain.CommandWrapper;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.api.JsonCommand;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.domain.FineractRequestContextHolder;
+import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
+import org.apache.fineract.infrastructure.core.service.NodeLeaseService;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.database.ReadReplicaWriteRecorder;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class AsynchronousCommandProcessingServiceTest {
+
+    @Mock
+    private CommandSourceService commandSourceService;
+    @Mock
+    private CommandProcessingService commandProcessingService;
+    @Mock
+    private IdempotencyKeyResolver idempotencyKeyResolver;
+    @Spy
+    private FineractRequestContextHolder fineractRequestContextHolder;
+    @Mock
+    private AppUser maker;
+    @Mock
+    private NodeLeaseService nodeLeaseService;
+    @Mock
+    private ReadReplicaWriteRecorder readReplicaWriteRecorder;
+
+    private final FineractProperties fineractProperties = new FineractProperties();
+
+    private AsynchronousCommandProcessingService underTest;
+
+    @BeforeEach
+    public void setUp() {
+        FineractProperties.FineractAsyncCommandsProperties asyncCommands = new FineractProperties.FineractAsyncCommandsProperties();
+        asyncCommands.setEnabled(true);
+        asyncCommands.setWorkerCount(4);
+        asyncCommands.setLeaseDurationSeconds(30);
+        FineractProperties.FineractApiProperties apiProperties = new FineractProperties.FineractApiProperties();
+        apiProperties.setAsyncCommands(asyncCommands);
+        fineractProperties.setApi(apiProperties);
+
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil
+                .setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.now(ZoneId.systemDefault()))));
+        when(maker.getUsername()).thenReturn("mifos");
+        when(nodeLeaseService.getOwner()).thenReturn("node-a");
+
+        underTest = new AsynchronousCommandProcessingService(commandSourceService, commandProcessingService, idempotencyKeyResolver,
+                fineractRequestContextHolder, new FromJsonHelper(), fineractProperties, nodeLeaseService,
+                readReplicaWriteRecorder);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        underTest.destroy();
+    }
+
+    @Test
+    public void givenSubmittedCommandThenItIsQueuedAndExecutedByAWorkerAsTheMaker() throws InterruptedException {
+        // given
+        CommandWrapper wrapper = mock(CommandWrapper.class);
+        JsonCommand command = mock(JsonCommand.class);
+        CommandSource commandSource = queuedCommandSource(1L, 10L);
+        when(idempotencyKeyResolver.resolve(wrapper)).thenReturn("key-1");
+        when(commandSourceService.saveQueuedNewTransaction(wrapper, command, maker, "key-1", "node-a")).thenReturn(commandSource);
+        List<String> executions = new CopyOnWriteArrayList<>();
+        CountDownLatch executed = new CountDownLatch(1);
+        when(commandProcessingService.executeCommand(any(), any(), anyBoolean())).thenAnswer(invocation -> {
+            executions.add(ThreadLocalContextUtil.getTenant().getTenantIdentifier() + "/"
+                    + SecurityContextHolder.getContext().getAuthentication().getName() + "/" + Thread.currentThread().getName());
+            executed.countDown();
+            return null;
+        });
+
+        // when
+        CommandProcessingResult result = underTest.submit(wrapper, command, maker);
+
+        // then
+        assertThat(result.getCommandId()).isEqualTo(1L);
+        verify(fineractRequestContextHolder).setAttribute(AsynchronousCommandProcessingService.COMMAND_QUEUED_ATTRIBUTE, true);
+        assertThat(executed.await(5, TimeUnit.SECONDS)).isTrue();
+        verify(commandProcessingService).executeCommand(any(), any(), eq(false));
+        assertThat(executions).singleElement().asString().startsWith("default/mifos/async-command-");
+        verify(nodeLeaseService).tryAcquire(eq("async-commands:node-a"), any());
+        verify(readReplicaWriteRecorder, timeout(5000)).recordWrite("mifos");
+    }
+
+    @Test
+    public void givenCommandAlreadyClaimedThenItIsNotExecutedAgain() {
+        // given
+        CommandSource commandSource = queuedCommandSource(1L, 10L);
+        when(commandSourceService.claimQueuedNewTransaction(1L)).thenReturn(false);
+
+        // when
+        underTest.dispatch(commandSource);
+
+        // then
+        verify(commandSourceService, timeout(5000)).claimQueuedNewTransaction(1L);
+        verify(commandProcessingService, never()).executeCommand(any(), any(), anyBoolean());
+        verify(readReplicaWriteRecorder, never()).recordWrite(any());
+    }
+
+    @Test
+    public void givenCommandsOfTheSameLoanThenTheyAreExecutedInSubmissionOrder() throws InterruptedException {
+        // given
+        List<Long> executedCommandIds = new CopyOnWriteArrayList<>();
+        CountDownLatch executed = new CountDownLatch(20);
+        when(commandProcessingService.executeCommand(any(), any(), anyBoolean())).thenAnswer(invocation -> {
+            executedCommandIds.add(invocation.<CommandWrapper>getArgument(0).commandId());
+            executed.countDown();
+            return null;
+        });
+        List<CommandSource> commandSources = LongStream.rangeClosed(1, 20).mapToObj(id -> queuedCommandSource(id, 10L)).toList();
+
+        // when
+        commandSources.forEach(underTest::dispatch);
+
+        // then
+        assertThat(executed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(executedCommandIds).isSorted().hasSize(20);
+    }
+
+    @Test
+    public void givenDispatchedCommandWhenTheWorkerExecutesItThenItIsClaimedByTheWorker() throws InterruptedException {
+        // given
+        List<Object> claimedCommandIds = new CopyOnWriteArrayList<>();
+        CountDownLatch executed = new CountDownLatch(1);
+        when(commandProcessingService.executeCommand(any(), any(), anyBoolean())).thenAnswer(invocation -> {
+            claimedCommandIds.add(fineractRequestContextHolder.getAttribute(SynchronousCommandProcessingService.CLAIMED_COMMAND_SOURCE_ID,
+                    null));
+            executed.countDown();
+            return null;
+        });
+
+        // when
+        underTest.dispatch(queuedCommandSource(7L, 10L));
+
+        // then
+        assertThat(executed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(claimedCommandIds).containsExactly(7L);
+    }
+
+    @Test
+    public void givenBusyWorkersOfOneTenantThenCommandsOfAnotherTenantAreStillExecuted() throws InterruptedException {
+        // given
+        fineractProperties.getApi().getAsyncCommands().setWorkerCount(1);
+        CountDownLatch released = new CountDownLatch(1);
+        CountDownLatch otherTenantExecuted = new CountDownLatch(1);
+        when(commandProcessingService.executeCommand(any(), any(), anyBoolean())).thenAnswer(invocation -> {
+            if ("default".equals(ThreadLocalContextUtil.getTenant().getTenantIdentifier())) {
+                released.await(5, TimeUnit.SECONDS);
+            } else {
+                otherTenantExecuted.countDown();
+            }
+            return null;
+        });
+
+        // when
+        try {
+            underTest.dispatch(queuedCommandSource(1L, 10L));
+            ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(2L, "other", "Other", "Asia/Kolkata", null));
+            underTest.dispatch(queuedCommandSource(2L, 10L));
+
+            // then
+            assertThat(otherTenantExecuted.await(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            released.countDown();
+            ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        }
+    }
+
+    @Test
+    public void givenOwnerNodeWhenItsLeaseExpiredThenItIsNotAlive() {
+        // given
+        when(nodeLeaseService.isHeld("async-commands:node-b")).thenReturn(false);
+        when(nodeLeaseService.isHeld("async-commands:node-c")).thenReturn(true);
+
+        // when / then
+        assertThat(underTest.isOwnerNodeAlive("node-b")).isFalse();
+        assertThat(underTest.isOwnerNodeAlive("node-c")).isTrue();
+    }
+
+    private CommandSource queuedCommandSource(Long id, Long loanId) {
+        CommandSource commandSource = mock(CommandSource.class);
+        when(commandSource.getId()).thenReturn(id);
+        when(commandSource.getLoanId()).thenReturn(loanId);
+        when(commandSource.getActionName()).thenReturn("REPAYMENT");
+        when(commandSource.getEntityName()).thenReturn("LOAN");
+        when(commandSource.getResourceGetUrl()).thenReturn("/loans/" + loanId + "/transactions");
+        when(commandSource.getCommandJson()).thenReturn("{}");
+        when(commandSource.getMaker()).thenReturn(maker);
+        when(commandSourceService.claimQueuedNewTransaction(id)).thenReturn(true);
+        when(commandSourceService.getCommandSource(id)).thenReturn(commandSource);
+        return commandSource;
+    }
+}
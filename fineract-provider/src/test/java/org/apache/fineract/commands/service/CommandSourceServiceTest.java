@@ -21,7 +21,9 @@ package org.apache.fineract.commands.service;
 import static org.apache.fineract.commands.domain.CommandProcessingResultType.UNDER_PROCESSING;
 import static org.mockito.ArgumentMatchers.any;
 
+import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.List;
 import java.util.Optional;
 import org.apache.fineract.batch.exception.ErrorHandler;
 import org.apache.fineract.batch.exception.ErrorInfo;
@@ -30,6 +32,7 @@ import org.apache.fineract.commands.domain.CommandSourceRepository;
 import org.apache.fineract.commands.domain.CommandWrapper;
 import org.apache.fineract.infrastructure.codes.exception.CodeNotFoundException;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.useradministration.domain.AppUser;
@@ -42,6 +45,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 public class CommandSourceServiceTest {
 
@@ -51,6 +55,12 @@ public class CommandSourceServiceTest {
     @Mock
     private ErrorHandler errorHandler;
 
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private FineractProperties fineractProperties;
+
     @InjectMocks
     private CommandSourceService underTest;
 
@@ -106,6 +116,25 @@ public class CommandSourceServiceTest {
         Assertions.assertEquals(actual, captured);
     }
 
+    @Test
+    public void testClaimExpiredIdempotencyKeyOnlyTakesOverClaimsOlderThanTheTimeout() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "t1", "n1", ZoneId.systemDefault().toString(), null));
+        CommandWrapper wrapper = CommandWrapper.wrap("act", "ent", 1L, 1L);
+        Mockito.when(fineractProperties.getIdempotencyKeyClaimTimeoutSeconds()).thenReturn(600);
+        Mockito.when(jdbcTemplate.update(Mockito.startsWith("UPDATE m_portfolio_command_claim"), any(), any(), any(), any(), any()))
+                .thenReturn(1);
+
+        boolean claimed = underTest.claimExpiredIdempotencyKeyNewTransaction(wrapper, "idk");
+
+        ArgumentCaptor<Object> argumentsCaptor = ArgumentCaptor.forClass(Object.class);
+        Mockito.verify(jdbcTemplate).update(Mockito.anyString(), argumentsCaptor.capture(), argumentsCaptor.capture(),
+                argumentsCaptor.capture(), argumentsCaptor.capture(), argumentsCaptor.capture());
+        List<Object> arguments = argumentsCaptor.getAllValues();
+        Assertions.assertTrue(claimed);
+        Assertions.assertEquals(List.of("act", "ent", "idk"), arguments.subList(1, 4));
+        Assertions.assertEquals(((LocalDateTime) arguments.get(0)).minusSeconds(600), arguments.get(4));
+    }
+
     @Test
     public void testGenerateErrorException() {
         Mockito.when(errorHandler.getMappable(any())).thenAnswer(i -> i.getArguments()[0]);
@@ -19,9 +19,13 @@
 package org.apache.fineract.commands.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.Map;
 import org.apache.fineract.commands.domain.CommandProcessingResultType;
@@ -33,6 +37,8 @@ import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDoma
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.domain.FineractRequestContextHolder;
+import org.apache.fineract.infrastructure.core.exception.IdempotentCommandProcessSucceedException;
+import org.apache.fineract.infrastructure.core.exception.IdempotentCommandProcessUnderProcessingException;
 import org.apache.fineract.infrastructure.core.serialization.ToApiJsonSerializer;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.useradministration.domain.AppUser;
@@ -45,6 +51,7 @@ import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.mockito.Spy;
 import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
@@ -71,6 +78,10 @@ public class SynchronousCommandProcessingServiceTest {
 
     @Spy
     private FineractRequestContextHolder fineractRequestContextHolder;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     @InjectMocks
     private SynchronousCommandProcessingService underTest;
@@ -92,12 +103,13 @@ public class SynchronousCommandProcessingServiceTest {
         when(commandWrapper.isSurveyResource()).thenReturn(false);
         when(commandWrapper.isLoanDisburseDetailResource()).thenReturn(false);
         JsonCommand jsonCommand = Mockito.mock(JsonCommand.class);
+        when(jsonCommand.commandId()).thenReturn(null);
 
         NewCommandSourceHandler newCommandSourceHandler = Mockito.mock(NewCommandSourceHandler.class);
         CommandProcessingResult commandProcessingResult = Mockito.mock(CommandProcessingResult.class);
         when(commandProcessingResult.isRollbackTransaction()).thenReturn(false);
         when(newCommandSourceHandler.processCommand(jsonCommand)).thenReturn(commandProcessingResult);
-        when(commandHandlerProvider.getHandler(Mockito.any(), Mockito.any())).thenReturn(newCommandSourceHandler);
+        when(commandHandlerProvider.getHandler(commandWrapper)).thenReturn(newCommandSourceHandler);
 
         when(configurationDomainService.isMakerCheckerEnabledForTask(Mockito.any())).thenReturn(false);
         String idk = "idk";
@@ -109,18 +121,23 @@ public class SynchronousCommandProcessingServiceTest {
         when(commandSourceService.getCommandSource(commandId)).thenReturn(commandSource);
 
         AppUser appUser = Mockito.mock(AppUser.class);
-        when(commandSourceService.saveInitialNewTransaction(commandWrapper, jsonCommand, appUser, idk)).thenReturn(commandSource);
-        when(commandSourceService.saveResultSameTransaction(commandSource)).thenReturn(commandSource);
+        when(commandSourceService.claimIdempotencyKeyNewTransaction(commandWrapper, idk)).thenReturn(true);
+        when(commandSourceService.createClaimed(commandWrapper, jsonCommand, appUser, idk)).thenReturn(commandSource);
+        when(commandSourceService.saveClaimedResultSameTransaction(commandWrapper, commandSource)).thenReturn(commandSource);
         when(commandSource.getStatus()).thenReturn(CommandProcessingResultType.PROCESSED.getValue());
         when(context.authenticatedUser(Mockito.any(CommandWrapper.class))).thenReturn(appUser);
 
         CommandProcessingResult actualCommandProcessingResult = underTest.executeCommand(commandWrapper, jsonCommand, false);
 
-        verify(commandSourceService).saveInitialNewTransaction(commandWrapper, jsonCommand, appUser, idk);
+        verify(commandSourceService).claimIdempotencyKeyNewTransaction(commandWrapper, idk);
         assertEquals(CommandProcessingResultType.PROCESSED.getValue(), commandSource.getStatus());
-        verify(commandSourceService).saveResultSameTransaction(commandSource);
+        verify(commandSourceService).saveClaimedResultSameTransaction(commandWrapper, commandSource);
+        verify(commandSourceService, never()).saveInitialNewTransaction(commandWrapper, jsonCommand, appUser, idk);
+        verify(commandSourceService, never()).saveResultSameTransaction(commandSource);
+        verify(fineractRequestContextHolder).setAttribute(SynchronousCommandProcessingService.COMMAND_SOURCE_ID, commandId);
 
         assertEquals(commandProcessingResult, actualCommandProcessingResult);
+        assertEquals(1L, meterRegistry.timer(SynchronousCommandProcessingService.HANDLER_RESOLUTION_TIMER).count());
     }
 
     @Test
@@ -131,6 +148,7 @@ public class SynchronousCommandProcessingServiceTest {
         when(commandWrapper.isSurveyResource()).thenReturn(false);
         when(commandWrapper.isLoanDisburseDetailResource()).thenReturn(false);
         JsonCommand jsonCommand = Mockito.mock(JsonCommand.class);
+        when(jsonCommand.commandId()).thenReturn(null);
 
         NewCommandSourceHandler newCommandSourceHandler = Mockito.mock(NewCommandSourceHandler.class);
         CommandProcessingResult commandProcessingResult = Mockito.mock(CommandProcessingResult.class);
@@ -138,7 +156,7 @@ public class SynchronousCommandProcessingServiceTest {
         when(commandProcessingResult.isRollbackTransaction()).thenReturn(false);
         RuntimeException runtimeException = new RuntimeException("foo");
         when(newCommandSourceHandler.processCommand(jsonCommand)).thenThrow(runtimeException);
-        when(commandHandlerProvider.getHandler(Mockito.any(), Mockito.any())).thenReturn(newCommandSourceHandler);
+        when(commandHandlerProvider.getHandler(commandWrapper)).thenReturn(newCommandSourceHandler);
 
         when(configurationDomainService.isMakerCheckerEnabledForTask(Mockito.any())).thenReturn(false);
         String idk = "idk";
@@ -147,7 +165,8 @@ public class SynchronousCommandProcessingServiceTest {
 
         AppUser appUser = Mockito.mock(AppUser.class);
         when(context.authenticatedUser(Mockito.any(CommandWrapper.class))).thenReturn(appUser);
-        when(commandSourceService.saveInitialNewTransaction(commandWrapper, jsonCommand, appUser, idk)).thenReturn(commandSource);
+        when(commandSourceService.claimIdempotencyKeyNewTransaction(commandWrapper, idk)).thenReturn(true);
+        when(commandSourceService.createClaimed(commandWrapper, jsonCommand, appUser, idk)).thenReturn(commandSource);
 
         CommandSource initialCommandSource = Mockito.mock(CommandSource.class);
 
@@ -157,7 +176,92 @@ public class SynchronousCommandProcessingServiceTest {
             underTest.executeCommand(commandWrapper, jsonCommand, false);
         });
 
-        verify(commandSourceService).saveInitialNewTransaction(commandWrapper, jsonCommand, appUser, idk);
+        verify(commandSourceService).claimIdempotencyKeyNewTransaction(commandWrapper, idk);
         verify(commandSourceService).generateErrorInfo(runtimeException);
     }
+
+    @Test
+    public void testExecuteCommandAlreadyClaimed() {
+        CommandWrapper commandWrapper = Mockito.mock(CommandWrapper.class);
+        JsonCommand jsonCommand = Mockito.mock(JsonCommand.class);
+        when(jsonCommand.commandId()).thenReturn(null);
+        String idk = "idk";
+        when(idempotencyKeyResolver.resolve(commandWrapper)).thenReturn(idk);
+        when(commandSourceService.claimIdempotencyKeyNewTransaction(commandWrapper, idk)).thenReturn(false);
+        when(commandSourceService.claimExpiredIdempotencyKeyNewTransaction(commandWrapper, idk)).thenReturn(false);
+
+        Assertions.assertThrows(IdempotentCommandProcessUnderProcessingException.class, () -> {
+            underTest.executeCommand(commandWrapper, jsonCommand, false);
+        });
+
+        verify(commandSourceService, never()).createClaimed(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+        verifyNoInteractions(commandHandlerProvider);
+    }
+
+    @Test
+    public void testExecuteCommandTakesOverExpiredClaim() {
+        CommandWrapper commandWrapper = Mockito.mock(CommandWrapper.class);
+        JsonCommand jsonCommand = Mockito.mock(JsonCommand.class);
+        when(jsonCommand.commandId()).thenReturn(null);
+        String idk = "idk";
+        when(idempotencyKeyResolver.resolve(commandWrapper)).thenReturn(idk);
+        when(commandSourceService.claimIdempotencyKeyNewTransaction(commandWrapper, idk)).thenReturn(false);
+        when(commandSourceService.claimExpiredIdempotencyKeyNewTransaction(commandWrapper, idk)).thenReturn(true);
+        AppUser appUser = Mockito.mock(AppUser.class);
+        when(context.authenticatedUser(Mockito.any(CommandWrapper.class))).thenReturn(appUser);
+        CommandSource commandSource = Mockito.mock(CommandSource.class);
+        when(commandSourceService.createClaimed(commandWrapper, jsonCommand, appUser, idk)).thenReturn(commandSource);
+        when(commandSourceService.saveClaimedResultSameTransaction(commandWrapper, commandSource)).thenReturn(commandSource);
+        NewCommandSourceHandler newCommandSourceHandler = Mockito.mock(NewCommandSourceHandler.class);
+        CommandProcessingResult commandProcessingResult = Mockito.mock(CommandProcessingResult.class);
+        when(newCommandSourceHandler.processCommand(jsonCommand)).thenReturn(commandProcessingResult);
+        when(commandHandlerProvider.getHandler(commandWrapper)).thenReturn(newCommandSourceHandler);
+
+        CommandProcessingResult actualCommandProcessingResult = underTest.executeCommand(commandWrapper, jsonCommand, false);
+
+        verify(commandSourceService).claimExpiredIdempotencyKeyNewTransaction(commandWrapper, idk);
+        verify(newCommandSourceHandler).processCommand(jsonCommand);
+        assertEquals(commandProcessingResult, actualCommandProcessingResult);
+    }
+
+    @Test
+    public void testExecuteCommandClaimedAfterProcessed() {
+        CommandWrapper commandWrapper = Mockito.mock(CommandWrapper.class);
+        JsonCommand jsonCommand = Mockito.mock(JsonCommand.class);
+        when(jsonCommand.commandId()).thenReturn(null);
+        String idk = "idk";
+        when(idempotencyKeyResolver.resolve(commandWrapper)).thenReturn(idk);
+        when(commandSourceService.claimIdempotencyKeyNewTransaction(commandWrapper, idk)).thenReturn(true);
+        CommandSource processedCommandSource = Mockito.mock(CommandSource.class);
+        when(processedCommandSource.getStatus()).thenReturn(CommandProcessingResultType.PROCESSED.getValue());
+        when(commandSourceService.findCommandSource(commandWrapper, idk)).thenReturn(processedCommandSource);
+
+        Assertions.assertThrows(IdempotentCommandProcessSucceedException.class, () -> {
+            underTest.executeCommand(commandWrapper, jsonCommand, false);
+        });
+
+        verify(commandSourceService).releaseIdempotencyKeyNewTransaction(commandWrapper, idk);
+        verifyNoInteractions(commandHandlerProvider);
+    }
+
+    @Test
+    public void testExecuteCommandRetriedWhileUnderProcessingAndNotClaimed() {
+        CommandWrapper commandWrapper = Mockito.mock(CommandWrapper.class);
+        JsonCommand jsonCommand = Mockito.mock(JsonCommand.class);
+        String idk = "idk";
+        long commandId = 1L;
+        when(request.getAttribute(SynchronousCommandProcessingService.COMMAND_SOURCE_ID)).thenReturn(commandId);
+        CommandSource commandSource = Mockito.mock(CommandSource.class);
+        when(commandSource.getId()).thenReturn(commandId);
+        when(commandSource.getIdempotencyKey()).thenReturn(idk);
+        when(commandSource.getStatus()).thenReturn(CommandProcessingResultType.UNDER_PROCESSING.getValue());
+        when(commandSourceService.getCommandSource(commandId)).thenReturn(commandSource);
+        when(commandSourceService.findCommandSource(commandWrapper, idk)).thenReturn(commandSource);
+
+        Assertions.assertThrows(IdempotentCommandProcessUnderProcessingException.class, () -> {
+            underTest.executeCommand(commandWrapper, jsonCommand, false);
+        });
+
+        verifyNoInteractions(commandHandlerProvider);
+    }
 }
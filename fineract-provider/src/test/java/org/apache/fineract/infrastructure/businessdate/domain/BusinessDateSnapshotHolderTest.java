@@ -0,0 +1,94 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.businessdate.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractRequestContextProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class BusinessDateSnapshotHolderTest {
+
+    @Mock
+    private BusinessDateRepository repository;
+
+    private final FineractRequestContextProperties requestContextProperties = new FineractRequestContextProperties();
+
+    private BusinessDateSnapshotHolder underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        requestContextProperties.setRefreshIntervalSeconds(60);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setRequestContext(requestContextProperties);
+        underTest = new BusinessDateSnapshotHolder(repository, fineractProperties);
+        when(repository.findAll()).thenReturn(List.of(BusinessDate.instance(BusinessDateType.BUSINESS_DATE, LocalDate.of(2022, 6, 12)),
+                BusinessDate.instance(BusinessDateType.COB_DATE, LocalDate.of(2022, 6, 11))));
+    }
+
+    @Test
+    public void givenLoadedSnapshotWhenGetBusinessDatesThenDatabaseIsQueriedOnce() {
+        assertEquals(LocalDate.of(2022, 6, 12), underTest.getBusinessDates().get(BusinessDateType.BUSINESS_DATE));
+        assertEquals(LocalDate.of(2022, 6, 11), underTest.getBusinessDates().get(BusinessDateType.COB_DATE));
+
+        verify(repository, times(1)).findAll();
+    }
+
+    @Test
+    public void givenLoadedSnapshotWhenEvictedThenDatesAreReloaded() {
+        underTest.getBusinessDates();
+        underTest.evict();
+        underTest.getBusinessDates();
+
+        verify(repository, times(2)).findAll();
+    }
+
+    @Test
+    public void givenLoadedSnapshotWhenOtherTenantThenDatesAreLoadedForIt() {
+        underTest.getBusinessDates();
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(2L, "other", "Other", "Asia/Kolkata", null));
+        underTest.getBusinessDates();
+
+        verify(repository, times(2)).findAll();
+    }
+
+    @Test
+    public void givenNoRefreshIntervalWhenGetBusinessDatesThenDatesAreReloaded() {
+        requestContextProperties.setRefreshIntervalSeconds(0);
+
+        underTest.getBusinessDates();
+        underTest.getBusinessDates();
+
+        verify(repository, times(2)).findAll();
+    }
+}
@@ -21,16 +21,24 @@ package org.apache.fineract.infrastructure.businessdate.service;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.apache.fineract.infrastructure.businessdate.domain.BusinessDate;
 import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateRepository;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateSnapshotHolder;
 import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
 import org.apache.fineract.infrastructure.businessdate.exception.BusinessDateNotFoundException;
 import org.apache.fineract.infrastructure.businessdate.mapper.BusinessDateMapper;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -53,6 +61,12 @@ public class BusinessDateReadPlatformServiceTest {
     @Mock
     private BusinessDateMapper mapper;
 
+    @Mock
+    private ConfigurationDomainService configurationDomainService;
+
+    @Mock
+    private BusinessDateSnapshotHolder businessDateSnapshotHolder;
+
     @Test
     public void notFoundByTypeNonexistentType() {
         BusinessDateNotFoundException businessDateNotFoundException = assertThrows(BusinessDateNotFoundException.class,
@@ -93,4 +107,15 @@ public class BusinessDateReadPlatformServiceTest {
         verify(repository, times(1)).findByType(BusinessDateType.BUSINESS_DATE);
         verify(mapper, times(1)).map(result.get());
     }
+
+    @Test
+    public void getBusinessDatesFromSnapshot() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        given(configurationDomainService.isBusinessDateEnabled()).willReturn(Boolean.TRUE);
+        given(businessDateSnapshotHolder.getBusinessDates()).willReturn(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.of(2022, 6, 12)));
+        HashMap<BusinessDateType, LocalDate> businessDates = businessDateReadPlatformService.getBusinessDates();
+        assertEquals(LocalDate.of(2022, 6, 12), businessDates.get(BusinessDateType.BUSINESS_DATE));
+        assertEquals(2, businessDates.size());
+        verify(repository, never()).findAll();
+    }
 }
@@ -31,6 +31,7 @@ import java.util.Optional;
 import org.apache.fineract.infrastructure.businessdate.data.BusinessDateData;
 import org.apache.fineract.infrastructure.businessdate.domain.BusinessDate;
 import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateRepository;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateSnapshotHolder;
 import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
 import org.apache.fineract.infrastructure.businessdate.exception.BusinessDateActionException;
 import org.apache.fineract.infrastructure.businessdate.validator.BusinessDateDataParserAndValidator;
@@ -69,6 +70,9 @@ public class BusinessDateWritePlatformServiceTest {
     @Mock
     private ConfigurationDomainService configurationDomainService;
 
+    @Mock
+    private BusinessDateSnapshotHolder businessDateSnapshotHolder;
+
     @Captor
     private ArgumentCaptor<BusinessDate> businessDateArgumentCaptor;
 
@@ -127,6 +131,7 @@ public class BusinessDateWritePlatformServiceTest {
         verify(businessDateRepository, times(1)).save(businessDateArgumentCaptor.capture());
         assertEquals(LocalDate.of(2022, 6, 13), businessDateArgumentCaptor.getValue().getDate());
         assertEquals(BusinessDateType.COB_DATE, businessDateArgumentCaptor.getValue().getType());
+        verify(businessDateSnapshotHolder, times(1)).evict();
     }
 
     @Test
@@ -147,6 +152,7 @@ public class BusinessDateWritePlatformServiceTest {
         verify(businessDateRepository, times(1)).save(businessDateArgumentCaptor.capture());
         assertEquals(LocalDate.of(2022, 6, 11), businessDateArgumentCaptor.getValue().getDate());
         assertEquals(BusinessDateType.BUSINESS_DATE, businessDateArgumentCaptor.getValue().getType());
+        verify(businessDateSnapshotHolder, times(1)).evict();
     }
 
     @Test
@@ -0,0 +1,127 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import javax.sql.DataSource;
+import org.apache.fineract.infrastructure.cache.service.CacheInvalidationBroadcaster.CacheInvalidation;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.scheduling.TaskScheduler;
+
+public class MultiNodeCacheManagerTest {
+
+    private ConcurrentMapCacheManager localCacheManager;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setUp() {
+        localCacheManager = new ConcurrentMapCacheManager("codes", "offices");
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    public void givenEvictionThenLocalEntryIsEvictedAndBroadcast() {
+        CacheInvalidationBroadcaster broadcaster = mock(CacheInvalidationBroadcaster.class);
+        MultiNodeCacheManager underTest = new MultiNodeCacheManager(localCacheManager, broadcaster);
+        Cache cache = underTest.getCache("codes");
+        cache.put("defaultcv", "value");
+
+        cache.evict("defaultcv");
+        cache.clear();
+
+        assertNull(localCacheManager.getCache("codes").get("defaultcv"));
+        verify(broadcaster).publish("codes", "defaultcv");
+        verify(broadcaster).publish("codes", null);
+    }
+
+    @Test
+    public void givenUnknownCacheThenNoCacheIsReturned() {
+        MultiNodeCacheManager underTest = new MultiNodeCacheManager(new ConcurrentMapCacheManager("codes"),
+                mock(CacheInvalidationBroadcaster.class));
+
+        assertNull(underTest.getCache("unknown"));
+    }
+
+    @Test
+    public void givenInvalidationOfOtherNodeThenLocalEntryIsEvicted() {
+        CacheInvalidationBroadcaster underTest = broadcaster();
+        localCacheManager.getCache("codes").put("defaultcv", "value");
+        localCacheManager.getCache("offices").put(1L, "value");
+
+        underTest.apply(new CacheInvalidation(1L, "other-node", "codes", "defaultcv", System.currentTimeMillis()));
+        underTest.apply(new CacheInvalidation(2L, "other-node", "offices", null, System.currentTimeMillis()));
+
+        assertNull(localCacheManager.getCache("codes").get("defaultcv"));
+        assertNull(localCacheManager.getCache("offices").get(1L));
+        assertEquals(2.0, meterRegistry.counter("fineract.cache.invalidation.received").count());
+        assertEquals(2L, meterRegistry.timer("fineract.cache.invalidation.propagation").count());
+    }
+
+    @Test
+    public void givenInvalidationOfUnknownCacheThenItIsIgnored() {
+        CacheInvalidationBroadcaster underTest = broadcaster();
+        localCacheManager.getCache("codes").put("defaultcv", "value");
+
+        underTest.apply(new CacheInvalidation(1L, "other-node", "unknown", "defaultcv", System.currentTimeMillis()));
+
+        assertNotNull(localCacheManager.getCache("codes").get("defaultcv"));
+    }
+
+    @Test
+    public void givenInvalidationCommittedOutOfIdOrderThenItIsAppliedOnceOnTheNextPoll() {
+        CacheInvalidationBroadcaster underTest = broadcaster();
+        long now = System.currentTimeMillis();
+        CacheInvalidation first = new CacheInvalidation(1L, "other-node", "codes", "first", now);
+        CacheInvalidation late = new CacheInvalidation(2L, "other-node", "codes", "late", now);
+        CacheInvalidation third = new CacheInvalidation(3L, "other-node", "codes", "third", now);
+
+        underTest.applyNew(List.of(first, third), now - 10_000L);
+        localCacheManager.getCache("codes").put("late", "value");
+        underTest.applyNew(List.of(first, late, third), now - 10_000L);
+
+        assertNull(localCacheManager.getCache("codes").get("late"));
+        assertEquals(3.0, meterRegistry.counter("fineract.cache.invalidation.received").count());
+    }
+
+    private CacheInvalidationBroadcaster broadcaster() {
+        FineractProperties.FineractMultiNodeCacheProperties multiNode = new FineractProperties.FineractMultiNodeCacheProperties();
+        multiNode.setPollIntervalMillis(1000);
+        multiNode.setMaxStalenessSeconds(30);
+        multiNode.setRetentionMinutes(60);
+        multiNode.setReorderWindowSeconds(10);
+        FineractProperties.FineractCacheProperties cache = new FineractProperties.FineractCacheProperties();
+        cache.setMultiNode(multiNode);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setNodeId("1");
+        fineractProperties.setCache(cache);
+        return new CacheInvalidationBroadcaster(mock(DataSource.class), localCacheManager, mock(TaskScheduler.class), meterRegistry,
+                fineractProperties);
+    }
+}
@@ -0,0 +1,133 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Method;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+public class TenantPartitionedCacheTest {
+
+    private static final FineractPlatformTenant DEFAULT_TENANT = new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata",
+            null);
+    private static final FineractPlatformTenant OTHER_TENANT = new FineractPlatformTenant(2L, "other", "Other", "Asia/Kolkata", null);
+
+    private SimpleMeterRegistry meterRegistry;
+    private TenantPartitionedCache underTest;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        underTest = new TenantPartitionedCache(new ConcurrentMapCache("code_values"), meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void givenSameKeyThenEntriesOfTenantsAreSeparated() {
+        ThreadLocalContextUtil.setTenant(DEFAULT_TENANT);
+        underTest.put(1L, "default value");
+        ThreadLocalContextUtil.setTenant(OTHER_TENANT);
+        underTest.put(1L, "other value");
+
+        assertEquals("other value", underTest.get(1L, String.class));
+        ThreadLocalContextUtil.setTenant(DEFAULT_TENANT);
+        assertEquals("default value", underTest.get(1L, String.class));
+    }
+
+    @Test
+    public void givenClearThenOnlyEntriesOfCurrentTenantAreDropped() {
+        ThreadLocalContextUtil.setTenant(OTHER_TENANT);
+        underTest.put(1L, "other value");
+        ThreadLocalContextUtil.setTenant(DEFAULT_TENANT);
+        underTest.put(1L, "default value");
+
+        underTest.clear();
+
+        assertNull(underTest.get(1L));
+        ThreadLocalContextUtil.setTenant(OTHER_TENANT);
+        assertEquals("other value", underTest.get(1L, String.class));
+    }
+
+    @Test
+    public void givenEvictOfKeyThenEntriesOfCurrentTenantAreDropped() {
+        ThreadLocalContextUtil.setTenant(OTHER_TENANT);
+        underTest.put(1L, "other value");
+        ThreadLocalContextUtil.setTenant(DEFAULT_TENANT);
+        underTest.put(1L, "default value");
+        underTest.put(2L, "default value");
+
+        underTest.evict(1L);
+
+        assertNull(underTest.get(1L));
+        assertNull(underTest.get(2L));
+        ThreadLocalContextUtil.setTenant(OTHER_TENANT);
+        assertEquals("other value", underTest.get(1L, String.class));
+    }
+
+    @Test
+    public void givenGenerationEvictedFromDelegateThenEntriesOfTenantAreDropped() {
+        ThreadLocalContextUtil.setTenant(OTHER_TENANT);
+        underTest.put(1L, "other value");
+        ThreadLocalContextUtil.setTenant(DEFAULT_TENANT);
+        underTest.put(1L, "default value");
+
+        underTest.evictedFromDelegate("tenant-generation|default");
+
+        assertNull(underTest.get(1L));
+        ThreadLocalContextUtil.setTenant(OTHER_TENANT);
+        assertEquals("other value", underTest.get(1L, String.class));
+    }
+
+    @Test
+    public void givenLookupsThenHitsAndMissesAreCounted() {
+        ThreadLocalContextUtil.setTenant(DEFAULT_TENANT);
+        underTest.get(1L);
+        underTest.put(1L, "value");
+        underTest.get(1L);
+        underTest.get(1L);
+
+        assertEquals(2.0, meterRegistry.counter("cache.gets", "cache", "code_values", "result", "hit").count());
+        assertEquals(1.0, meterRegistry.counter("cache.gets", "cache", "code_values", "result", "miss").count());
+    }
+
+    @Test
+    public void givenMethodsWithSameParametersThenKeysDiffer() throws NoSuchMethodException {
+        MethodCacheKeyGenerator keyGenerator = new MethodCacheKeyGenerator();
+        Method evict = Cache.class.getMethod("evict", Object.class);
+        Method evictIfPresent = Cache.class.getMethod("evictIfPresent", Object.class);
+
+        assertEquals(keyGenerator.generate(underTest, evict, 1L), keyGenerator.generate(underTest, evict, 1L));
+        assertNotEquals(keyGenerator.generate(underTest, evict, 1L), keyGenerator.generate(underTest, evictIfPresent, 1L));
+        assertNotEquals(keyGenerator.generate(underTest, evict, 1L), keyGenerator.generate(underTest, evict, 2L));
+    }
+}
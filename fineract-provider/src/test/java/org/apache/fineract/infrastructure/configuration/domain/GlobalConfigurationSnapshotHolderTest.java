@@ -0,0 +1,141 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.configuration.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.apache.fineract.infrastructure.configuration.exception.GlobalConfigurationPropertyNotFoundException;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractGlobalConfigurationProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class GlobalConfigurationSnapshotHolderTest {
+
+    private static final long VERSION_ID = GlobalConfigurationSnapshotHolder.CONFIGURATION_VERSION_ID;
+    private static final String VERSION_QUERY = "SELECT version FROM c_configuration_version WHERE id = ?";
+
+    @Mock
+    private GlobalConfigurationRepository repository;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final FineractGlobalConfigurationProperties globalConfigurationProperties = new FineractGlobalConfigurationProperties();
+
+    private GlobalConfigurationSnapshotHolder underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        FineractProperties fineractProperties = new FineractProperties();
+        globalConfigurationProperties.setVersionCheckIntervalSeconds(3600);
+        fineractProperties.setGlobalConfiguration(globalConfigurationProperties);
+        underTest = new GlobalConfigurationSnapshotHolder(repository, jdbcTemplate, fineractProperties);
+        when(jdbcTemplate.queryForObject(VERSION_QUERY, Long.class, VERSION_ID)).thenReturn(1L);
+        when(repository.findAll()).thenReturn(List.of(property("maker-checker", true), property("penalty-wait-period", false)));
+    }
+
+    @Test
+    public void givenLoadedSnapshotWhenGetThenDatabaseIsQueriedOnce() {
+        assertTrue(underTest.get("maker-checker").isEnabled());
+        assertFalse(underTest.get("penalty-wait-period").isEnabled());
+        assertTrue(underTest.get("maker-checker").isEnabled());
+
+        verify(repository, times(1)).findAll();
+        verify(jdbcTemplate, times(1)).queryForObject(VERSION_QUERY, Long.class, VERSION_ID);
+    }
+
+    @Test
+    public void givenChangedVersionWhenCheckIntervalElapsedThenSnapshotIsReloaded() {
+        globalConfigurationProperties.setVersionCheckIntervalSeconds(0);
+        underTest.get("maker-checker");
+        underTest.get("maker-checker");
+        verify(repository, times(1)).findAll();
+
+        when(jdbcTemplate.queryForObject(VERSION_QUERY, Long.class, VERSION_ID)).thenReturn(2L);
+        when(repository.findAll()).thenReturn(List.of(property("maker-checker", false)));
+
+        assertFalse(underTest.get("maker-checker").isEnabled());
+        verify(repository, times(2)).findAll();
+    }
+
+    @Test
+    public void givenInvalidatedSnapshotWhenGetThenVersionIsIncreasedAndSnapshotIsReloaded() {
+        underTest.get("maker-checker");
+
+        underTest.invalidate();
+        underTest.get("maker-checker");
+
+        verify(jdbcTemplate).update("UPDATE c_configuration_version SET version = version + 1 WHERE id = ?", VERSION_ID);
+        verify(repository, times(2)).findAll();
+    }
+
+    @Test
+    public void givenPropertyMissingFromSnapshotWhenGetThenItIsLookedUp() {
+        when(repository.findOneByName("survey")).thenReturn(property("survey", true));
+
+        assertEquals("survey", underTest.get("survey").getName());
+        assertThrows(GlobalConfigurationPropertyNotFoundException.class, () -> underTest.get("unknown"));
+        verify(repository, times(2)).findOneByName(anyString());
+    }
+
+    @Test
+    public void givenInvalidationWhileLoadingWhenGetThenLoadedSnapshotIsNotCached() {
+        when(repository.findAll()).thenAnswer(invocation -> {
+            underTest.invalidate();
+            return List.of(property("maker-checker", true));
+        }).thenReturn(List.of(property("maker-checker", false)));
+
+        assertTrue(underTest.get("maker-checker").isEnabled());
+        assertFalse(underTest.get("maker-checker").isEnabled());
+        verify(repository, times(2)).findAll();
+    }
+
+    @Test
+    public void givenReturnedPropertyWhenChangedByCallerThenSnapshotIsNotChanged() {
+        underTest.get("maker-checker").setEnabled(false).setValue(5L);
+
+        assertTrue(underTest.get("maker-checker").isEnabled());
+        assertNull(underTest.get("maker-checker").getValue());
+        verify(repository, times(1)).findAll();
+    }
+
+    private static GlobalConfigurationProperty property(String name, boolean enabled) {
+        return new GlobalConfigurationProperty().setName(name).setEnabled(enabled);
+    }
+}
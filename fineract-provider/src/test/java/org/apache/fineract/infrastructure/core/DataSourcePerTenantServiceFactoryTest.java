@@ -20,6 +20,7 @@ package org.apache.fineract.infrastructure.core;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -40,6 +41,7 @@ import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenantConn
 import org.apache.fineract.infrastructure.core.service.database.DataSourcePerTenantServiceFactory;
 import org.apache.fineract.infrastructure.core.service.database.DatabasePasswordEncryptor;
 import org.apache.fineract.infrastructure.core.service.database.HikariDataSourceFactory;
+import org.apache.fineract.infrastructure.core.service.database.TenantSchemaDataSource;
 import org.apache.fineract.infrastructure.security.utils.EncryptionUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -167,6 +169,10 @@ public class DataSourcePerTenantServiceFactoryTest {
         given(tenantPropertiesMock.getConfig()).willReturn(configProperties);
         given(fineractProperties.getTenant()).willReturn(tenantPropertiesMock);
 
+        FineractProperties.FineractDatabaseProperties databaseProperties = new FineractProperties.FineractDatabaseProperties();
+        databaseProperties.setSharedPool(new FineractProperties.FineractSharedPoolProperties());
+        given(fineractProperties.getDatabase()).willReturn(databaseProperties);
+
         given(databasePasswordEncryptor.isMasterPasswordHashValid(any())).willReturn(true);
         given(databasePasswordEncryptor.getMasterPasswordHash()).willReturn(hashedMasterPassword);
         given(databasePasswordEncryptor.decrypt(any())).will(
@@ -352,6 +358,38 @@ public class DataSourcePerTenantServiceFactoryTest {
         assertEquals(MASTER_DB_AUTO_COMMIT_ENABLED, hikariConfig.isAutoCommit());
     }
 
+    @Test
+    void testCreateNewDataSourceFor_ShouldShareOnePool_WhenSharedPoolEnabled() {
+        // given
+        FineractProperties.FineractModeProperties modeProperties = createModeProps(MASTER_DB_AUTO_COMMIT_ENABLED,
+                MASTER_DB_AUTO_COMMIT_ENABLED, MASTER_DB_AUTO_COMMIT_ENABLED, MASTER_DB_AUTO_COMMIT_ENABLED);
+        given(fineractProperties.getMode()).willReturn(modeProperties);
+
+        FineractProperties.FineractSharedPoolProperties sharedPool = fineractProperties.getDatabase().getSharedPool();
+        sharedPool.setEnabled(true);
+        sharedPool.setMaxPoolSize(50);
+        sharedPool.setMaxConnectionsPerTenant(10);
+        sharedPool.setIdleTimeoutSeconds(300);
+
+        // when
+        DataSource dataSource = underTest.createNewDataSourceFor(defaultTenant.getConnection());
+        DataSource otherDataSource = underTest.createNewDataSourceFor(defaultTenant.getConnection());
+
+        // then
+        assertEquals(MASTER_DB_SCHEMA_NAME, assertInstanceOf(TenantSchemaDataSource.class, dataSource).getSchemaName());
+        assertEquals(MASTER_DB_SCHEMA_NAME, assertInstanceOf(TenantSchemaDataSource.class, otherDataSource).getSchemaName());
+        verify(hikariDataSourceFactory).create(hikariConfigCaptor.capture());
+        HikariConfig hikariConfig = hikariConfigCaptor.getValue();
+        assertFalse(hikariConfig.isReadOnly());
+        assertEquals(MASTER_DB_JDBC_URL, hikariConfig.getJdbcUrl());
+        assertEquals("shared_1_pool", hikariConfig.getPoolName());
+        assertEquals(MASTER_DB_USERNAME, hikariConfig.getUsername());
+        assertEquals(MASTER_DB_PASSWORD, hikariConfig.getPassword());
+        assertEquals(0, hikariConfig.getMinimumIdle());
+        assertEquals(50, hikariConfig.getMaximumPoolSize());
+        assertEquals(300_000L, hikariConfig.getIdleTimeout());
+    }
+
     private FineractProperties.FineractModeProperties createModeProps(boolean readEnabled, boolean writeEnabled, boolean batchWorkerEnabled,
             boolean batchManagerEnabled) {
         FineractProperties.FineractModeProperties modeProperties = new FineractProperties.FineractModeProperties();
@@ -0,0 +1,94 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.serialization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.gson.Gson;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Set;
+import org.apache.fineract.infrastructure.core.exception.UnsupportedParameterException;
+import org.junit.jupiter.api.Test;
+
+class GoogleGsonSerializerHelperTest {
+
+    private final GoogleGsonSerializerHelper underTest = new GoogleGsonSerializerHelper();
+
+    @Test
+    void testPartialResponseSerializerIsReusedForSameFields() {
+        final Gson first = underTest.createGsonBuilderForPartialResponseFiltering(false, Set.of("id", "name"));
+        final Gson second = underTest.createGsonBuilderForPartialResponseFiltering(false, Set.of("name", "id"));
+        final Gson pretty = underTest.createGsonBuilderForPartialResponseFiltering(true, Set.of("id", "name"));
+
+        assertSame(first, second);
+        assertNotSame(first, pretty);
+        assertEquals("{\"id\":1,\"name\":\"test\"}", underTest.serializedJsonFrom(first, new Sample(1L, "test", LocalDate.of(2023, 1, 1))));
+    }
+
+    @Test
+    void testExclusionSerializerIsReusedAndStillValidatesParameters() {
+        final Set<String> supported = Set.of("id", "name", "date");
+        final Gson first = underTest.createGsonBuilderWithParameterExclusionSerializationStrategy(supported, false, Set.of("id"));
+        final Gson second = underTest.createGsonBuilderWithParameterExclusionSerializationStrategy(supported, false, Set.of("id"));
+
+        assertSame(first, second);
+        assertEquals("{\"id\":1}", underTest.serializedJsonFrom(first, new Sample(1L, "test", LocalDate.of(2023, 1, 1))));
+        assertThrows(UnsupportedParameterException.class,
+                () -> underTest.createGsonBuilderWithParameterExclusionSerializationStrategy(supported, false, Set.of("unknown")));
+    }
+
+    @Test
+    void testSerializerCacheIsBounded() {
+        for (int i = 0; i < 1000; i++) {
+            underTest.createGsonBuilderForPartialResponseFiltering(false, Set.of("field" + i));
+        }
+
+        assertEquals(256, underTest.getCachedSerializerCount());
+    }
+
+    @Test
+    void testStreamingMatchesStringSerialization() throws IOException {
+        final Gson gson = underTest.createGsonBuilderForPartialResponseFiltering(false, Set.of("name", "date"));
+        final Sample sample = new Sample(1L, "test", LocalDate.of(2023, 1, 1));
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        underTest.serializeJsonTo(gson, sample, output);
+
+        assertEquals(underTest.serializedJsonFrom(gson, sample), output.toString(StandardCharsets.UTF_8));
+    }
+
+    private static final class Sample {
+
+        private final Long id;
+        private final String name;
+        private final LocalDate date;
+
+        Sample(final Long id, final String name, final LocalDate date) {
+            this.id = id;
+            this.name = name;
+            this.date = date;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service.database;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.servlet.http.Cookie;
+import java.util.List;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractDatabaseProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractReadReplicaProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+public class ReadReplicaRoutingTest {
+
+    private ReadReplicaRouting underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated("mifos", null, List.of()));
+        underTest = new ReadReplicaRouting(fineractProperties(true));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        SecurityContextHolder.clearContext();
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    public void givenGetRequestWhenEligibleMethodThenReplicaIsUsed() {
+        startRequest("GET");
+
+        underTest.enterEligible();
+        try {
+            assertTrue(underTest.useReadReplica());
+        } finally {
+            underTest.exitEligible();
+        }
+        assertFalse(underTest.useReadReplica());
+    }
+
+    @Test
+    public void givenGetRequestWhenReadOnlyTransactionThenReplicaIsUsed() {
+        startRequest("GET");
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertTrue(underTest.useReadReplica());
+    }
+
+    @Test
+    public void givenGetRequestWhenReadWriteTransactionThenPrimaryIsUsed() {
+        startRequest("GET");
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        underTest.enterEligible();
+        try {
+            assertFalse(underTest.useReadReplica());
+        } finally {
+            underTest.exitEligible();
+        }
+    }
+
+    @Test
+    public void givenModifyingRequestThenWriteIsRecordedForTheResponse() {
+        startRequest("GET");
+        assertFalse(underTest.useReadReplica());
+        assertFalse(underTest.isWriteRecorded());
+
+        startRequest("POST");
+        assertFalse(underTest.useReadReplica());
+        assertTrue(underTest.isWriteRecorded());
+    }
+
+    @Test
+    public void givenRecentWriteMarkerWhenGetRequestThenPrimaryIsUsed() {
+        MockHttpServletRequest request = startRequest("GET");
+        request.addHeader(ReadReplicaRouting.LAST_WRITE_HEADER, String.valueOf(System.currentTimeMillis()));
+
+        underTest.enterEligible();
+        try {
+            assertFalse(underTest.useReadReplica());
+        } finally {
+            underTest.exitEligible();
+        }
+    }
+
+    @Test
+    public void givenRecentWriteMarkerCookieWhenGetRequestThenPrimaryIsUsed() {
+        MockHttpServletRequest request = startRequest("GET");
+        request.setCookies(new Cookie(ReadReplicaRouting.LAST_WRITE_HEADER, String.valueOf(System.currentTimeMillis())));
+
+        underTest.enterEligible();
+        try {
+            assertFalse(underTest.useReadReplica());
+        } finally {
+            underTest.exitEligible();
+        }
+    }
+
+    @Test
+    public void givenExpiredOrInvalidWriteMarkerWhenGetRequestThenReplicaIsUsed() {
+        underTest.enterEligible();
+        try {
+            MockHttpServletRequest request = startRequest("GET");
+            request.addHeader(ReadReplicaRouting.LAST_WRITE_HEADER, String.valueOf(System.currentTimeMillis() - 61_000L));
+            assertTrue(underTest.useReadReplica());
+
+            request = startRequest("GET");
+            request.addHeader(ReadReplicaRouting.LAST_WRITE_HEADER, "invalid");
+            assertTrue(underTest.useReadReplica());
+        } finally {
+            underTest.exitEligible();
+        }
+    }
+
+    @Test
+    public void givenNoRequestWhenEligibleMethodThenPrimaryIsUsed() {
+        underTest.enterEligible();
+        try {
+            assertFalse(underTest.useReadReplica());
+        } finally {
+            underTest.exitEligible();
+        }
+    }
+
+    @Test
+    public void givenRoutingDisabledWhenEligibleMethodThenPrimaryIsUsed() {
+        underTest = new ReadReplicaRouting(fineractProperties(false));
+        startRequest("GET");
+
+        underTest.enterEligible();
+        try {
+            assertFalse(underTest.useReadReplica());
+        } finally {
+            underTest.exitEligible();
+        }
+    }
+
+    private static MockHttpServletRequest startRequest(String method) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/v1/clients");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        return request;
+    }
+
+    private static FineractProperties fineractProperties(boolean enabled) {
+        FineractReadReplicaProperties readReplica = new FineractReadReplicaProperties();
+        readReplica.setEnabled(enabled);
+        readReplica.setReadYourWritesWindowSeconds(60);
+        FineractDatabaseProperties database = new FineractDatabaseProperties();
+        database.setReadReplica(readReplica);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setDatabase(database);
+        return fineractProperties;
+    }
+}
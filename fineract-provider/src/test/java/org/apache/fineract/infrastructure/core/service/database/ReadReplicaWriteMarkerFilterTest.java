@@ -0,0 +1,111 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service.database;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.NewCookie;
+import jakarta.ws.rs.core.SecurityContext;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+public class ReadReplicaWriteMarkerFilterTest {
+
+    private ReadReplicaRouting readReplicaRouting;
+    private ReadReplicaWriteRecorder readReplicaWriteRecorder;
+    private ContainerRequestContext requestContext;
+    private ContainerResponseContext responseContext;
+    private final MultivaluedMap<String, Object> responseHeaders = new MultivaluedHashMap<>();
+    private ReadReplicaWriteMarkerFilter underTest;
+
+    @BeforeEach
+    public void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated("mifos", null, List.of()));
+        readReplicaRouting = mock(ReadReplicaRouting.class);
+        readReplicaWriteRecorder = mock(ReadReplicaWriteRecorder.class);
+        requestContext = mock(ContainerRequestContext.class);
+        responseContext = mock(ContainerResponseContext.class);
+        SecurityContext securityContext = mock(SecurityContext.class);
+        when(requestContext.getSecurityContext()).thenReturn(securityContext);
+        when(responseContext.getHeaders()).thenReturn(responseHeaders);
+        when(readReplicaRouting.isEnabled()).thenReturn(true);
+        when(readReplicaRouting.getReadYourWritesWindowMillis()).thenReturn(60_000L);
+        underTest = new ReadReplicaWriteMarkerFilter(readReplicaRouting, readReplicaWriteRecorder);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void givenModifyingRequestThenWriteIsRecordedForTheUserAndMarkedOnTheResponse() {
+        when(readReplicaRouting.isWriteRecorded()).thenReturn(true);
+        long before = System.currentTimeMillis();
+
+        underTest.filter(requestContext, responseContext);
+
+        verify(readReplicaWriteRecorder).recordWrite("mifos");
+        long lastWrite = Long.parseLong((String) responseHeaders.getFirst(ReadReplicaRouting.LAST_WRITE_HEADER));
+        assertTrue(lastWrite >= before);
+        NewCookie cookie = (NewCookie) responseHeaders.getFirst(HttpHeaders.SET_COOKIE);
+        assertNotNull(cookie);
+        assertEquals(String.valueOf(lastWrite), cookie.getValue());
+        assertEquals(60, cookie.getMaxAge());
+        assertTrue(cookie.isHttpOnly());
+    }
+
+    @Test
+    public void givenRequestWithoutWriteThenNothingIsRecorded() {
+        when(readReplicaRouting.isWriteRecorded()).thenReturn(false);
+
+        underTest.filter(requestContext, responseContext);
+
+        verifyNoInteractions(readReplicaWriteRecorder);
+        assertTrue(responseHeaders.isEmpty());
+    }
+
+    @Test
+    public void givenRecordingFailsThenResponseIsStillMarked() {
+        when(readReplicaRouting.isWriteRecorded()).thenReturn(true);
+        doThrow(new DataAccessResourceFailureException("database down")).when(readReplicaWriteRecorder).recordWrite("mifos");
+
+        underTest.filter(requestContext, responseContext);
+
+        assertNotNull(responseHeaders.getFirst(ReadReplicaRouting.LAST_WRITE_HEADER));
+        assertNotNull(responseHeaders.getFirst(HttpHeaders.SET_COOKIE));
+    }
+}
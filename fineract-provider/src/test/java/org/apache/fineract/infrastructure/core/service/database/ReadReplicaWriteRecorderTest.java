@@ -0,0 +1,111 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service.database;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractDatabaseProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractReadReplicaProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public class ReadReplicaWriteRecorderTest {
+
+    private static final String UPDATE = "UPDATE m_read_replica_write SET written_at = ? WHERE user_name = ?";
+    private static final String INSERT = "INSERT INTO m_read_replica_write (user_name, written_at) VALUES (?, ?)";
+
+    private JdbcTemplate jdbcTemplate;
+    private ReadReplicaWriteRecorder underTest;
+
+    @BeforeEach
+    public void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        underTest = new ReadReplicaWriteRecorder(jdbcTemplate, new ReadReplicaRouting(fineractProperties(true)));
+    }
+
+    @Test
+    public void givenRecordedUserThenWriteTimeIsUpdated() {
+        when(jdbcTemplate.update(eq(UPDATE), anyLong(), eq("mifos"))).thenReturn(1);
+
+        underTest.recordWrite("mifos");
+
+        verify(jdbcTemplate).update(eq(UPDATE), anyLong(), eq("mifos"));
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    public void givenNewUserThenWriteIsInserted() {
+        when(jdbcTemplate.update(eq(UPDATE), anyLong(), eq("mifos"))).thenReturn(0);
+
+        underTest.recordWrite("mifos");
+
+        verify(jdbcTemplate).update(eq(UPDATE), anyLong(), eq("mifos"));
+        verify(jdbcTemplate).update(eq(INSERT), eq("mifos"), anyLong());
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    public void givenConcurrentInsertOfTheSameUserThenWriteTimeIsUpdated() {
+        when(jdbcTemplate.update(eq(UPDATE), anyLong(), eq("mifos"))).thenReturn(0, 1);
+        when(jdbcTemplate.update(eq(INSERT), eq("mifos"), anyLong())).thenThrow(new DuplicateKeyException("duplicate"));
+
+        underTest.recordWrite("mifos");
+
+        verify(jdbcTemplate, times(2)).update(eq(UPDATE), anyLong(), eq("mifos"));
+        verify(jdbcTemplate).update(eq(INSERT), eq("mifos"), anyLong());
+    }
+
+    @Test
+    public void givenWriteForAllUsersThenItIsRecordedUnderTheWildcardUser() {
+        when(jdbcTemplate.update(eq(UPDATE), anyLong(), eq(ReadReplicaWriteRecorder.ALL_USERS))).thenReturn(1);
+
+        underTest.recordWriteForAllUsers();
+
+        verify(jdbcTemplate).update(eq(UPDATE), anyLong(), eq(ReadReplicaWriteRecorder.ALL_USERS));
+    }
+
+    @Test
+    public void givenRoutingDisabledOrNoUserThenNothingIsRecorded() {
+        underTest.recordWrite(null);
+        new ReadReplicaWriteRecorder(jdbcTemplate, new ReadReplicaRouting(fineractProperties(false))).recordWrite("mifos");
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private static FineractProperties fineractProperties(boolean enabled) {
+        FineractReadReplicaProperties readReplica = new FineractReadReplicaProperties();
+        readReplica.setEnabled(enabled);
+        readReplica.setReadYourWritesWindowSeconds(60);
+        FineractDatabaseProperties database = new FineractDatabaseProperties();
+        database.setReadReplica(readReplica);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setDatabase(database);
+        return fineractProperties;
+    }
+}
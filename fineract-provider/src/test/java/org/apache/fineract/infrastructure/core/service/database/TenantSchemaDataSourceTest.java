@@ -0,0 +1,87 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service.database;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TenantSchemaDataSourceTest {
+
+    private DataSource sharedDataSource;
+    private Connection pooledConnection;
+    private TenantSchemaDataSource underTest;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        sharedDataSource = mock(DataSource.class);
+        pooledConnection = mock(Connection.class);
+        given(sharedDataSource.getConnection()).willReturn(pooledConnection);
+        underTest = new TenantSchemaDataSource(sharedDataSource, "fineract_default", 1, 0L);
+    }
+
+    @Test
+    public void givenCheckoutThenSchemaOfTheTenantIsSelected() throws SQLException {
+        try (Connection connection = underTest.getConnection()) {
+            connection.getMetaData();
+        }
+
+        verify(pooledConnection).setCatalog("fineract_default");
+        verify(pooledConnection).getMetaData();
+        verify(pooledConnection).close();
+    }
+
+    @Test
+    public void givenLimitReachedThenCheckoutFails() throws SQLException {
+        Connection connection = underTest.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, () -> underTest.getConnection());
+        verify(sharedDataSource, times(1)).getConnection();
+
+        connection.close();
+        connection.close();
+        assertTrue(connection.isClosed());
+        verify(pooledConnection, times(1)).close();
+
+        underTest.getConnection().close();
+        verify(sharedDataSource, times(2)).getConnection();
+    }
+
+    @Test
+    public void givenSchemaSwitchFailsThenPermitIsReleased() throws SQLException {
+        doThrow(new SQLException("Unknown database")).doNothing().when(pooledConnection).setCatalog("fineract_default");
+
+        assertThrows(SQLException.class, () -> underTest.getConnection());
+        verify(pooledConnection).close();
+
+        underTest.getConnection().close();
+        verify(sharedDataSource, times(2)).getConnection();
+    }
+}
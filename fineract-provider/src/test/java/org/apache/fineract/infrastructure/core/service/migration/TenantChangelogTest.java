@@ -0,0 +1,49 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service.migration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import liquibase.changelog.ChangeLogParameters;
+import liquibase.changelog.DatabaseChangeLog;
+import liquibase.exception.LiquibaseException;
+import liquibase.parser.ChangeLogParser;
+import liquibase.parser.ChangeLogParserFactory;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import liquibase.resource.ResourceAccessor;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Parses the changelogs with all their included parts, so a part which is not well-formed fails the build instead of
+ * the migration of every tenant at startup.
+ */
+public class TenantChangelogTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = { "db/changelog/tenant/changelog-tenant.xml", "db/changelog/tenant-store/changelog-tenant-store.xml" })
+    public void givenChangelogThenItAndItsPartsAreParsed(String changelogPath) throws LiquibaseException {
+        ResourceAccessor resourceAccessor = new ClassLoaderResourceAccessor();
+        ChangeLogParser parser = ChangeLogParserFactory.getInstance().getParser(changelogPath, resourceAccessor);
+
+        DatabaseChangeLog changeLog = parser.parse(changelogPath, new ChangeLogParameters(), resourceAccessor);
+
+        assertFalse(changeLog.getChangeSets().isEmpty());
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.external.jobs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ExternalEventOutboxCursorTest {
+
+    private Instant now = Instant.parse("2023-07-01T10:00:00Z");
+    private ExternalEventOutboxCursor underTest;
+
+    @BeforeEach
+    public void setUp() {
+        FineractProperties.FineractExternalEventsOutboxProperties properties = new FineractProperties.FineractExternalEventsOutboxProperties();
+        properties.setRescanIntervalInSeconds(60);
+        properties.setRetryInitialBackoffInMilliseconds(1000);
+        properties.setRetryMaxBackoffInMilliseconds(3000);
+        underTest = new ExternalEventOutboxCursor(properties, new Clock() {
+
+            @Override
+            public ZoneId getZone() {
+                return ZoneId.of("UTC");
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now;
+            }
+        });
+    }
+
+    @Test
+    public void testAdvanceMovesLastId() {
+        underTest.advance(10L);
+        underTest.advance(5L);
+
+        assertEquals(10L, underTest.getLastId());
+    }
+
+    @Test
+    public void testFailedRewindsToOldestFailedEventAndBacksOff() {
+        underTest.advance(10L);
+
+        underTest.failed(List.of(7L, 4L));
+
+        assertEquals(3L, underTest.getLastId());
+        assertTrue(underTest.isBackingOff());
+        now = now.plus(Duration.ofMillis(1000));
+        assertFalse(underTest.isBackingOff());
+    }
+
+    @Test
+    public void testBackoffDoublesUntilMaximumAndResetsOnAcknowledgement() {
+        underTest.failed(List.of(1L));
+        underTest.failed(List.of(1L));
+        now = now.plus(Duration.ofMillis(1999));
+        assertTrue(underTest.isBackingOff());
+
+        underTest.failed(List.of(1L));
+        now = now.plus(Duration.ofMillis(3000));
+        assertFalse(underTest.isBackingOff());
+
+        underTest.acknowledged();
+        underTest.failed(List.of(1L));
+        now = now.plus(Duration.ofMillis(1000));
+        assertFalse(underTest.isBackingOff());
+    }
+
+    @Test
+    public void testLastIdIsResetAfterRescanInterval() {
+        underTest.advance(10L);
+        now = now.plus(Duration.ofSeconds(60));
+
+        assertEquals(0L, underTest.getLastId());
+        underTest.advance(12L);
+        assertEquals(12L, underTest.getLastId());
+    }
+}
@@ -0,0 +1,216 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.external.jobs;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.NodeLeaseService;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.tenant.TenantDetailsService;
+import org.apache.fineract.infrastructure.event.external.exception.AcknowledgementTimeoutException;
+import org.apache.fineract.infrastructure.event.external.producer.ExternalEventMessage;
+import org.apache.fineract.infrastructure.event.external.producer.ExternalEventProducer;
+import org.apache.fineract.infrastructure.event.external.repository.ExternalEventRepository;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventStatus;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ExternalEventRelayTest {
+
+    private static final FineractPlatformTenant DEFAULT_TENANT = new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null);
+
+    @Mock
+    private TenantDetailsService tenantDetailsService;
+    @Mock
+    private ExternalEventRepository repository;
+    @Mock
+    private ExternalEventProducer eventProducer;
+    @Mock
+    private SendAsynchronousEventsTasklet sendAsynchronousEventsTasklet;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private NodeLeaseService nodeLeaseService;
+    private FineractProperties fineractProperties;
+    private ExternalEventRelay underTest;
+
+    @BeforeEach
+    public void setUp() {
+        fineractProperties = new FineractProperties();
+        FineractProperties.FineractEventsProperties eventsProperties = new FineractProperties.FineractEventsProperties();
+        FineractProperties.FineractExternalEventsProperties externalProperties = new FineractProperties.FineractExternalEventsProperties();
+        FineractProperties.FineractExternalEventsRelayProperties relayProperties = new FineractProperties.FineractExternalEventsRelayProperties();
+        relayProperties.setEnabled(true);
+        relayProperties.setPollIntervalInMilliseconds(10);
+        relayProperties.setMaxIdleIntervalInMilliseconds(20);
+        relayProperties.setMaxInFlightBatches(2);
+        relayProperties.setTenantRefreshIntervalInSeconds(60);
+        relayProperties.setLeaseDurationInSeconds(30);
+        externalProperties.setRelay(relayProperties);
+        FineractProperties.FineractExternalEventsOutboxProperties outboxProperties = new FineractProperties.FineractExternalEventsOutboxProperties();
+        outboxProperties.setRescanIntervalInSeconds(60);
+        outboxProperties.setRetryInitialBackoffInMilliseconds(10);
+        outboxProperties.setRetryMaxBackoffInMilliseconds(10);
+        externalProperties.setOutbox(outboxProperties);
+        eventsProperties.setExternal(externalProperties);
+        fineractProperties.setEvents(eventsProperties);
+
+        when(tenantDetailsService.findAllTenants()).thenReturn(List.of(DEFAULT_TENANT));
+        when(sendAsynchronousEventsTasklet.isDownstreamChannelEnabled()).thenReturn(true);
+        when(nodeLeaseService.tryAcquire(eq(ExternalEventRelay.LEASE_NAME), any())).thenReturn(true);
+        when(sendAsynchronousEventsTasklet.getBatchSize()).thenReturn(2);
+        when(sendAsynchronousEventsTasklet.createCursor())
+                .thenAnswer(invocation -> new ExternalEventOutboxCursor(outboxProperties, Clock.systemUTC()));
+        when(sendAsynchronousEventsTasklet.generatePartitions(any())).thenAnswer(invocation -> {
+            List<ExternalEventView> events = invocation.getArgument(0);
+            return Map.of(1L, events.stream().map(event -> new ExternalEventMessage(event.getId(), new byte[0])).toList());
+        });
+        when(sendAsynchronousEventsTasklet.getSentEventIds(any(), any())).thenCallRealMethod();
+        when(eventProducer.sendEventsAndCollectAcknowledged(any())).thenAnswer(invocation -> {
+            Map<Long, List<ExternalEventMessage>> partitions = invocation.getArgument(0);
+            return partitions.values().stream().flatMap(List::stream).map(ExternalEventMessage::eventId).collect(Collectors.toSet());
+        });
+        doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        underTest = new ExternalEventRelay(fineractProperties, tenantDetailsService, repository, eventProducer,
+                sendAsynchronousEventsTasklet, transactionTemplate, nodeLeaseService);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        underTest.destroy();
+    }
+
+    @Test
+    public void givenFullBatchesWhenRelayRunsThenNextBatchIsReadAfterLastId() {
+        // given
+        List<ExternalEventView> firstBatch = List.of(createExternalEventView(1L), createExternalEventView(2L));
+        List<ExternalEventView> secondBatch = List.of(createExternalEventView(3L));
+        when(repository.findByStatusAndIdGreaterThanOrderById(eq(ExternalEventStatus.TO_BE_SENT), anyLong(), any())).thenReturn(List.of());
+        when(repository.findByStatusAndIdGreaterThanOrderById(eq(ExternalEventStatus.TO_BE_SENT), eq(0L), any())).thenReturn(firstBatch);
+        when(repository.findByStatusAndIdGreaterThanOrderById(eq(ExternalEventStatus.TO_BE_SENT), eq(2L), any())).thenReturn(secondBatch);
+        // when
+        underTest.onApplicationEvent(null);
+        // then
+        verify(sendAsynchronousEventsTasklet, timeout(5000)).markEventsAsSent(List.of(1L, 2L));
+        verify(sendAsynchronousEventsTasklet, timeout(5000)).markEventsAsSent(List.of(3L));
+    }
+
+    @Test
+    public void givenFailedBatchWhenRelayRunsThenRelayRestartsFromOldestUnsentEvent() throws Exception {
+        // given
+        List<ExternalEventView> batch = List.of(createExternalEventView(1L));
+        when(repository.findByStatusAndIdGreaterThanOrderById(eq(ExternalEventStatus.TO_BE_SENT), anyLong(), any())).thenReturn(List.of());
+        when(repository.findByStatusAndIdGreaterThanOrderById(eq(ExternalEventStatus.TO_BE_SENT), eq(0L), any())).thenReturn(batch);
+        doThrow(new AcknowledgementTimeoutException("Event Send Exception", new RuntimeException())).doReturn(Set.of(1L))
+                .when(eventProducer).sendEventsAndCollectAcknowledged(any());
+        // when
+        underTest.onApplicationEvent(null);
+        // then
+        verify(eventProducer, timeout(5000).times(2)).sendEventsAndCollectAcknowledged(any());
+        verify(sendAsynchronousEventsTasklet, timeout(5000)).markEventsAsSent(List.of(1L));
+    }
+
+    @Test
+    public void givenPartiallyAcknowledgedBatchWhenRelayRunsThenOnlyUnacknowledgedEventsAreSentAgain() {
+        // given
+        List<ExternalEventView> batch = List.of(createExternalEventView(1L), createExternalEventView(2L));
+        when(repository.findByStatusAndIdGreaterThanOrderById(eq(ExternalEventStatus.TO_BE_SENT), anyLong(), any())).thenReturn(List.of());
+        when(repository.findByStatusAndIdGreaterThanOrderById(eq(ExternalEventStatus.TO_BE_SENT), eq(0L), any())).thenReturn(batch);
+        when(repository.findByStatusAndIdGreaterThanOrderById(eq(ExternalEventStatus.TO_BE_SENT), eq(1L), any()))
+                .thenReturn(List.of(batch.get(1)));
+        doReturn(Set.of(1L)).doReturn(Set.of(2L)).when(eventProducer).sendEventsAndCollectAcknowledged(any());
+        // when
+        underTest.onApplicationEvent(null);
+        // then
+        verify(sendAsynchronousEventsTasklet, timeout(5000)).markEventsAsSent(List.of(1L));
+        verify(sendAsynchronousEventsTasklet, timeout(5000)).markEventsAsSent(List.of(2L));
+    }
+
+    @Test
+    public void givenLeaseHeldByOtherNodeWhenRelayRunsThenOutboxIsNotRead() {
+        // given
+        when(nodeLeaseService.tryAcquire(eq(ExternalEventRelay.LEASE_NAME), any())).thenReturn(false);
+        // when
+        underTest.onApplicationEvent(null);
+        // then
+        verify(nodeLeaseService, timeout(5000).atLeast(2)).tryAcquire(eq(ExternalEventRelay.LEASE_NAME), any());
+        verify(repository, never()).findByStatusAndIdGreaterThanOrderById(any(), anyLong(), any());
+    }
+
+    @Test
+    public void givenTenantAddedLaterWhenTenantsAreRefreshedThenItsOutboxIsRelayed() throws Exception {
+        // given
+        FineractPlatformTenant newTenant = new FineractPlatformTenant(2L, "new", "New", "Asia/Kolkata", null);
+        when(tenantDetailsService.findAllTenants()).thenReturn(List.of(DEFAULT_TENANT)).thenReturn(List.of(DEFAULT_TENANT, newTenant));
+        fineractProperties.getEvents().getExternal().getRelay().setTenantRefreshIntervalInSeconds(1);
+        CountDownLatch newTenantRead = new CountDownLatch(1);
+        when(repository.findByStatusAndIdGreaterThanOrderById(eq(ExternalEventStatus.TO_BE_SENT), anyLong(), any())).thenAnswer(invocation -> {
+            if ("new".equals(ThreadLocalContextUtil.getTenant().getTenantIdentifier())) {
+                newTenantRead.countDown();
+            }
+            return List.of();
+        });
+        // when
+        underTest.onApplicationEvent(null);
+        // then
+        assertTrue(newTenantRead.await(5, TimeUnit.SECONDS));
+    }
+
+    private ExternalEventView createExternalEventView(Long id) {
+        ExternalEventView result = Mockito.mock(ExternalEventView.class);
+        when(result.getId()).thenReturn(id);
+        return result;
+    }
+}
@@ -34,6 +34,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 import org.apache.fineract.avro.MessageV1;
 import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
@@ -42,11 +45,12 @@ import org.apache.fineract.infrastructure.core.domain.ActionContext;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.event.external.exception.AcknowledgementTimeoutException;
+import org.apache.fineract.infrastructure.event.external.producer.ExternalEventMessage;
 import org.apache.fineract.infrastructure.event.external.producer.ExternalEventProducer;
 import org.apache.fineract.infrastructure.event.external.repository.ExternalEventRepository;
 import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventView;
 import org.apache.fineract.infrastructure.event.external.service.message.MessageFactory;
-import org.apache.fineract.infrastructure.event.external.service.support.ByteBufferConverter;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -78,8 +82,6 @@ class SendAsynchronousEventsTaskletTest {
     @Mock
     private ChunkContext chunkContext;
     @Mock
-    private ByteBufferConverter byteBufferConverter;
-    @Mock
     private ConfigurationDomainService configurationDomainService;
     private SendAsynchronousEventsTasklet underTest;
     private RepeatStatus resultStatus;
@@ -93,10 +95,15 @@ class SendAsynchronousEventsTaskletTest {
         ThreadLocalContextUtil
                 .setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.now(ZoneId.systemDefault()))));
         configureExternalEventsProducerReadBatchSizeProperty();
-        underTest = new SendAsynchronousEventsTasklet(fineractProperties, repository, eventProducer, messageFactory, byteBufferConverter,
+        underTest = new SendAsynchronousEventsTasklet(fineractProperties, repository, eventProducer, messageFactory,
                 configurationDomainService);
     }
 
+    @AfterEach
+    public void tearDown() {
+        underTest.destroy();
+    }
+
     private void configureExternalEventsProducerReadBatchSizeProperty() {
         FineractProperties.FineractEventsProperties eventsProperties = new FineractProperties.FineractEventsProperties();
         FineractProperties.FineractExternalEventsProperties externalProperties = new FineractProperties.FineractExternalEventsProperties();
@@ -106,6 +113,12 @@ class SendAsynchronousEventsTaskletTest {
         externalProperties.setEnabled(true);
         externalEventsProducerProperties.setJms(externalEventsProducerJMSProperties);
         externalProperties.setProducer(externalEventsProducerProperties);
+        FineractProperties.FineractExternalEventsOutboxProperties outboxProperties = new FineractProperties.FineractExternalEventsOutboxProperties();
+        outboxProperties.setRescanIntervalInSeconds(60);
+        outboxProperties.setRetryInitialBackoffInMilliseconds(60_000);
+        outboxProperties.setRetryMaxBackoffInMilliseconds(60_000);
+        outboxProperties.setSerializationThreadPoolSize(2);
+        externalProperties.setOutbox(outboxProperties);
         eventsProperties.setExternal(externalProperties);
         when(fineractProperties.getEvents()).thenReturn(eventsProperties);
         when(configurationDomainService.retrieveExternalEventBatchSize()).thenReturn(10L);
@@ -119,15 +132,15 @@ class SendAsynchronousEventsTaskletTest {
                 createExternalEventView("aType", "aCategory", "aSchema", new byte[0], "aIdempotencyKey", 1L));
         // Dummy Message
         MessageV1 dummyMessage = new MessageV1(1, "aSource", "aType", "nocategory", "aCreateDate", "aBusinessDate", "aTenantId",
-                "anidempotencyKey", "aSchema", Mockito.mock(ByteBuffer.class));
+                "anidempotencyKey", "aSchema", ByteBuffer.wrap(new byte[0]));
 
-        when(repository.findByStatusOrderById(Mockito.any(), Mockito.any())).thenReturn(events);
-        when(messageFactory.createMessage(Mockito.any())).thenReturn(dummyMessage);
-        when(byteBufferConverter.convert(Mockito.any(ByteBuffer.class))).thenReturn(new byte[0]);
+        when(repository.findByStatusAndIdGreaterThanOrderById(Mockito.any(), Mockito.anyLong(), Mockito.any())).thenReturn(events);
+        acknowledgeAll(events);
+        when(messageFactory.createMessage(Mockito.any(), Mockito.anyString())).thenReturn(dummyMessage);
         // when
         resultStatus = underTest.execute(stepContribution, chunkContext);
         // then
-        verify(eventProducer).sendEvents(Mockito.any());
+        verify(eventProducer).sendEventsAndCollectAcknowledged(Mockito.any());
         verify(repository).markEventsSent(Mockito.eq(events.stream().map(ExternalEventView::getId).toList()), Mockito.any());
         assertEquals(RepeatStatus.FINISHED, resultStatus);
     }
@@ -139,12 +152,12 @@ class SendAsynchronousEventsTaskletTest {
                 createExternalEventView("aType", "aCategory", "aSchema", new byte[0], "aIdempotencyKey", 1L),
                 createExternalEventView("aType", "aCategory", "aSchema", new byte[0], "aIdempotencyKey", 1L));
         MessageV1 dummyMessage = new MessageV1(1, "aSource", "aType", "nocategory", "aCreateDate", "aBusinessDate", "aTenantId",
-                "anidempotencyKey", "aSchema", Mockito.mock(ByteBuffer.class));
-        when(repository.findByStatusOrderById(Mockito.any(), Mockito.any())).thenReturn(events);
-        when(messageFactory.createMessage(Mockito.any())).thenReturn(dummyMessage);
-        when(byteBufferConverter.convert(Mockito.any(ByteBuffer.class))).thenReturn(new byte[0]);
+                "anidempotencyKey", "aSchema", ByteBuffer.wrap(new byte[0]));
+        when(repository.findByStatusAndIdGreaterThanOrderById(Mockito.any(), Mockito.anyLong(), Mockito.any())).thenReturn(events);
+        acknowledgeAll(events);
+        when(messageFactory.createMessage(Mockito.any(), Mockito.anyString())).thenReturn(dummyMessage);
         doThrow(new AcknowledgementTimeoutException("Event Send Exception", new RuntimeException())).when(eventProducer)
-                .sendEvents(Mockito.any());
+                .sendEventsAndCollectAcknowledged(Mockito.any());
         // when
         resultStatus = underTest.execute(stepContribution, chunkContext);
         // then
@@ -158,15 +171,15 @@ class SendAsynchronousEventsTaskletTest {
         List<ExternalEventView> events = Arrays
                 .asList(createExternalEventView("aType", "aCategory", "aSchema", new byte[0], "aIdempotencyKey", 1L));
         MessageV1 dummyMessage = new MessageV1(1, "aSource", "aType", "nocategory", "aCreateDate", "aBusinessDate", "aTenantId",
-                "anidempotencyKey", "aSchema", Mockito.mock(ByteBuffer.class));
-        when(repository.findByStatusOrderById(Mockito.any(), Mockito.any())).thenReturn(events);
-        when(messageFactory.createMessage(Mockito.any())).thenReturn(dummyMessage);
-        when(byteBufferConverter.convert(Mockito.any(ByteBuffer.class))).thenReturn(new byte[0]);
+                "anidempotencyKey", "aSchema", ByteBuffer.wrap(new byte[0]));
+        when(repository.findByStatusAndIdGreaterThanOrderById(Mockito.any(), Mockito.anyLong(), Mockito.any())).thenReturn(events);
+        acknowledgeAll(events);
+        when(messageFactory.createMessage(Mockito.any(), Mockito.anyString())).thenReturn(dummyMessage);
         // when
         resultStatus = underTest.execute(stepContribution, chunkContext);
         // then
-        verify(messageFactory).createMessage(Mockito.any());
-        verify(eventProducer).sendEvents(Mockito.any());
+        verify(messageFactory).createMessage(Mockito.any(), Mockito.eq("default"));
+        verify(eventProducer).sendEventsAndCollectAcknowledged(Mockito.any());
         verify(repository).markEventsSent(Mockito.eq(events.stream().map(ExternalEventView::getId).toList()), Mockito.any());
         assertEquals(RepeatStatus.FINISHED, resultStatus);
     }
@@ -177,16 +190,19 @@ class SendAsynchronousEventsTaskletTest {
         List<ExternalEventView> events = Arrays
                 .asList(createExternalEventView("aType", "aCategory", "aSchema", new byte[0], "aIdempotencyKey", null));
         MessageV1 dummyMessage = new MessageV1(1, "aSource", "aType", "nocategory", "aCreateDate", "aBusinessDate", "aTenantId",
-                "anidempotencyKey", "aSchema", Mockito.mock(ByteBuffer.class));
-        when(repository.findByStatusOrderById(Mockito.any(), Mockito.any())).thenReturn(events);
-        when(messageFactory.createMessage(Mockito.any())).thenReturn(dummyMessage);
-        byte[] byteMsg = new byte[0];
-        when(byteBufferConverter.convert(Mockito.any(ByteBuffer.class))).thenReturn(byteMsg);
+                "anidempotencyKey", "aSchema", ByteBuffer.wrap(new byte[0]));
+        when(repository.findByStatusAndIdGreaterThanOrderById(Mockito.any(), Mockito.anyLong(), Mockito.any())).thenReturn(events);
+        acknowledgeAll(events);
+        when(messageFactory.createMessage(Mockito.any(), Mockito.anyString())).thenReturn(dummyMessage);
         // when
         resultStatus = underTest.execute(stepContribution, chunkContext);
         // then
-        verify(messageFactory).createMessage(Mockito.any());
-        verify(eventProducer).sendEvents(Map.of(-1L, List.of(byteMsg)));
+        verify(messageFactory).createMessage(Mockito.any(), Mockito.eq("default"));
+        ArgumentCaptor<Map<Long, List<ExternalEventMessage>>> partitionsCaptor = ArgumentCaptor.forClass(Map.class);
+        verify(eventProducer).sendEventsAndCollectAcknowledged(partitionsCaptor.capture());
+        assertThat(partitionsCaptor.getValue().keySet()).containsExactly(-1L);
+        byte[] payload = partitionsCaptor.getValue().get(-1L).get(0).payload();
+        assertThat(MessageV1.fromByteBuffer(ByteBuffer.wrap(payload))).isEqualTo(dummyMessage);
         verify(repository).markEventsSent(Mockito.eq(events.stream().map(ExternalEventView::getId).toList()), Mockito.any());
         assertEquals(RepeatStatus.FINISHED, resultStatus);
     }
@@ -195,18 +211,111 @@ class SendAsynchronousEventsTaskletTest {
     public void givenEventBatchSizeIsConfiguredAs10WhenTaskExecutionThenEventReadPageSizeIsCorrect() {
         ArgumentCaptor<Pageable> externalEventPageSizeArgumentCaptor = ArgumentCaptor.forClass(Pageable.class);
         List<ExternalEventView> events = new ArrayList<>();
-        when(repository.findByStatusOrderById(Mockito.any(), Mockito.any())).thenReturn(events);
+        when(repository.findByStatusAndIdGreaterThanOrderById(Mockito.any(), Mockito.anyLong(), Mockito.any())).thenReturn(events);
         // when
         resultStatus = underTest.execute(stepContribution, chunkContext);
         // then
-        verify(repository).findByStatusOrderById(Mockito.any(), externalEventPageSizeArgumentCaptor.capture());
+        verify(repository).findByStatusAndIdGreaterThanOrderById(Mockito.any(), Mockito.eq(0L), externalEventPageSizeArgumentCaptor.capture());
         assertThat(externalEventPageSizeArgumentCaptor.getValue().getPageSize()).isEqualTo(10);
     }
 
+    @Test
+    public void givenPartiallyAcknowledgedBatchWhenTaskExecutionThenOnlyAcknowledgedEventsAreMarkedAndRetryIsPostponed() {
+        // given
+        List<ExternalEventView> events = Arrays.asList(
+                createExternalEventView("aType", "aCategory", "aSchema", new byte[0], "aIdempotencyKey", 1L),
+                createExternalEventView("aType", "aCategory", "aSchema", new byte[0], "aIdempotencyKey", 2L));
+        MessageV1 dummyMessage = new MessageV1(1, "aSource", "aType", "nocategory", "aCreateDate", "aBusinessDate", "aTenantId",
+                "anidempotencyKey", "aSchema", ByteBuffer.wrap(new byte[0]));
+        when(repository.findByStatusAndIdGreaterThanOrderById(Mockito.any(), Mockito.anyLong(), Mockito.any())).thenReturn(events);
+        when(messageFactory.createMessage(Mockito.any(), Mockito.anyString())).thenReturn(dummyMessage);
+        Long acknowledgedId = events.get(0).getId();
+        when(eventProducer.sendEventsAndCollectAcknowledged(Mockito.any())).thenReturn(Set.of(acknowledgedId));
+        // when
+        underTest.execute(stepContribution, chunkContext);
+        underTest.execute(stepContribution, chunkContext);
+        // then
+        verify(repository).markEventsSent(Mockito.eq(List.of(acknowledgedId)), Mockito.any());
+        verify(repository, times(1)).findByStatusAndIdGreaterThanOrderById(Mockito.any(), Mockito.anyLong(), Mockito.any());
+    }
+
+    @Test
+    public void givenUnacknowledgedEventWhenTaskExecutionThenLaterEventsOfSameAggregateRootAreNotMarkedAsSent() {
+        // given
+        ExternalEventView firstEvent = createExternalEventView("aType", "aCategory", "aSchema", new byte[0], "aIdempotencyKey", 1L);
+        ExternalEventView secondEvent = createExternalEventView("aType", "aCategory", "aSchema", new byte[0], "aIdempotencyKey", 1L);
+        ExternalEventView otherEvent = createExternalEventView("aType", "aCategory", "aSchema", new byte[0], "aIdempotencyKey", 2L);
+        List<ExternalEventView> events = List.of(firstEvent, secondEvent, otherEvent);
+        MessageV1 dummyMessage = new MessageV1(1, "aSource", "aType", "nocategory", "aCreateDate", "aBusinessDate", "aTenantId",
+                "anidempotencyKey", "aSchema", ByteBuffer.wrap(new byte[0]));
+        when(repository.findByStatusAndIdGreaterThanOrderById(Mockito.any(), Mockito.anyLong(), Mockito.any())).thenReturn(events);
+        when(messageFactory.createMessage(Mockito.any(), Mockito.anyString())).thenReturn(dummyMessage);
+        Set<Long> acknowledgedIds = Set.of(secondEvent.getId(), otherEvent.getId());
+        when(eventProducer.sendEventsAndCollectAcknowledged(Mockito.any())).thenReturn(acknowledgedIds);
+        // when
+        underTest.execute(stepContribution, chunkContext);
+        // then
+        verify(repository).markEventsSent(Mockito.eq(List.of(otherEvent.getId())), Mockito.any());
+    }
+
+    @Test
+    public void givenSentBatchWhenTaskExecutionThenNextBatchIsReadAfterLastId() {
+        // given
+        ExternalEventView event = createExternalEventView("aType", "aCategory", "aSchema", new byte[0], "aIdempotencyKey", 1L);
+        Long eventId = event.getId();
+        List<ExternalEventView> events = List.of(event);
+        MessageV1 dummyMessage = new MessageV1(1, "aSource", "aType", "nocategory", "aCreateDate", "aBusinessDate", "aTenantId",
+                "anidempotencyKey", "aSchema", ByteBuffer.wrap(new byte[0]));
+        when(repository.findByStatusAndIdGreaterThanOrderById(Mockito.any(), Mockito.anyLong(), Mockito.any())).thenReturn(events);
+        when(messageFactory.createMessage(Mockito.any(), Mockito.anyString())).thenReturn(dummyMessage);
+        acknowledgeAll(events);
+        // when
+        underTest.execute(stepContribution, chunkContext);
+        underTest.execute(stepContribution, chunkContext);
+        // then
+        verify(repository).findByStatusAndIdGreaterThanOrderById(Mockito.any(), Mockito.eq(0L), Mockito.any());
+        verify(repository).findByStatusAndIdGreaterThanOrderById(Mockito.any(), Mockito.eq(eventId), Mockito.any());
+    }
+
+    @Test
+    public void givenEventsOfSeveralAggregateRootsWhenGeneratePartitionsThenOrderIsKeptPerAggregateRootAndDedicatedThreadsAreUsed()
+            throws Exception {
+        // given
+        List<ExternalEventView> events = Arrays.asList(
+                createExternalEventView("aType", "aCategory", "aSchema", new byte[] { 1 }, "aIdempotencyKey", 1L),
+                createExternalEventView("aType", "aCategory", "aSchema", new byte[] { 2 }, "aIdempotencyKey", 2L),
+                createExternalEventView("aType", "aCategory", "aSchema", new byte[] { 3 }, "aIdempotencyKey", 1L),
+                createExternalEventView("aType", "aCategory", "aSchema", new byte[] { 4 }, "aIdempotencyKey", 2L));
+        Set<String> threadNames = ConcurrentHashMap.newKeySet();
+        when(messageFactory.createMessage(Mockito.any(), Mockito.anyString())).thenAnswer(invocation -> {
+            threadNames.add(Thread.currentThread().getName());
+            ExternalEventView event = invocation.getArgument(0);
+            return new MessageV1(1, "aSource", event.getType(), event.getCategory(), "aCreateDate", "aBusinessDate",
+                    invocation.getArgument(1), event.getIdempotencyKey(), event.getSchema(), ByteBuffer.wrap(event.getData()));
+        });
+        // when
+        Map<Long, List<ExternalEventMessage>> partitions = underTest.generatePartitions(events);
+        // then
+        assertThat(partitions.keySet()).containsExactly(1L, 2L);
+        assertThat(partitions.get(1L).stream().map(ExternalEventMessage::eventId).toList())
+                .containsExactly(events.get(0).getId(), events.get(2).getId()).inOrder();
+        assertThat(partitions.get(2L).stream().map(ExternalEventMessage::eventId).toList())
+                .containsExactly(events.get(1).getId(), events.get(3).getId()).inOrder();
+        MessageV1 message = MessageV1.fromByteBuffer(ByteBuffer.wrap(partitions.get(2L).get(1).payload()));
+        assertThat(message.getTenantId()).isEqualTo("default");
+        assertThat(message.getData()).isEqualTo(ByteBuffer.wrap(new byte[] { 4 }));
+        assertThat(threadNames.stream().allMatch(threadName -> threadName.startsWith("external-event-serializer-"))).isTrue();
+    }
+
+    private void acknowledgeAll(List<ExternalEventView> events) {
+        Set<Long> eventIds = events.stream().map(ExternalEventView::getId).collect(Collectors.toSet());
+        when(eventProducer.sendEventsAndCollectAcknowledged(Mockito.any())).thenReturn(eventIds);
+    }
+
     private ExternalEventView createExternalEventView(String type, String category, String schema, byte[] data, String idempotencyKey,
             Long aggregateRootId) {
         ExternalEventView result = Mockito.mock(ExternalEventView.class);
-        Mockito.when(result.getId()).thenReturn(rnd.nextLong());
+        Mockito.when(result.getId()).thenReturn(rnd.nextLong(1, Long.MAX_VALUE));
         Mockito.when(result.getType()).thenReturn(type);
         Mockito.when(result.getCategory()).thenReturn(category);
         Mockito.when(result.getSchema()).thenReturn(schema);
@@ -23,8 +23,10 @@ import static org.mockito.Mockito.times;
 import java.nio.charset.Charset;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.event.external.producer.ExternalEventMessage;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -110,6 +112,28 @@ class KafkaExternalEventProducerTest {
         Mockito.verifyNoMoreInteractions(kafkaTemplate);
     }
 
+    @Test
+    public void testSendOneFailsOthersAreAcknowledged() {
+        // given
+        KafkaExternalEventProducer underTest = new KafkaExternalEventProducer(kafkaTemplate, createProperties());
+        Mockito.when(kafkaTemplate.send(TOPIC_NAME, 1L, FIRST)).thenReturn(CompletableFuture.completedFuture(sendResult1));
+        Mockito.when(kafkaTemplate.send(TOPIC_NAME, 1L, SECOND)).thenReturn(new CompletableFuture<>());
+        Mockito.when(kafkaTemplate.send(TOPIC_NAME, 2L, THIRD))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Kafka error")));
+
+        // when
+        Set<Long> acknowledged = underTest.sendEventsAndCollectAcknowledged(
+                Map.of(1L, List.of(new ExternalEventMessage(11L, FIRST), new ExternalEventMessage(12L, SECOND)), 2L,
+                        List.of(new ExternalEventMessage(13L, THIRD))));
+
+        // then
+        Assertions.assertEquals(Set.of(11L), acknowledged);
+        Mockito.verify(kafkaTemplate, times(1)).send(TOPIC_NAME, 1L, FIRST);
+        Mockito.verify(kafkaTemplate, times(1)).send(TOPIC_NAME, 1L, SECOND);
+        Mockito.verify(kafkaTemplate, times(1)).send(TOPIC_NAME, 2L, THIRD);
+        Mockito.verifyNoMoreInteractions(kafkaTemplate);
+    }
+
     @NotNull
     private static FineractProperties createProperties() {
         FineractProperties props = new FineractProperties();
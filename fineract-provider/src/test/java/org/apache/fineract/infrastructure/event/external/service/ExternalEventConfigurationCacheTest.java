@@ -0,0 +1,125 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.external.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractGlobalConfigurationProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.event.external.exception.ExternalEventConfigurationNotFoundException;
+import org.apache.fineract.infrastructure.event.external.repository.ExternalEventConfigurationRepository;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class ExternalEventConfigurationCacheTest {
+
+    private static final String VERSION_QUERY = "SELECT version FROM c_configuration_version WHERE id = ?";
+
+    @Mock
+    private ExternalEventConfigurationRepository repository;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final FineractGlobalConfigurationProperties globalConfigurationProperties = new FineractGlobalConfigurationProperties();
+
+    private ExternalEventConfigurationCache underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        FineractProperties fineractProperties = new FineractProperties();
+        globalConfigurationProperties.setVersionCheckIntervalSeconds(3600);
+        fineractProperties.setGlobalConfiguration(globalConfigurationProperties);
+        underTest = new ExternalEventConfigurationCache(repository, jdbcTemplate, fineractProperties);
+        when(jdbcTemplate.queryForObject(VERSION_QUERY, Long.class, ExternalEventConfigurationCache.CONFIGURATION_VERSION_ID))
+                .thenReturn(1L);
+        when(repository.findAll())
+                .thenReturn(List.of(new ExternalEventConfiguration("aType", true), new ExternalEventConfiguration("bType", false)));
+    }
+
+    @Test
+    public void givenLoadedConfigurationsWhenIsEnabledThenRepositoryIsQueriedOnce() {
+        assertTrue(underTest.isEnabled("aType"));
+        assertFalse(underTest.isEnabled("bType"));
+        assertTrue(underTest.isEnabled("aType"));
+
+        verify(repository, times(1)).findAll();
+    }
+
+    @Test
+    public void givenUnknownTypeWhenIsEnabledThenNotFoundIsThrown() {
+        assertThrows(ExternalEventConfigurationNotFoundException.class, () -> underTest.isEnabled("unknownType"));
+    }
+
+    @Test
+    public void givenEvictedConfigurationsWhenIsEnabledThenVersionIsIncreasedAndConfigurationsAreReloaded() {
+        underTest.isEnabled("aType");
+
+        underTest.evict();
+        underTest.isEnabled("aType");
+
+        verify(jdbcTemplate).update("UPDATE c_configuration_version SET version = version + 1 WHERE id = ?",
+                ExternalEventConfigurationCache.CONFIGURATION_VERSION_ID);
+        verify(repository, times(2)).findAll();
+    }
+
+    @Test
+    public void givenVersionChangedOnOtherNodeWhenCheckIntervalElapsedThenConfigurationsAreReloaded() {
+        globalConfigurationProperties.setVersionCheckIntervalSeconds(0);
+        assertTrue(underTest.isEnabled("aType"));
+        assertTrue(underTest.isEnabled("aType"));
+        verify(repository, times(1)).findAll();
+
+        when(jdbcTemplate.queryForObject(VERSION_QUERY, Long.class, ExternalEventConfigurationCache.CONFIGURATION_VERSION_ID))
+                .thenReturn(2L);
+        when(repository.findAll()).thenReturn(List.of(new ExternalEventConfiguration("aType", false)));
+
+        assertFalse(underTest.isEnabled("aType"));
+        verify(repository, times(2)).findAll();
+    }
+
+    @Test
+    public void givenEvictionWhileLoadingWhenIsEnabledThenLoadedConfigurationsAreNotCached() {
+        when(repository.findAll()).thenAnswer(invocation -> {
+            underTest.evict();
+            return List.of(new ExternalEventConfiguration("aType", true));
+        }).thenReturn(List.of(new ExternalEventConfiguration("aType", false)));
+
+        assertTrue(underTest.isEnabled("aType"));
+        assertFalse(underTest.isEnabled("aType"));
+        verify(repository, times(2)).findAll();
+    }
+}
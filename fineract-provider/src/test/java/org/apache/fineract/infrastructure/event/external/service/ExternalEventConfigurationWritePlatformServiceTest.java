@@ -43,12 +43,14 @@ public class ExternalEventConfigurationWritePlatformServiceTest {
     private ExternalEventConfigurationRepository repository;
     @Mock
     private ExternalEventConfigurationCommandFromApiJsonDeserializer fromApiJsonDeserializer;
+    @Mock
+    private ExternalEventConfigurationCache configurationCache;
 
     private ExternalEventConfigurationWritePlatformServiceImpl underTest;
 
     @BeforeEach
     public void setUp() {
-        underTest = new ExternalEventConfigurationWritePlatformServiceImpl(repository, fromApiJsonDeserializer);
+        underTest = new ExternalEventConfigurationWritePlatformServiceImpl(repository, fromApiJsonDeserializer, configurationCache);
     }
 
     @Test
@@ -66,6 +68,7 @@ public class ExternalEventConfigurationWritePlatformServiceTest {
         underTest.updateConfigurations(jsonCommand);
         // then
         verify(repository, times(1)).saveAll(Mockito.anyCollection());
+        verify(configurationCache, times(1)).evict();
     }
 
 }
@@ -21,17 +21,25 @@ package org.apache.fineract.infrastructure.event.external.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 import jakarta.persistence.EntityManager;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -45,9 +53,9 @@ import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 import org.apache.fineract.infrastructure.core.service.DataEnricherProcessor;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
 import org.apache.fineract.infrastructure.event.business.domain.BulkBusinessEvent;
 import org.apache.fineract.infrastructure.event.business.domain.BusinessEvent;
-import org.apache.fineract.infrastructure.event.external.repository.ExternalEventRepository;
 import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEvent;
 import org.apache.fineract.infrastructure.event.external.service.idempotency.ExternalEventIdempotencyKeyGenerator;
 import org.apache.fineract.infrastructure.event.external.service.message.BulkMessageItemFactory;
@@ -64,6 +72,10 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @ExtendWith(MockitoExtension.class)
 @SuppressWarnings({ "rawtypes", "unchecked" })
@@ -73,8 +85,6 @@ class ExternalEventServiceTest {
 
     public static final String DUMMY_SETTLEMENT_DATE = "2021-01-01";
     @Mock
-    private ExternalEventRepository repository;
-    @Mock
     private ExternalEventIdempotencyKeyGenerator idempotencyKeyGenerator;
     @Mock
     private BusinessEventSerializerFactory serializerFactory;
@@ -90,6 +100,10 @@ class ExternalEventServiceTest {
     private LoanTransactionAdjustmentDataV1Enricher loanTransactionAdjustmentDataV1Enricher;
     @Mock
     private LoanTransactionDataV1Enricher loanTransactionDataV1Enricher;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private DatabaseSpecificSQLGenerator sqlGenerator;
 
     private ExternalEventService underTest;
 
@@ -101,8 +115,8 @@ class ExternalEventServiceTest {
                 .thenReturn(true);
         DataEnricherProcessor dataEnricherProcessor = new DataEnricherProcessor(
                 Optional.of(List.of(loanAccountDataV1Enricher, loanTransactionAdjustmentDataV1Enricher, loanTransactionDataV1Enricher)));
-        underTest = new ExternalEventService(repository, idempotencyKeyGenerator, serializerFactory, byteBufferConverter,
-                bulkMessageItemFactory, dataEnricherProcessor);
+        underTest = new ExternalEventService(idempotencyKeyGenerator, serializerFactory, byteBufferConverter,
+                bulkMessageItemFactory, dataEnricherProcessor, jdbcTemplate, sqlGenerator);
         underTest.setEntityManager(entityManager);
         FineractPlatformTenant tenant = new FineractPlatformTenant(1L, "default", "Default Tenant", "Europe/Budapest", null);
         ThreadLocalContextUtil.setTenant(tenant);
@@ -136,8 +150,6 @@ class ExternalEventServiceTest {
     @Test
     public void testPostEventShouldWorkWithRegularEvent() {
         // given
-        ArgumentCaptor<ExternalEvent> externalEventArgumentCaptor = ArgumentCaptor.forClass(ExternalEvent.class);
-
         String eventSchema = "org.apache.fineract.avro.loan.v1.LoanAccountDataV1";
         String eventType = "TestType";
         String idempotencyKey = "key";
@@ -153,22 +165,51 @@ class ExternalEventServiceTest {
         given(eventSerializer.toAvroDTO(event)).willReturn(loanAccountData);
         given(byteBufferConverter.convert(any(ByteBuffer.class))).willReturn(data);
         // when
-        underTest.postEvent(event);
+        ExternalEvent externalEvent = postEventAndCommit(event);
         // then
-        verify(repository).save(externalEventArgumentCaptor.capture());
         verify(loanAccountDataV1Enricher).isDataTypeSupported(LoanAccountDataV1.class);
         verify(loanAccountDataV1Enricher).enrich(loanAccountData);
-        ExternalEvent externalEvent = externalEventArgumentCaptor.getValue();
         assertThat(externalEvent.getIdempotencyKey()).isEqualTo(idempotencyKey);
         assertThat(externalEvent.getData()).isEqualTo(data);
         assertThat(externalEvent.getType()).isEqualTo(eventType);
         assertThat(externalEvent.getSchema()).isEqualTo(eventSchema);
     }
 
+    @Test
+    public void testPostEventShouldBatchInsertEventsOfTheTransactionBeforeCommit() {
+        // given
+        BusinessEvent event = mock(BusinessEvent.class);
+        BusinessEventSerializer eventSerializer = mock(BusinessEventSerializer.class);
+        given(event.getType()).willReturn("TestType");
+        given(idempotencyKeyGenerator.generate(event)).willReturn("key");
+        given(serializerFactory.create(event)).willReturn(eventSerializer);
+        given(eventSerializer.getSupportedSchema()).will(invocation -> LoanAccountDataV1.class);
+        given(eventSerializer.toAvroDTO(event)).willReturn(new LoanAccountDataV1());
+        given(byteBufferConverter.convert(any(ByteBuffer.class))).willReturn(new byte[0]);
+        given(sqlGenerator.escape("schema")).willReturn("schema");
+        ArgumentCaptor<Collection<ExternalEvent>> eventsCaptor = ArgumentCaptor.forClass(Collection.class);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // when
+            underTest.postEvent(event);
+            underTest.postEvent(event);
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            verify(jdbcTemplate, never()).batchUpdate(anyString(), any(Collection.class), anyInt(),
+                    any(ParameterizedPreparedStatementSetter.class));
+            synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+            // then
+            assertThat(synchronizations).hasSize(1);
+            verify(jdbcTemplate).batchUpdate(anyString(), eventsCaptor.capture(), eq(2), any(ParameterizedPreparedStatementSetter.class));
+            assertThat(eventsCaptor.getValue()).hasSize(2);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
     @Test
     public void testPostEventShouldWorkWithBulkEvent() throws IOException {
         // given
-        ArgumentCaptor<ExternalEvent> externalEventArgumentCaptor = ArgumentCaptor.forClass(ExternalEvent.class);
         String eventType = "BulkBusinessEvent";
         String schema = "org.apache.fineract.avro.BulkMessagePayloadV1";
 
@@ -182,10 +223,8 @@ class ExternalEventServiceTest {
         given(idempotencyKeyGenerator.generate(bulkEvent)).willReturn(idempotencyKey);
         given(byteBufferConverter.convert(any(ByteBuffer.class))).willReturn(data);
         // when
-        underTest.postEvent(bulkEvent);
+        ExternalEvent externalEvent = postEventAndCommit(bulkEvent);
         // then
-        verify(repository).save(externalEventArgumentCaptor.capture());
-        ExternalEvent externalEvent = externalEventArgumentCaptor.getValue();
         assertThat(externalEvent.getIdempotencyKey()).isEqualTo(idempotencyKey);
         assertThat(externalEvent.getData()).isEqualTo(data);
         assertThat(externalEvent.getType()).isEqualTo(eventType);
@@ -195,7 +234,6 @@ class ExternalEventServiceTest {
     @Test
     public void testPostEventShouldSaveEventCategory() {
         // given
-        ArgumentCaptor<ExternalEvent> externalEventArgumentCaptor = ArgumentCaptor.forClass(ExternalEvent.class);
         String eventSchema = "org.apache.fineract.avro.loan.v1.LoanAccountDataV1";
         String eventType = "TestType";
         String eventCategory = "TestCategory";
@@ -210,10 +248,8 @@ class ExternalEventServiceTest {
         given(eventSerializer.getSupportedSchema()).will(invocation -> LoanAccountDataV1.class);
         given(eventSerializer.toAvroDTO(event)).willReturn(new LoanAccountDataV1());
         // when
-        underTest.postEvent(event);
+        ExternalEvent externalEvent = postEventAndCommit(event);
         // then
-        verify(repository).save(externalEventArgumentCaptor.capture());
-        ExternalEvent externalEvent = externalEventArgumentCaptor.getValue();
         assertThat(externalEvent.getCategory()).isEqualTo(eventCategory);
 
     }
@@ -221,7 +257,6 @@ class ExternalEventServiceTest {
     @Test
     public void testEventShouldSaveDatesInMilliSecondFormat() {
         // given
-        ArgumentCaptor<ExternalEvent> externalEventArgumentCaptor = ArgumentCaptor.forClass(ExternalEvent.class);
         String eventSchema = "org.apache.fineract.avro.loan.v1.LoanAccountDataV1";
         String eventType = "TestType";
         String eventCategory = "TestCategory";
@@ -236,18 +271,14 @@ class ExternalEventServiceTest {
         given(eventSerializer.getSupportedSchema()).will(invocation -> LoanAccountDataV1.class);
         given(eventSerializer.toAvroDTO(event)).willReturn(new LoanAccountDataV1());
         // when
-        underTest.postEvent(event);
+        ExternalEvent externalEvent = postEventAndCommit(event);
         // then
-        verify(repository).save(externalEventArgumentCaptor.capture());
-        ExternalEvent externalEvent = externalEventArgumentCaptor.getValue();
         assertThat(externalEvent.getCreatedAt().isSupported(ChronoUnit.MILLIS)).isTrue();
     }
 
     @Test
     public void testPostEventShouldWorkWithTransactionEvent() {
         // given
-        ArgumentCaptor<ExternalEvent> externalEventArgumentCaptor = ArgumentCaptor.forClass(ExternalEvent.class);
-
         String eventSchema = "org.apache.fineract.avro.loan.v1.LoanTransactionDataV1";
         String eventType = "TestType";
         String idempotencyKey = "key";
@@ -263,12 +294,10 @@ class ExternalEventServiceTest {
         given(eventSerializer.toAvroDTO(event)).willReturn(loanTransactionData);
         given(byteBufferConverter.convert(any(ByteBuffer.class))).willReturn(data);
         // when
-        underTest.postEvent(event);
+        ExternalEvent externalEvent = postEventAndCommit(event);
         // then
-        verify(repository).save(externalEventArgumentCaptor.capture());
         verify(loanTransactionDataV1Enricher).isDataTypeSupported(LoanTransactionDataV1.class);
         verify(loanTransactionDataV1Enricher).enrich(loanTransactionData);
-        ExternalEvent externalEvent = externalEventArgumentCaptor.getValue();
         assertThat(externalEvent.getIdempotencyKey()).isEqualTo(idempotencyKey);
         assertThat(externalEvent.getData()).isEqualTo(data);
         assertThat(externalEvent.getType()).isEqualTo(eventType);
@@ -278,8 +307,6 @@ class ExternalEventServiceTest {
     @Test
     public void testPostEventShouldWorkWithTransactionAdjustEvent() {
         // given
-        ArgumentCaptor<ExternalEvent> externalEventArgumentCaptor = ArgumentCaptor.forClass(ExternalEvent.class);
-
         String eventSchema = "org.apache.fineract.avro.loan.v1.LoanTransactionAdjustmentDataV1";
         String eventType = "TestType";
         String idempotencyKey = "key";
@@ -295,15 +322,49 @@ class ExternalEventServiceTest {
         given(eventSerializer.toAvroDTO(event)).willReturn(loanTransactionAdjustmentData);
         given(byteBufferConverter.convert(any(ByteBuffer.class))).willReturn(data);
         // when
-        underTest.postEvent(event);
+        ExternalEvent externalEvent = postEventAndCommit(event);
         // then
-        verify(repository).save(externalEventArgumentCaptor.capture());
         verify(loanTransactionAdjustmentDataV1Enricher).isDataTypeSupported(LoanTransactionAdjustmentDataV1.class);
         verify(loanTransactionAdjustmentDataV1Enricher).enrich(loanTransactionAdjustmentData);
-        ExternalEvent externalEvent = externalEventArgumentCaptor.getValue();
         assertThat(externalEvent.getIdempotencyKey()).isEqualTo(idempotencyKey);
         assertThat(externalEvent.getData()).isEqualTo(data);
         assertThat(externalEvent.getType()).isEqualTo(eventType);
         assertThat(externalEvent.getSchema()).isEqualTo(eventSchema);
     }
+
+    @Test
+    public void testPostEventShouldBindDatesLikeThePersistenceProvider() throws Exception {
+        // given
+        BusinessEvent event = mock(BusinessEvent.class);
+        BusinessEventSerializer eventSerializer = mock(BusinessEventSerializer.class);
+        given(event.getType()).willReturn("TestType");
+        given(idempotencyKeyGenerator.generate(event)).willReturn("key");
+        given(serializerFactory.create(event)).willReturn(eventSerializer);
+        given(eventSerializer.getSupportedSchema()).will(invocation -> LoanAccountDataV1.class);
+        given(eventSerializer.toAvroDTO(event)).willReturn(new LoanAccountDataV1());
+        ArgumentCaptor<ParameterizedPreparedStatementSetter<ExternalEvent>> setterCaptor = ArgumentCaptor
+                .forClass(ParameterizedPreparedStatementSetter.class);
+        PreparedStatement preparedStatement = mock(PreparedStatement.class);
+        // when
+        ExternalEvent externalEvent = postEventAndCommit(event);
+        verify(jdbcTemplate).batchUpdate(anyString(), any(Collection.class), anyInt(), setterCaptor.capture());
+        setterCaptor.getValue().setValues(preparedStatement, externalEvent);
+        // then
+        verify(preparedStatement).setTimestamp(5, Timestamp.from(externalEvent.getCreatedAt().toInstant()));
+        verify(preparedStatement).setDate(8, Date.valueOf(externalEvent.getBusinessDate()));
+    }
+
+    private ExternalEvent postEventAndCommit(BusinessEvent event) {
+        lenient().when(sqlGenerator.escape("schema")).thenReturn("schema");
+        ArgumentCaptor<Collection<ExternalEvent>> eventsCaptor = ArgumentCaptor.forClass(Collection.class);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            underTest.postEvent(event);
+            TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> synchronization.beforeCommit(false));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        verify(jdbcTemplate).batchUpdate(anyString(), eventsCaptor.capture(), eq(1), any(ParameterizedPreparedStatementSetter.class));
+        return eventsCaptor.getValue().iterator().next();
+    }
 }
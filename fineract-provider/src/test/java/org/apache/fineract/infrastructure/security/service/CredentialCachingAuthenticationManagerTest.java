@@ -0,0 +1,127 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.security.service;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractSecurityBasicAuth;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractSecurityCredentialCache;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractSecurityProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+@ExtendWith(MockitoExtension.class)
+public class CredentialCachingAuthenticationManagerTest {
+
+    @Mock
+    private AuthenticationManager delegate;
+
+    private final Authentication authenticated = UsernamePasswordAuthenticationToken.authenticated("mifos", "password", List.of());
+
+    private AuthenticatedCredentialCache credentialCache;
+    private CredentialCachingAuthenticationManager underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        FineractSecurityCredentialCache cacheProperties = new FineractSecurityCredentialCache();
+        cacheProperties.setEnabled(true);
+        cacheProperties.setTtlSeconds(60);
+        FineractSecurityBasicAuth basicAuth = new FineractSecurityBasicAuth();
+        basicAuth.setCredentialCache(cacheProperties);
+        FineractSecurityProperties security = new FineractSecurityProperties();
+        security.setBasicauth(basicAuth);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setSecurity(security);
+        credentialCache = new AuthenticatedCredentialCache(fineractProperties);
+        underTest = new CredentialCachingAuthenticationManager(delegate, credentialCache);
+    }
+
+    @Test
+    public void givenSuccessfulAuthenticationWhenAuthenticatingAgainThenDelegateIsCalledOnce() {
+        when(delegate.authenticate(any())).thenReturn(authenticated);
+
+        assertSame(authenticated, underTest.authenticate(token("mifos", "password")));
+        assertSame(authenticated, underTest.authenticate(token("mifos", "password")));
+
+        verify(delegate, times(1)).authenticate(any());
+    }
+
+    @Test
+    public void givenCachedAuthenticationWhenPasswordDiffersThenDelegateIsCalled() {
+        when(delegate.authenticate(any())).thenReturn(authenticated).thenThrow(new BadCredentialsException("Bad credentials"));
+
+        underTest.authenticate(token("mifos", "password"));
+
+        assertThrows(BadCredentialsException.class, () -> underTest.authenticate(token("mifos", "wrong")));
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    @Test
+    public void givenCachedAuthenticationWhenOtherTenantThenDelegateIsCalled() {
+        when(delegate.authenticate(any())).thenReturn(authenticated);
+
+        underTest.authenticate(token("mifos", "password"));
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(2L, "other", "Other", "Asia/Kolkata", null));
+        underTest.authenticate(token("mifos", "password"));
+
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    @Test
+    public void givenCachedAuthenticationWhenEvictedThenDelegateIsCalled() {
+        when(delegate.authenticate(any())).thenReturn(authenticated);
+
+        underTest.authenticate(token("mifos", "password"));
+        credentialCache.evict();
+        underTest.authenticate(token("mifos", "password"));
+
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    @Test
+    public void givenFailedAuthenticationWhenAuthenticatingAgainThenDelegateIsCalledAgain() {
+        when(delegate.authenticate(any())).thenThrow(new BadCredentialsException("Bad credentials"));
+
+        assertThrows(BadCredentialsException.class, () -> underTest.authenticate(token("mifos", "wrong")));
+        assertThrows(BadCredentialsException.class, () -> underTest.authenticate(token("mifos", "wrong")));
+
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    private static Authentication token(String username, String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+    }
+}
@@ -0,0 +1,153 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.useradministration.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.apache.fineract.infrastructure.configuration.data.GlobalConfigurationPropertyData;
+import org.apache.fineract.infrastructure.configuration.domain.GlobalConfigurationProperty;
+import org.apache.fineract.infrastructure.configuration.domain.GlobalConfigurationRepositoryWrapper;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractGlobalConfigurationProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.useradministration.domain.Permission;
+import org.apache.fineract.useradministration.domain.PermissionRepository;
+import org.apache.fineract.useradministration.exception.PermissionNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class MakerCheckerPermissionCacheTest {
+
+    private static final String VERSION_QUERY = "SELECT version FROM c_configuration_version WHERE id = ?";
+
+    @Mock
+    private PermissionRepository permissionRepository;
+    @Mock
+    private GlobalConfigurationRepositoryWrapper globalConfigurationRepository;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final FineractGlobalConfigurationProperties globalConfigurationProperties = new FineractGlobalConfigurationProperties();
+
+    private final GlobalConfigurationPropertyData makerCheckerConfiguration = mock(GlobalConfigurationPropertyData.class);
+
+    private MakerCheckerPermissionCache underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        FineractProperties fineractProperties = new FineractProperties();
+        globalConfigurationProperties.setVersionCheckIntervalSeconds(3600);
+        fineractProperties.setGlobalConfiguration(globalConfigurationProperties);
+        underTest = new MakerCheckerPermissionCache(permissionRepository, globalConfigurationRepository, jdbcTemplate, fineractProperties);
+        when(jdbcTemplate.queryForObject(VERSION_QUERY, Long.class, MakerCheckerPermissionCache.CONFIGURATION_VERSION_ID)).thenReturn(1L);
+        GlobalConfigurationProperty property = mock(GlobalConfigurationProperty.class);
+        when(property.toData()).thenReturn(makerCheckerConfiguration);
+        when(makerCheckerConfiguration.isEnabled()).thenReturn(true);
+        when(globalConfigurationRepository.findOneByNameWithNotFoundDetection(MakerCheckerPermissionCache.MAKER_CHECKER_CONFIGURATION))
+                .thenReturn(property);
+        Permission createClient = new Permission("portfolio", "CLIENT", "CREATE");
+        createClient.enableMakerChecker(true);
+        when(permissionRepository.findAll()).thenReturn(List.of(createClient, new Permission("portfolio", "CLIENT", "DELETE")));
+    }
+
+    @Test
+    public void givenLoadedSnapshotWhenIsMakerCheckerEnabledThenDatabaseIsQueriedOnce() {
+        assertTrue(underTest.isMakerCheckerEnabledForTask("CREATE_CLIENT"));
+        assertFalse(underTest.isMakerCheckerEnabledForTask("DELETE_CLIENT"));
+        assertTrue(underTest.isMakerCheckerEnabledForTask(" create_client "));
+
+        verify(permissionRepository, times(1)).findAll();
+        verify(globalConfigurationRepository, times(1)).findOneByNameWithNotFoundDetection(anyString());
+        verify(permissionRepository, never()).findOneByCode(anyString());
+    }
+
+    @Test
+    public void givenMakerCheckerDisabledWhenIsMakerCheckerEnabledThenFalse() {
+        when(makerCheckerConfiguration.isEnabled()).thenReturn(false);
+
+        assertFalse(underTest.isMakerCheckerEnabledForTask("CREATE_CLIENT"));
+        assertFalse(underTest.isMakerCheckerEnabledForTask("UNKNOWN_PERMISSION"));
+    }
+
+    @Test
+    public void givenUnknownPermissionWhenIsMakerCheckerEnabledThenNotFoundIsThrown() {
+        assertThrows(PermissionNotFoundException.class, () -> underTest.isMakerCheckerEnabledForTask("UNKNOWN_PERMISSION"));
+
+        verify(permissionRepository).findOneByCode("UNKNOWN_PERMISSION");
+    }
+
+    @Test
+    public void givenEvictedSnapshotWhenIsMakerCheckerEnabledThenVersionIsIncreasedAndSnapshotIsReloaded() {
+        underTest.isMakerCheckerEnabledForTask("CREATE_CLIENT");
+
+        underTest.evict();
+        underTest.isMakerCheckerEnabledForTask("CREATE_CLIENT");
+
+        verify(jdbcTemplate).update("UPDATE c_configuration_version SET version = version + 1 WHERE id = ?",
+                MakerCheckerPermissionCache.CONFIGURATION_VERSION_ID);
+        verify(permissionRepository, times(2)).findAll();
+    }
+
+    @Test
+    public void givenVersionChangedOnOtherNodeWhenCheckIntervalElapsedThenSnapshotIsReloaded() {
+        globalConfigurationProperties.setVersionCheckIntervalSeconds(0);
+        assertTrue(underTest.isMakerCheckerEnabledForTask("CREATE_CLIENT"));
+        assertTrue(underTest.isMakerCheckerEnabledForTask("CREATE_CLIENT"));
+        verify(permissionRepository, times(1)).findAll();
+
+        when(jdbcTemplate.queryForObject(VERSION_QUERY, Long.class, MakerCheckerPermissionCache.CONFIGURATION_VERSION_ID)).thenReturn(2L);
+        when(permissionRepository.findAll()).thenReturn(List.of(new Permission("portfolio", "CLIENT", "CREATE")));
+
+        assertFalse(underTest.isMakerCheckerEnabledForTask("CREATE_CLIENT"));
+        verify(permissionRepository, times(2)).findAll();
+    }
+
+    @Test
+    public void givenEvictionWhileLoadingWhenIsMakerCheckerEnabledThenLoadedSnapshotIsNotCached() {
+        Permission createClient = new Permission("portfolio", "CLIENT", "CREATE");
+        createClient.enableMakerChecker(true);
+        when(permissionRepository.findAll()).thenAnswer(invocation -> {
+            underTest.evict();
+            return List.of(createClient);
+        }).thenReturn(List.of(new Permission("portfolio", "CLIENT", "CREATE")));
+
+        assertTrue(underTest.isMakerCheckerEnabledForTask("CREATE_CLIENT"));
+        assertFalse(underTest.isMakerCheckerEnabledForTask("CREATE_CLIENT"));
+        verify(permissionRepository, times(2)).findAll();
+    }
+}
@@ -24,11 +24,44 @@ Feature: COB
     Given The COBBusinessStepService.run method with executeMap <executionMap>
     When COBBusinessStepService.run method executed
     Then The COBBusinessStepService.run result should match
+    And The item is reloaded 1 times
 
     Examples:
       |executionMap|
       |1,test|
 
+  @cob
+  Scenario Outline: COB Business Step Service - run test with dirty tracking
+    Given The COBBusinessStepService.run method with executeMap <executionMap>
+    And COB dirty tracking is enabled
+    When COBBusinessStepService.run method executed
+    Then The item is reloaded 0 times
+    And The item is attached 1 times
+
+    Examples:
+      |executionMap|
+      |1,test|
+
+  @cob
+  Scenario Outline: COB Business Step Service - read-only steps are executed in the configured order with bulk events
+    Given The COBBusinessStepService.run method with read-only step <readOnlyStep> ordered before mutating step <mutatingStep> and bulk events true
+    When COBBusinessStepService.run method executed
+    Then The steps are executed in the configured order and the events are sent after both
+
+    Examples:
+      |readOnlyStep|mutatingStep|
+      |readOnly|test|
+
+  @cob
+  Scenario Outline: COB Business Step Service - read-only steps are executed in the configured order without bulk events
+    Given The COBBusinessStepService.run method with read-only step <readOnlyStep> ordered before mutating step <mutatingStep> and bulk events false
+    When COBBusinessStepService.run method executed
+    Then The steps are executed in the configured order
+
+    Examples:
+      |readOnlyStep|mutatingStep|
+      |readOnly|test|
+
   @cob
   Scenario Outline: COB Business Step Service - run test failure
     Given The COBBusinessStepService.run method with executeMap <executionMap>